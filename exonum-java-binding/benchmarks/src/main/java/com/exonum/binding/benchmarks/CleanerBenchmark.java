@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.proxy.NativeHandle;
+import com.exonum.binding.proxy.ProxyDestructor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of registering the destructors of native proxies
+ * in a {@link Cleaner} and closing it, as done for each transaction and request.
+ *
+ * <p>The destructors do not destroy any native objects, so that only the Java overhead
+ * is measured. This benchmark does not need the native library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CleanerBenchmark {
+
+  private static final LongConsumer NO_OP_DESTRUCTOR = handle -> { };
+
+  @Param({"1", "16", "256"})
+  private int numProxies;
+
+  /**
+   * Registers the given number of proxy destructors in a new cleaner and closes it.
+   */
+  @Benchmark
+  public Cleaner registerAndClose() throws CloseFailuresException {
+    Cleaner cleaner = new Cleaner("CleanerBenchmark");
+    for (int i = 0; i < numProxies; i++) {
+      NativeHandle handle = new NativeHandle(i + 1);
+      ProxyDestructor.newRegistered(cleaner, handle, CleanerBenchmark.class, NO_OP_DESTRUCTOR);
+    }
+    cleaner.close();
+    return cleaner;
+  }
+}
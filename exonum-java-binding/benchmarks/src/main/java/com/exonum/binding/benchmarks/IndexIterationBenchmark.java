@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import static com.exonum.binding.common.serialization.StandardSerializers.bytes;
+import static com.exonum.binding.common.serialization.StandardSerializers.fixed64;
+
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.database.Snapshot;
+import com.exonum.binding.storage.indices.ListIndexProxy;
+import com.exonum.binding.storage.indices.MapIndexProxy;
+import com.exonum.binding.util.LibraryLoader;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of full iteration over the map and list indices.
+ *
+ * <p>Subclasses configure how many items the iterators fetch in a single native call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public abstract class IndexIterationBenchmark {
+
+  private static final String MAP_NAME = "map";
+  private static final String LIST_NAME = "list";
+
+  @Param({"100", "10000"})
+  private int size;
+
+  @Param({"8", "256"})
+  private int valueSize;
+
+  private MemoryDb database;
+  private Cleaner cleaner;
+  private MapIndexProxy<Long, byte[]> map;
+  private ListIndexProxy<byte[]> list;
+
+  /**
+   * Creates a database with the indices of the given size and opens them
+   * in a snapshot of that database.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    LibraryLoader.load();
+    database = MemoryDb.newInstance();
+    populateIndices();
+
+    cleaner = new Cleaner("IndexIterationBenchmark");
+    Snapshot snapshot = database.createSnapshot(cleaner);
+    map = MapIndexProxy.newInstance(MAP_NAME, snapshot, fixed64(), bytes());
+    list = ListIndexProxy.newInstance(LIST_NAME, snapshot, bytes());
+  }
+
+  private void populateIndices() throws CloseFailuresException {
+    Random random = new Random(size);
+    try (Cleaner populateCleaner = new Cleaner()) {
+      Fork fork = database.createFork(populateCleaner);
+      MapIndexProxy<Long, byte[]> map = MapIndexProxy.newInstance(MAP_NAME, fork, fixed64(),
+          bytes());
+      ListIndexProxy<byte[]> list = ListIndexProxy.newInstance(LIST_NAME, fork, bytes());
+      for (long i = 0; i < size; i++) {
+        byte[] value = new byte[valueSize];
+        random.nextBytes(value);
+        map.put(i, value);
+        list.add(value);
+      }
+      database.merge(fork);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CloseFailuresException {
+    cleaner.close();
+    database.close();
+  }
+
+  @Benchmark
+  public void iterateMapEntries(Blackhole bh) {
+    consumeAll(map.entries(), bh);
+  }
+
+  @Benchmark
+  public void iterateMapKeys(Blackhole bh) {
+    consumeAll(map.keys(), bh);
+  }
+
+  @Benchmark
+  public void iterateMapValues(Blackhole bh) {
+    consumeAll(map.values(), bh);
+  }
+
+  @Benchmark
+  public void iterateList(Blackhole bh) {
+    consumeAll(list.iterator(), bh);
+  }
+
+  private static void consumeAll(Iterator<?> iterator, Blackhole bh) {
+    while (iterator.hasNext()) {
+      bh.consume(iterator.next());
+    }
+  }
+}
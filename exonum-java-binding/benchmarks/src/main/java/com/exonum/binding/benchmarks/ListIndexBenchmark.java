@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import static com.exonum.binding.common.serialization.StandardSerializers.bytes;
+
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.database.View;
+import com.exonum.binding.storage.indices.ListIndex;
+import com.exonum.binding.storage.indices.ListIndexProxy;
+import com.exonum.binding.storage.indices.ProofListIndexProxy;
+import com.exonum.binding.util.LibraryLoader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of single-element operations of the list indices in a fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@org.openjdk.jmh.annotations.Fork(1)
+public class ListIndexBenchmark {
+
+  private static final String LIST_NAME = "list";
+  private static final int VALUE_SIZE = 64;
+
+  @Param({"ListIndexProxy", "ProofListIndexProxy"})
+  private String indexType;
+
+  @Param({"1000", "100000"})
+  private int size;
+
+  private MemoryDb database;
+  private byte[] value;
+  private int next;
+
+  private Cleaner cleaner;
+  private ListIndex<byte[]> list;
+
+  /**
+   * Creates a database with a list of the given size.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    LibraryLoader.load();
+    database = MemoryDb.newInstance();
+    value = new byte[VALUE_SIZE];
+    new Random(size).nextBytes(value);
+
+    try (Cleaner populateCleaner = new Cleaner()) {
+      Fork fork = database.createFork(populateCleaner);
+      ListIndex<byte[]> list = createList(fork);
+      for (int i = 0; i < size; i++) {
+        list.add(value);
+      }
+      database.merge(fork);
+    }
+  }
+
+  /**
+   * Opens the list in a new fork, so that the list does not grow across iterations.
+   */
+  @Setup(Level.Iteration)
+  public void openList() {
+    cleaner = new Cleaner("ListIndexBenchmark");
+    Fork fork = database.createFork(cleaner);
+    list = createList(fork);
+  }
+
+  private ListIndex<byte[]> createList(View view) {
+    if (indexType.equals("ListIndexProxy")) {
+      return ListIndexProxy.newInstance(LIST_NAME, view, bytes());
+    } else {
+      return ProofListIndexProxy.newInstance(LIST_NAME, view, bytes());
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeList() throws CloseFailuresException {
+    cleaner.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return list.get(nextIndex());
+  }
+
+  @Benchmark
+  public byte[] getLast() {
+    return list.getLast();
+  }
+
+  @Benchmark
+  public void set() {
+    list.set(nextIndex(), value);
+  }
+
+  @Benchmark
+  public void add() {
+    list.add(value);
+  }
+
+  @Benchmark
+  public long size() {
+    return list.size();
+  }
+
+  private int nextIndex() {
+    next = (next + 1) % size;
+    return next;
+  }
+}
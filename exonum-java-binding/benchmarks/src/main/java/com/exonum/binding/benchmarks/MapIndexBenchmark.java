@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import static com.exonum.binding.common.serialization.StandardSerializers.bytes;
+import static com.exonum.binding.common.serialization.StandardSerializers.hash;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.database.View;
+import com.exonum.binding.storage.indices.MapIndex;
+import com.exonum.binding.storage.indices.MapIndexProxy;
+import com.exonum.binding.storage.indices.ProofMapIndexProxy;
+import com.exonum.binding.util.LibraryLoader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of single-key operations of the map indices in a fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@org.openjdk.jmh.annotations.Fork(1)
+public class MapIndexBenchmark {
+
+  private static final String MAP_NAME = "map";
+  private static final int VALUE_SIZE = 64;
+
+  @Param({"MapIndexProxy", "ProofMapIndexProxy"})
+  private String indexType;
+
+  @Param({"1000", "100000"})
+  private int size;
+
+  private MemoryDb database;
+  private HashCode[] keys;
+  private HashCode[] absentKeys;
+  private byte[] value;
+  private int next;
+
+  private Cleaner cleaner;
+  private MapIndex<HashCode, byte[]> map;
+
+  /**
+   * Creates a database with a map of the given size.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    LibraryLoader.load();
+    database = MemoryDb.newInstance();
+    Random random = new Random(size);
+    keys = randomKeys(random, size);
+    absentKeys = randomKeys(random, size);
+    value = new byte[VALUE_SIZE];
+    random.nextBytes(value);
+
+    try (Cleaner populateCleaner = new Cleaner()) {
+      Fork fork = database.createFork(populateCleaner);
+      MapIndex<HashCode, byte[]> map = createMap(fork);
+      for (HashCode key : keys) {
+        map.put(key, value);
+      }
+      database.merge(fork);
+    }
+  }
+
+  private static HashCode[] randomKeys(Random random, int size) {
+    HashCode[] keys = new HashCode[size];
+    for (int i = 0; i < size; i++) {
+      byte[] key = new byte[32];
+      random.nextBytes(key);
+      keys[i] = HashCode.fromBytes(key);
+    }
+    return keys;
+  }
+
+  /**
+   * Opens the map in a new fork, so that the modifications do not accumulate
+   * across iterations.
+   */
+  @Setup(Level.Iteration)
+  public void openMap() {
+    cleaner = new Cleaner("MapIndexBenchmark");
+    Fork fork = database.createFork(cleaner);
+    map = createMap(fork);
+  }
+
+  private MapIndex<HashCode, byte[]> createMap(View view) {
+    if (indexType.equals("MapIndexProxy")) {
+      return MapIndexProxy.newInstance(MAP_NAME, view, hash(), bytes());
+    } else {
+      return ProofMapIndexProxy.newInstance(MAP_NAME, view, hash(), bytes());
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeMap() throws CloseFailuresException {
+    cleaner.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.close();
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return map.get(nextKey());
+  }
+
+  @Benchmark
+  public byte[] getAbsent() {
+    return map.get(absentKeys[nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean containsKey() {
+    return map.containsKey(nextKey());
+  }
+
+  @Benchmark
+  public void put() {
+    map.put(nextKey(), value);
+  }
+
+  @Benchmark
+  public void putAbsent() {
+    map.put(absentKeys[nextIndex()], value);
+  }
+
+  @Benchmark
+  public void remove() {
+    map.remove(nextKey());
+  }
+
+  private HashCode nextKey() {
+    return keys[nextIndex()];
+  }
+
+  private int nextIndex() {
+    next = (next + 1) % size;
+    return next;
+  }
+}
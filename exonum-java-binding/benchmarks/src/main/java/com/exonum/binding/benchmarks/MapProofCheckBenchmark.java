@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.benchmarks;
+
+import static com.exonum.binding.common.serialization.StandardSerializers.bytes;
+import static com.exonum.binding.common.serialization.StandardSerializers.hash;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.map.CheckedMapProof;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.indices.ProofMapIndexProxy;
+import com.exonum.binding.util.LibraryLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of checking a map proof for the given number of requested keys.
+ * Half of the requested keys are present in the map, and half are absent.
+ *
+ * <p>The native library is needed to create the proofs only; the proofs are checked
+ * in Java.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@org.openjdk.jmh.annotations.Fork(1)
+public class MapProofCheckBenchmark {
+
+  private static final String MAP_NAME = "proof_map";
+  private static final int MAP_SIZE = 20_000;
+  private static final int VALUE_SIZE = 64;
+
+  @Param({"1", "100", "10000"})
+  private int numKeys;
+
+  private UncheckedMapProof proof;
+
+  /**
+   * Creates a proof map and the proof for the requested keys.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    LibraryLoader.load();
+    Random random = new Random(numKeys);
+    List<HashCode> requestedKeys = new ArrayList<>(numKeys);
+    try (MemoryDb database = MemoryDb.newInstance();
+        Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      ProofMapIndexProxy<HashCode, byte[]> map = ProofMapIndexProxy.newInstance(MAP_NAME, fork,
+          hash(), bytes());
+      for (int i = 0; i < MAP_SIZE; i++) {
+        HashCode key = randomKey(random);
+        byte[] value = new byte[VALUE_SIZE];
+        random.nextBytes(value);
+        map.put(key, value);
+        if (i % 2 == 0 && requestedKeys.size() < numKeys) {
+          requestedKeys.add(key);
+        }
+      }
+      while (requestedKeys.size() < numKeys) {
+        requestedKeys.add(randomKey(random));
+      }
+      proof = map.getProof(requestedKeys);
+    }
+  }
+
+  private static HashCode randomKey(Random random) {
+    byte[] key = new byte[32];
+    random.nextBytes(key);
+    return HashCode.fromBytes(key);
+  }
+
+  @Benchmark
+  public CheckedMapProof check() {
+    return proof.check();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import com.exonum.binding.proxy.AbstractCloseableNativeProxy;
+import com.exonum.binding.proxy.NativeHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of the validation of native handles, performed before
+ * each native call of a proxy. The validation of a closeable proxy must not depend
+ * on the number of proxies it references.
+ *
+ * <p>This benchmark does not need the native library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class NativeHandleBenchmark {
+
+  private static final long HANDLE = 0x0A;
+
+  /** The number of proxies the measured proxy references. */
+  @Param({"0", "1", "4", "16"})
+  private int numReferenced;
+
+  private NativeHandle nativeHandle;
+  private TestProxy proxy;
+
+  /**
+   * Creates a proxy that references a given number of other proxies.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    nativeHandle = new NativeHandle(HANDLE);
+    List<AbstractCloseableNativeProxy> referenced = new ArrayList<>();
+    for (int i = 0; i < numReferenced; i++) {
+      referenced.add(new TestProxy(HANDLE + i + 1, new ArrayList<>()));
+    }
+    proxy = new TestProxy(HANDLE, referenced);
+  }
+
+  @Benchmark
+  public long nativeHandleGet() {
+    return nativeHandle.get();
+  }
+
+  @Benchmark
+  public long closeableProxyGetNativeHandle() {
+    return proxy.handle();
+  }
+
+  private static final class TestProxy extends AbstractCloseableNativeProxy {
+
+    TestProxy(long nativeHandle, List<AbstractCloseableNativeProxy> referenced) {
+      super(nativeHandle, false, referenced);
+    }
+
+    long handle() {
+      return getNativeHandle();
+    }
+
+    @Override
+    protected void disposeInternal() {
+      // No native object to dispose
+    }
+  }
+}
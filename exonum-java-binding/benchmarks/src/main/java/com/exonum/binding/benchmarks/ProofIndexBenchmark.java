@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import static com.exonum.binding.common.serialization.StandardSerializers.bytes;
+import static com.exonum.binding.common.serialization.StandardSerializers.hash;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.list.UncheckedListProof;
+import com.exonum.binding.common.proofs.map.UncheckedMapProof;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.database.Snapshot;
+import com.exonum.binding.storage.indices.ProofListIndexProxy;
+import com.exonum.binding.storage.indices.ProofMapIndexProxy;
+import com.exonum.binding.util.LibraryLoader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of creating proofs and computing root hashes
+ * of the proof indices in a snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@org.openjdk.jmh.annotations.Fork(1)
+public class ProofIndexBenchmark {
+
+  private static final String MAP_NAME = "proof_map";
+  private static final String LIST_NAME = "proof_list";
+  private static final int VALUE_SIZE = 64;
+
+  @Param({"1000", "100000"})
+  private int size;
+
+  private MemoryDb database;
+  private HashCode[] keys;
+  private int next;
+
+  private Cleaner cleaner;
+  private ProofMapIndexProxy<HashCode, byte[]> map;
+  private ProofListIndexProxy<byte[]> list;
+
+  /**
+   * Creates a database with the proof indices of the given size and opens them
+   * in a snapshot of that database.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    LibraryLoader.load();
+    database = MemoryDb.newInstance();
+    Random random = new Random(size);
+    keys = new HashCode[size];
+    try (Cleaner populateCleaner = new Cleaner()) {
+      Fork fork = database.createFork(populateCleaner);
+      ProofMapIndexProxy<HashCode, byte[]> map = ProofMapIndexProxy.newInstance(MAP_NAME, fork,
+          hash(), bytes());
+      ProofListIndexProxy<byte[]> list = ProofListIndexProxy.newInstance(LIST_NAME, fork,
+          bytes());
+      for (int i = 0; i < size; i++) {
+        byte[] key = new byte[32];
+        random.nextBytes(key);
+        keys[i] = HashCode.fromBytes(key);
+        byte[] value = new byte[VALUE_SIZE];
+        random.nextBytes(value);
+        map.put(keys[i], value);
+        list.add(value);
+      }
+      database.merge(fork);
+    }
+
+    cleaner = new Cleaner("ProofIndexBenchmark");
+    Snapshot snapshot = database.createSnapshot(cleaner);
+    map = ProofMapIndexProxy.newInstance(MAP_NAME, snapshot, hash(), bytes());
+    list = ProofListIndexProxy.newInstance(LIST_NAME, snapshot, bytes());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CloseFailuresException {
+    cleaner.close();
+    database.close();
+  }
+
+  @Benchmark
+  public UncheckedMapProof mapProof() {
+    return map.getProof(keys[nextIndex()]);
+  }
+
+  @Benchmark
+  public HashCode mapRootHash() {
+    return map.getRootHash();
+  }
+
+  @Benchmark
+  public UncheckedListProof listProof() {
+    return list.getProof(nextIndex());
+  }
+
+  @Benchmark
+  public HashCode listRootHash() {
+    return list.getRootHash();
+  }
+
+  private int nextIndex() {
+    next = (next + 1) % size;
+    return next;
+  }
+}
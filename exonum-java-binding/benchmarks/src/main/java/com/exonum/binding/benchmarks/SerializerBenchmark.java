@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.google.protobuf.StringValue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of serialization and deserialization with the standard serializers.
+ *
+ * <p>This benchmark does not need the native library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+  private static final Serializer<Long> FIXED_64 = StandardSerializers.fixed64();
+  private static final Serializer<Long> UINT_64 = StandardSerializers.uint64();
+  private static final Serializer<String> STRING = StandardSerializers.string();
+  private static final Serializer<HashCode> HASH = StandardSerializers.hash();
+  private static final Serializer<PublicKey> PUBLIC_KEY = StandardSerializers.publicKey();
+  private static final Serializer<StringValue> PROTOBUF =
+      StandardSerializers.protobuf(StringValue.class);
+
+  private long longValue;
+  private byte[] fixed64Bytes;
+  private byte[] uint64Bytes;
+  private String string;
+  private byte[] stringBytes;
+  private HashCode hash;
+  private byte[] hashBytes;
+  private PublicKey publicKey;
+  private byte[] publicKeyBytes;
+  private StringValue message;
+  private byte[] messageBytes;
+
+  /**
+   * Creates the values to serialize and their serialized representations.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(1);
+    longValue = random.nextLong();
+    fixed64Bytes = FIXED_64.toBytes(longValue);
+    uint64Bytes = UINT_64.toBytes(longValue);
+    string = "Exonum Java Binding serializer benchmark";
+    stringBytes = STRING.toBytes(string);
+    byte[] bytes = new byte[32];
+    random.nextBytes(bytes);
+    hash = HashCode.fromBytes(bytes);
+    hashBytes = HASH.toBytes(hash);
+    publicKey = PublicKey.fromBytes(bytes);
+    publicKeyBytes = PUBLIC_KEY.toBytes(publicKey);
+    message = StringValue.newBuilder()
+        .setValue(string)
+        .build();
+    messageBytes = PROTOBUF.toBytes(message);
+  }
+
+  @Benchmark
+  public byte[] fixed64ToBytes() {
+    return FIXED_64.toBytes(longValue);
+  }
+
+  @Benchmark
+  public Long fixed64FromBytes() {
+    return FIXED_64.fromBytes(fixed64Bytes);
+  }
+
+  @Benchmark
+  public byte[] uint64ToBytes() {
+    return UINT_64.toBytes(longValue);
+  }
+
+  @Benchmark
+  public Long uint64FromBytes() {
+    return UINT_64.fromBytes(uint64Bytes);
+  }
+
+  @Benchmark
+  public byte[] stringToBytes() {
+    return STRING.toBytes(string);
+  }
+
+  @Benchmark
+  public String stringFromBytes() {
+    return STRING.fromBytes(stringBytes);
+  }
+
+  @Benchmark
+  public byte[] hashToBytes() {
+    return HASH.toBytes(hash);
+  }
+
+  @Benchmark
+  public HashCode hashFromBytes() {
+    return HASH.fromBytes(hashBytes);
+  }
+
+  @Benchmark
+  public byte[] publicKeyToBytes() {
+    return PUBLIC_KEY.toBytes(publicKey);
+  }
+
+  @Benchmark
+  public PublicKey publicKeyFromBytes() {
+    return PUBLIC_KEY.fromBytes(publicKeyBytes);
+  }
+
+  @Benchmark
+  public byte[] protobufToBytes() {
+    return PROTOBUF.toBytes(message);
+  }
+
+  @Benchmark
+  public StringValue protobufFromBytes() {
+    return PROTOBUF.fromBytes(messageBytes);
+  }
+}
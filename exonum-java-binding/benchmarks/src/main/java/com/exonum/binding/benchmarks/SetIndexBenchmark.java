@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import static com.exonum.binding.common.serialization.StandardSerializers.bytes;
+import static com.exonum.binding.common.serialization.StandardSerializers.fixed64;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.indices.EntryIndexProxy;
+import com.exonum.binding.storage.indices.KeySetIndexProxy;
+import com.exonum.binding.storage.indices.ValueSetIndexProxy;
+import com.exonum.binding.util.LibraryLoader;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of single-element operations of the set and entry indices
+ * in a fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@org.openjdk.jmh.annotations.Fork(1)
+public class SetIndexBenchmark {
+
+  private static final String KEY_SET_NAME = "key_set";
+  private static final String VALUE_SET_NAME = "value_set";
+  private static final String ENTRY_NAME = "entry";
+  private static final int VALUE_SIZE = 64;
+
+  @Param({"1000", "100000"})
+  private int size;
+
+  private MemoryDb database;
+  private long[] elements;
+  private byte[][] values;
+  private HashCode[] valueHashes;
+  private int next;
+
+  private Cleaner cleaner;
+  private KeySetIndexProxy<Long> keySet;
+  private ValueSetIndexProxy<byte[]> valueSet;
+  private EntryIndexProxy<byte[]> entry;
+
+  /**
+   * Creates a database with the sets of the given size.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws CloseFailuresException {
+    LibraryLoader.load();
+    database = MemoryDb.newInstance();
+    Random random = new Random(size);
+    elements = new long[size];
+    values = new byte[size][];
+    valueHashes = new HashCode[size];
+    try (Cleaner populateCleaner = new Cleaner()) {
+      Fork fork = database.createFork(populateCleaner);
+      KeySetIndexProxy<Long> keySet = KeySetIndexProxy.newInstance(KEY_SET_NAME, fork,
+          fixed64());
+      ValueSetIndexProxy<byte[]> valueSet = ValueSetIndexProxy.newInstance(VALUE_SET_NAME, fork,
+          bytes());
+      for (int i = 0; i < size; i++) {
+        elements[i] = random.nextLong();
+        values[i] = new byte[VALUE_SIZE];
+        random.nextBytes(values[i]);
+        keySet.add(elements[i]);
+        valueSet.add(values[i]);
+      }
+      Iterator<ValueSetIndexProxy.Entry<byte[]>> hashes = valueSet.iterator();
+      for (int i = 0; i < size; i++) {
+        valueHashes[i] = hashes.next().getHash();
+      }
+      database.merge(fork);
+    }
+  }
+
+  /**
+   * Opens the indices in a new fork, so that the modifications do not accumulate
+   * across iterations.
+   */
+  @Setup(Level.Iteration)
+  public void openIndices() {
+    cleaner = new Cleaner("SetIndexBenchmark");
+    Fork fork = database.createFork(cleaner);
+    keySet = KeySetIndexProxy.newInstance(KEY_SET_NAME, fork, fixed64());
+    valueSet = ValueSetIndexProxy.newInstance(VALUE_SET_NAME, fork, bytes());
+    entry = EntryIndexProxy.newInstance(ENTRY_NAME, fork, bytes());
+    entry.set(values[0]);
+  }
+
+  @TearDown(Level.Iteration)
+  public void closeIndices() throws CloseFailuresException {
+    cleaner.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.close();
+  }
+
+  @Benchmark
+  public boolean keySetContains() {
+    return keySet.contains(elements[nextIndex()]);
+  }
+
+  @Benchmark
+  public void keySetAdd() {
+    keySet.add(elements[nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean valueSetContains() {
+    return valueSet.contains(values[nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean valueSetContainsByHash() {
+    return valueSet.containsByHash(valueHashes[nextIndex()]);
+  }
+
+  @Benchmark
+  public void valueSetAdd() {
+    valueSet.add(values[nextIndex()]);
+  }
+
+  @Benchmark
+  public byte[] entryGet() {
+    return entry.get();
+  }
+
+  @Benchmark
+  public void entrySet() {
+    entry.set(values[nextIndex()]);
+  }
+
+  private int nextIndex() {
+    next = (next + 1) % size;
+    return next;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.benchmarks;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.HashFunction;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.hash.Sha256Implementation;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average time of SHA-256 hashing of inputs of various sizes
+ * with each implementation.
+ *
+ * <p>This benchmark does not need the native library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class Sha256Benchmark {
+
+  @Param({"32", "256", "4096", "65536"})
+  private int inputSize;
+
+  @Param({"JDK", "SODIUM"})
+  private Sha256Implementation implementation;
+
+  private HashFunction sha256;
+  private byte[] input;
+  private ByteBuffer directInput;
+
+  /**
+   * Creates the hash function and the inputs to hash.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    sha256 = Hashing.sha256(implementation);
+    input = new byte[inputSize];
+    new Random(1).nextBytes(input);
+    directInput = ByteBuffer.allocateDirect(inputSize);
+    directInput.put(input);
+  }
+
+  @Benchmark
+  public HashCode hashBytes() {
+    return sha256.hashBytes(input);
+  }
+
+  @Benchmark
+  public HashCode hashDirectBuffer() {
+    directInput.clear();
+    return sha256.hashBytes(directInput);
+  }
+
+  /**
+   * Hashes the input with a hasher, as the code that puts several fields does.
+   */
+  @Benchmark
+  public HashCode hasher() {
+    return sha256.newHasher()
+        .putBytes(input)
+        .hash();
+  }
+}
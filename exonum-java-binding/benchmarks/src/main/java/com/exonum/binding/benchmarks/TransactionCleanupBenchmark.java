@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.benchmarks;
+
+import static com.exonum.binding.common.serialization.StandardSerializers.bytes;
+
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.indices.MapIndexProxy;
+import com.exonum.binding.util.LibraryLoader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the average cost of the proxies cleanup in a transaction that accesses
+ * many indices of a group (e.g., a history of each wallet): a fork and the given number of
+ * map proxies are created in a cleaner, which is then closed. Compares a cleaner
+ * destroying each proxy with a separate native call, and a cleaner
+ * {@linkplain Cleaner#withNativeArena(String) with a native arena}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@org.openjdk.jmh.annotations.Fork(1)
+public class TransactionCleanupBenchmark {
+
+  private static final String GROUP_NAME = "history";
+
+  @Param({"false", "true"})
+  private boolean nativeArena;
+
+  @Param({"1", "16", "256"})
+  private int numIndices;
+
+  private MemoryDb database;
+  private byte[][] indexIds;
+
+  /**
+   * Creates a database and the ids of the indices in a group.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    LibraryLoader.load();
+    database = MemoryDb.newInstance();
+    indexIds = new byte[numIndices][];
+    for (int i = 0; i < numIndices; i++) {
+      indexIds[i] = new byte[] {(byte) (i >>> 8), (byte) i};
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    database.close();
+  }
+
+  /**
+   * Creates a fork and the map proxies in a cleaner, and closes it.
+   */
+  @Benchmark
+  public Cleaner createIndicesAndClose() throws CloseFailuresException {
+    Cleaner cleaner = nativeArena
+        ? Cleaner.withNativeArena("TransactionCleanupBenchmark")
+        : new Cleaner("TransactionCleanupBenchmark");
+    try {
+      Fork fork = database.createFork(cleaner);
+      for (byte[] id : indexIds) {
+        MapIndexProxy.newInGroupUnsafe(GROUP_NAME, id, fork, bytes(), bytes());
+      }
+    } finally {
+      cleaner.close();
+    }
+    return cleaner;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.common.proofs.list;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.google.protobuf.ByteString;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the average time of checking a range proof of the given number of elements
+ * with {@link ListProofChecker} and with the pair of {@link ListProofStructureValidator}
+ * and {@link ListProofRootHashCalculator}.
+ *
+ * <p>The benchmark is in the package of the proofs to access the package-private
+ * implementations. It does not need the native library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ListProofCheckBenchmark {
+
+  private static final Serializer<byte[]> SERIALIZER = StandardSerializers.bytes();
+  private static final int ELEMENT_SIZE = 64;
+
+  @Param({"1024", "131072"})
+  private int numElements;
+
+  private ListProofNode proof;
+
+  /**
+   * Creates a proof of a range of elements in a list, which has a hash node
+   * for the elements that are not in the range.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(numElements);
+    ListProofNode range = fullTree(random, Integer.numberOfTrailingZeros(numElements));
+    byte[] hash = new byte[32];
+    random.nextBytes(hash);
+    proof = new ListProofBranch(range, new ListProofHashNode(HashCode.fromBytes(hash)));
+  }
+
+  private static ListProofNode fullTree(Random random, int height) {
+    if (height == 0) {
+      byte[] element = new byte[ELEMENT_SIZE];
+      random.nextBytes(element);
+      return new ListProofElement(ByteString.copyFrom(element));
+    }
+    return new ListProofBranch(fullTree(random, height - 1), fullTree(random, height - 1));
+  }
+
+  /**
+   * Checks the proof, then accesses all its elements.
+   */
+  @Benchmark
+  public void checker(Blackhole bh) {
+    CheckedListProofImpl<byte[]> checkedProof = ListProofChecker.check(proof, SERIALIZER);
+    bh.consume(checkedProof.getRootHash());
+    checkedProof.getElements().values().forEach(bh::consume);
+  }
+
+  /**
+   * Checks the proof, without accessing the elements.
+   */
+  @Benchmark
+  public HashCode checkerRootHashOnly() {
+    return ListProofChecker.check(proof, SERIALIZER).getRootHash();
+  }
+
+  /**
+   * Checks the proof with the visitors, then accesses all its elements.
+   */
+  @Benchmark
+  public void visitors(Blackhole bh) {
+    ListProofStructureValidator validator = new ListProofStructureValidator(proof);
+    ListProofRootHashCalculator<byte[]> calculator =
+        new ListProofRootHashCalculator<>(proof, SERIALIZER);
+    bh.consume(validator.getProofStatus());
+    bh.consume(calculator.getCalculatedRootHash());
+    calculator.getElements().values().forEach(bh::consume);
+  }
+}
@@ -16,6 +16,9 @@
 
 package com.exonum.binding.common.crypto;
 
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * A crypto function that provides several signature system crypto methods.
  * All method arguments can't be null otherwise {@link NullPointerException} will be thrown.
@@ -50,4 +53,27 @@ public interface CryptoFunction {
    * @return true if signature is valid, false otherwise
    */
   boolean verify(byte[] message, byte[] signature, PublicKey publicKey);
+
+  /**
+   * Verifies the signatures of the given messages. The default implementation verifies
+   * them one by one with {@link #verify(byte[], byte[], PublicKey)}; the implementations
+   * may verify them more efficiently.
+   *
+   * @param messages the signed messages to verify
+   * @return a bit set which {@code i}-th bit is set if the signature of the {@code i}-th message
+   *     is valid
+   * @throws IllegalArgumentException if any public key is not valid for this cryptographic
+   *     function
+   */
+  default BitSet verifyBatch(List<SignedMessage> messages) {
+    BitSet valid = new BitSet(messages.size());
+    int i = 0;
+    for (SignedMessage message : messages) {
+      if (verify(message.getMessage(), message.getSignatureNoCopy(), message.getPublicKey())) {
+        valid.set(i);
+      }
+      i++;
+    }
+    return valid;
+  }
 }
@@ -25,6 +25,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.goterl.lazycode.lazysodium.LazySodiumJava;
 import com.goterl.lazycode.lazysodium.SodiumJava;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * A ED25519 public-key signature system crypto function.
@@ -33,6 +36,11 @@ public enum Ed25519CryptoFunction implements CryptoFunction {
 
   INSTANCE;
 
+  /**
+   * The minimum number of signatures in a batch to verify them in parallel.
+   */
+  private static final int PARALLEL_BATCH_SIZE = 8;
+
   private final LazySodiumJava lazySodium = new LazySodiumJava(new SodiumJava());
 
   @Override
@@ -84,4 +92,42 @@ public enum Ed25519CryptoFunction implements CryptoFunction {
         .cryptoSignVerifyDetached(signature, message, message.length, publicKey.toBytesNoCopy());
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The signatures of the large batches are verified in parallel
+   * in the {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+   */
+  @Override
+  public BitSet verifyBatch(List<SignedMessage> messages) {
+    SignedMessage[] batch = messages.toArray(new SignedMessage[0]);
+    boolean[] valid = new boolean[batch.length];
+    IntStream indexes = IntStream.range(0, batch.length);
+    if (batch.length >= PARALLEL_BATCH_SIZE) {
+      indexes = indexes.parallel();
+    }
+    indexes.forEach(i -> valid[i] = verifySignature(batch[i]));
+
+    BitSet result = new BitSet(batch.length);
+    for (int i = 0; i < valid.length; i++) {
+      if (valid[i]) {
+        result.set(i);
+      }
+    }
+    return result;
+  }
+
+  private boolean verifySignature(SignedMessage message) {
+    PublicKey publicKey = message.getPublicKey();
+    checkArgument(hasLength(publicKey.toBytesNoCopy(), PUBLIC_KEY_BYTES),
+        "Public key has invalid size (%s), must be %s", publicKey.size(), PUBLIC_KEY_BYTES);
+    byte[] signature = message.getSignatureNoCopy();
+    if (!hasLength(signature, SIGNATURE_BYTES)) {
+      return false;
+    }
+    // Verify the prefix of the array in place
+    return lazySodium.cryptoSignVerifyDetached(signature, message.getMessageNoCopy(),
+        message.getMessageLength(), publicKey.toBytesNoCopy());
+  }
+
 }
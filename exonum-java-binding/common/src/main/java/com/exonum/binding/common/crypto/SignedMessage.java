@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.common.crypto;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndex;
+
+import java.util.Arrays;
+
+/**
+ * A message with its signature and the public key to verify the signature against.
+ * The signed message may be a prefix of a larger array (e.g., of a binary message that ends
+ * with the signature), which allows to verify it without copying.
+ *
+ * <p>The instances do not copy the arrays, which must not be modified after creation.
+ *
+ * @see CryptoFunction#verifyBatch(java.util.List)
+ */
+public final class SignedMessage {
+
+  private final byte[] message;
+  private final int messageLength;
+  private final byte[] signature;
+  private final PublicKey publicKey;
+
+  private SignedMessage(byte[] message, int messageLength, byte[] signature,
+      PublicKey publicKey) {
+    this.message = message;
+    this.messageLength = messageLength;
+    this.signature = signature;
+    this.publicKey = publicKey;
+  }
+
+  /**
+   * Creates a signed message.
+   *
+   * @param message the signed message
+   * @param signature the signature of the message
+   * @param publicKey the public key of the signer
+   */
+  public static SignedMessage of(byte[] message, byte[] signature, PublicKey publicKey) {
+    return of(message, message.length, signature, publicKey);
+  }
+
+  /**
+   * Creates a signed message, which is the first {@code messageLength} bytes
+   * of the given array.
+   *
+   * @param message the array which prefix is the signed message
+   * @param messageLength the length of the signed message
+   * @param signature the signature of the message
+   * @param publicKey the public key of the signer
+   * @throws IndexOutOfBoundsException if the length is negative or exceeds the array length
+   */
+  public static SignedMessage of(byte[] message, int messageLength, byte[] signature,
+      PublicKey publicKey) {
+    checkPositionIndex(messageLength, message.length, "messageLength");
+    return new SignedMessage(message, messageLength, checkNotNull(signature),
+        checkNotNull(publicKey));
+  }
+
+  /**
+   * Returns a copy of the signed message.
+   */
+  public byte[] getMessage() {
+    return Arrays.copyOf(message, messageLength);
+  }
+
+  /**
+   * Returns a copy of the signature.
+   */
+  public byte[] getSignature() {
+    return signature.clone();
+  }
+
+  /**
+   * Returns the public key of the signer.
+   */
+  public PublicKey getPublicKey() {
+    return publicKey;
+  }
+
+  /**
+   * Returns the array which prefix is the signed message, without copying.
+   */
+  byte[] getMessageNoCopy() {
+    return message;
+  }
+
+  /**
+   * Returns the length of the signed message.
+   */
+  int getMessageLength() {
+    return messageLength;
+  }
+
+  /**
+   * Returns the signature without copying.
+   */
+  byte[] getSignatureNoCopy() {
+    return signature;
+  }
+}
@@ -29,6 +29,10 @@
 
 package com.exonum.binding.common.hash;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Locale;
+
 /**
  * Static methods to obtain {@link HashFunction} instances, and other static hashing-related
  * utilities.
@@ -52,11 +56,33 @@ public final class Hashing {
    */
   public static final int DEFAULT_HASH_SIZE_BITS = DEFAULT_HASH_SIZE_BYTES * Byte.SIZE;
 
-  /** Returns a hash function implementing the SHA-256 algorithm (256 hash bits). */
+  /**
+   * The name of the system property that selects the implementation of {@link #sha256()}:
+   * {@code jdk} (the default), {@code sodium} or {@code fastest}.
+   *
+   * @see Sha256Implementation
+   */
+  public static final String SHA_256_IMPLEMENTATION_PROPERTY = "exonum.hash.sha256";
+
+  /**
+   * Returns a hash function implementing the SHA-256 algorithm (256 hash bits).
+   * Its implementation is selected with the {@value #SHA_256_IMPLEMENTATION_PROPERTY}
+   * system property.
+   */
   public static HashFunction sha256() {
     return Sha256Holder.SHA_256;
   }
 
+  /**
+   * Returns a new hash function using the given implementation of the SHA-256 algorithm.
+   *
+   * @throws LinkageError if the native implementation is requested, but libsodium
+   *     cannot be loaded
+   */
+  public static HashFunction sha256(Sha256Implementation implementation) {
+    return Sha256Functions.create(checkNotNull(implementation));
+  }
+
   /**
    * Returns the default Exonum hash function: SHA-256.
    *
@@ -68,8 +94,17 @@ public final class Hashing {
 
   private static class Sha256Holder {
 
-    static final HashFunction SHA_256 =
-        new MessageDigestHashFunction("SHA-256", "Hashing.sha256()");
+    static final HashFunction SHA_256 = Sha256Functions.create(configuredImplementation());
+
+    private static Sha256Implementation configuredImplementation() {
+      String implementation = System.getProperty(SHA_256_IMPLEMENTATION_PROPERTY, "jdk");
+      try {
+        return Sha256Implementation.valueOf(implementation.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unknown SHA-256 implementation in "
+            + SHA_256_IMPLEMENTATION_PROPERTY + " property: " + implementation, e);
+      }
+    }
   }
   /**
    * Returns a hash function implementing the SHA-384 algorithm (384 hash bits).
@@ -31,6 +31,7 @@ package com.exonum.binding.common.hash;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.io.Serializable;
@@ -42,6 +43,9 @@ import java.util.Arrays;
 /**
  * {@link com.exonum.binding.common.hash.HashFunction} adapter for {@link MessageDigest} instances.
  *
+ * <p>The one-shot {@code hashBytes} methods use a digest pooled per thread instead of
+ * cloning the prototype for each hash.
+ *
  * @author Kevin Bourrillion
  * @author Dimitris Andreou
  */
@@ -50,6 +54,8 @@ final class MessageDigestHashFunction extends AbstractHashFunction implements Se
   private final int bytes;
   private final boolean supportsClone;
   private final String toString;
+  private final transient ThreadLocal<MessageDigest> pooledDigests =
+      ThreadLocal.withInitial(this::newDigest);
 
   MessageDigestHashFunction(String algorithmName, String toString) {
     this.prototype = getMessageDigest(algorithmName);
@@ -97,14 +103,46 @@ final class MessageDigestHashFunction extends AbstractHashFunction implements Se
 
   @Override
   public Hasher newHasher() {
+    return new MessageDigestHasher(newDigest(), bytes);
+  }
+
+  private MessageDigest newDigest() {
     if (supportsClone) {
       try {
-        return new MessageDigestHasher((MessageDigest) prototype.clone(), bytes);
+        return (MessageDigest) prototype.clone();
       } catch (CloneNotSupportedException e) {
         // falls through
       }
     }
-    return new MessageDigestHasher(getMessageDigest(prototype.getAlgorithm()), bytes);
+    return getMessageDigest(prototype.getAlgorithm());
+  }
+
+  @Override
+  public HashCode hashBytes(byte[] input, int off, int len) {
+    checkPositionIndexes(off, off + len, input.length);
+    MessageDigest digest = pooledDigest();
+    digest.update(input, off, len);
+    return toHashCode(digest, bytes);
+  }
+
+  @Override
+  public HashCode hashBytes(ByteBuffer input) {
+    MessageDigest digest = pooledDigest();
+    digest.update(input);
+    return toHashCode(digest, bytes);
+  }
+
+  private MessageDigest pooledDigest() {
+    MessageDigest digest = pooledDigests.get();
+    // Discard the input of a previous invocation that failed with an exception
+    digest.reset();
+    return digest;
+  }
+
+  private static HashCode toHashCode(MessageDigest digest, int bytes) {
+    return (bytes == digest.getDigestLength())
+        ? HashCode.fromBytesNoCopy(digest.digest())
+        : HashCode.fromBytesNoCopy(Arrays.copyOf(digest.digest(), bytes));
   }
 
   private static final class SerializedForm implements Serializable {
@@ -168,9 +206,7 @@ final class MessageDigestHashFunction extends AbstractHashFunction implements Se
     public HashCode hash() {
       checkNotDone();
       done = true;
-      return (bytes == digest.getDigestLength())
-          ? HashCode.fromBytesNoCopy(digest.digest())
-          : HashCode.fromBytesNoCopy(Arrays.copyOf(digest.digest(), bytes));
+      return toHashCode(digest, bytes);
     }
   }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.common.hash;
+
+import java.util.Random;
+
+/**
+ * Creates the implementations of SHA-256.
+ */
+final class Sha256Functions {
+
+  private static final String TO_STRING = "Hashing.sha256()";
+
+  /** The sizes of the inputs used to compare the implementations, in bytes. */
+  private static final int[] BENCHMARK_INPUT_SIZES = {64, 256, 2048};
+  private static final int WARMUP_ITERATIONS = 20_000;
+  private static final int MEASUREMENT_ITERATIONS = 2_000;
+  private static final int MEASUREMENT_ROUNDS = 5;
+
+  static HashFunction create(Sha256Implementation implementation) {
+    switch (implementation) {
+      case JDK:
+        return new MessageDigestHashFunction("SHA-256", TO_STRING);
+      case SODIUM:
+        return new SodiumSha256HashFunction(TO_STRING);
+      case FASTEST:
+        return fastest();
+      default:
+        throw new AssertionError("Unknown implementation: " + implementation);
+    }
+  }
+
+  /**
+   * Returns the fastest available implementation. The native implementation is selected
+   * only if it can be loaded and produces the same hashes as the JDK one.
+   */
+  private static HashFunction fastest() {
+    HashFunction jdk = create(Sha256Implementation.JDK);
+    HashFunction sodium;
+    try {
+      sodium = create(Sha256Implementation.SODIUM);
+    } catch (LinkageError | RuntimeException e) {
+      // libsodium is not available
+      return jdk;
+    }
+
+    byte[][] inputs = benchmarkInputs();
+    for (byte[] input : inputs) {
+      if (!jdk.hashBytes(input).equals(sodium.hashBytes(input))) {
+        return jdk;
+      }
+    }
+
+    long jdkTime = measure(jdk, inputs);
+    long sodiumTime = measure(sodium, inputs);
+    return (sodiumTime < jdkTime) ? sodium : jdk;
+  }
+
+  private static byte[][] benchmarkInputs() {
+    Random random = new Random(1);
+    byte[][] inputs = new byte[BENCHMARK_INPUT_SIZES.length][];
+    for (int i = 0; i < inputs.length; i++) {
+      inputs[i] = new byte[BENCHMARK_INPUT_SIZES[i]];
+      random.nextBytes(inputs[i]);
+    }
+    return inputs;
+  }
+
+  /**
+   * Returns the best time of several rounds of hashing each of the inputs,
+   * after a warmup that lets the JIT compile the hashing code.
+   */
+  private static long measure(HashFunction function, byte[][] inputs) {
+    int sink = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      sink += function.hashBytes(inputs[i % inputs.length]).asInt();
+    }
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < MEASUREMENT_ROUNDS; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+        for (byte[] input : inputs) {
+          sink += function.hashBytes(input).asInt();
+        }
+      }
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    // Use the results so that the hashing is not eliminated as dead code
+    return best + (sink & 1);
+  }
+
+  private Sha256Functions() {}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.common.hash;
+
+/**
+ * An implementation of the SHA-256 hash function.
+ *
+ * @see Hashing#sha256(Sha256Implementation)
+ * @see Hashing#SHA_256_IMPLEMENTATION_PROPERTY
+ */
+public enum Sha256Implementation {
+
+  /**
+   * The implementation provided by the JDK {@link java.security.MessageDigest}.
+   * On the recent JVMs it uses the SHA extensions of the CPU, if available.
+   */
+  JDK,
+
+  /**
+   * The implementation provided by the native libsodium library.
+   * It is more efficient on the JVMs that do not use the SHA extensions.
+   */
+  SODIUM,
+
+  /**
+   * The fastest of the available implementations, selected by a brief benchmark of each one
+   * with the inputs of typical sizes. The benchmark takes a few dozens of milliseconds.
+   */
+  FASTEST
+}
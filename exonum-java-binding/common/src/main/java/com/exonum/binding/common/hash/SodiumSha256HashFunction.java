@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.common.hash;
+
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.goterl.lazycode.lazysodium.LazySodiumJava;
+import com.goterl.lazycode.lazysodium.SodiumJava;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * SHA-256 hash function implemented with libsodium.
+ */
+final class SodiumSha256HashFunction extends AbstractNonStreamingHashFunction {
+
+  private static final int BYTES = 32;
+
+  private final LazySodiumJava lazySodium;
+  private final String toString;
+
+  /**
+   * Creates the hash function.
+   *
+   * @throws LinkageError if libsodium cannot be loaded
+   */
+  SodiumSha256HashFunction(String toString) {
+    this.lazySodium = new LazySodiumJava(new SodiumJava());
+    this.toString = toString;
+  }
+
+  @Override
+  public HashCode hashBytes(byte[] input, int off, int len) {
+    checkPositionIndexes(off, off + len, input.length);
+    // libsodium accepts the input from the start of the array
+    byte[] message = (off == 0) ? input : Arrays.copyOfRange(input, off, off + len);
+    byte[] hash = new byte[BYTES];
+    checkState(lazySodium.cryptoHashSha256(hash, message, len), "Failed to compute SHA-256");
+    return HashCode.fromBytesNoCopy(hash);
+  }
+
+  @Override
+  public HashCode hashBytes(ByteBuffer input) {
+    int len = input.remaining();
+    if (input.hasArray()) {
+      int off = input.arrayOffset() + input.position();
+      input.position(input.limit());
+      return hashBytes(input.array(), off, len);
+    }
+    byte[] message = new byte[len];
+    input.get(message);
+    return hashBytes(message, 0, len);
+  }
+
+  @Override
+  public int bits() {
+    return BYTES * Byte.SIZE;
+  }
+
+  @Override
+  public String toString() {
+    return toString;
+  }
+}
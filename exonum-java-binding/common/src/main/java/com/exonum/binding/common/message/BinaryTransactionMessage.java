@@ -35,6 +35,8 @@ final class BinaryTransactionMessage implements TransactionMessage {
 
   private final int messageSize;
   private final ByteBuffer rawTransaction;
+  /** The hash of the message, computed on the first request. */
+  private HashCode hash;
 
   BinaryTransactionMessage(byte[] bytes) {
     this(ByteBuffer.wrap(bytes));
@@ -76,7 +78,13 @@ final class BinaryTransactionMessage implements TransactionMessage {
 
   @Override
   public HashCode hash() {
-    return sha256().hashBytes(rawTransaction.array());
+    // A benign race: the hash is immutable and safely published through its final fields
+    HashCode h = hash;
+    if (h == null) {
+      h = sha256().hashBytes(rawTransaction.array());
+      hash = h;
+    }
+    return h;
   }
 
   @Override
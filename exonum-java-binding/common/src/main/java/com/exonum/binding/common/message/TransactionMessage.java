@@ -23,9 +23,13 @@ import com.exonum.binding.common.crypto.CryptoFunction;
 import com.exonum.binding.common.crypto.CryptoFunctions;
 import com.exonum.binding.common.crypto.KeyPair;
 import com.exonum.binding.common.crypto.PublicKey;
+import com.exonum.binding.common.crypto.SignedMessage;
 import com.exonum.binding.common.hash.HashCode;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * An Exonum transaction message.
@@ -109,6 +113,28 @@ public interface TransactionMessage {
     return new BinaryTransactionMessage(buffer);
   }
 
+  /**
+   * Verifies the signatures of the given transaction messages against the public keys
+   * of their authors, using the batch verification of the crypto function.
+   *
+   * @param messages the transaction messages to verify
+   * @param crypto a cryptographic function to use
+   * @return a bit set which {@code i}-th bit is set if the signature of the {@code i}-th message
+   *     is valid
+   * @see CryptoFunction#verifyBatch(List)
+   */
+  static BitSet verifySignatures(List<? extends TransactionMessage> messages,
+      CryptoFunction crypto) {
+    List<SignedMessage> signedMessages = messages.stream()
+        .map(message -> {
+          byte[] bytes = message.toBytes();
+          return SignedMessage.of(bytes, bytes.length - SIGNATURE_SIZE, message.getSignature(),
+              message.getAuthor());
+        })
+        .collect(Collectors.toList());
+    return crypto.verifyBatch(signedMessages);
+  }
+
   /**
    * Builder for the binary transaction message.
    */
@@ -20,6 +20,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.exonum.binding.common.hash.HashCode;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.util.NavigableMap;
 
 /**
@@ -38,7 +40,7 @@ public class CheckedListProofImpl<E> implements CheckedListProof {
 
   private final HashCode calculatedRootHash;
 
-  private final NavigableMap<Long, E> elements;
+  private final Supplier<NavigableMap<Long, E>> elements;
 
   private final ListProofStatus proofStatus;
 
@@ -50,15 +52,23 @@ public class CheckedListProofImpl<E> implements CheckedListProof {
    */
   public CheckedListProofImpl(HashCode calculatedRootHash,
       NavigableMap<Long, E> elements, ListProofStatus proofStatus) {
+    this(calculatedRootHash, Suppliers.ofInstance(checkNotNull(elements)), proofStatus);
+  }
+
+  /**
+   * Creates checked list proof with the elements that are created on first request.
+   */
+  CheckedListProofImpl(HashCode calculatedRootHash,
+      Supplier<NavigableMap<Long, E>> elements, ListProofStatus proofStatus) {
     this.calculatedRootHash = checkNotNull(calculatedRootHash);
-    this.elements = checkNotNull(elements);
+    this.elements = Suppliers.memoize(elements);
     this.proofStatus = checkNotNull(proofStatus);
   }
 
   @Override
   public NavigableMap<Long, E>  getElements() {
     checkValid();
-    return elements;
+    return elements.get();
   }
 
   @Override
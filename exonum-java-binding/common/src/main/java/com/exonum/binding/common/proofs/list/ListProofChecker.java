@@ -0,0 +1,375 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.exonum.binding.common.proofs.list.ListProofStructureValidator.MAX_NODE_DEPTH;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.HashFunction;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
+import com.exonum.binding.common.serialization.Serializer;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NavigableMap;
+
+/**
+ * A list proof checker that validates the structure of the proof tree and computes
+ * its root hash in a single pass.
+ *
+ * <p>Unlike {@link ListProofStructureValidator} and {@link ListProofRootHashCalculator},
+ * it traverses the tree iteratively, so deep (invalid) trees do not overflow the stack;
+ * and it keeps the indexes of the elements in a primitive array. The elements are
+ * deserialized on first access.
+ *
+ * <p>The checker accepts either a tree of {@link ListProofNode}s, or a proof packed
+ * in a {@linkplain PackedListProof flat layout}, which it checks without creating the tree.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <E> the type of elements in the corresponding list
+ */
+final class ListProofChecker<E> {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.defaultHashFunction();
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final CheckingSerializerDecorator<E> serializer;
+
+  /*
+   * The stack of the nodes to visit, with their depths and indexes. A branch is pushed twice:
+   * first to visit its children, then, with a negative depth, to compute its hash
+   * from the hashes of its children.
+   *
+   * When a packed proof is checked, the stack contains the branches which children are
+   * being visited, and the nodes are not used.
+   */
+  private ListProofNode[] nodes = new ListProofNode[INITIAL_CAPACITY];
+  private int[] depths = new int[INITIAL_CAPACITY];
+  private long[] indexes = new long[INITIAL_CAPACITY];
+  private int numNodes;
+
+  /*
+   * The state of the branches on the stack, when a packed proof is checked: whether a branch
+   * has the right child; whether its right child is being visited; whether it has
+   * a child that is not a hash node.
+   */
+  private boolean[] hasRightChild;
+  private boolean[] visitingRightChild;
+  private boolean[] hasNonHashChild;
+
+  /** The hashes of the visited sub-trees which parents are not yet visited. */
+  private HashCode[] hashes = new HashCode[INITIAL_CAPACITY];
+  private int numHashes;
+
+  /** The buffer for the hashes of the children of a branch node. */
+  private final byte[] branchHashInput = new byte[2 * Hashing.DEFAULT_HASH_SIZE_BYTES];
+
+  private long[] elementIndexes = new long[INITIAL_CAPACITY];
+  private ByteString[] elements = new ByteString[INITIAL_CAPACITY];
+  private int numElements;
+
+  private int numBranches;
+  private int elementDepth = -1;
+  private boolean elementDepthsDiffer;
+  private boolean elementDepthExceeded;
+  private boolean hashNodeDepthExceeded;
+  private boolean hashOnlyBranchFound;
+
+  private ListProofChecker(Serializer<E> serializer) {
+    this.serializer = CheckingSerializerDecorator.from(serializer);
+  }
+
+  /**
+   * Checks the given list proof.
+   *
+   * @param rootProofNode the root node of the proof tree
+   * @param serializer a serializer of list elements
+   * @return the results of the check
+   */
+  static <E> CheckedListProofImpl<E> check(ListProofNode rootProofNode, Serializer<E> serializer) {
+    ListProofChecker<E> checker = new ListProofChecker<>(serializer);
+    HashCode rootHash = checker.traverse(rootProofNode);
+    return new CheckedListProofImpl<>(rootHash, checker::elementsView, checker.getProofStatus());
+  }
+
+  /**
+   * Checks the given packed list proof.
+   *
+   * @param packedProof the proof in the layout described in {@link PackedListProof};
+   *     the elements of the checked proof share its contents
+   * @param serializer a serializer of list elements
+   * @return the results of the check
+   * @throws IllegalArgumentException if the packed proof is malformed
+   */
+  static <E> CheckedListProofImpl<E> check(ByteBuffer packedProof, Serializer<E> serializer) {
+    checkArgument(packedProof.hasArray(), "The packed proof must be backed by an array");
+    ListProofChecker<E> checker = new ListProofChecker<>(serializer);
+    HashCode rootHash;
+    try {
+      rootHash = checker.traversePacked(packedProof);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Malformed list proof: unexpected end of proof", e);
+    }
+    checkArgument(!packedProof.hasRemaining(), "Malformed list proof: %s bytes after the proof",
+        packedProof.remaining());
+    return new CheckedListProofImpl<>(rootHash, checker::elementsView, checker.getProofStatus());
+  }
+
+  private HashCode traverse(ListProofNode root) {
+    push(root, 0, 0L);
+    while (numNodes > 0) {
+      numNodes--;
+      ListProofNode node = nodes[numNodes];
+      int depth = depths[numNodes];
+      long index = indexes[numNodes];
+      nodes[numNodes] = null;
+
+      if (node instanceof ListProofBranch) {
+        ListProofBranch branch = (ListProofBranch) node;
+        if (depth < 0) {
+          pushHash(computeBranchHash(branch.getRight().isPresent()));
+        } else {
+          visitBranch(branch, depth, index);
+        }
+      } else if (node instanceof ListProofElement) {
+        visitElement(((ListProofElement) node).getElement(), depth, index);
+      } else if (node instanceof ListProofHashNode) {
+        visitHashNode(((ListProofHashNode) node).getHash(), depth);
+      } else {
+        throw new RuntimeException("Unknown tree node type: " + node);
+      }
+    }
+    assert numHashes == 1 : "Must be a single root hash, but: " + numHashes;
+    return hashes[0];
+  }
+
+  private HashCode traversePacked(ByteBuffer proof) {
+    hasRightChild = new boolean[INITIAL_CAPACITY];
+    visitingRightChild = new boolean[INITIAL_CAPACITY];
+    hasNonHashChild = new boolean[INITIAL_CAPACITY];
+    int depth = 0;
+    long index = 0;
+    while (true) {
+      byte tag = proof.get();
+      if (numNodes > 0 && tag != PackedListProof.HASH_NODE) {
+        hasNonHashChild[numNodes - 1] = true;
+      }
+      switch (tag) {
+        case PackedListProof.BRANCH_NODE:
+        case PackedListProof.LEFT_BRANCH_NODE:
+          // Visit the left child of the branch
+          numBranches++;
+          pushPackedBranch(depth, index, tag == PackedListProof.BRANCH_NODE);
+          depth++;
+          index = 2 * index;
+          continue;
+        case PackedListProof.HASH_NODE:
+          byte[] hash = new byte[Hashing.DEFAULT_HASH_SIZE_BYTES];
+          proof.get(hash);
+          visitHashNode(HashCode.fromBytes(hash), depth);
+          break;
+        case PackedListProof.ELEMENT_NODE:
+          int size = proof.getInt();
+          checkArgument(0 <= size && size <= proof.remaining(),
+              "Malformed list proof: invalid element size (%s)", size);
+          int start = proof.arrayOffset() + proof.position();
+          proof.position(proof.position() + size);
+          visitElement(UnsafeByteOperations.unsafeWrap(proof.array(), start, size), depth, index);
+          break;
+        default:
+          throw new IllegalArgumentException("Malformed list proof: invalid node tag " + tag);
+      }
+
+      // Compute the hashes of the branches which children are visited,
+      // until a branch with an unvisited right child is found
+      while (numNodes > 0) {
+        int top = numNodes - 1;
+        if (hasRightChild[top] && !visitingRightChild[top]) {
+          visitingRightChild[top] = true;
+          depth = depths[top] + 1;
+          index = 2 * indexes[top] + 1;
+          break;
+        }
+        if (!hasNonHashChild[top]) {
+          hashOnlyBranchFound = true;
+        }
+        pushHash(computeBranchHash(hasRightChild[top]));
+        numNodes--;
+      }
+      if (numNodes == 0) {
+        assert numHashes == 1 : "Must be a single root hash, but: " + numHashes;
+        return hashes[0];
+      }
+    }
+  }
+
+  private void pushPackedBranch(int depth, long index, boolean hasRight) {
+    if (numNodes == depths.length) {
+      int newCapacity = 2 * numNodes;
+      depths = Arrays.copyOf(depths, newCapacity);
+      indexes = Arrays.copyOf(indexes, newCapacity);
+      hasRightChild = Arrays.copyOf(hasRightChild, newCapacity);
+      visitingRightChild = Arrays.copyOf(visitingRightChild, newCapacity);
+      hasNonHashChild = Arrays.copyOf(hasNonHashChild, newCapacity);
+    }
+    depths[numNodes] = depth;
+    indexes[numNodes] = index;
+    hasRightChild[numNodes] = hasRight;
+    visitingRightChild[numNodes] = false;
+    hasNonHashChild[numNodes] = false;
+    numNodes++;
+  }
+
+  private void visitBranch(ListProofBranch branch, int depth, long index) {
+    numBranches++;
+    ListProofNode left = branch.getLeft();
+    ListProofNode right = branch.getRight().orElse(null);
+    if (!(left instanceof ListProofBranch || left instanceof ListProofElement)
+        && !(right instanceof ListProofBranch || right instanceof ListProofElement)) {
+      hashOnlyBranchFound = true;
+    }
+
+    // Compute the hash of the branch after the hashes of its children
+    push(branch, -1, index);
+    int childDepth = depth + 1;
+    if (right != null) {
+      push(right, childDepth, 2 * index + 1);
+    }
+    push(left, childDepth, 2 * index);
+  }
+
+  private void visitElement(ByteString value, int depth, long index) {
+    if (depth > MAX_NODE_DEPTH) {
+      elementDepthExceeded = true;
+    }
+    if (elementDepth == -1) {
+      elementDepth = depth;
+    } else if (elementDepth != depth) {
+      elementDepthsDiffer = true;
+    }
+
+    if (numElements == elements.length) {
+      int newCapacity = 2 * numElements;
+      elementIndexes = Arrays.copyOf(elementIndexes, newCapacity);
+      elements = Arrays.copyOf(elements, newCapacity);
+    }
+    elementIndexes[numElements] = index;
+    elements[numElements] = value;
+    numElements++;
+
+    pushHash(HASH_FUNCTION.hashBytes(value.asReadOnlyByteBuffer()));
+  }
+
+  private void visitHashNode(HashCode hash, int depth) {
+    if (depth > MAX_NODE_DEPTH) {
+      hashNodeDepthExceeded = true;
+    }
+    pushHash(hash);
+  }
+
+  private HashCode computeBranchHash(boolean hasRight) {
+    int inputSize = 0;
+    if (hasRight) {
+      HashCode rightHash = popHash();
+      HashCode leftHash = popHash();
+      inputSize += leftHash.writeBytesTo(branchHashInput, inputSize, branchHashInput.length);
+      inputSize += rightHash.writeBytesTo(branchHashInput, inputSize, branchHashInput.length);
+    } else {
+      HashCode leftHash = popHash();
+      inputSize += leftHash.writeBytesTo(branchHashInput, inputSize, branchHashInput.length);
+    }
+    return HASH_FUNCTION.hashBytes(branchHashInput, 0, inputSize);
+  }
+
+  private void push(ListProofNode node, int depth, long index) {
+    if (numNodes == nodes.length) {
+      int newCapacity = 2 * numNodes;
+      nodes = Arrays.copyOf(nodes, newCapacity);
+      depths = Arrays.copyOf(depths, newCapacity);
+      indexes = Arrays.copyOf(indexes, newCapacity);
+    }
+    nodes[numNodes] = node;
+    depths[numNodes] = depth;
+    indexes[numNodes] = index;
+    numNodes++;
+  }
+
+  private void pushHash(HashCode hash) {
+    if (numHashes == hashes.length) {
+      hashes = Arrays.copyOf(hashes, 2 * numHashes);
+    }
+    hashes[numHashes] = hash;
+    numHashes++;
+  }
+
+  private HashCode popHash() {
+    numHashes--;
+    HashCode hash = hashes[numHashes];
+    hashes[numHashes] = null;
+    return hash;
+  }
+
+  /**
+   * Returns the status of the proof. The checks are performed in the same order
+   * as in {@link ListProofStructureValidator}.
+   */
+  private ListProofStatus getProofStatus() {
+    if (elementDepthExceeded) {
+      return ListProofStatus.INVALID_ELEMENT_NODE_DEPTH;
+    } else if (hashNodeDepthExceeded) {
+      return ListProofStatus.INVALID_HASH_NODE_DEPTH;
+    } else if (elementDepthsDiffer) {
+      return ListProofStatus.INVALID_NODE_DEPTH;
+    } else if (numBranches > 0 && numElements == 0) {
+      return ListProofStatus.INVALID_TREE_NO_ELEMENTS;
+    } else if (hashOnlyBranchFound) {
+      return ListProofStatus.INVALID_HASH_NODES_COUNT;
+    }
+    return ListProofStatus.VALID;
+  }
+
+  /**
+   * Returns an unmodifiable view of the elements of a valid proof, which deserializes
+   * each element on first access.
+   */
+  private NavigableMap<Long, E> elementsView() {
+    // The elements of a valid proof are at the same depth, hence are visited in index order
+    long[] sortedIndexes = Arrays.copyOf(elementIndexes, numElements);
+    ImmutableSortedSet<Long> indexSet = ImmutableSortedSet.copyOf(Longs.asList(sortedIndexes));
+    assert indexSet.size() == numElements : "Duplicate indexes in a valid proof";
+    @SuppressWarnings("unchecked")
+    E[] values = (E[]) new Object[numElements];
+    return Maps.asMap(indexSet, index -> {
+      int i = Arrays.binarySearch(sortedIndexes, index);
+      E value = values[i];
+      if (value == null) {
+        value = serializer.fromBytes(elements[i].toByteArray());
+        values[i] = value;
+      }
+      return value;
+    });
+  }
+}
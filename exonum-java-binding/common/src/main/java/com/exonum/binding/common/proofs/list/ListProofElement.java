@@ -29,17 +29,6 @@ public final class ListProofElement implements ListProofNode {
 
   private final ByteString element;
 
-  /**
-   * Creates a new ListProofElement.
-   *
-   * @param element an element of the list
-   * @throws NullPointerException if the element is null
-   */
-  @SuppressWarnings("unused")  // Native API
-  ListProofElement(byte[] element) {
-    this.element = ByteString.copyFrom(element);
-  }
-
   /**
    * Creates a new ListProofElement.
    *
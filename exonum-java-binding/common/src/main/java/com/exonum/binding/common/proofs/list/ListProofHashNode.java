@@ -27,14 +27,6 @@ public final class ListProofHashNode implements ListProofNode {
 
   private final HashCode hash;
 
-  /**
-   * Creates a new hash node.
-   */
-  @SuppressWarnings("unused")  // native API
-  ListProofHashNode(byte[] hash) {
-    this(HashCode.fromBytes(hash));
-  }
-
   public ListProofHashNode(HashCode hash) {
     this.hash = checkNotNull(hash);
   }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.hash.Hashing;
+import com.exonum.binding.common.serialization.Serializer;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A list proof packed in a flat binary layout. This is the format in which the proofs
+ * are created by the {@code ProofListIndexProxy}; it may also be used to transfer the proofs,
+ * e.g., in the responses of a service HTTP API.
+ *
+ * <p>The packed proof contains the nodes of the proof tree in pre-order:
+ * each node is encoded as a one-byte tag, followed by its contents or its children:
+ * <ul>
+ *   <li>{@code 0}: a branch node with both children, followed by the left and the right child
+ *   <li>{@code 1}: a branch node without the right child, followed by the left child
+ *   <li>{@code 2}: a hash node, followed by the 32-byte hash
+ *   <li>{@code 3}: an element node, followed by the size of the element in bytes,
+ *       encoded as a big-endian 32-bit integer, and the element itself
+ * </ul>
+ *
+ * <p>The packed proof is {@linkplain #check() checked} without decoding it into a tree
+ * of {@link ListProofNode}s; the tree is decoded only if {@link #getRootProofNode()}
+ * is requested.
+ *
+ * @param <E> the type of elements in the corresponding list
+ */
+public final class PackedListProof<E> implements UncheckedListProof {
+
+  static final byte BRANCH_NODE = 0;
+  static final byte LEFT_BRANCH_NODE = 1;
+  static final byte HASH_NODE = 2;
+  static final byte ELEMENT_NODE = 3;
+
+  private final byte[] packedProof;
+  private final Serializer<E> serializer;
+  private ListProofNode rootProofNode;
+
+  private PackedListProof(byte[] packedProof, Serializer<E> serializer) {
+    this.packedProof = packedProof;
+    this.serializer = checkNotNull(serializer, "Serializer must be not null");
+  }
+
+  /**
+   * Creates a list proof from its packed representation. The proof is not decoded
+   * until it is used.
+   *
+   * @param packedProof the proof in the layout described in the class documentation
+   * @param serializer proof elements serializer
+   */
+  public static <E> PackedListProof<E> fromBytes(byte[] packedProof, Serializer<E> serializer) {
+    return new PackedListProof<>(packedProof.clone(), serializer);
+  }
+
+  /**
+   * Packs the given proof tree.
+   *
+   * @param rootProofNode the root node of the proof tree
+   * @param serializer proof elements serializer
+   * @throws IllegalArgumentException if the tree contains hashes which are not 32-byte long
+   */
+  public static <E> PackedListProof<E> pack(ListProofNode rootProofNode,
+      Serializer<E> serializer) {
+    PackedListProof<E> proof = new PackedListProof<>(packTree(rootProofNode), serializer);
+    proof.rootProofNode = rootProofNode;
+    return proof;
+  }
+
+  private static byte[] packTree(ListProofNode rootProofNode) {
+    ByteArrayOutputStream packed = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(packed);
+    // Visit the nodes in pre-order
+    Deque<ListProofNode> nodes = new ArrayDeque<>();
+    nodes.push(checkNotNull(rootProofNode));
+    try {
+      while (!nodes.isEmpty()) {
+        ListProofNode node = nodes.pop();
+        if (node instanceof ListProofBranch) {
+          ListProofBranch branch = (ListProofBranch) node;
+          if (branch.getRight().isPresent()) {
+            out.writeByte(BRANCH_NODE);
+            nodes.push(branch.getRight().get());
+          } else {
+            out.writeByte(LEFT_BRANCH_NODE);
+          }
+          nodes.push(branch.getLeft());
+        } else if (node instanceof ListProofHashNode) {
+          byte[] hash = ((ListProofHashNode) node).getHash().asBytes();
+          checkArgument(hash.length == Hashing.DEFAULT_HASH_SIZE_BYTES,
+              "Invalid hash size (%s) in the proof node", hash.length);
+          out.writeByte(HASH_NODE);
+          out.write(hash);
+        } else if (node instanceof ListProofElement) {
+          ByteString element = ((ListProofElement) node).getElement();
+          out.writeByte(ELEMENT_NODE);
+          out.writeInt(element.size());
+          element.writeTo(out);
+        } else {
+          throw new IllegalArgumentException("Unknown tree node type: " + node);
+        }
+      }
+    } catch (IOException e) {
+      // Cannot happen with ByteArrayOutputStream
+      throw new UncheckedIOException(e);
+    }
+    return packed.toByteArray();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The elements of the proof are deserialized on first access.
+   *
+   * @throws IllegalArgumentException if the packed proof is malformed
+   */
+  @Override
+  public CheckedListProof check() {
+    return ListProofChecker.check(ByteBuffer.wrap(packedProof), serializer);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The tree is decoded on the first invocation.
+   *
+   * @throws IllegalArgumentException if the packed proof is malformed
+   */
+  @Override
+  public ListProofNode getRootProofNode() {
+    if (rootProofNode == null) {
+      rootProofNode = decodeTree();
+    }
+    return rootProofNode;
+  }
+
+  private ListProofNode decodeTree() {
+    ByteBuffer proof = ByteBuffer.wrap(packedProof);
+    // The branches which children are being decoded, and their decoded children
+    Deque<Byte> branchTags = new ArrayDeque<>();
+    Deque<ListProofNode> decodedNodes = new ArrayDeque<>();
+    Deque<Integer> numDecodedChildren = new ArrayDeque<>();
+    try {
+      while (true) {
+        byte tag = proof.get();
+        ListProofNode node;
+        switch (tag) {
+          case BRANCH_NODE:
+          case LEFT_BRANCH_NODE:
+            branchTags.push(tag);
+            numDecodedChildren.push(0);
+            continue;
+          case HASH_NODE:
+            byte[] hash = new byte[Hashing.DEFAULT_HASH_SIZE_BYTES];
+            proof.get(hash);
+            node = new ListProofHashNode(HashCode.fromBytes(hash));
+            break;
+          case ELEMENT_NODE:
+            int size = proof.getInt();
+            checkArgument(0 <= size && size <= proof.remaining(),
+                "Malformed list proof: invalid element size (%s)", size);
+            node = new ListProofElement(
+                UnsafeByteOperations.unsafeWrap(packedProof, proof.position(), size));
+            proof.position(proof.position() + size);
+            break;
+          default:
+            throw new IllegalArgumentException("Malformed list proof: invalid node tag " + tag);
+        }
+
+        // Create the branches which children are decoded
+        while (true) {
+          if (branchTags.isEmpty()) {
+            checkArgument(!proof.hasRemaining(),
+                "Malformed list proof: %s bytes after the proof", proof.remaining());
+            return node;
+          }
+          int numChildren = numDecodedChildren.pop() + 1;
+          int expectedChildren = (branchTags.peek() == BRANCH_NODE) ? 2 : 1;
+          if (numChildren < expectedChildren) {
+            decodedNodes.push(node);
+            numDecodedChildren.push(numChildren);
+            break;
+          }
+          branchTags.pop();
+          node = (expectedChildren == 2)
+              ? new ListProofBranch(decodedNodes.pop(), node)
+              : new ListProofBranch(node, null);
+        }
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Malformed list proof: unexpected end of proof", e);
+    }
+  }
+
+  /**
+   * Returns the proof in the packed layout, described in the class documentation.
+   */
+  public byte[] toBytes() {
+    return packedProof.clone();
+  }
+}
@@ -221,28 +221,49 @@ public final class DbKey implements Comparable<DbKey> {
     if (other.equals(this)) {
       return this;
     }
-    BitSet thisBits = this.keyBits().getKeyBits();
-    thisBits.xor(other.keyBits().getKeyBits());
-    int firstSetBitIndex = thisBits.nextSetBit(0);
+    int commonPrefixSize = commonPrefixSize(other);
+    byte[] newKeySlice = new byte[KEY_SIZE];
+    int numWholeBytes = commonPrefixSize / Byte.SIZE;
+    System.arraycopy(keySlice, 0, newKeySlice, 0, numWholeBytes);
+    int numRemainingBits = commonPrefixSize % Byte.SIZE;
+    if (numRemainingBits != 0) {
+      int mask = (1 << numRemainingBits) - 1;
+      newKeySlice[numWholeBytes] = (byte) (keySlice[numWholeBytes] & mask);
+    }
+    return new DbKey(Type.BRANCH, newKeySlice, commonPrefixSize);
+  }
 
+  /**
+   * Returns the size of the common prefix of this and another DbKey in bits.
+   */
+  private int commonPrefixSize(DbKey other) {
     int minPrefixSize = Math.min(this.numSignificantBits, other.numSignificantBits);
-
-    // firstSetBitIndex equals -1 when either both keys are equal or one is a prefix of another with
-    // trailing zeros in their prefixes
-    if (firstSetBitIndex == -1) {
-      return newBranchKey(this.keySlice, minPrefixSize);
-    }
-    int commonPrefixSize = Math.min(firstSetBitIndex, minPrefixSize);
-    byte[] commonPrefix = this.keyBits().getKeyBits().get(0, firstSetBitIndex).toByteArray();
-    byte[] newKeySlice = Arrays.copyOf(commonPrefix, DbKey.KEY_SIZE);
-    return newBranchKey(newKeySlice, commonPrefixSize);
+    return firstDifferentBit(this.keySlice, other.keySlice, minPrefixSize);
   }
 
   /**
    * Returns true if this {@code DbKey} is a prefix of that {@code DbKey}.
    */
   public boolean isPrefixOf(DbKey other) {
-    return this.keyBits().isPrefixOf(other.keyBits());
+    return this.numSignificantBits <= other.numSignificantBits
+        && firstDifferentBit(this.keySlice, other.keySlice, this.numSignificantBits)
+            == this.numSignificantBits;
+  }
+
+  /**
+   * Returns the index of the first bit that differs in the given key slices,
+   * or {@code limit} if they have no different bits before it. The bits are numbered
+   * as in {@link BitSet#valueOf(byte[])}.
+   */
+  private static int firstDifferentBit(byte[] key1, byte[] key2, int limit) {
+    for (int i = 0; i * Byte.SIZE < limit; i++) {
+      int difference = (key1[i] ^ key2[i]) & 0xFF;
+      if (difference != 0) {
+        int bitIndex = i * Byte.SIZE + Integer.numberOfTrailingZeros(difference);
+        return Math.min(bitIndex, limit);
+      }
+    }
+    return limit;
   }
 
   @Override
@@ -272,21 +293,15 @@ public final class DbKey implements Comparable<DbKey> {
    */
   @Override
   public int compareTo(DbKey other) {
-    if (other.equals(this)) {
-      return 0;
-    }
     int commonPartSize = Math.min(this.numSignificantBits, other.numSignificantBits);
-    BitSet thisBits = this.keyBits().getKeyBits();
-    BitSet otherBits = other.keyBits().getKeyBits();
-    for (int i = 0; i < commonPartSize; i++) {
-      if (thisBits.get(i) ^ otherBits.get(i)) {
-        if (thisBits.get(i)) {
-          return 1;
-        } else {
-          return -1;
-        }
-      }
+    int firstDifferentBit = firstDifferentBit(this.keySlice, other.keySlice, commonPartSize);
+    if (firstDifferentBit < commonPartSize) {
+      return isSet(this.keySlice, firstDifferentBit) ? 1 : -1;
     }
     return Integer.compare(this.numSignificantBits, other.numSignificantBits);
   }
+
+  private static boolean isSet(byte[] key, int bitIndex) {
+    return (key[bitIndex / Byte.SIZE] & (1 << (bitIndex % Byte.SIZE))) != 0;
+  }
 }
@@ -18,8 +18,8 @@ package com.exonum.binding.common.proofs.map;
 
 import static com.exonum.binding.common.hash.Funnels.hashCodeFunnel;
 import static com.exonum.binding.common.proofs.DbKeyFunnel.dbKeyFunnel;
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Collections.emptySet;
-import static java.util.stream.Collectors.toList;
 
 import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.common.hash.HashCode;
@@ -28,15 +28,20 @@ import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.proofs.map.DbKey.Type;
 import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
 
 /**
  * An unchecked flat map proof, which does not include any intermediate nodes.
@@ -54,29 +59,123 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
   UncheckedFlatMapProof(
       List<MapProofEntry> proof,
       List<MapEntry<ByteString, ByteString>> entries,
-      List<byte[]> missingKeys) {
+      List<ByteString> missingKeys) {
     this.proof = proof;
     this.entries = entries;
-    this.missingKeys = missingKeys.stream()
-        .map(ByteString::copyFrom)
-        .collect(toList());
+    this.missingKeys = missingKeys;
   }
 
-  @SuppressWarnings("unused") // Native API
-  static UncheckedFlatMapProof fromNative(
-      MapProofEntry[] proofList,
-      MapEntry<byte[], byte[]>[] entries,
-      byte[][] missingKeys) {
-    List<MapProofEntry> proof = Arrays.asList(proofList);
-    List<MapEntry<ByteString, ByteString>> entriesList = Arrays.stream(entries)
-        .map(
-            e -> MapEntry.valueOf(
-                ByteString.copyFrom(e.getKey()),
-                ByteString.copyFrom(e.getValue()))
-        )
-        .collect(toList());
-    List<byte[]> missingKeysList = Arrays.asList(missingKeys);
-    return new UncheckedFlatMapProof(proof, entriesList, missingKeysList);
+  /**
+   * Creates a map proof from its packed representation. The packed proof consists of
+   * three consecutive sections:
+   * <ul>
+   *   <li>the proof nodes: the number of nodes, followed by the 34-byte
+   *       {@linkplain DbKey database key} and the 32-byte hash of each node
+   *   <li>the entries with the requested keys that are present in the map: the number
+   *       of entries, followed by the 32-byte key, the size of the value in bytes
+   *       and the value of each entry
+   *   <li>the requested keys that are absent in the map: the number of keys,
+   *       followed by the 32-byte keys
+   * </ul>
+   * The numbers and the sizes are encoded as big-endian 32-bit integers.
+   *
+   * <p>This is the format in which the proofs are created by the {@code ProofMapIndexProxy};
+   * it may also be used to transfer the proofs, e.g., in the responses of a service HTTP API.
+   *
+   * @param packedProof the packed proof
+   * @throws IllegalArgumentException if the packed proof is malformed
+   * @see #toBytes()
+   */
+  public static UncheckedFlatMapProof fromBytes(byte[] packedProof) {
+    byte[] packed = packedProof.clone();
+    ByteBuffer buffer = ByteBuffer.wrap(packed);
+    try {
+      int numNodes = readCount(buffer, DbKey.DB_KEY_SIZE + Hashing.DEFAULT_HASH_SIZE_BYTES);
+      List<MapProofEntry> proof = new ArrayList<>(numNodes);
+      for (int i = 0; i < numNodes; i++) {
+        byte[] dbKey = new byte[DbKey.DB_KEY_SIZE];
+        buffer.get(dbKey);
+        byte[] hash = new byte[Hashing.DEFAULT_HASH_SIZE_BYTES];
+        buffer.get(hash);
+        proof.add(new MapProofEntry(DbKey.fromBytes(dbKey), HashCode.fromBytes(hash)));
+      }
+
+      int numEntries = readCount(buffer, DbKey.KEY_SIZE + Integer.BYTES);
+      List<MapEntry<ByteString, ByteString>> entries = new ArrayList<>(numEntries);
+      for (int i = 0; i < numEntries; i++) {
+        ByteString key = readBytes(buffer, DbKey.KEY_SIZE);
+        int valueSize = buffer.getInt();
+        checkArgument(0 <= valueSize && valueSize <= buffer.remaining(),
+            "Malformed map proof: invalid value size (%s)", valueSize);
+        entries.add(MapEntry.valueOf(key, readBytes(buffer, valueSize)));
+      }
+
+      int numMissingKeys = readCount(buffer, DbKey.KEY_SIZE);
+      List<ByteString> missingKeys = new ArrayList<>(numMissingKeys);
+      for (int i = 0; i < numMissingKeys; i++) {
+        missingKeys.add(readBytes(buffer, DbKey.KEY_SIZE));
+      }
+      checkArgument(!buffer.hasRemaining(),
+          "Malformed map proof: %s bytes after the proof", buffer.remaining());
+      return new UncheckedFlatMapProof(proof, entries, missingKeys);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Malformed map proof: unexpected end of proof", e);
+    }
+  }
+
+  /**
+   * Reads the number of items in a section, each taking at least the given number of bytes.
+   */
+  private static int readCount(ByteBuffer buffer, int minItemSize) {
+    int count = buffer.getInt();
+    checkArgument(0 <= count && count <= buffer.remaining() / minItemSize,
+        "Malformed map proof: invalid number of items (%s)", count);
+    return count;
+  }
+
+  /**
+   * Returns a view of the next {@code size} bytes of the array-backed buffer, advancing
+   * its position.
+   */
+  private static ByteString readBytes(ByteBuffer buffer, int size) {
+    if (buffer.remaining() < size) {
+      throw new BufferUnderflowException();
+    }
+    int position = buffer.position();
+    buffer.position(position + size);
+    // The buffer wraps a private copy of the proof, hence it is safe to not copy the bytes
+    return UnsafeByteOperations.unsafeWrap(buffer.array(), position, size);
+  }
+
+  /**
+   * Returns this proof in the packed layout.
+   *
+   * @see #fromBytes(byte[])
+   */
+  public byte[] toBytes() {
+    ByteArrayOutputStream packed = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(packed);
+    try {
+      out.writeInt(proof.size());
+      for (MapProofEntry e : proof) {
+        out.write(e.getDbKey().getRawDbKey());
+        out.write(e.getHash().asBytes());
+      }
+      out.writeInt(entries.size());
+      for (MapEntry<ByteString, ByteString> e : entries) {
+        e.getKey().writeTo(out);
+        out.writeInt(e.getValue().size());
+        e.getValue().writeTo(out);
+      }
+      out.writeInt(missingKeys.size());
+      for (ByteString key : missingKeys) {
+        key.writeTo(out);
+      }
+    } catch (IOException e) {
+      // Cannot happen with ByteArrayOutputStream
+      throw new UncheckedIOException(e);
+    }
+    return packed.toByteArray();
   }
 
   @Override
@@ -131,23 +230,35 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
   /**
    * Check if any entry has a prefix among the paths in the proof entries. Both found and absent
    * keys are checked.
+   *
+   * <p>The proof entries must be sorted and must not be prefixes of each other,
+   * as verified by {@link #orderCheck()}. Then the only proof entry that might be a prefix
+   * of a requested key is the greatest proof entry not exceeding that key, because any key
+   * between a prefix and its extension has the same prefix. Hence the sorted requested keys
+   * are merged with the proof entries in a single pass.
    */
   private boolean prefixesIncluded() {
-    Stream<DbKey> requestedKeys =
-        Stream.concat(
-            entries.stream()
-                .map(MapEntry::getKey),
-            missingKeys.stream())
-        .map(DbKey::newLeafKey);
-
-    // TODO: proof entries are checked to be sorted at this stage, so it's possible …
-    // to use binary search here
-    return requestedKeys
-        .anyMatch(leafEntryKey -> proof.stream()
-            .map(MapProofEntry::getDbKey)
-            .anyMatch(proofEntryKey ->
-                proofEntryKey.isPrefixOf(leafEntryKey))
-        );
+    List<DbKey> requestedKeys = new ArrayList<>(entries.size() + missingKeys.size());
+    for (MapEntry<ByteString, ByteString> entry : entries) {
+      requestedKeys.add(DbKey.newLeafKey(entry.getKey()));
+    }
+    for (ByteString missingKey : missingKeys) {
+      requestedKeys.add(DbKey.newLeafKey(missingKey));
+    }
+    requestedKeys.sort(Comparator.naturalOrder());
+
+    int proofIndex = 0;
+    for (DbKey requestedKey : requestedKeys) {
+      // Find the greatest proof entry not exceeding the requested key
+      while (proofIndex < proof.size()
+          && proof.get(proofIndex).getDbKey().compareTo(requestedKey) <= 0) {
+        proofIndex++;
+      }
+      if (proofIndex > 0 && proof.get(proofIndex - 1).getDbKey().isPrefixOf(requestedKey)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   private boolean isEmptyProof() {
@@ -215,16 +326,29 @@ public class UncheckedFlatMapProof implements UncheckedMapProof {
     assert contourSize > 1 :
         "This method computes the hashes correctly for trees with multiple nodes only";
 
-    List<MapProofEntry> proofContour = new ArrayList<>(contourSize);
-
-    proofContour.addAll(proof);
-    entries
-        .stream()
-        .map(e -> new MapProofEntry(DbKey.newLeafKey(e.getKey()), getMapEntryHash(e)))
-        .forEach(proofContour::add);
-
-    proofContour.sort(Comparator.comparing(MapProofEntry::getDbKey));
+    List<MapProofEntry> leaves = new ArrayList<>(entries.size());
+    for (MapEntry<ByteString, ByteString> e : entries) {
+      leaves.add(new MapProofEntry(DbKey.newLeafKey(e.getKey()), getMapEntryHash(e)));
+    }
+    leaves.sort(Comparator.comparing(MapProofEntry::getDbKey));
 
+    // The proof entries are already sorted, therefore, merge the two sorted lists
+    List<MapProofEntry> proofContour = new ArrayList<>(contourSize);
+    int proofIndex = 0;
+    int leafIndex = 0;
+    while (proofIndex < proof.size() && leafIndex < leaves.size()) {
+      MapProofEntry proofEntry = proof.get(proofIndex);
+      MapProofEntry leaf = leaves.get(leafIndex);
+      if (proofEntry.getDbKey().compareTo(leaf.getDbKey()) < 0) {
+        proofContour.add(proofEntry);
+        proofIndex++;
+      } else {
+        proofContour.add(leaf);
+        leafIndex++;
+      }
+    }
+    proofContour.addAll(proof.subList(proofIndex, proof.size()));
+    proofContour.addAll(leaves.subList(leafIndex, leaves.size()));
     return proofContour;
   }
 
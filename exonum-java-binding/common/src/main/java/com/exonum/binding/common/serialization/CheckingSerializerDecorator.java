@@ -19,6 +19,8 @@ package com.exonum.binding.common.serialization;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.nio.ByteBuffer;
+
 /**
  * A serializer decorator, that performs some extra checks to ensure that a user-supplied
  * serializer adheres to {@link Serializer} contract. These are required in Java code
@@ -66,4 +68,18 @@ public final class CheckingSerializerDecorator<T> implements Serializer<T> {
         + "to an instance of the given type.", delegate);
     return value;
   }
+
+  @Override
+  public void writeTo(T value, ByteBuffer buffer) {
+    delegate.writeTo(checkNotNull(value, "value is null"), checkNotNull(buffer, "buffer is null"));
+  }
+
+  @Override
+  public T fromBuffer(ByteBuffer buffer) {
+    T value = delegate.fromBuffer(checkNotNull(buffer, "buffer is null"));
+    checkState(value != null, "Broken serializer (%s): produces a null value for a non-null buffer."
+        + " You must throw an exception if a serialized value cannot be converted "
+        + "to an instance of the given type.", delegate);
+    return value;
+  }
 }
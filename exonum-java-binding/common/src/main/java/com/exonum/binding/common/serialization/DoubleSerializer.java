@@ -18,6 +18,9 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
+import static com.exonum.binding.common.serialization.SerializationUtils.getLongLe;
+import static com.exonum.binding.common.serialization.SerializationUtils.putLongLe;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -42,4 +45,15 @@ enum DoubleSerializer implements Serializer<Double> {
         .getDouble();
   }
 
+  @Override
+  public void writeTo(Double value, ByteBuffer buffer) {
+    putLongLe(buffer, Double.doubleToRawLongBits(value));
+  }
+
+  @Override
+  public Double fromBuffer(ByteBuffer buffer) {
+    checkRemaining(buffer, Double.BYTES);
+    return Double.longBitsToDouble(getLongLe(buffer));
+  }
+
 }
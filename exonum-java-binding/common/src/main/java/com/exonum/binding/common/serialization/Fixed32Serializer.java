@@ -18,6 +18,9 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
+import static com.exonum.binding.common.serialization.SerializationUtils.getIntLe;
+import static com.exonum.binding.common.serialization.SerializationUtils.putIntLe;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -42,4 +45,15 @@ enum Fixed32Serializer implements Serializer<Integer> {
         .getInt();
   }
 
+  @Override
+  public void writeTo(Integer value, ByteBuffer buffer) {
+    putIntLe(buffer, value);
+  }
+
+  @Override
+  public Integer fromBuffer(ByteBuffer buffer) {
+    checkRemaining(buffer, Integer.BYTES);
+    return getIntLe(buffer);
+  }
+
 }
@@ -18,6 +18,9 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
+import static com.exonum.binding.common.serialization.SerializationUtils.getLongLe;
+import static com.exonum.binding.common.serialization.SerializationUtils.putLongLe;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -42,4 +45,15 @@ enum Fixed64Serializer implements Serializer<Long> {
         .getLong();
   }
 
+  @Override
+  public void writeTo(Long value, ByteBuffer buffer) {
+    putLongLe(buffer, value);
+  }
+
+  @Override
+  public Long fromBuffer(ByteBuffer buffer) {
+    checkRemaining(buffer, Long.BYTES);
+    return getLongLe(buffer);
+  }
+
 }
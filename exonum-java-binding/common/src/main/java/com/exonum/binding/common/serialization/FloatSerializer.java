@@ -18,6 +18,9 @@
 package com.exonum.binding.common.serialization;
 
 import static com.exonum.binding.common.serialization.SerializationUtils.checkLength;
+import static com.exonum.binding.common.serialization.SerializationUtils.checkRemaining;
+import static com.exonum.binding.common.serialization.SerializationUtils.getIntLe;
+import static com.exonum.binding.common.serialization.SerializationUtils.putIntLe;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -42,4 +45,15 @@ enum FloatSerializer implements Serializer<Float> {
         .getFloat();
   }
 
+  @Override
+  public void writeTo(Float value, ByteBuffer buffer) {
+    putIntLe(buffer, Float.floatToRawIntBits(value));
+  }
+
+  @Override
+  public Float fromBuffer(ByteBuffer buffer) {
+    checkRemaining(buffer, Float.BYTES);
+    return Float.intBitsToFloat(getIntLe(buffer));
+  }
+
 }
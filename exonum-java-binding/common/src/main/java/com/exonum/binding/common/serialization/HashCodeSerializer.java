@@ -18,6 +18,8 @@
 package com.exonum.binding.common.serialization;
 
 import com.exonum.binding.common.hash.HashCode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 enum HashCodeSerializer implements Serializer<HashCode> {
   INSTANCE;
@@ -32,4 +34,20 @@ enum HashCodeSerializer implements Serializer<HashCode> {
     return HashCode.fromBytes(serializedValue);
   }
 
+  @Override
+  public void writeTo(HashCode value, ByteBuffer buffer) {
+    int size = value.bits() / Byte.SIZE;
+    if (buffer.remaining() < size) {
+      throw new BufferOverflowException();
+    }
+    if (buffer.hasArray()) {
+      // Write directly to the backing array to avoid copying the hash
+      int offset = buffer.arrayOffset() + buffer.position();
+      value.writeBytesTo(buffer.array(), offset, size);
+      buffer.position(buffer.position() + size);
+    } else {
+      buffer.put(value.asBytes());
+    }
+  }
+
 }
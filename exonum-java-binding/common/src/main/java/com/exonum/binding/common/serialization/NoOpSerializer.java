@@ -17,6 +17,8 @@
 
 package com.exonum.binding.common.serialization;
 
+import java.nio.ByteBuffer;
+
 enum NoOpSerializer implements Serializer<byte[]> {
   INSTANCE;
 
@@ -30,4 +32,9 @@ enum NoOpSerializer implements Serializer<byte[]> {
     return serializedValue;
   }
 
+  @Override
+  public void writeTo(byte[] value, ByteBuffer buffer) {
+    buffer.put(value);
+  }
+
 }
@@ -18,6 +18,7 @@ package com.exonum.binding.common.serialization;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageLite;
@@ -25,6 +26,8 @@ import java.io.IOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 /**
  * A reflective serializer-adapter of protobuf messages.
@@ -36,16 +39,27 @@ import java.lang.invoke.MethodType;
  */
 class ProtobufReflectiveSerializer<MessageT extends MessageLite> implements Serializer<MessageT> {
 
+  private final Class<MessageT> messageType;
+
   /**
    * The handle to a static `MessageT#parseFrom(byte[]) -> MessageT`.
    */
   private final MethodHandle messageParseFrom;
 
+  /**
+   * The handle to a static `MessageT#parseFrom(CodedInputStream) -> MessageT`.
+   */
+  private final MethodHandle messageParseFromStream;
+
   ProtobufReflectiveSerializer(Class<MessageT> messageType) {
+    this.messageType = messageType;
     MethodHandles.Lookup lookup = MethodHandles.publicLookup();
     try {
       messageParseFrom = lookup
           .findStatic(messageType, "parseFrom", MethodType.methodType(messageType, byte[].class));
+      messageParseFromStream = lookup
+          .findStatic(messageType, "parseFrom",
+              MethodType.methodType(messageType, CodedInputStream.class));
     } catch (NoSuchMethodException | IllegalAccessException e) {
       throw new IllegalArgumentException("Invalid message: cannot find public static parseFrom "
           + "method in " + messageType, e);
@@ -85,4 +99,61 @@ class ProtobufReflectiveSerializer<MessageT extends MessageLite> implements Seri
       throw new AssertionError("Unexpected exception in MessageT#parseFrom", throwable);
     }
   }
+
+  @Override
+  public void writeTo(MessageT value, ByteBuffer buffer) {
+    if (buffer.remaining() < value.getSerializedSize()) {
+      throw new BufferOverflowException();
+    }
+    CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+    output.useDeterministicSerialization();
+
+    try {
+      value.writeTo(output);
+      // Updates the buffer position
+      output.flush();
+    } catch (IOException e) {
+      throw new AssertionError("Failed to serialize " + value
+          + " to a byte buffer (should never happen)", e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public MessageT fromBuffer(ByteBuffer buffer) {
+    checkNotNull(buffer);
+    try {
+      // The stream reads the buffer without changing its position
+      CodedInputStream input = CodedInputStream.newInstance(buffer);
+      MessageT message = (MessageT) messageParseFromStream.invoke(input);
+      buffer.position(buffer.limit());
+      return message;
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalArgumentException(e);
+    } catch (Throwable throwable) {
+      // MessageT#parseFrom is not supposed to throw anything but NPE
+      // and InvalidProtocolBufferException
+      throw new AssertionError("Unexpected exception in MessageT#parseFrom", throwable);
+    }
+  }
+
+  /**
+   * Returns true if the given object is a serializer of the same message type.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ProtobufReflectiveSerializer)) {
+      return false;
+    }
+    ProtobufReflectiveSerializer<?> that = (ProtobufReflectiveSerializer<?>) o;
+    return messageType.equals(that.messageType);
+  }
+
+  @Override
+  public int hashCode() {
+    return messageType.hashCode();
+  }
 }
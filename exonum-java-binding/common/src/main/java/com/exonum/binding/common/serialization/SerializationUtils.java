@@ -19,6 +19,9 @@ package com.exonum.binding.common.serialization;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 final class SerializationUtils {
 
   /**
@@ -33,6 +36,52 @@ final class SerializationUtils {
         "Expected an array of size %s, but was %s", length, array.length);
   }
 
+  /**
+   * Performs check that the buffer has the given number of remaining bytes.
+   *
+   * @param buffer a buffer
+   * @param length expected number of remaining bytes
+   * @throws IllegalArgumentException thrown if the number of remaining bytes is incorrect
+   */
+  static void checkRemaining(ByteBuffer buffer, int length) {
+    checkArgument(buffer.remaining() == length,
+        "Expected a buffer of %s remaining bytes, but was %s", length, buffer.remaining());
+  }
+
+  /**
+   * Puts an int in little-endian byte order, regardless of the order of the buffer.
+   */
+  static void putIntLe(ByteBuffer buffer, int value) {
+    buffer.putInt(isLittleEndian(buffer) ? value : Integer.reverseBytes(value));
+  }
+
+  /**
+   * Gets an int in little-endian byte order, regardless of the order of the buffer.
+   */
+  static int getIntLe(ByteBuffer buffer) {
+    int value = buffer.getInt();
+    return isLittleEndian(buffer) ? value : Integer.reverseBytes(value);
+  }
+
+  /**
+   * Puts a long in little-endian byte order, regardless of the order of the buffer.
+   */
+  static void putLongLe(ByteBuffer buffer, long value) {
+    buffer.putLong(isLittleEndian(buffer) ? value : Long.reverseBytes(value));
+  }
+
+  /**
+   * Gets a long in little-endian byte order, regardless of the order of the buffer.
+   */
+  static long getLongLe(ByteBuffer buffer) {
+    long value = buffer.getLong();
+    return isLittleEndian(buffer) ? value : Long.reverseBytes(value);
+  }
+
+  private static boolean isLittleEndian(ByteBuffer buffer) {
+    return buffer.order() == ByteOrder.LITTLE_ENDIAN;
+  }
+
   private SerializationUtils() {
   }
 }
@@ -16,6 +16,9 @@
 
 package com.exonum.binding.common.serialization;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Converts Java objects into a binary representation in some format, and vice versa.
  *
@@ -24,6 +27,9 @@ package com.exonum.binding.common.serialization;
  * is converted to another object o2, that is equal to the original object o.
  *
  * <p>This interface is designed to be primarily used by storage proxies and proof validators.
+ * The storage proxies use {@link #writeTo(Object, ByteBuffer)} and {@link #fromBuffer(ByteBuffer)}
+ * to pass the values to the native code without intermediate byte arrays; implementations
+ * may override these methods to avoid the copying their default implementations perform.
  *
  * @param <T> a type of serializable object
  *
@@ -50,4 +56,41 @@ public interface Serializer<T> {
    *     (e.g., contains 2 bytes when 4 are expected)
    */
   T fromBytes(byte[] serializedValue);
+
+  /**
+   * Serializes a given value into a buffer, starting at its current position.
+   * The buffer position is advanced by the size of the serialized value.
+   * The binary representation must be the same as {@link #toBytes(Object)} produces,
+   * regardless of the byte order of the buffer.
+   *
+   * <p>The default implementation puts the result of {@link #toBytes(Object)} into the buffer.
+   *
+   * @param value a value to serialize, must not be null
+   * @param buffer a buffer to write the serialized value to
+   * @throws NullPointerException if value is null
+   * @throws BufferOverflowException if the buffer does not have enough remaining space;
+   *     the buffer position is unspecified in this case
+   */
+  default void writeTo(T value, ByteBuffer buffer) {
+    buffer.put(toBytes(value));
+  }
+
+  /**
+   * De-serializes a value from the remaining bytes of a given buffer, i.e., from its
+   * position to its limit. The buffer position is advanced to its limit.
+   *
+   * <p>The default implementation copies the remaining bytes into an array and passes it
+   * to {@link #fromBytes(byte[])}.
+   *
+   * @param buffer a buffer containing a serialized value of type T, must not be null
+   * @return a value
+   * @throws NullPointerException if the buffer is null
+   * @throws IllegalArgumentException if the remaining bytes cannot be decoded into a value
+   *     of type T
+   */
+  default T fromBuffer(ByteBuffer buffer) {
+    byte[] serializedValue = new byte[buffer.remaining()];
+    buffer.get(serializedValue);
+    return fromBytes(serializedValue);
+  }
 }
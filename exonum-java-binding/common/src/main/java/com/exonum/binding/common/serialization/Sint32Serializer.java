@@ -17,6 +17,8 @@
 
 package com.exonum.binding.common.serialization;
 
+import java.nio.ByteBuffer;
+
 enum Sint32Serializer implements Serializer<Integer> {
   INSTANCE;
 
@@ -32,6 +34,16 @@ enum Sint32Serializer implements Serializer<Integer> {
     return decodeZigZag32(WRITER.fromBytes(serializedValue));
   }
 
+  @Override
+  public void writeTo(Integer value, ByteBuffer buffer) {
+    WRITER.writeTo(encodeZigZag32(value), buffer);
+  }
+
+  @Override
+  public Integer fromBuffer(ByteBuffer buffer) {
+    return decodeZigZag32(WRITER.fromBuffer(buffer));
+  }
+
   /**
    * Encode a ZigZag-encoded 32-bit value. ZigZag encodes signed integers into values that can be
    * efficiently encoded with varint. (Otherwise, negative values must be sign-extended to 64 bits
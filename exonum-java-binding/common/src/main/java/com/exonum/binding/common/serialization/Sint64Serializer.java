@@ -17,6 +17,8 @@
 
 package com.exonum.binding.common.serialization;
 
+import java.nio.ByteBuffer;
+
 enum Sint64Serializer implements Serializer<Long> {
   INSTANCE;
 
@@ -32,6 +34,16 @@ enum Sint64Serializer implements Serializer<Long> {
     return decodeZigZag64(WRITER.fromBytes(serializedValue));
   }
 
+  @Override
+  public void writeTo(Long value, ByteBuffer buffer) {
+    WRITER.writeTo(encodeZigZag64(value), buffer);
+  }
+
+  @Override
+  public Long fromBuffer(ByteBuffer buffer) {
+    return decodeZigZag64(WRITER.fromBuffer(buffer));
+  }
+
   /**
    * Encode a ZigZag-encoded 64-bit value. ZigZag encodes signed integers into values that can be
    * efficiently encoded with varint. (Otherwise, negative values must be sign-extended to 64 bits
@@ -34,6 +34,11 @@ enum StringSerializer implements Serializer<String> {
 
   @Override
   public String fromBytes(byte[] serializedValue) {
+    return fromBuffer(ByteBuffer.wrap(serializedValue));
+  }
+
+  @Override
+  public String fromBuffer(ByteBuffer buffer) {
     try {
       // Since the String(bytes, charset) constructor is specified so that
       // it "… always replaces malformed-input and unmappable-character sequences …",
@@ -49,7 +54,7 @@ enum StringSerializer implements Serializer<String> {
           .onUnmappableCharacter(CodingErrorAction.REPLACE);
 
       // Decode the buffer in a character buffer
-      CharBuffer strBuffer = decoder.decode(ByteBuffer.wrap(serializedValue));
+      CharBuffer strBuffer = decoder.decode(buffer);
       return new String(strBuffer.array(), strBuffer.arrayOffset(), strBuffer.remaining());
     } catch (CharacterCodingException e) {
       throw new IllegalArgumentException("Cannot decode the input", e);
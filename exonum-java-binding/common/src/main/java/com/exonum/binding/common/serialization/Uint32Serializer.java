@@ -88,4 +88,22 @@ enum Uint32Serializer implements Serializer<Integer> {
     }
   }
 
+  @Override
+  public void writeTo(Integer value, ByteBuffer buffer) {
+    int val = value; // un-box the value
+    if (buffer.remaining() < varintSize(val)) {
+      throw new BufferOverflowException();
+    }
+    while ((val & ~0x7F) != 0) {
+      buffer.put((byte) ((val & 0x7F) | 0x80));
+      val >>>= 7;
+    }
+    buffer.put((byte) val);
+  }
+
+  private static int varintSize(int value) {
+    int numBits = Integer.SIZE - Integer.numberOfLeadingZeros(value);
+    return Math.max(1, (numBits + 6) / 7);
+  }
+
 }
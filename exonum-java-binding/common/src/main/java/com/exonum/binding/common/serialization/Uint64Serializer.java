@@ -108,4 +108,22 @@ enum Uint64Serializer implements Serializer<Long> {
     }
   }
 
+  @Override
+  public void writeTo(Long value, ByteBuffer buffer) {
+    long val = value; // un-box the value
+    if (buffer.remaining() < varintSize(val)) {
+      throw new BufferOverflowException();
+    }
+    while ((val & ~0x7FL) != 0) {
+      buffer.put((byte) (((int) val & 0x7F) | 0x80));
+      val >>>= 7;
+    }
+    buffer.put((byte) val);
+  }
+
+  private static int varintSize(long value) {
+    int numBits = Long.SIZE - Long.numberOfLeadingZeros(value);
+    return Math.max(1, (numBits + 6) / 7);
+  }
+
 }
@@ -30,7 +30,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.exonum.binding.test.Bytes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class Ed25519CryptoFunctionTest {
 
@@ -143,4 +148,63 @@ class Ed25519CryptoFunctionTest {
     byte[] anotherMessage = bytes("anotherMessage");
     assertFalse(CRYPTO_FUNCTION.verify(anotherMessage, signature, publicKey));
   }
+
+  @Test
+  void verifyBatchEmpty() {
+    BitSet valid = CRYPTO_FUNCTION.verifyBatch(new ArrayList<>());
+
+    assertTrue(valid.isEmpty());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 7, 8, 100})
+  void verifyBatch(int batchSize) {
+    KeyPair keyPair = CRYPTO_FUNCTION.generateKeyPair();
+    List<SignedMessage> messages = new ArrayList<>();
+    BitSet expected = new BitSet();
+    for (int i = 0; i < batchSize; i++) {
+      byte[] message = bytes("message" + i);
+      byte[] signature = CRYPTO_FUNCTION.signMessage(message, keyPair.getPrivateKey());
+      // Every third signature is valid for another message
+      if (i % 3 == 1) {
+        message = bytes("another message" + i);
+      } else {
+        expected.set(i);
+      }
+      messages.add(SignedMessage.of(message, signature, keyPair.getPublicKey()));
+    }
+
+    BitSet valid = CRYPTO_FUNCTION.verifyBatch(messages);
+
+    assertThat(valid, equalTo(expected));
+  }
+
+  @Test
+  void verifyBatchMessagePrefix() {
+    KeyPair keyPair = CRYPTO_FUNCTION.generateKeyPair();
+    byte[] message = bytes("myMessage");
+    byte[] signature = CRYPTO_FUNCTION.signMessage(message, keyPair.getPrivateKey());
+    byte[] messageWithSuffix = bytes("myMessage with a suffix");
+    PublicKey publicKey = keyPair.getPublicKey();
+    List<SignedMessage> messages = new ArrayList<>();
+    messages.add(SignedMessage.of(messageWithSuffix, message.length, signature, publicKey));
+    messages.add(SignedMessage.of(messageWithSuffix, signature, publicKey));
+
+    BitSet valid = CRYPTO_FUNCTION.verifyBatch(messages);
+
+    assertTrue(valid.get(0));
+    assertFalse(valid.get(1));
+  }
+
+  @Test
+  void verifyBatchInvalidLengthSignature() {
+    KeyPair keyPair = CRYPTO_FUNCTION.generateKeyPair();
+    List<SignedMessage> messages = new ArrayList<>();
+    messages.add(SignedMessage.of(bytes("myMessage"), bytes("invalidLengthMessage"),
+        keyPair.getPublicKey()));
+
+    BitSet valid = CRYPTO_FUNCTION.verifyBatch(messages);
+
+    assertTrue(valid.isEmpty());
+  }
 }
@@ -38,6 +38,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.nio.ByteBuffer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 /**
  * Unit tests for {@link Hashing}.
@@ -73,6 +75,18 @@ class HashingTest {
     assertEquals("Hashing.sha256()", Hashing.sha256().toString());
   }
 
+  @ParameterizedTest
+  @EnumSource(Sha256Implementation.class)
+  void testSha256Implementations(Sha256Implementation implementation) {
+    HashFunction f = Hashing.sha256(implementation);
+    HashTestUtils.assertInvariants(f);
+    assertEquals("Hashing.sha256()", f.toString());
+
+    byte[] input = HashTestUtils.ascii("The quick brown fox jumps over the lazy dog");
+    assertThat(f.hashBytes(input), equalTo(Hashing.sha256().hashBytes(input)));
+    assertThat(f.hashBytes(input, 4, 5), equalTo(Hashing.sha256().hashBytes(input, 4, 5)));
+  }
+
   @Test
   void testSha384() {
     HashTestUtils.checkAvalanche(Hashing.sha384(), 100, 0.4);
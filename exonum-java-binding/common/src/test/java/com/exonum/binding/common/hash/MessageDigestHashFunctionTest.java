@@ -32,11 +32,13 @@
 package com.exonum.binding.common.hash;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
@@ -95,6 +97,30 @@ class MessageDigestHashFunctionTest {
     assertThrows(IllegalStateException.class, () -> sha256.hash());
   }
 
+  @Test
+  void testHashBytesRange() {
+    byte[] input = HashTestUtils.ascii("The quick brown fox jumps over the lazy dog");
+    HashFunction sha256 = Hashing.sha256();
+
+    // Hash several times to check that the pooled digest is reset
+    for (int i = 0; i < 3; i++) {
+      assertEquals(sha256.newHasher().putBytes(input, 4, 5).hash(),
+          sha256.hashBytes(input, 4, 5));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> sha256.hashBytes(input, 4, input.length));
+  }
+
+  @Test
+  void testHashDirectByteBuffer() {
+    byte[] input = HashTestUtils.ascii("The quick brown fox jumps over the lazy dog");
+    ByteBuffer buffer = ByteBuffer.allocateDirect(input.length);
+    buffer.put(input);
+    buffer.flip();
+
+    assertEquals(Hashing.sha256().hashBytes(input), Hashing.sha256().hashBytes(buffer));
+    assertFalse(buffer.hasRemaining());
+  }
+
   @Test
   void testToString() {
     assertEquals("Hashing.sha256()", Hashing.sha256().toString());
@@ -50,7 +50,7 @@ class BinaryTransactionMessageTest {
   void equalsTest() {
     EqualsVerifier
         .forClass(BinaryTransactionMessage.class)
-        .withIgnoredFields("messageSize")
+        .withIgnoredFields("messageSize", "hash")
         .verify();
   }
 
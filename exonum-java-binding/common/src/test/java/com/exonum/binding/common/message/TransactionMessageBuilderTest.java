@@ -30,9 +30,11 @@ import static org.mockito.Mockito.when;
 import com.exonum.binding.common.crypto.CryptoFunction;
 import com.exonum.binding.common.crypto.CryptoFunctions;
 import com.exonum.binding.common.crypto.KeyPair;
+import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.test.Bytes;
 import com.google.common.collect.ImmutableList;
 import java.nio.ByteBuffer;
+import java.util.BitSet;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
@@ -139,4 +141,37 @@ class TransactionMessageBuilderTest {
     );
   }
 
+
+  @Test
+  void verifySignatures() {
+    CryptoFunction crypto = CryptoFunctions.ed25519();
+    KeyPair keys = crypto.generateKeyPair();
+    TransactionMessage valid = TransactionMessage.builder()
+        .serviceId((short) 1)
+        .transactionId((short) 2)
+        .payload(Bytes.bytes(0x00, 0x01))
+        .sign(keys, crypto);
+    // A message with the signature of another message
+    byte[] tamperedBytes = valid.toBytes();
+    tamperedBytes[TransactionMessage.PAYLOAD_OFFSET] = 0x02;
+    TransactionMessage tampered = TransactionMessage.fromBytes(tamperedBytes);
+    // A message signed by another author
+    TransactionMessage otherAuthorSignature = TransactionMessage.builder()
+        .serviceId((short) 1)
+        .transactionId((short) 2)
+        .payload(Bytes.bytes(0x00, 0x01))
+        .sign(keys, crypto);
+    byte[] otherAuthorBytes = otherAuthorSignature.toBytes();
+    PublicKey otherAuthor = crypto.generateKeyPair().getPublicKey();
+    System.arraycopy(otherAuthor.toBytes(), 0, otherAuthorBytes, 0, AUTHOR_PUBLIC_KEY_SIZE);
+    TransactionMessage otherAuthorMessage = TransactionMessage.fromBytes(otherAuthorBytes);
+
+    BitSet verified = TransactionMessage.verifySignatures(
+        ImmutableList.of(tampered, valid, otherAuthorMessage, valid), crypto);
+
+    BitSet expected = new BitSet();
+    expected.set(1);
+    expected.set(3);
+    assertThat(verified, is(expected));
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.exonum.binding.common.hash.Hashing.sha256;
+import static com.exonum.binding.common.proofs.list.ListProofUtils.generateRightLeaningProofTree;
+import static com.exonum.binding.common.proofs.list.ListProofUtils.leafOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ListProofCheckerTest {
+
+  private static final Serializer<String> SERIALIZER = StandardSerializers.string();
+
+  private static final HashCode H1 = sha256().hashString("h1", UTF_8);
+  private static final HashCode H2 = sha256().hashString("h2", UTF_8);
+
+  @ParameterizedTest
+  @MethodSource("proofs")
+  void checkIsConsistentWithVisitors(ListProofNode root) {
+    CheckedListProof<String> checkedProof = ListProofChecker.check(root, SERIALIZER);
+
+    ListProofStructureValidator validator = new ListProofStructureValidator(root);
+    assertThat(checkedProof.getProofStatus(), equalTo(validator.getProofStatus()));
+
+    if (checkedProof.isValid()) {
+      ListProofRootHashCalculator<String> calculator =
+          new ListProofRootHashCalculator<>(root, SERIALIZER);
+      assertThat(checkedProof.getRootHash(), equalTo(calculator.getCalculatedRootHash()));
+      assertThat(checkedProof.getElements(), equalTo(calculator.getElements()));
+    }
+  }
+
+  @Test
+  void checkVeryDeepProof() {
+    // Such a tree would overflow the stack if traversed recursively
+    int depth = 100_000;
+    ListProofNode root = generateRightLeaningProofTree(depth, leafOf("v1"));
+
+    CheckedListProof<String> checkedProof = ListProofChecker.check(root, SERIALIZER);
+
+    assertThat(checkedProof.getProofStatus(),
+        equalTo(ListProofStatus.INVALID_ELEMENT_NODE_DEPTH));
+  }
+
+  @Test
+  void checkFullProof() {
+    int depth = 10;
+    ListProofNode root = fullTree(depth, 0);
+
+    CheckedListProof<String> checkedProof = ListProofChecker.check(root, SERIALIZER);
+
+    assertThat(checkedProof.getElements().size(), equalTo(1 << depth));
+    assertThat(checkedProof.getElements().get(17L), equalTo("17"));
+    assertThat(checkedProof.getElements().firstKey(), equalTo(0L));
+    assertThat(checkedProof.getElements().lastKey(), equalTo((1L << depth) - 1));
+  }
+
+  static ListProofNode fullTree(int depth, long index) {
+    if (depth == 0) {
+      return leafOf(Long.toString(index));
+    }
+    return new ListProofBranch(fullTree(depth - 1, 2 * index),
+        fullTree(depth - 1, 2 * index + 1));
+  }
+
+  static Stream<ListProofNode> proofs() {
+    return Stream.of(
+        // Valid proofs
+        leafOf("v1"),
+        new ListProofBranch(leafOf("v1"), leafOf("v2")),
+        new ListProofBranch(leafOf("v1"), null),
+        new ListProofBranch(leafOf("v1"), new ListProofHashNode(H1)),
+        new ListProofBranch(new ListProofHashNode(H1), leafOf("v2")),
+        new ListProofBranch(
+            new ListProofBranch(leafOf("v1"), leafOf("v2")),
+            new ListProofBranch(leafOf("v3"), null)),
+        new ListProofBranch(
+            new ListProofHashNode(H1),
+            new ListProofBranch(new ListProofHashNode(H2), leafOf("v4"))),
+        fullTree(5, 0),
+        generateRightLeaningProofTree(ListProofStructureValidator.MAX_NODE_DEPTH,
+            leafOf("v1")),
+        // Invalid proofs
+        new ListProofBranch(new ListProofHashNode(H1), new ListProofHashNode(H2)),
+        new ListProofBranch(new ListProofHashNode(H1), null),
+        new ListProofBranch(
+            new ListProofBranch(leafOf("v1"), leafOf("v2")),
+            leafOf("v3")),
+        new ListProofBranch(
+            new ListProofBranch(leafOf("v1"), new ListProofHashNode(H1)),
+            new ListProofBranch(new ListProofHashNode(H2), null)),
+        generateRightLeaningProofTree(ListProofStructureValidator.MAX_NODE_DEPTH + 1,
+            leafOf("v1")),
+        generateRightLeaningProofTree(ListProofStructureValidator.MAX_NODE_DEPTH + 1,
+            new ListProofHashNode(H1))
+    );
+  }
+}
@@ -49,7 +49,7 @@ final class ListProofUtils {
   static ListProofNode generateRightLeaningProofTree(int depth, ListProofNode leafNode) {
     ListProofNode root = null;
     ListProofNode left = leafNode;
-    HashCode h1 = HashCode.fromString("a1");
+    HashCode h1 = getNodeHashCode("a1");
 
     int d = depth;
     while (d != 0) {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.common.proofs.list;
+
+import static com.exonum.binding.common.proofs.list.ListProofUtils.leafOf;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PackedListProofTest {
+
+  private static final Serializer<String> SERIALIZER = StandardSerializers.string();
+
+  @ParameterizedTest
+  @MethodSource("proofs")
+  void checkIsConsistentWithTreeProof(ListProofNode root) {
+    PackedListProof<String> packedProof = PackedListProof.fromBytes(
+        PackedListProof.pack(root, SERIALIZER).toBytes(), SERIALIZER);
+
+    CheckedListProof<String> expected = new UncheckedListProofAdapter<>(root, SERIALIZER).check();
+    CheckedListProof<String> actual = packedProof.check();
+
+    assertThat(actual.getProofStatus(), equalTo(expected.getProofStatus()));
+    if (expected.isValid()) {
+      assertThat(actual.getRootHash(), equalTo(expected.getRootHash()));
+      assertThat(actual.getElements(), equalTo(expected.getElements()));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("proofs")
+  void getRootProofNodeDecodesTree(ListProofNode root) {
+    byte[] packed = PackedListProof.pack(root, SERIALIZER).toBytes();
+    PackedListProof<String> packedProof = PackedListProof.fromBytes(packed, SERIALIZER);
+
+    ListProofNode decodedRoot = packedProof.getRootProofNode();
+
+    // Compare the trees through their packed representation
+    assertThat(PackedListProof.pack(decodedRoot, SERIALIZER).toBytes(), equalTo(packed));
+  }
+
+  @Test
+  void packRejectsShortHashes() {
+    ListProofNode root = new ListProofBranch(leafOf("v1"),
+        new ListProofHashNode(HashCode.fromString("a1")));
+
+    assertThrows(IllegalArgumentException.class, () -> PackedListProof.pack(root, SERIALIZER));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3, 9, 40})
+  void checkRejectsTruncatedProof(int size) {
+    ListProofNode root = new ListProofBranch(leafOf("v1"),
+        ListProofUtils.generateRightLeaningProofTree(1, leafOf("v2")));
+    byte[] packed = PackedListProof.pack(root, SERIALIZER).toBytes();
+    PackedListProof<String> proof = PackedListProof.fromBytes(Arrays.copyOf(packed, size),
+        SERIALIZER);
+
+    assertThrows(IllegalArgumentException.class, proof::check);
+    assertThrows(IllegalArgumentException.class, proof::getRootProofNode);
+  }
+
+  @Test
+  void checkRejectsTrailingBytes() {
+    byte[] packed = PackedListProof.pack(leafOf("v1"), SERIALIZER).toBytes();
+    PackedListProof<String> proof = PackedListProof.fromBytes(
+        Arrays.copyOf(packed, packed.length + 1), SERIALIZER);
+
+    assertThrows(IllegalArgumentException.class, proof::check);
+    assertThrows(IllegalArgumentException.class, proof::getRootProofNode);
+  }
+
+  @Test
+  void checkRejectsUnknownNodeTag() {
+    byte[] packed = {10};
+    PackedListProof<String> proof = PackedListProof.fromBytes(packed, SERIALIZER);
+
+    assertThrows(IllegalArgumentException.class, proof::check);
+    assertThrows(IllegalArgumentException.class, proof::getRootProofNode);
+  }
+
+  @Test
+  void checkRejectsInvalidElementSize() {
+    byte[] packed = {PackedListProof.ELEMENT_NODE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+        (byte) 0xFF, 1};
+    PackedListProof<String> proof = PackedListProof.fromBytes(packed, SERIALIZER);
+
+    assertThrows(IllegalArgumentException.class, proof::check);
+    assertThrows(IllegalArgumentException.class, proof::getRootProofNode);
+  }
+
+  private static Stream<ListProofNode> proofs() {
+    return ListProofCheckerTest.proofs();
+  }
+}
@@ -22,9 +22,13 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.exonum.binding.common.proofs.map.DbKey.Type;
 import com.google.common.primitives.UnsignedBytes;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -314,6 +318,40 @@ class DbKeyTest {
     assertThat(keyBits, equalTo(expectedKeyBits));
   }
 
+  @Test
+  void isPrefixOfAgreesWithKeyBits() {
+    Random random = new Random(1);
+    byte[] leafKey = new byte[DbKey.KEY_SIZE];
+    random.nextBytes(leafKey);
+    DbKey leaf = DbKey.newLeafKey(leafKey);
+    for (int i = 0; i < 100; i++) {
+      DbKey branch = randomBranchKey(random, leafKey);
+      DbKey otherBranch = randomBranchKey(random, leafKey);
+      for (DbKey[] keys : new DbKey[][] {{branch, leaf}, {leaf, branch}, {branch, otherBranch}}) {
+        assertThat(keys[0].isPrefixOf(keys[1]),
+            equalTo(keys[0].keyBits().isPrefixOf(keys[1].keyBits())));
+
+        DbKey commonPrefix = keys[0].commonPrefix(keys[1]);
+        assertTrue(commonPrefix.isPrefixOf(keys[0]));
+        assertTrue(commonPrefix.isPrefixOf(keys[1]));
+      }
+    }
+  }
+
+  /**
+   * Creates a branch key that has a random prefix of the given key,
+   * with some of the bits flipped.
+   */
+  private static DbKey randomBranchKey(Random random, byte[] key) {
+    int numSignificantBits = random.nextInt(DbKey.KEY_SIZE_BITS);
+    BitSet bits = BitSet.valueOf(key).get(0, numSignificantBits);
+    if (numSignificantBits > 0 && random.nextBoolean()) {
+      bits.flip(random.nextInt(numSignificantBits));
+    }
+    byte[] keySlice = Arrays.copyOf(bits.toByteArray(), DbKey.KEY_SIZE);
+    return DbKey.newBranchKey(keySlice, numSignificantBits);
+  }
+
   @Test
   void verifyEquals() {
     EqualsVerifier.forClass(DbKey.class)
@@ -163,7 +163,7 @@ class UncheckedFlatMapProofTest {
         new UncheckedFlatMapProof(
             singletonList(createMapProofEntry(firstDbKey)),
             singletonList(createMapEntry(valueKey, FIRST_VALUE)),
-            singletonList(absentKey));
+            singletonList(ByteString.copyFrom(absentKey)));
 
     CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
     assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.CORRECT));
@@ -193,7 +193,7 @@ class UncheckedFlatMapProofTest {
         new UncheckedFlatMapProof(
             singletonList(createMapProofEntry(firstDbKey)),
             emptyList(),
-            singletonList(absentKey));
+            singletonList(ByteString.copyFrom(absentKey)));
 
     CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
     assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.NON_TERMINAL_NODE));
@@ -208,7 +208,7 @@ class UncheckedFlatMapProofTest {
         new UncheckedFlatMapProof(
             singletonList(createMapProofEntry(firstDbKey)),
             emptyList(),
-            singletonList(absentKey));
+            singletonList(ByteString.copyFrom(absentKey)));
 
     CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
     assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.CORRECT));
@@ -226,7 +226,7 @@ class UncheckedFlatMapProofTest {
                 createMapProofEntry(firstDbKey),
                 createMapProofEntry(secondDbKey)),
             emptyList(),
-            singletonList(absentKey));
+            singletonList(ByteString.copyFrom(absentKey)));
 
     CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
     assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.EMBEDDED_PATH));
@@ -244,12 +244,76 @@ class UncheckedFlatMapProofTest {
                 createMapProofEntry(firstDbKey),
                 createMapProofEntry(secondDbKey)),
             emptyList(),
-            singletonList(absentKey));
+            singletonList(ByteString.copyFrom(absentKey)));
 
     CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
     assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.EMBEDDED_PATH));
   }
 
+  @Test
+  void mapProofWithIncludedPrefixOfOneOfSeveralKeysShouldBeInvalid() {
+    DbKey firstDbKey = DbKeyTestUtils.branchKeyFromPrefix("001");
+    DbKey secondDbKey = DbKeyTestUtils.branchKeyFromPrefix("01");
+    DbKey thirdDbKey = DbKeyTestUtils.branchKeyFromPrefix("11");
+    ByteString valueKey = DbKeyTestUtils.keyByteStringFromString("0110");
+    byte[] absentKey = DbKeyTestUtils.keyFromString("1000");
+
+    UncheckedMapProof uncheckedFlatMapProof =
+        new UncheckedFlatMapProof(
+            Arrays.asList(
+                createMapProofEntry(firstDbKey),
+                createMapProofEntry(secondDbKey),
+                createMapProofEntry(thirdDbKey)),
+            singletonList(createMapEntry(valueKey, FIRST_VALUE)),
+            singletonList(ByteString.copyFrom(absentKey)));
+
+    CheckedMapProof checkedMapProof = uncheckedFlatMapProof.check();
+    assertThat(checkedMapProof.getProofStatus(), equalTo(MapProofStatus.EMBEDDED_PATH));
+  }
+
+  @Test
+  void packedMapProofShouldBeEquivalent() {
+    DbKey firstDbKey = DbKeyTestUtils.branchKeyFromPrefix("101100");
+    ByteString valueKey = DbKeyTestUtils.keyByteStringFromString("101110");
+    byte[] absentKey = DbKeyTestUtils.keyFromString("101111");
+    UncheckedFlatMapProof uncheckedFlatMapProof =
+        new UncheckedFlatMapProof(
+            singletonList(createMapProofEntry(firstDbKey)),
+            singletonList(createMapEntry(valueKey, FIRST_VALUE)),
+            singletonList(ByteString.copyFrom(absentKey)));
+
+    byte[] packed = uncheckedFlatMapProof.toBytes();
+    UncheckedFlatMapProof unpackedProof = UncheckedFlatMapProof.fromBytes(packed);
+
+    CheckedMapProof expected = uncheckedFlatMapProof.check();
+    CheckedMapProof actual = unpackedProof.check();
+    assertThat(actual.getProofStatus(), equalTo(MapProofStatus.CORRECT));
+    assertThat(actual.getRootHash(), equalTo(expected.getRootHash()));
+    assertThat(actual.getEntries(), equalTo(expected.getEntries()));
+    assertThat(actual.getMissingKeys(), equalTo(expected.getMissingKeys()));
+    assertThat(unpackedProof.toBytes(), equalTo(packed));
+  }
+
+  @Test
+  void malformedPackedMapProofShouldBeRejected() {
+    UncheckedFlatMapProof uncheckedFlatMapProof =
+        new UncheckedFlatMapProof(
+            singletonList(createMapProofEntry(DbKeyTestUtils.branchKeyFromPrefix("1011"))),
+            singletonList(createMapEntry(DbKeyTestUtils.keyByteStringFromString("1"),
+                FIRST_VALUE)),
+            emptyList());
+    byte[] packed = uncheckedFlatMapProof.toBytes();
+
+    for (int size = 0; size < packed.length; size++) {
+      byte[] truncated = Arrays.copyOf(packed, size);
+      assertThrows(IllegalArgumentException.class,
+          () -> UncheckedFlatMapProof.fromBytes(truncated));
+    }
+    byte[] extended = Arrays.copyOf(packed, packed.length + 1);
+    assertThrows(IllegalArgumentException.class,
+        () -> UncheckedFlatMapProof.fromBytes(extended));
+  }
+
   private static MapProofEntry createMapProofEntry(DbKey dbKey) {
     return new MapProofEntry(dbKey, HashCode.fromBytes(dbKey.getKeySlice()));
   }
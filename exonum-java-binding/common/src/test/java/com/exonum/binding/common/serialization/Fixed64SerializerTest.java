@@ -17,6 +17,7 @@
 
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.StandardSerializersTest.bufferOverflowTest;
 import static com.exonum.binding.common.serialization.StandardSerializersTest.invalidBytesValueTest;
 import static com.exonum.binding.common.serialization.StandardSerializersTest.roundTripTest;
 
@@ -36,6 +37,12 @@ class Fixed64SerializerTest {
     roundTripTest(value, serializer);
   }
 
+  @ParameterizedTest
+  @MethodSource("com.exonum.binding.common.serialization.StandardSerializersTest#longValues")
+  void writeToSmallBuffer(Long value) {
+    bufferOverflowTest(value, serializer);
+  }
+
   @ParameterizedTest
   @MethodSource("invalidLongs")
   void deserializeInvalidValue(byte[] value) {
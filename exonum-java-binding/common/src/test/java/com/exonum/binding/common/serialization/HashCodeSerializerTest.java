@@ -17,6 +17,7 @@
 
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.StandardSerializersTest.bufferOverflowTest;
 import static com.exonum.binding.common.serialization.StandardSerializersTest.invalidBytesValueTest;
 import static com.exonum.binding.common.serialization.StandardSerializersTest.roundTripTest;
 
@@ -40,6 +41,12 @@ class HashCodeSerializerTest {
     roundTripTest(hashCode, serializer);
   }
 
+  @ParameterizedTest
+  @MethodSource("testHashes")
+  void writeToSmallBuffer(HashCode hashCode) {
+    bufferOverflowTest(hashCode, serializer);
+  }
+
   @Test
   void deserializeInvalidValue() {
     byte[] invalidValue = {};
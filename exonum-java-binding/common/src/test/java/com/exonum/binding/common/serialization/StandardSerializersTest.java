@@ -19,9 +19,16 @@ package com.exonum.binding.common.serialization;
 import static java.util.stream.Stream.concat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.exonum.binding.test.Bytes;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
@@ -37,6 +44,65 @@ class StandardSerializersTest {
     ObjectT actual = serializer.fromBytes(bytes);
 
     assertThat(actual, equalTo(expected));
+
+    bufferRoundTripTest(expected, serializer);
+  }
+
+  /**
+   * Performs a round trip tests with byte buffers: ObjectT -> ByteBuffer -> ObjectT,
+   * checking that the serialized value is the same as in the array.
+   */
+  static <ObjectT, SerializerT extends Serializer<ObjectT>> void bufferRoundTripTest(
+      ObjectT expected, SerializerT serializer) {
+    byte[] expectedBytes = serializer.toBytes(expected);
+    for (ByteBuffer buffer : testBuffers(expectedBytes.length)) {
+      int offset = buffer.position();
+      serializer.writeTo(expected, buffer);
+      assertThat(buffer.position() - offset, equalTo(expectedBytes.length));
+
+      buffer.limit(buffer.position());
+      buffer.position(offset);
+      byte[] actualBytes = new byte[expectedBytes.length];
+      buffer.duplicate().get(actualBytes);
+      assertThat(actualBytes, equalTo(expectedBytes));
+
+      ObjectT actual = serializer.fromBuffer(buffer);
+      assertThat(actual, equalTo(expected));
+      assertFalse(buffer.hasRemaining());
+    }
+  }
+
+  /**
+   * Checks that the serializer rejects a buffer that does not have enough space.
+   */
+  static <ObjectT, SerializerT extends Serializer<ObjectT>> void bufferOverflowTest(
+      ObjectT value, SerializerT serializer) {
+    int size = serializer.toBytes(value).length;
+    ByteBuffer buffer = ByteBuffer.allocate(size - 1);
+    assertThrows(BufferOverflowException.class, () -> serializer.writeTo(value, buffer));
+  }
+
+  /**
+   * Returns heap and direct buffers in both byte orders, with some space
+   * before and after the given number of bytes.
+   */
+  private static List<ByteBuffer> testBuffers(int size) {
+    int padding = 3;
+    int capacity = size + 2 * padding;
+    List<ByteBuffer> buffers = new ArrayList<>();
+    for (ByteOrder order : Arrays.asList(ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN)) {
+      buffers.add(ByteBuffer.allocate(capacity));
+      buffers.add(ByteBuffer.allocateDirect(capacity));
+      // A slice with a non-zero array offset
+      ByteBuffer heap = ByteBuffer.allocate(capacity + padding);
+      heap.position(padding);
+      buffers.add(heap.slice());
+      for (ByteBuffer buffer : buffers.subList(buffers.size() - 3, buffers.size())) {
+        buffer.order(order);
+        buffer.position(padding);
+      }
+    }
+    return buffers;
   }
 
   /**
@@ -44,6 +110,17 @@ class StandardSerializersTest {
    */
   static void invalidBytesValueTest(byte[] invalidValue, Serializer serializer) {
     assertThrows(IllegalArgumentException.class, () -> serializer.fromBytes(invalidValue));
+    assertThrows(IllegalArgumentException.class,
+        () -> serializer.fromBuffer(ByteBuffer.wrap(invalidValue)));
+    assertThrows(IllegalArgumentException.class,
+        () -> serializer.fromBuffer(directBufferOf(invalidValue)));
+  }
+
+  private static ByteBuffer directBufferOf(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    return buffer;
   }
 
   static IntStream intValues() {
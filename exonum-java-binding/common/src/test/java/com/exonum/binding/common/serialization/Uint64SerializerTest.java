@@ -17,6 +17,7 @@
 
 package com.exonum.binding.common.serialization;
 
+import static com.exonum.binding.common.serialization.StandardSerializersTest.bufferOverflowTest;
 import static com.exonum.binding.common.serialization.StandardSerializersTest.invalidBytesValueTest;
 import static com.exonum.binding.common.serialization.StandardSerializersTest.roundTripTest;
 
@@ -33,6 +34,12 @@ class Uint64SerializerTest {
     roundTripTest(value, serializer);
   }
 
+  @ParameterizedTest
+  @MethodSource("com.exonum.binding.common.serialization.StandardSerializersTest#longValues")
+  void writeToSmallBuffer(Long value) {
+    bufferOverflowTest(value, serializer);
+  }
+
   @ParameterizedTest
   @MethodSource("com.exonum.binding.common.serialization.StandardSerializersTest#invalidVarints64")
   void deserializeInvalidValue(byte[] value) {
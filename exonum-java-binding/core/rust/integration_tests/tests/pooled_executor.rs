@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+extern crate integration_tests;
+extern crate java_bindings;
+#[macro_use]
+extern crate lazy_static;
+
+use integration_tests::executor::{
+    check_attached, check_detached, check_nested_attach, is_attached, test_concurrent_threads,
+    test_serialized_threads, test_single_thread,
+};
+use integration_tests::vm::create_vm_for_tests;
+use java_bindings::jni::JavaVM;
+use java_bindings::{JniExecutor, PooledExecutor};
+
+use std::sync::Arc;
+use std::thread::spawn;
+
+lazy_static! {
+    pub static ref VM: Arc<JavaVM> = create_vm_for_tests();
+}
+
+#[test]
+fn single_thread() {
+    let executor = PooledExecutor::new(VM.clone(), 1);
+    test_single_thread(executor);
+}
+
+#[test]
+fn serialized_threads() {
+    let executor = PooledExecutor::new(VM.clone(), 2);
+    test_serialized_threads(executor);
+}
+
+#[test]
+fn concurrent_threads() {
+    const THREAD_NUM: usize = 8;
+    let executor = PooledExecutor::new(VM.clone(), THREAD_NUM + 1);
+    test_concurrent_threads(executor, THREAD_NUM)
+}
+
+#[test]
+fn nested_attach() {
+    let executor = PooledExecutor::new(VM.clone(), 1);
+    check_nested_attach(&VM, executor);
+    check_attached(&VM);
+}
+
+#[test]
+fn detach_on_thread_exit() {
+    let executor = PooledExecutor::new(VM.clone(), 1);
+    let thread_executor = executor.clone();
+    spawn(move || {
+        thread_executor.with_attached(|_| Ok(())).unwrap();
+        check_attached(&VM);
+    })
+    .join()
+    .unwrap();
+
+    let stats = executor.stats();
+    assert_eq!(stats.permanent_attachments, 1);
+    assert_eq!(stats.detachments, 1);
+    assert_eq!(stats.attached_threads, 0);
+}
+
+#[test]
+fn attach_temporarily_if_limit_exhausted() {
+    const THREAD_NUM: usize = 3;
+    let executor = PooledExecutor::new(VM.clone(), 0);
+    for _ in 0..THREAD_NUM {
+        let executor = executor.clone();
+        spawn(move || {
+            executor.with_attached(|_| Ok(())).unwrap();
+            check_detached(&VM);
+        })
+        .join()
+        .unwrap();
+    }
+
+    let stats = executor.stats();
+    assert_eq!(stats.permanent_attachments, 0);
+    assert_eq!(stats.temporary_attachments, THREAD_NUM);
+    assert_eq!(stats.local_frames, THREAD_NUM);
+}
+
+#[test]
+fn stats_local_frames() {
+    let executor = PooledExecutor::new(VM.clone(), 1);
+    spawn(move || {
+        executor.with_attached_capacity(8, |_| Ok(())).unwrap();
+        executor.with_attached_capacity(16, |_| Ok(())).unwrap();
+        assert!(is_attached(&VM));
+
+        let stats = executor.stats();
+        assert_eq!(stats.attach_limit, 1);
+        assert_eq!(stats.attached_threads, 1);
+        assert_eq!(stats.local_frames, 2);
+        assert_eq!(stats.max_local_frame_capacity, 16);
+        assert!(stats.max_attach_time_nanos <= stats.attach_time_nanos);
+    })
+    .join()
+    .unwrap();
+}
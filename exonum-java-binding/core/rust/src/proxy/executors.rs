@@ -16,8 +16,11 @@ use jni::objects::JObject;
 use jni::sys::jint;
 use jni::{JNIEnv, JavaVM};
 
+use std::cell::RefCell;
 use std::mem;
+use std::sync::atomic::{AtomicUsize, Ordering};
 use std::sync::{Arc, Mutex};
+use std::time::{Duration, Instant};
 
 use JniErrorKind::{Other, ThreadDetached};
 use {JniError, JniResult};
@@ -35,14 +38,7 @@ pub trait JniExecutor: Clone + Send + Sync {
         F: FnOnce(&JNIEnv) -> JniResult<R>,
     {
         assert!(capacity > 0, "capacity should be a positive integer");
-        self.with_attached_impl(|jni_env| {
-            let mut result = None;
-            jni_env.with_local_frame(capacity, || {
-                result = Some(f(jni_env));
-                Ok(JObject::null())
-            })?;
-            result.expect("The result should be Some or this line shouldn't be reached")
-        })
+        self.with_attached_impl(|jni_env| with_local_frame(jni_env, capacity, f))
     }
 
     /// Executes a provided closure, making sure that the current thread
@@ -64,7 +60,27 @@ pub trait JniExecutor: Clone + Send + Sync {
         F: FnOnce(&JNIEnv) -> JniResult<R>;
 }
 
+/// Executes a provided closure in a new local frame with the specified capacity.
+fn with_local_frame<F, R>(jni_env: &JNIEnv, capacity: i32, f: F) -> JniResult<R>
+where
+    F: FnOnce(&JNIEnv) -> JniResult<R>,
+{
+    let mut result = None;
+    jni_env.with_local_frame(capacity, || {
+        result = Some(f(jni_env));
+        Ok(JObject::null())
+    })?;
+    result.expect("The result should be Some or this line shouldn't be reached")
+}
+
 impl<'t, T: JniExecutor> JniExecutor for &'t T {
+    fn with_attached_capacity<F, R>(&self, capacity: i32, f: F) -> JniResult<R>
+    where
+        F: FnOnce(&JNIEnv) -> JniResult<R>,
+    {
+        (*self).with_attached_capacity(capacity, f)
+    }
+
     fn with_attached_impl<F, R>(&self, f: F) -> JniResult<R>
     where
         F: FnOnce(&JNIEnv) -> JniResult<R>,
@@ -190,21 +206,271 @@ impl JniExecutor for HackyExecutor {
     }
 }
 
+/// A pooled implementation of `JniExecutor`.
+///
+/// It keeps up to `attach_limit` native threads permanently attached to the JVM:
+/// a thread is attached when it first uses the executor, and detached when it exits.
+/// Once the limit is reached, other threads are attached for the duration of each call only,
+/// as with `DumbExecutor`, instead of being rejected. The limit shall be sized to
+/// the thread pools of the node that invoke the Java code (see `ExecutorStats`).
+#[derive(Clone)]
+pub struct PooledExecutor {
+    /// The main JVM interface, which allows to attach threads.
+    vm: Arc<JavaVM>,
+    attach_limit: usize,
+    metrics: Arc<ExecutorMetrics>,
+}
+
+thread_local! {
+    /// The permanent attachment of the current thread, if any, that detaches the thread
+    /// when it exits.
+    static ATTACHMENT: RefCell<Option<PermanentAttachment>> = RefCell::new(None);
+}
+
+impl PooledExecutor {
+    /// The default maximum number of permanently attached threads.
+    pub const DEFAULT_ATTACH_LIMIT: usize = 64;
+
+    /// Creates a `PooledExecutor` with the given maximum number of permanently attached threads.
+    pub fn new(vm: Arc<JavaVM>, attach_limit: usize) -> Self {
+        PooledExecutor {
+            vm,
+            attach_limit,
+            metrics: Arc::new(ExecutorMetrics::default()),
+        }
+    }
+
+    /// Returns the statistics of this executor and its clones.
+    pub fn stats(&self) -> ExecutorStats {
+        self.metrics.stats(self.attach_limit)
+    }
+
+    /// Reserves a place of a permanently attached thread. Returns false if the limit
+    /// is exhausted.
+    fn try_reserve_attachment(&self) -> bool {
+        let attached_threads = &self.metrics.attached_threads;
+        let mut current = attached_threads.load(Ordering::Relaxed);
+        loop {
+            if current >= self.attach_limit {
+                return false;
+            }
+            match attached_threads.compare_exchange_weak(
+                current,
+                current + 1,
+                Ordering::AcqRel,
+                Ordering::Relaxed,
+            ) {
+                Ok(_) => return true,
+                Err(actual) => current = actual,
+            }
+        }
+    }
+
+    fn attach_permanently(&self) -> JniResult<JNIEnv> {
+        let start = Instant::now();
+        let attach_guard = match self.vm.attach_current_thread() {
+            Ok(attach_guard) => attach_guard,
+            Err(jni_err) => {
+                self.metrics.attached_threads.fetch_sub(1, Ordering::AcqRel);
+                return Err(jni_err);
+            }
+        };
+        // The thread is detached by the `PermanentAttachment` when it exits.
+        mem::forget(attach_guard);
+        self.metrics.record_attach(start.elapsed());
+        self.metrics
+            .permanent_attachments
+            .fetch_add(1, Ordering::Relaxed);
+
+        let attachment = PermanentAttachment {
+            vm: self.vm.clone(),
+            metrics: self.metrics.clone(),
+        };
+        ATTACHMENT.with(|current| {
+            if let Some(previous) = current.borrow_mut().replace(attachment) {
+                // The thread was detached bypassing the executor: release its place,
+                // but do not detach the thread again.
+                previous.forget();
+            }
+        });
+        self.vm.get_env()
+    }
+
+    fn with_attached_temporarily<F, R>(&self, f: F) -> JniResult<R>
+    where
+        F: FnOnce(&JNIEnv) -> JniResult<R>,
+    {
+        let start = Instant::now();
+        let attach_guard = self.vm.attach_current_thread()?;
+        self.metrics.record_attach(start.elapsed());
+        self.metrics
+            .temporary_attachments
+            .fetch_add(1, Ordering::Relaxed);
+        f(&attach_guard)
+    }
+}
+
+impl JniExecutor for PooledExecutor {
+    fn with_attached_capacity<F, R>(&self, capacity: i32, f: F) -> JniResult<R>
+    where
+        F: FnOnce(&JNIEnv) -> JniResult<R>,
+    {
+        assert!(capacity > 0, "capacity should be a positive integer");
+        self.metrics.record_local_frame(capacity as usize);
+        self.with_attached_impl(|jni_env| with_local_frame(jni_env, capacity, f))
+    }
+
+    fn with_attached_impl<F, R>(&self, f: F) -> JniResult<R>
+    where
+        F: FnOnce(&JNIEnv) -> JniResult<R>,
+    {
+        match self.vm.get_env() {
+            Ok(jni_env) => f(&jni_env),
+            Err(JniError(ThreadDetached, ..)) => {
+                if self.try_reserve_attachment() {
+                    f(&self.attach_permanently()?)
+                } else {
+                    self.with_attached_temporarily(f)
+                }
+            }
+            Err(jni_err) => Err(jni_err),
+        }
+    }
+}
+
+/// A permanent attachment of a native thread to the JVM, which detaches the thread
+/// when dropped.
+struct PermanentAttachment {
+    vm: Arc<JavaVM>,
+    metrics: Arc<ExecutorMetrics>,
+}
+
+impl PermanentAttachment {
+    /// Releases the place of the attached thread without detaching it.
+    fn forget(self) {
+        self.metrics.attached_threads.fetch_sub(1, Ordering::AcqRel);
+        mem::forget(self);
+    }
+}
+
+impl Drop for PermanentAttachment {
+    fn drop(&mut self) {
+        let vm = self.vm.get_java_vm_pointer();
+        unsafe {
+            if let Some(detach_current_thread) = (**vm).DetachCurrentThread {
+                detach_current_thread(vm);
+            }
+        }
+        self.metrics.attached_threads.fetch_sub(1, Ordering::AcqRel);
+        self.metrics.detachments.fetch_add(1, Ordering::Relaxed);
+    }
+}
+
+/// The counters of a `PooledExecutor`, updated without locks.
+#[derive(Default)]
+struct ExecutorMetrics {
+    attached_threads: AtomicUsize,
+    permanent_attachments: AtomicUsize,
+    temporary_attachments: AtomicUsize,
+    detachments: AtomicUsize,
+    attach_time_nanos: AtomicUsize,
+    max_attach_time_nanos: AtomicUsize,
+    local_frames: AtomicUsize,
+    max_local_frame_capacity: AtomicUsize,
+}
+
+impl ExecutorMetrics {
+    fn record_attach(&self, duration: Duration) {
+        let nanos = duration.as_secs() as usize * 1_000_000_000 + duration.subsec_nanos() as usize;
+        self.attach_time_nanos.fetch_add(nanos, Ordering::Relaxed);
+        update_max(&self.max_attach_time_nanos, nanos);
+    }
+
+    fn record_local_frame(&self, capacity: usize) {
+        self.local_frames.fetch_add(1, Ordering::Relaxed);
+        update_max(&self.max_local_frame_capacity, capacity);
+    }
+
+    fn stats(&self, attach_limit: usize) -> ExecutorStats {
+        ExecutorStats {
+            attach_limit,
+            attached_threads: self.attached_threads.load(Ordering::Relaxed),
+            permanent_attachments: self.permanent_attachments.load(Ordering::Relaxed),
+            temporary_attachments: self.temporary_attachments.load(Ordering::Relaxed),
+            detachments: self.detachments.load(Ordering::Relaxed),
+            attach_time_nanos: self.attach_time_nanos.load(Ordering::Relaxed),
+            max_attach_time_nanos: self.max_attach_time_nanos.load(Ordering::Relaxed),
+            local_frames: self.local_frames.load(Ordering::Relaxed),
+            max_local_frame_capacity: self.max_local_frame_capacity.load(Ordering::Relaxed),
+        }
+    }
+}
+
+fn update_max(max: &AtomicUsize, value: usize) {
+    let mut current = max.load(Ordering::Relaxed);
+    while value > current {
+        match max.compare_exchange_weak(current, value, Ordering::Relaxed, Ordering::Relaxed) {
+            Ok(_) => return,
+            Err(actual) => current = actual,
+        }
+    }
+}
+
+/// Statistics of a `PooledExecutor`.
+#[derive(Debug, Clone, Copy, PartialEq, Eq)]
+pub struct ExecutorStats {
+    /// The maximum number of permanently attached threads.
+    pub attach_limit: usize,
+    /// The number of threads currently attached permanently.
+    pub attached_threads: usize,
+    /// The total number of permanent attachments.
+    pub permanent_attachments: usize,
+    /// The total number of attachments for the duration of a single call, performed
+    /// when the limit of permanently attached threads is exhausted.
+    pub temporary_attachments: usize,
+    /// The total number of detachments of permanently attached threads on their exit.
+    pub detachments: usize,
+    /// The total time spent attaching the threads, in nanoseconds.
+    pub attach_time_nanos: usize,
+    /// The maximum time of a single attachment, in nanoseconds.
+    pub max_attach_time_nanos: usize,
+    /// The total number of local frames allocated by the executor.
+    pub local_frames: usize,
+    /// The maximum requested capacity of a local frame.
+    pub max_local_frame_capacity: usize,
+}
+
 /// An interface for JNI thread attachment manager.
-/// It attaches the current thread to JVM and then detaches.
 /// This struct incapsulates an actual implementation of `JniExecutor`
-/// (currently - `DumbExecutor`)
+/// (currently - `PooledExecutor`)
 #[derive(Clone)]
-pub struct MainExecutor(DumbExecutor);
+pub struct MainExecutor(PooledExecutor);
 
 impl MainExecutor {
-    /// Creates a `MainExecutor`
+    /// Creates a `MainExecutor` with the default limit of permanently attached threads.
     pub fn new(vm: Arc<JavaVM>) -> Self {
-        MainExecutor(DumbExecutor::new(vm))
+        Self::with_attach_limit(vm, PooledExecutor::DEFAULT_ATTACH_LIMIT)
+    }
+
+    /// Creates a `MainExecutor` with the given limit of permanently attached threads.
+    pub fn with_attach_limit(vm: Arc<JavaVM>, attach_limit: usize) -> Self {
+        MainExecutor(PooledExecutor::new(vm, attach_limit))
+    }
+
+    /// Returns the statistics of the executor.
+    pub fn stats(&self) -> ExecutorStats {
+        self.0.stats()
     }
 }
 
 impl JniExecutor for MainExecutor {
+    fn with_attached_capacity<F, R>(&self, capacity: i32, f: F) -> JniResult<R>
+    where
+        F: FnOnce(&JNIEnv) -> JniResult<R>,
+    {
+        self.0.with_attached_capacity(capacity, f)
+    }
+
     fn with_attached_impl<F, R>(&self, f: F) -> JniResult<R>
     where
         F: FnOnce(&JNIEnv) -> JniResult<R>,
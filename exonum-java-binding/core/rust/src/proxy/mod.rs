@@ -13,11 +13,15 @@
 // limitations under the License.
 
 mod executors;
+mod native_arena;
 mod node;
+mod resource_manager;
 mod service;
 mod transaction;
 
 pub use self::executors::*;
+pub use self::native_arena::*;
 pub use self::node::*;
+pub use self::resource_manager::*;
 pub use self::service::*;
 pub use self::transaction::*;
@@ -0,0 +1,44 @@
+// Copyright 2019 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+use jni::objects::JClass;
+use jni::sys::{jint, jlongArray};
+use jni::JNIEnv;
+
+use std::panic;
+
+use utils::{self, Handle};
+
+/// Destroys the native objects identified by the first `size` elements of `handles`,
+/// using the corresponding functions in `drop_functions`. All the objects are destroyed
+/// even if some drop function panics; the first panic is then rethrown as a Java exception.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_proxy_NativeArena_nativeFreeAll(
+    env: JNIEnv,
+    _: JClass,
+    handles: jlongArray,
+    drop_functions: jlongArray,
+    size: jint,
+) {
+    let res = panic::catch_unwind(|| {
+        let size = size as usize;
+        let mut handle_values: Vec<Handle> = vec![0; size];
+        env.get_long_array_region(handles, 0, &mut handle_values)?;
+        let mut function_values: Vec<Handle> = vec![0; size];
+        env.get_long_array_region(drop_functions, 0, &mut function_values)?;
+        unsafe { utils::drop_handles(&handle_values, &function_values) };
+        Ok(())
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
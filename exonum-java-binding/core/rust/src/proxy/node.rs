@@ -23,7 +23,7 @@ use exonum::{
 };
 use failure;
 use jni::objects::JClass;
-use jni::sys::{jbyteArray, jshort};
+use jni::sys::{jbyteArray, jlongArray, jshort};
 use jni::JNIEnv;
 
 use std::{panic, ptr};
@@ -187,6 +187,36 @@ pub extern "system" fn Java_com_exonum_binding_service_NodeProxy_nativeGetPublic
     unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Returns the statistics of the JNI executor of the node as an array of
+/// `[attach_limit, attached_threads, permanent_attachments, temporary_attachments, detachments,
+/// attach_time_nanos, max_attach_time_nanos, local_frames, max_local_frame_capacity]`.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_service_NodeProxy_nativeGetExecutorStats(
+    env: JNIEnv,
+    _: JClass,
+    node_handle: Handle,
+) -> jlongArray {
+    let res = panic::catch_unwind(|| {
+        let node = cast_handle::<NodeContext>(node_handle);
+        let stats = node.executor().stats();
+        let values = [
+            stats.attach_limit as i64,
+            stats.attached_threads as i64,
+            stats.permanent_attachments as i64,
+            stats.temporary_attachments as i64,
+            stats.detachments as i64,
+            stats.attach_time_nanos as i64,
+            stats.max_attach_time_nanos as i64,
+            stats.local_frames as i64,
+            stats.max_local_frame_capacity as i64,
+        ];
+        let array = env.new_long_array(values.len() as i32)?;
+        env.set_long_array_region(array, 0, &values)?;
+        Ok(array)
+    });
+    unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Destroys node context.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_service_NodeProxy_nativeFree(
@@ -0,0 +1,45 @@
+// Copyright 2019 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+use jni::objects::JClass;
+use jni::sys::jlongArray;
+use jni::JNIEnv;
+
+use std::panic;
+use std::ptr;
+
+use utils;
+
+/// Returns the statistics of the resource manager as an array of
+/// `[enabled, known_handles, lock_acquisitions, contended_acquisitions]`,
+/// where `enabled` is 1 if the resource manager is enabled, and 0 otherwise.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_proxy_NativeResourceManager_nativeGetStats(
+    env: JNIEnv,
+    _: JClass,
+) -> jlongArray {
+    let res = panic::catch_unwind(|| {
+        let stats = utils::registry_stats();
+        let values = [
+            stats.enabled as i64,
+            stats.known_handles as i64,
+            stats.lock_acquisitions as i64,
+            stats.contended_acquisitions as i64,
+        ];
+        let array = env.new_long_array(values.len() as i32)?;
+        env.set_long_array_region(array, 0, &values)?;
+        Ok(array)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
@@ -14,6 +14,7 @@
 
 use exonum::storage::{Fork, Snapshot};
 use jni::objects::JClass;
+use jni::sys::jint;
 use jni::JNIEnv;
 
 use utils::{self, Handle};
@@ -21,6 +22,10 @@ use utils::{self, Handle};
 pub(crate) type Key = Vec<u8>;
 pub(crate) type Value = Vec<u8>;
 
+/// The value size returned by the direct-buffer `get` methods if there is no value.
+/// Must be kept in sync with `DirectBuffers#ABSENT_VALUE_SIZE`.
+pub(crate) const ABSENT_VALUE_SIZE: jint = -1;
+
 /// A `View` is a wrapper for `Snapshot` or `Fork`, which makes it possible to distinguish them
 /// on the rust side, and transfer them as a raw pointer to the java side.
 ///
@@ -62,6 +62,16 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_EntryIndexProxy_n
     utils::drop_handle::<IndexType>(&env, entry_handle);
 }
 
+/// Returns the address of the function destroying `Entry` objects, used to destroy them
+/// in batches.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_EntryIndexProxy_nativeDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> Handle {
+    utils::drop_function::<IndexType>()
+}
+
 /// Returns the value or null pointer if it is absent.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_EntryIndexProxy_nativeGet(
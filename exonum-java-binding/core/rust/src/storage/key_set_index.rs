@@ -88,6 +88,16 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_
     utils::drop_handle::<IndexType>(&env, set_handle);
 }
 
+/// Returns the address of the function destroying `KeySetIndex` objects, used to destroy them
+/// in batches.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_nativeDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> Handle {
+    utils::drop_function::<IndexType>()
+}
+
 /// Returns `true` if the set contains the specified value.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_nativeContains(
@@ -106,6 +116,27 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Returns `true` if the set contains all the packed `values`.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_nativeContainsAll(
+    env: JNIEnv,
+    _: JObject,
+    set_handle: Handle,
+    values: jbyteArray,
+) -> jboolean {
+    let res = panic::catch_unwind(|| {
+        let values = env.convert_byte_array(values)?;
+        let values = utils::unpack_items(&values);
+        Ok(match *utils::cast_handle::<IndexType>(set_handle) {
+            IndexType::SnapshotIndex(ref set) => {
+                values.iter().all(|value| set.contains(&value.to_vec()))
+            }
+            IndexType::ForkIndex(ref set) => values.iter().all(|value| set.contains(&value.to_vec())),
+        } as jboolean)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Returns pointer to the iterator over set.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_nativeCreateIterator(
@@ -165,6 +196,30 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Inserts the packed `values` into the set.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_nativeAddAll(
+    env: JNIEnv,
+    _: JObject,
+    set_handle: Handle,
+    values: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(set_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut set) => {
+            let values = env.convert_byte_array(values)?;
+            let values = utils::unpack_items(&values);
+            for value in values {
+                set.insert(value.to_vec());
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes value from the set.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_nativeRemove(
@@ -186,6 +241,30 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Removes the packed `values` from the set.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_nativeRemoveAll(
+    env: JNIEnv,
+    _: JObject,
+    set_handle: Handle,
+    values: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(set_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut set) => {
+            let values = env.convert_byte_array(values)?;
+            let values = utils::unpack_items(&values);
+            for value in values {
+                set.remove(&value.to_vec());
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Clears the set, removing all values.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_KeySetIndexProxy_nativeClear(
@@ -15,7 +15,7 @@
 use exonum::storage::list_index::ListIndexIter;
 use exonum::storage::{Fork, ListIndex, Snapshot};
 use jni::objects::{JClass, JObject, JString};
-use jni::sys::{jboolean, jbyteArray, jlong};
+use jni::sys::{jboolean, jbyteArray, jint, jlong};
 use jni::JNIEnv;
 
 use std::panic;
@@ -88,6 +88,16 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_na
     utils::drop_handle::<IndexType>(&env, list_handle);
 }
 
+/// Returns the address of the function destroying `ListIndex` objects, used to destroy them
+/// in batches.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_nativeDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> Handle {
+    utils::drop_function::<IndexType>()
+}
+
 /// Returns the value by index. Null pointer is returned if value is not found.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_nativeGet(
@@ -109,6 +119,26 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_na
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Returns the packed values in the range `[from, to)`.
+/// Returns null pointer if the range is empty.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_nativeGetRange(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    from: jlong,
+    to: jlong,
+) -> jbyteArray {
+    let res = panic::catch_unwind(|| {
+        let mut iter = match *utils::cast_handle::<IndexType>(list_handle) {
+            IndexType::SnapshotIndex(ref list) => list.iter_from(from as u64),
+            IndexType::ForkIndex(ref list) => list.iter_from(from as u64),
+        };
+        utils::pack_items(&env, &mut iter, (to - from) as jint)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Returns the last value or null pointer if the list is empty.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_nativeGetLast(
@@ -219,6 +249,27 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_na
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Adds the packed values to the list.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_nativeAddAll(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    values: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(list_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut list) => {
+            let values = env.convert_byte_array(values)?;
+            list.extend(utils::unpack_items(&values).iter().map(|value| value.to_vec()));
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes the last element from a list and returns it, or null pointer if it is empty.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_nativeRemoveLast(
@@ -300,19 +351,18 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_na
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Returns next value from the iterator. Returns null pointer when iteration is finished.
+/// Returns a chunk of the next values from the iterator.
+/// Returns null pointer when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_nativeIterNext(
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ListIndexProxy_nativeIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
+    max_items: jint,
 ) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let iter = utils::cast_handle::<ListIndexIter<Value>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        utils::pack_items(&env, iter, max_items)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -15,14 +15,14 @@
 use exonum::storage::map_index::{MapIndexIter, MapIndexKeys, MapIndexValues};
 use exonum::storage::{Fork, MapIndex, Snapshot};
 use jni::objects::{JClass, JObject, JString};
-use jni::sys::{jboolean, jbyteArray, jobject};
+use jni::sys::{jboolean, jbyteArray, jint};
 use jni::JNIEnv;
 
 use std::panic;
 use std::ptr;
 
-use storage::db::{Key, Value, View, ViewRef};
-use utils::{self, Handle, PairIter};
+use storage::db::{Key, Value, View, ViewRef, ABSENT_VALUE_SIZE};
+use utils::{self, Handle};
 
 type Index<T> = MapIndex<T, Key, Value>;
 
@@ -31,9 +31,7 @@ enum IndexType {
     ForkIndex(Index<&'static mut Fork>),
 }
 
-type Iter<'a> = PairIter<MapIndexIter<'a, Key, Value>>;
-
-const JAVA_ENTRY_FQN: &str = "com/exonum/binding/storage/indices/MapEntryInternal";
+type Iter<'a> = MapIndexIter<'a, Key, Value>;
 
 /// Returns a pointer to the created `MapIndex` object.
 #[no_mangle]
@@ -92,6 +90,16 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
     utils::drop_handle::<IndexType>(&env, map_handle);
 }
 
+/// Returns the address of the function destroying `MapIndex` objects, used to destroy them
+/// in batches.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> Handle {
+    utils::drop_function::<IndexType>()
+}
+
 /// Returns value identified by the `key`. Null pointer is returned if value is not found.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeGet(
@@ -114,6 +122,58 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Looks up the value identified by the key of `key_size` bytes at the start
+/// of the direct `buffer`. Returns the size of the value, which is written at the start
+/// of the buffer only if it fits, or `ABSENT_VALUE_SIZE` if there is no value.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeGetDirect(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    buffer: JObject,
+    key_size: jint,
+) -> jint {
+    let res = panic::catch_unwind(|| {
+        let bytes = utils::convert_direct_buffer(&env, buffer)?;
+        let key = bytes[..key_size as usize].to_vec();
+        let val = match *utils::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => map.get(&key),
+            IndexType::ForkIndex(ref map) => map.get(&key),
+        };
+        match val {
+            Some(val) => {
+                if val.len() <= bytes.len() {
+                    bytes[..val.len()].copy_from_slice(&val);
+                }
+                Ok(val.len() as jint)
+            }
+            None => Ok(ABSENT_VALUE_SIZE),
+        }
+    });
+    utils::unwrap_exc_or(&env, res, ABSENT_VALUE_SIZE)
+}
+
+/// Returns the values identified by the packed `keys`, packed in the same order.
+/// An absent value is packed as an absent item.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeGetAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+) -> jbyteArray {
+    let res = panic::catch_unwind(|| {
+        let keys = env.convert_byte_array(keys)?;
+        let keys: Vec<Key> = utils::unpack_items(&keys).iter().map(|key| key.to_vec()).collect();
+        let values: Vec<_> = match *utils::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => keys.iter().map(|key| map.get(key)).collect(),
+            IndexType::ForkIndex(ref map) => keys.iter().map(|key| map.get(key)).collect(),
+        };
+        utils::pack_optional_items(&env, values)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Returns `true` if the map contains a value for the specified key.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeContainsKey(
@@ -132,6 +192,25 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Returns `true` if the map contains values for all the specified packed `keys`.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeContainsAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+) -> jboolean {
+    let res = panic::catch_unwind(|| {
+        let keys = env.convert_byte_array(keys)?;
+        let keys: Vec<Key> = utils::unpack_items(&keys).iter().map(|key| key.to_vec()).collect();
+        Ok(match *utils::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => keys.iter().all(|key| map.contains(key)),
+            IndexType::ForkIndex(ref map) => keys.iter().all(|key| map.contains(key)),
+        } as jboolean)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Returns the pointer to the iterator over a map keys and values.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeCreateEntriesIter(
@@ -144,7 +223,6 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
             IndexType::SnapshotIndex(ref map) => map.iter(),
             IndexType::ForkIndex(ref map) => map.iter(),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(utils::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -200,7 +278,6 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
             IndexType::SnapshotIndex(ref map) => map.iter_from(&key),
             IndexType::ForkIndex(ref map) => map.iter_from(&key),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(utils::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -269,6 +346,64 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Puts the entry written at the start of the direct `buffer` into the index:
+/// a key of `key_size` bytes followed by a value of `value_size` bytes.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativePutDirect(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    buffer: JObject,
+    key_size: jint,
+    value_size: jint,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let bytes = utils::convert_direct_buffer(&env, buffer)?;
+            let key_size = key_size as usize;
+            let entry = &bytes[..key_size + value_size as usize];
+            let (key, value) = entry.split_at(key_size);
+            map.put(&key.to_vec(), value.to_vec());
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Puts the packed `values` identified by the packed `keys` into the index.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativePutAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+    values: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let keys = env.convert_byte_array(keys)?;
+            let keys: Vec<Key> = utils::unpack_items(&keys)
+                .iter()
+                .map(|key| key.to_vec())
+                .collect();
+            let values = env.convert_byte_array(values)?;
+            let values = utils::unpack_items(&values);
+            assert_eq!(keys.len(), values.len(), "Keys and values count mismatch");
+            for (key, value) in keys.iter().zip(values) {
+                map.put(key, value.to_vec());
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes value identified by the `key` from the index.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeRemove(
@@ -290,6 +425,33 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Removes values identified by the packed `keys` from the index.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeRemoveAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let keys = env.convert_byte_array(keys)?;
+            let keys: Vec<Key> = utils::unpack_items(&keys)
+                .iter()
+                .map(|key| key.to_vec())
+                .collect();
+            for key in &keys {
+                map.remove(key);
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Clears the index, removing all values.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeClear(
@@ -309,29 +471,18 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Returns the next value from the iterator. Returns null pointer when iteration is finished.
+/// Returns a chunk of the next entries from the iterator.
+/// Returns null pointer when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeEntriesIterNext(
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeEntriesIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jobject {
+    max_items: jint,
+) -> jbyteArray {
     let res = panic::catch_unwind(|| {
-        let iterWrapper = utils::cast_handle::<Iter>(iter_handle);
-        match iterWrapper.iter.next() {
-            Some(val) => {
-                let key: JObject = env.byte_array_from_slice(&val.0)?.into();
-                let value: JObject = env.byte_array_from_slice(&val.1)?.into();
-                Ok(env
-                    .new_object_unchecked(
-                        &iterWrapper.element_class,
-                        iterWrapper.constructor_id,
-                        &[key.into(), value.into()],
-                    )?
-                    .into_inner())
-            }
-            None => Ok(ptr::null_mut()),
-        }
+        let iter = utils::cast_handle::<Iter>(iter_handle);
+        utils::pack_pairs(&env, iter, max_items)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -346,19 +497,18 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
     utils::drop_handle::<Iter>(&env, iter_handle);
 }
 
-/// Returns the next value from the keys-iterator. Returns null pointer when iteration is finished.
+/// Returns a chunk of the next keys from the keys-iterator.
+/// Returns null pointer when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeKeysIterNext(
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeKeysIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
+    max_items: jint,
 ) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let iter = utils::cast_handle::<MapIndexKeys<Key>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        utils::pack_items(&env, iter, max_items)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -373,19 +523,18 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nat
     utils::drop_handle::<MapIndexKeys<Key>>(&env, iter_handle);
 }
 
-/// Return next value from the values-iterator. Returns null pointer when iteration is finished.
+/// Returns a chunk of the next values from the values-iterator.
+/// Returns null pointer when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeValuesIterNext(
+pub extern "system" fn Java_com_exonum_binding_storage_indices_MapIndexProxy_nativeValuesIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
+    max_items: jint,
 ) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let iter = utils::cast_handle::<MapIndexValues<Value>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        utils::pack_items(&env, iter, max_items)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -17,7 +17,7 @@ use exonum::storage::proof_list_index::{ListProof, ProofListIndexIter};
 use exonum::storage::{Fork, ProofListIndex, Snapshot};
 use jni::errors::Result;
 use jni::objects::{JClass, JObject, JString};
-use jni::sys::{jboolean, jbyteArray, jint, jlong, jobject};
+use jni::sys::{jboolean, jbyteArray, jint, jlong};
 use jni::JNIEnv;
 
 use std::panic;
@@ -90,6 +90,16 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexPro
     utils::drop_handle::<IndexType>(&env, list_handle);
 }
 
+/// Returns the address of the function destroying `ProofListIndex` objects, used to destroy them
+/// in batches.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> Handle {
+    utils::drop_function::<IndexType>()
+}
+
 /// Returns the value by index. Null pointer is returned if value is not found.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeGet(
@@ -111,6 +121,26 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexPro
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Returns the packed values in the range `[from, to)`.
+/// Returns null pointer if the range is empty.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeGetRange(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    from: jlong,
+    to: jlong,
+) -> jbyteArray {
+    let res = panic::catch_unwind(|| {
+        let mut iter = match *utils::cast_handle::<IndexType>(list_handle) {
+            IndexType::SnapshotIndex(ref list) => list.iter_from(from as u64),
+            IndexType::ForkIndex(ref list) => list.iter_from(from as u64),
+        };
+        utils::pack_items(&env, &mut iter, (to - from) as jint)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Returns the last value or null pointer if the list is empty.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeGetLast(
@@ -198,25 +228,25 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexPro
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
-/// Returns Java representation of the proof that an element exists at the specified index.
+/// Returns the packed proof that an element exists at the specified index.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeGetProof(
     env: JNIEnv,
     _: JObject,
     list_handle: Handle,
     index: jlong,
-) -> jobject {
+) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let proof = match *utils::cast_handle::<IndexType>(list_handle) {
             IndexType::SnapshotIndex(ref list) => list.get_proof(index as u64),
             IndexType::ForkIndex(ref list) => list.get_proof(index as u64),
         };
-        make_java_proof(&env, &proof).map(|x| x.into_inner())
+        make_java_proof(&env, &proof)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
-/// Returns Java representation of the proof that some elements exists in the specified range.
+/// Returns the packed proof that some elements exists in the specified range.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeGetRangeProof(
     env: JNIEnv,
@@ -224,13 +254,13 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexPro
     list_handle: Handle,
     from: jlong,
     to: jlong,
-) -> jobject {
+) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let proof = match *utils::cast_handle::<IndexType>(list_handle) {
             IndexType::SnapshotIndex(ref list) => list.get_range_proof(from as u64, to as u64),
             IndexType::ForkIndex(ref list) => list.get_range_proof(from as u64, to as u64),
         };
-        make_java_proof(&env, &proof).map(|x| x.into_inner())
+        make_java_proof(&env, &proof)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -293,6 +323,27 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexPro
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Adds the packed values to the list.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeAddAll(
+    env: JNIEnv,
+    _: JObject,
+    list_handle: Handle,
+    values: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(list_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut list) => {
+            let values = env.convert_byte_array(values)?;
+            list.extend(utils::unpack_items(&values).iter().map(|value| value.to_vec()));
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Sets value into specified index. Panics if `i` is out of bounds.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeSet(
@@ -334,19 +385,18 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexPro
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Returns next value from the iterator. Returns null pointer when iteration is finished.
+/// Returns a chunk of the next values from the iterator.
+/// Returns null pointer when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeIterNext(
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexProxy_nativeIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
+    max_items: jint,
 ) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let iter = utils::cast_handle::<ProofListIndexIter<Value>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        utils::pack_items(&env, iter, max_items)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -361,60 +411,87 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofListIndexPro
     utils::drop_handle::<ProofListIndexIter<Value>>(&env, iter_handle);
 }
 
-fn make_java_proof<'a>(env: &JNIEnv<'a>, proof: &ListProof<Value>) -> Result<JObject<'a>> {
+/// Tag of a branch node with both children. It is followed by the left and the right child.
+const BRANCH_NODE: u8 = 0;
+/// Tag of a branch node without the right child. It is followed by the left child.
+const LEFT_BRANCH_NODE: u8 = 1;
+/// Tag of a hash node. It is followed by the 32-byte hash.
+const HASH_NODE: u8 = 2;
+/// Tag of an element node. It is followed by the length of the element
+/// as a big-endian 32-bit integer, and the element itself.
+const ELEMENT_NODE: u8 = 3;
+
+/// Packs the proof into a Java byte array.
+fn make_java_proof(env: &JNIEnv, proof: &ListProof<Value>) -> Result<jbyteArray> {
+    let mut packed = Vec::new();
+    pack_proof(&mut packed, proof);
+    env.byte_array_from_slice(&packed)
+}
+
+/// Packs the proof tree, visiting its nodes in pre-order: each node is encoded as a tag,
+/// followed by its contents or its children.
+///
+/// This layout must be kept in sync with `PackedListProof` on the Java side.
+fn pack_proof(packed: &mut Vec<u8>, proof: &ListProof<Value>) {
     match *proof {
         ListProof::Full(ref left, ref right) => {
-            let left = make_java_proof(env, left.as_ref())?;
-            let right = make_java_proof(env, right.as_ref())?;
-            make_java_proof_branch(env, left, right)
+            packed.push(BRANCH_NODE);
+            pack_proof(packed, left.as_ref());
+            pack_proof(packed, right.as_ref());
+        }
+        ListProof::Left(ref left, Some(ref hash)) => {
+            packed.push(BRANCH_NODE);
+            pack_proof(packed, left.as_ref());
+            pack_hash_node(packed, hash);
         }
-        ListProof::Left(ref left, ref hash) => {
-            let left = make_java_proof(env, left.as_ref())?;
-            let right = hash.map_or(Ok((ptr::null_mut() as jobject).into()), |hash| {
-                make_java_hash_node(env, &hash)
-            })?;
-            make_java_proof_branch(env, left, right)
+        ListProof::Left(ref left, None) => {
+            packed.push(LEFT_BRANCH_NODE);
+            pack_proof(packed, left.as_ref());
         }
         ListProof::Right(ref hash, ref right) => {
-            let left = make_java_hash_node(env, hash)?;
-            let right = make_java_proof(env, right.as_ref())?;
-            make_java_proof_branch(env, left, right)
+            packed.push(BRANCH_NODE);
+            pack_hash_node(packed, hash);
+            pack_proof(packed, right.as_ref());
+        }
+        ListProof::Leaf(ref value) => {
+            packed.push(ELEMENT_NODE);
+            utils::write_length(packed, value.len() as u32);
+            packed.extend_from_slice(value);
         }
-        ListProof::Leaf(ref value) => make_java_proof_element(env, value),
     }
 }
 
-// TODO: Remove attribute (https://github.com/rust-lang-nursery/rust-clippy/issues/1981).
-#[allow(clippy::ptr_arg)]
-fn make_java_proof_element<'a>(env: &JNIEnv<'a>, value: &Value) -> Result<JObject<'a>> {
-    let value = env.auto_local(env.byte_array_from_slice(value)?.into());
-    env.new_object(
-        "com/exonum/binding/common/proofs/list/ListProofElement",
-        "([B)V",
-        &[value.as_obj().into()],
-    )
+fn pack_hash_node(packed: &mut Vec<u8>, hash: &Hash) {
+    packed.push(HASH_NODE);
+    packed.extend_from_slice(hash.as_ref());
 }
 
-fn make_java_proof_branch<'a>(
-    env: &JNIEnv<'a>,
-    left: JObject,
-    right: JObject,
-) -> Result<JObject<'a>> {
-    let left = env.auto_local(left);
-    let right = env.auto_local(right);
-    env.new_object(
-        "com/exonum/binding/common/proofs/list/ListProofBranch",
-        "(Lcom/exonum/binding/common/proofs/list/ListProofNode;\
-         Lcom/exonum/binding/common/proofs/list/ListProofNode;)V",
-        &[left.as_obj().into(), right.as_obj().into()],
-    )
-}
+#[cfg(test)]
+mod tests {
+    use super::*;
+
+    #[test]
+    fn pack_leaf() {
+        let mut packed = Vec::new();
+        pack_proof(&mut packed, &ListProof::Leaf(vec![1, 2]));
+        assert_eq!(packed, vec![ELEMENT_NODE, 0, 0, 0, 2, 1, 2]);
+    }
+
+    #[test]
+    fn pack_branches() {
+        let hash = Hash::new([7; 32]);
+        let proof = ListProof::Full(
+            Box::new(ListProof::Left(Box::new(ListProof::Leaf(vec![1])), None)),
+            Box::new(ListProof::Right(hash, Box::new(ListProof::Leaf(vec![2])))),
+        );
+        let mut packed = Vec::new();
+        pack_proof(&mut packed, &proof);
 
-fn make_java_hash_node<'a>(env: &JNIEnv<'a>, hash: &Hash) -> Result<JObject<'a>> {
-    let hash = env.auto_local(utils::convert_hash(env, hash)?.into());
-    env.new_object(
-        "com/exonum/binding/common/proofs/list/ListProofHashNode",
-        "([B)V",
-        &[hash.as_obj().into()],
-    )
+        let mut expected = vec![BRANCH_NODE, LEFT_BRANCH_NODE, ELEMENT_NODE, 0, 0, 0, 1, 1];
+        expected.push(BRANCH_NODE);
+        expected.push(HASH_NODE);
+        expected.extend_from_slice(&[7; 32]);
+        expected.extend_from_slice(&[ELEMENT_NODE, 0, 0, 0, 1, 2]);
+        assert_eq!(packed, expected);
+    }
 }
@@ -13,40 +13,30 @@
 // limitations under the License.
 
 use jni::objects::{JClass, JObject, JString};
-use jni::sys::{jboolean, jbyteArray, jobject, jsize};
+use jni::sys::{jboolean, jbyteArray, jint};
 use jni::JNIEnv;
 
 use std::panic;
 use std::ptr;
 
-use exonum::crypto::Hash;
 use exonum::storage::proof_map_index::{
-    MapProof, ProofMapIndexIter, ProofMapIndexKeys, ProofMapIndexValues, ProofPath,
-    PROOF_MAP_KEY_SIZE,
+    MapProof, ProofMapIndexIter, ProofMapIndexKeys, ProofMapIndexValues, PROOF_MAP_KEY_SIZE,
 };
 use exonum::storage::{Fork, ProofMapIndex, Snapshot};
 
-use storage::db::{Value, View, ViewRef};
-use utils::{self, Handle, PairIter};
+use storage::db::{Value, View, ViewRef, ABSENT_VALUE_SIZE};
+use utils::{self, Handle};
 use JniResult;
 
 type Key = [u8; PROOF_MAP_KEY_SIZE];
 type Index<T> = ProofMapIndex<T, Key, Value>;
 
-const JAVA_ENTRY_FQN: &str = "com/exonum/binding/storage/indices/MapEntryInternal";
-const MAP_PROOF_ENTRY: &str = "com/exonum/binding/common/proofs/map/MapProofEntry";
-const MAP_ENTRY: &str = "com/exonum/binding/common/collect/MapEntry";
-const UNCHECKED_FLAT_MAP_PROOF: &str = "com/exonum/binding/common/proofs/map/UncheckedFlatMapProof";
-const UNCHECKED_FLAT_MAP_PROOF_SIG: &str =
-    "([Lcom/exonum/binding/common/proofs/map/MapProofEntry;[Lcom/exonum/binding/common/collect/MapEntry;[[B)Lcom/exonum/binding/common/proofs/map/UncheckedFlatMapProof;";
-const BYTE_ARRAY: &str = "[B";
-
 enum IndexType {
     SnapshotIndex(Index<&'static Snapshot>),
     ForkIndex(Index<&'static mut Fork>),
 }
 
-type Iter<'a> = PairIter<ProofMapIndexIter<'a, Key, Value>>;
+type Iter<'a> = ProofMapIndexIter<'a, Key, Value>;
 
 /// Returns a pointer to the created `ProofMapIndex` object.
 #[no_mangle]
@@ -105,6 +95,16 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
     utils::drop_handle::<IndexType>(&env, map_handle);
 }
 
+/// Returns the address of the function destroying `ProofMapIndex` objects, used to destroy them
+/// in batches.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> Handle {
+    utils::drop_function::<IndexType>()
+}
+
 /// Returns the root hash of the proof map or default hash value if it is empty.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeGetRootHash(
@@ -144,6 +144,56 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
+/// Looks up the value identified by the 32-byte key at the start of the direct `buffer`.
+/// Returns the size of the value, which is written at the start of the buffer
+/// only if it fits, or `ABSENT_VALUE_SIZE` if there is no value.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeGetDirect(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    buffer: JObject,
+) -> jint {
+    let res = panic::catch_unwind(|| {
+        let bytes = utils::convert_direct_buffer(&env, buffer)?;
+        let key = convert_slice_to_key(&bytes[..PROOF_MAP_KEY_SIZE]);
+        let val = match *utils::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => map.get(&key),
+            IndexType::ForkIndex(ref map) => map.get(&key),
+        };
+        match val {
+            Some(val) => {
+                if val.len() <= bytes.len() {
+                    bytes[..val.len()].copy_from_slice(&val);
+                }
+                Ok(val.len() as jint)
+            }
+            None => Ok(ABSENT_VALUE_SIZE),
+        }
+    });
+    utils::unwrap_exc_or(&env, res, ABSENT_VALUE_SIZE)
+}
+
+/// Returns the values identified by the packed `keys`, packed in the same order.
+/// An absent value is packed as an absent item.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeGetAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+) -> jbyteArray {
+    let res = panic::catch_unwind(|| {
+        let keys = convert_to_keys(&env, keys)?;
+        let values: Vec<_> = match *utils::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => keys.iter().map(|key| map.get(key)).collect(),
+            IndexType::ForkIndex(ref map) => keys.iter().map(|key| map.get(key)).collect(),
+        };
+        utils::pack_optional_items(&env, values)
+    });
+    utils::unwrap_exc_or(&env, res, ptr::null_mut())
+}
+
 /// Returns `true` if the map contains a value for the specified key.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeContainsKey(
@@ -162,14 +212,32 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Returns Java-proof object.
+/// Returns `true` if the map contains values for all the specified flattened `keys`.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeContainsAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+) -> jboolean {
+    let res = panic::catch_unwind(|| {
+        let keys = convert_to_keys(&env, keys)?;
+        Ok(match *utils::cast_handle::<IndexType>(map_handle) {
+            IndexType::SnapshotIndex(ref map) => keys.iter().all(|key| map.contains(key)),
+            IndexType::ForkIndex(ref map) => keys.iter().all(|key| map.contains(key)),
+        } as jboolean)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Returns the packed proof for the key.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeGetProof(
     env: JNIEnv,
     _: JObject,
     map_handle: Handle,
     key: jbyteArray,
-) -> jobject {
+) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let key = convert_to_key(&env, key)?;
         let proof = match *utils::cast_handle::<IndexType>(map_handle) {
@@ -177,19 +245,19 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
             IndexType::ForkIndex(ref map) => map.get_proof(key),
         };
 
-        Ok(convert_to_java_proof(&env, proof)?.into_inner())
+        convert_to_java_proof(&env, &proof)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
-/// Returns Java-proof object.
+/// Returns the packed proof for the keys.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeGetMultiProof(
     env: JNIEnv,
     _: JObject,
     map_handle: Handle,
     keys: jbyteArray,
-) -> jobject {
+) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let keys = convert_to_keys(&env, keys)?;
         let proof = match *utils::cast_handle::<IndexType>(map_handle) {
@@ -197,106 +265,51 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
             IndexType::ForkIndex(ref map) => map.get_multiproof(keys),
         };
 
-        Ok(convert_to_java_proof(&env, proof)?.into_inner())
+        convert_to_java_proof(&env, &proof)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
 
-fn convert_to_java_proof<'a>(
-    env: &'a JNIEnv,
-    proof: MapProof<Key, Value>,
-) -> JniResult<JObject<'a>> {
-    let proof_nodes: JObject = create_java_proof_nodes(&env, &proof)?;
-
-    let native_entries: Vec<_> = proof.all_entries_unchecked().collect();
-
-    let map_entries: JObject = create_java_map_entries(&env, &native_entries)?;
-    let missing_keys: JObject = create_java_missing_keys(&env, &native_entries)?;
-
-    create_java_unchecked_map_proof(&env, proof_nodes, map_entries, missing_keys)
-}
-
-fn create_java_proof_nodes<'a>(
-    env: &'a JNIEnv,
-    map_proof: &MapProof<Key, Value>,
-) -> JniResult<JObject<'a>> {
-    let proof_entries = map_proof.proof_unchecked();
-    let java_entries = env.new_object_array(
-        proof_entries.len() as jsize,
-        MAP_PROOF_ENTRY,
-        JObject::null(),
-    )?;
-    for (i, (proof_path, value_hash)) in proof_entries.iter().enumerate() {
-        // todo: [ECR-2360] Estimate precisely the upper bound on the number of references ^ and
-        //   consider using a single frame
-        env.with_local_frame(8, || {
-            let je = create_java_proof_node(env, &proof_path, &value_hash)?;
-            env.set_object_array_element(java_entries, i as jsize, je)?;
-            Ok(JObject::null())
-        })?;
+/// Packs the proof into a Java byte array.
+fn convert_to_java_proof(env: &JNIEnv, proof: &MapProof<Key, Value>) -> JniResult<jbyteArray> {
+    env.byte_array_from_slice(&pack_proof(proof))
+}
+
+/// Packs the proof into a byte array of three consecutive sections:
+/// - the proof nodes: the number of nodes, followed by the 34-byte database key
+///   (`ProofPath`) and the 32-byte hash of each node;
+/// - the entries with the requested keys that are present in the map: the number of entries,
+///   followed by the 32-byte key, the length of the value and the value of each entry;
+/// - the requested keys that are absent in the map: the number of keys,
+///   followed by the 32-byte keys.
+///
+/// The numbers and the lengths are encoded as big-endian 32-bit integers.
+/// This layout must be kept in sync with `UncheckedFlatMapProof#fromBytes` on the Java side.
+fn pack_proof(proof: &MapProof<Key, Value>) -> Vec<u8> {
+    let proof_nodes = proof.proof_unchecked();
+    let entries: Vec<_> = proof.all_entries_unchecked().collect();
+
+    let mut packed = Vec::new();
+    utils::write_length(&mut packed, proof_nodes.len() as u32);
+    for (proof_path, hash) in &proof_nodes {
+        packed.extend_from_slice(proof_path.as_bytes());
+        packed.extend_from_slice(hash.as_ref());
     }
-    Ok(java_entries.into())
-}
-
-/// Creates a proof node — a node in a proof contour that corresponds to a tree node
-/// that does not contain any of the requested keys.
-fn create_java_proof_node<'a>(
-    env: &'a JNIEnv,
-    proof_path: &ProofPath,
-    hash: &Hash,
-) -> JniResult<JObject<'a>> {
-    let proof_path: JObject = env.byte_array_from_slice(proof_path.as_bytes())?.into();
-    let hash: JObject = utils::convert_hash(env, hash)?.into();
-    env.new_object(
-        MAP_PROOF_ENTRY,
-        "([B[B)V",
-        &[proof_path.into(), hash.into()],
-    )
-}
-
-fn create_java_map_entries<'a>(
-    env: &'a JNIEnv,
-    entries: &[(&Key, Option<&Value>)],
-) -> JniResult<JObject<'a>> {
-    let existing_entries: Vec<(&Key, &Value)> = entries
+
+    let present_entries: Vec<(&Key, &Value)> = entries
         .iter()
         .filter_map(|e| match e {
             (key, Some(value)) => Some((*key, *value)),
             _ => None,
         })
         .collect();
-    let java_entries =
-        env.new_object_array(existing_entries.len() as jsize, MAP_ENTRY, JObject::null())?;
-
-    for (i, (key, value)) in existing_entries.iter().enumerate() {
-        // todo: [ECR-2360] Estimate precisely the upper bound on the number of references ^ and
-        //   consider using a single frame
-        env.with_local_frame(8, || {
-            let je = create_java_map_entry(env, key, value)?;
-            env.set_object_array_element(java_entries, i as jsize, je)?;
-            Ok(JObject::null())
-        })?;
+    utils::write_length(&mut packed, present_entries.len() as u32);
+    for (key, value) in present_entries {
+        packed.extend_from_slice(key);
+        utils::write_length(&mut packed, value.len() as u32);
+        packed.extend_from_slice(value);
     }
-    Ok(java_entries.into())
-}
-
-#[allow(clippy::ptr_arg)]
-fn create_java_map_entry<'a>(env: &'a JNIEnv, key: &Key, value: &Value) -> JniResult<JObject<'a>> {
-    let key: JObject = env.byte_array_from_slice(key)?.into();
-    let value: JObject = env.byte_array_from_slice(value.as_slice())?.into();
-    env.call_static_method(
-        MAP_ENTRY,
-        "valueOf",
-        format!("(Ljava/lang/Object;Ljava/lang/Object;)L{};", MAP_ENTRY),
-        &[key.into(), value.into()],
-    )?
-    .l()
-}
-
-fn create_java_missing_keys<'a>(
-    env: &'a JNIEnv,
-    entries: &[(&Key, Option<&Value>)],
-) -> JniResult<JObject<'a>> {
+
     let missing_keys: Vec<&Key> = entries
         .iter()
         .filter_map(|e| match e {
@@ -304,30 +317,11 @@ fn create_java_missing_keys<'a>(
             _ => None,
         })
         .collect();
-    let java_missing_keys =
-        env.new_object_array(missing_keys.len() as jsize, BYTE_ARRAY, JObject::null())?;
-
-    for (i, key) in missing_keys.iter().enumerate() {
-        let java_key = env.byte_array_from_slice(key.as_ref())?.into();
-        env.set_object_array_element(java_missing_keys, i as jsize, java_key)?;
-        env.delete_local_ref(java_key)?;
+    utils::write_length(&mut packed, missing_keys.len() as u32);
+    for key in missing_keys {
+        packed.extend_from_slice(key);
     }
-    Ok(java_missing_keys.into())
-}
-
-fn create_java_unchecked_map_proof<'a>(
-    env: &'a JNIEnv,
-    proof_nodes: JObject,
-    map_entries: JObject,
-    missing_keys: JObject,
-) -> JniResult<JObject<'a>> {
-    let java_proof = env.call_static_method(
-        UNCHECKED_FLAT_MAP_PROOF,
-        "fromNative",
-        UNCHECKED_FLAT_MAP_PROOF_SIG,
-        &[proof_nodes.into(), map_entries.into(), missing_keys.into()],
-    )?;
-    java_proof.l()
+    packed
 }
 
 /// Returns the pointer to the iterator over a map keys and values.
@@ -342,7 +336,6 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
             IndexType::SnapshotIndex(ref map) => map.iter(),
             IndexType::ForkIndex(ref map) => map.iter(),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(utils::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -398,7 +391,6 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
             IndexType::SnapshotIndex(ref map) => map.iter_from(&key),
             IndexType::ForkIndex(ref map) => map.iter_from(&key),
         };
-        let iter = Iter::new(&env, iter, JAVA_ENTRY_FQN)?;
         Ok(utils::to_handle(iter))
     });
     utils::unwrap_exc_or_default(&env, res)
@@ -467,6 +459,58 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Puts the entry written at the start of the direct `buffer` into the index:
+/// a 32-byte key followed by a value of `value_size` bytes.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativePutDirect(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    buffer: JObject,
+    value_size: jint,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let bytes = utils::convert_direct_buffer(&env, buffer)?;
+            let entry = &bytes[..PROOF_MAP_KEY_SIZE + value_size as usize];
+            let (key, value) = entry.split_at(PROOF_MAP_KEY_SIZE);
+            map.put(&convert_slice_to_key(key), value.to_vec());
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
+/// Puts the packed `values` identified by the flattened `keys` into the index.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativePutAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+    values: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let keys = convert_to_keys(&env, keys)?;
+            let values = env.convert_byte_array(values)?;
+            let values = utils::unpack_items(&values);
+            assert_eq!(keys.len(), values.len(), "Keys and values count mismatch");
+            for (key, value) in keys.iter().zip(values) {
+                map.put(key, value.to_vec());
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes value identified by the `key` from the index.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeRemove(
@@ -488,6 +532,29 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Removes values identified by the flattened `keys` from the index.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeRemoveAll(
+    env: JNIEnv,
+    _: JObject,
+    map_handle: Handle,
+    keys: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(map_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut map) => {
+            let keys = convert_to_keys(&env, keys)?;
+            for key in &keys {
+                map.remove(key);
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes all entries of the map.
 #[no_mangle]
 pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeClear(
@@ -507,29 +574,18 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
     utils::unwrap_exc_or_default(&env, res)
 }
 
-/// Returns the next value from the iterator. Returns null pointer when iteration is finished.
+/// Returns a chunk of the next entries from the iterator.
+/// Returns null pointer when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeEntriesIterNext(
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeEntriesIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
-) -> jobject {
+    max_items: jint,
+) -> jbyteArray {
     let res = panic::catch_unwind(|| {
-        let iterWrapper = utils::cast_handle::<Iter>(iter_handle);
-        match iterWrapper.iter.next() {
-            Some(val) => {
-                let key: JObject = env.byte_array_from_slice(&val.0)?.into();
-                let value: JObject = env.byte_array_from_slice(&val.1)?.into();
-                Ok(env
-                    .new_object_unchecked(
-                        &iterWrapper.element_class,
-                        iterWrapper.constructor_id,
-                        &[key.into(), value.into()],
-                    )?
-                    .into_inner())
-            }
-            None => Ok(ptr::null_mut()),
-        }
+        let iter = utils::cast_handle::<Iter>(iter_handle);
+        utils::pack_pairs(&env, iter, max_items)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -544,19 +600,18 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
     utils::drop_handle::<Iter>(&env, iter_handle);
 }
 
-/// Returns the next value from the keys-iterator. Returns null pointer when iteration is finished.
+/// Returns a chunk of the next keys from the keys-iterator.
+/// Returns null pointer when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeKeysIterNext(
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeKeysIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
+    max_items: jint,
 ) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let iter = utils::cast_handle::<ProofMapIndexKeys<Key>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        utils::pack_items(&env, iter, max_items)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -571,19 +626,18 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
     utils::drop_handle::<ProofMapIndexKeys<Key>>(&env, iter_handle);
 }
 
-/// Return next value from the values-iterator. Returns null pointer when iteration is finished.
+/// Returns a chunk of the next values from the values-iterator.
+/// Returns null pointer when iteration is finished.
 #[no_mangle]
-pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeValuesIterNext(
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProxy_nativeValuesIterNextChunk(
     env: JNIEnv,
     _: JObject,
     iter_handle: Handle,
+    max_items: jint,
 ) -> jbyteArray {
     let res = panic::catch_unwind(|| {
         let iter = utils::cast_handle::<ProofMapIndexValues<Value>>(iter_handle);
-        match iter.next() {
-            Some(val) => env.byte_array_from_slice(&val),
-            None => Ok(ptr::null_mut()),
-        }
+        utils::pack_items(&env, iter, max_items)
     });
     utils::unwrap_exc_or(&env, res, ptr::null_mut())
 }
@@ -600,11 +654,15 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ProofMapIndexProx
 
 fn convert_to_key(env: &JNIEnv, array: jbyteArray) -> JniResult<Key> {
     let bytes = env.convert_byte_array(array)?;
+    Ok(convert_slice_to_key(&bytes))
+}
+
+fn convert_slice_to_key(bytes: &[u8]) -> Key {
     assert_eq!(PROOF_MAP_KEY_SIZE, bytes.len());
 
     let mut key = Key::default();
-    key.copy_from_slice(&bytes);
-    Ok(key)
+    key.copy_from_slice(bytes);
+    key
 }
 
 fn convert_to_keys(env: &JNIEnv, array: jbyteArray) -> JniResult<Vec<Key>> {
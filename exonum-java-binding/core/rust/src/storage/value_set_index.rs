@@ -92,6 +92,16 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProx
     utils::drop_handle::<IndexType>(&env, set_handle);
 }
 
+/// Returns the address of the function destroying `ValueSetIndex` objects, used to destroy them
+/// in batches.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nativeDropFunction(
+    _: JNIEnv,
+    _: JClass,
+) -> Handle {
+    utils::drop_function::<IndexType>()
+}
+
 /// Returns `true` if the set contains the specified value.
 #[no_mangle]
 pub extern "C" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nativeContains(
@@ -110,6 +120,27 @@ pub extern "C" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nat
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Returns `true` if the set contains all the packed `values`.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nativeContainsAll(
+    env: JNIEnv,
+    _: JObject,
+    set_handle: Handle,
+    values: jbyteArray,
+) -> jboolean {
+    let res = panic::catch_unwind(|| {
+        let values = env.convert_byte_array(values)?;
+        let values = utils::unpack_items(&values);
+        Ok(match *utils::cast_handle::<IndexType>(set_handle) {
+            IndexType::SnapshotIndex(ref set) => {
+                values.iter().all(|value| set.contains(&value.to_vec()))
+            }
+            IndexType::ForkIndex(ref set) => values.iter().all(|value| set.contains(&value.to_vec())),
+        } as jboolean)
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Returns `true` if the set contains value with the specified hash.
 #[no_mangle]
 pub extern "C" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nativeContainsByHash(
@@ -225,6 +256,30 @@ pub extern "system" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProx
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Inserts the packed `values` into the set.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nativeAddAll(
+    env: JNIEnv,
+    _: JObject,
+    set_handle: Handle,
+    values: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(set_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut set) => {
+            let values = env.convert_byte_array(values)?;
+            let values = utils::unpack_items(&values);
+            for value in values {
+                set.insert(value.to_vec());
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes value from the set.
 #[no_mangle]
 pub extern "C" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nativeRemove(
@@ -246,6 +301,30 @@ pub extern "C" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nat
     utils::unwrap_exc_or_default(&env, res)
 }
 
+/// Removes the packed `values` from the set.
+#[no_mangle]
+pub extern "system" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nativeRemoveAll(
+    env: JNIEnv,
+    _: JObject,
+    set_handle: Handle,
+    values: jbyteArray,
+) {
+    let res = panic::catch_unwind(|| match *utils::cast_handle::<IndexType>(set_handle) {
+        IndexType::SnapshotIndex(_) => {
+            panic!("Unable to modify snapshot.");
+        }
+        IndexType::ForkIndex(ref mut set) => {
+            let values = env.convert_byte_array(values)?;
+            let values = utils::unpack_items(&values);
+            for value in values {
+                set.remove(&value.to_vec());
+            }
+            Ok(())
+        }
+    });
+    utils::unwrap_exc_or_default(&env, res)
+}
+
 /// Removes value with given hash from the set.
 #[no_mangle]
 pub extern "C" fn Java_com_exonum_binding_storage_indices_ValueSetIndexProxy_nativeRemoveByHash(
@@ -0,0 +1,198 @@
+// Copyright 2019 The Exonum Team
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+//! Packing of items into chunks: byte arrays that carry several items at once,
+//! so that Java code can pass or fetch them with a single JNI call.
+//!
+//! A chunk is a sequence of items, each prefixed with its length in bytes,
+//! encoded as a big-endian 32-bit integer: `[len_0][item_0][len_1][item_1]…`.
+//! A pair (e.g., a map entry) is encoded as two consecutive items: a key and a value.
+//! In a chunk of optional items an absent item is encoded as a single length prefix
+//! equal to `u32::MAX`.
+//! This layout must be kept in sync with `PackedItems` on the Java side.
+
+use jni::sys::{jbyteArray, jint};
+use jni::JNIEnv;
+
+use std::ptr;
+
+use JniResult;
+
+/// The size of the item length prefix, in bytes.
+const LENGTH_PREFIX_SIZE: usize = 4;
+/// The length prefix of an absent item.
+const ABSENT_ITEM_LENGTH: u32 = ::std::u32::MAX;
+
+/// Packs at most `max_items` next items of the iterator into a chunk.
+/// Returns null pointer if the iterator is exhausted.
+pub fn pack_items<I>(env: &JNIEnv, iter: &mut I, max_items: jint) -> JniResult<jbyteArray>
+where
+    I: Iterator,
+    I::Item: AsRef<[u8]>,
+{
+    let mut chunk = Vec::new();
+    for item in iter.by_ref().take(checked_max_items(max_items)) {
+        write_item(&mut chunk, item.as_ref());
+    }
+    to_java_chunk(env, &chunk)
+}
+
+/// Packs at most `max_items` next pairs of the iterator into a chunk.
+/// Returns null pointer if the iterator is exhausted.
+pub fn pack_pairs<I, K, V>(env: &JNIEnv, iter: &mut I, max_items: jint) -> JniResult<jbyteArray>
+where
+    I: Iterator<Item = (K, V)>,
+    K: AsRef<[u8]>,
+    V: AsRef<[u8]>,
+{
+    let mut chunk = Vec::new();
+    for (key, value) in iter.by_ref().take(checked_max_items(max_items)) {
+        write_item(&mut chunk, key.as_ref());
+        write_item(&mut chunk, value.as_ref());
+    }
+    to_java_chunk(env, &chunk)
+}
+
+/// Packs the optional items into a chunk. Unlike the iterator chunks, the chunk
+/// of optional items is never null, even if there are no items.
+pub fn pack_optional_items<I, T>(env: &JNIEnv, items: I) -> JniResult<jbyteArray>
+where
+    I: IntoIterator<Item = Option<T>>,
+    T: AsRef<[u8]>,
+{
+    let mut chunk = Vec::new();
+    for item in items {
+        match item {
+            Some(item) => write_item(&mut chunk, item.as_ref()),
+            None => write_length(&mut chunk, ABSENT_ITEM_LENGTH),
+        }
+    }
+    env.byte_array_from_slice(&chunk)
+}
+
+/// Splits the chunk passed from Java into the items.
+///
+/// Panics if the chunk is malformed.
+pub fn unpack_items(chunk: &[u8]) -> Vec<&[u8]> {
+    let mut items = Vec::new();
+    let mut rest = chunk;
+    while !rest.is_empty() {
+        assert!(
+            rest.len() >= LENGTH_PREFIX_SIZE,
+            "Malformed chunk: truncated item length"
+        );
+        let (prefix, tail) = rest.split_at(LENGTH_PREFIX_SIZE);
+        let len = read_length(prefix) as usize;
+        assert!(tail.len() >= len, "Malformed chunk: truncated item");
+        let (item, tail) = tail.split_at(len);
+        items.push(item);
+        rest = tail;
+    }
+    items
+}
+
+fn checked_max_items(max_items: jint) -> usize {
+    assert!(max_items > 0, "max_items must be positive, but: {}", max_items);
+    max_items as usize
+}
+
+fn write_item(chunk: &mut Vec<u8>, item: &[u8]) {
+    chunk.reserve(LENGTH_PREFIX_SIZE + item.len());
+    write_length(chunk, item.len() as u32);
+    chunk.extend_from_slice(item);
+}
+
+/// Writes the length prefix as a big-endian 32-bit integer. It is also used
+/// in the packed proofs.
+pub fn write_length(chunk: &mut Vec<u8>, len: u32) {
+    chunk.extend_from_slice(&[
+        (len >> 24) as u8,
+        (len >> 16) as u8,
+        (len >> 8) as u8,
+        len as u8,
+    ]);
+}
+
+fn read_length(prefix: &[u8]) -> u32 {
+    (u32::from(prefix[0]) << 24)
+        | (u32::from(prefix[1]) << 16)
+        | (u32::from(prefix[2]) << 8)
+        | u32::from(prefix[3])
+}
+
+fn to_java_chunk(env: &JNIEnv, chunk: &[u8]) -> JniResult<jbyteArray> {
+    if chunk.is_empty() {
+        Ok(ptr::null_mut())
+    } else {
+        env.byte_array_from_slice(chunk)
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+
+    #[test]
+    fn write_item_prefixes_length() {
+        let mut chunk = Vec::new();
+        write_item(&mut chunk, &[1, 2, 3]);
+        assert_eq!(chunk, vec![0, 0, 0, 3, 1, 2, 3]);
+    }
+
+    #[test]
+    fn write_empty_item() {
+        let mut chunk = Vec::new();
+        write_item(&mut chunk, &[]);
+        assert_eq!(chunk, vec![0, 0, 0, 0]);
+    }
+
+    #[test]
+    fn write_several_items() {
+        let mut chunk = Vec::new();
+        write_item(&mut chunk, &[1]);
+        write_item(&mut chunk, &[2, 3]);
+        assert_eq!(chunk, vec![0, 0, 0, 1, 1, 0, 0, 0, 2, 2, 3]);
+    }
+
+    #[test]
+    fn unpack_several_items() {
+        let chunk = [0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 2, 2, 3];
+        let items = unpack_items(&chunk);
+        assert_eq!(items, vec![&[1][..], &[][..], &[2, 3][..]]);
+    }
+
+    #[test]
+    fn unpack_empty_chunk() {
+        assert!(unpack_items(&[]).is_empty());
+    }
+
+    #[test]
+    #[should_panic(expected = "truncated item length")]
+    fn unpack_truncated_length() {
+        unpack_items(&[0, 0, 0, 1, 1, 0, 0]);
+    }
+
+    #[test]
+    #[should_panic(expected = "truncated item")]
+    fn unpack_truncated_item() {
+        unpack_items(&[0, 0, 0, 3, 1, 2]);
+    }
+
+    #[test]
+    fn write_then_read_length() {
+        let mut chunk = Vec::new();
+        write_length(&mut chunk, 0x0102_0304);
+        assert_eq!(read_length(&chunk), 0x0102_0304);
+    }
+}
@@ -13,7 +13,7 @@
 // limitations under the License.
 
 use exonum::crypto::Hash;
-use jni::objects::JString;
+use jni::objects::{JByteBuffer, JObject, JString};
 use jni::sys::jbyteArray;
 use jni::JNIEnv;
 
@@ -37,3 +37,9 @@ where
 {
     Ok(env.get_string(val.into())?.into())
 }
+
+/// Returns the contents of a Java direct `ByteBuffer` as a mutable slice
+/// spanning its whole capacity. Java code must not access the buffer while the slice is in use.
+pub fn convert_direct_buffer<'a>(env: &'a JNIEnv, buffer: JObject) -> JniResult<&'a mut [u8]> {
+    env.get_direct_buffer_address(JByteBuffer::from(buffer.into_inner()))
+}
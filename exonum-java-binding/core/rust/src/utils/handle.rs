@@ -20,7 +20,12 @@
 use jni::sys::jlong;
 use jni::JNIEnv;
 
+#[cfg(feature = "tagged-handles")]
+use std::any::TypeId;
+#[cfg(feature = "tagged-handles")]
+use std::hash::{Hash, Hasher};
 use std::marker::PhantomData;
+use std::mem;
 use std::panic;
 
 use utils::{exception, resource_manager};
@@ -59,16 +64,15 @@ impl<T> Drop for NonOwnedHandle<T> {
 /// Returns a handle (a raw pointer) to the given Java-owned object allocated in the heap. This
 /// handle must be freed by the `drop_handle` function call.
 pub fn to_handle<T: 'static>(val: T) -> Handle {
-    let handle = Box::into_raw(Box::new(val)) as Handle;
+    let handle = tag_pointer(Box::into_raw(Box::new(val)));
     resource_manager::add_handle::<T>(handle);
     handle
 }
 
 /// Returns a handle (a raw pointer) to the given native-owned object. This handle should not be
 /// freed manually.
-pub fn as_handle<T>(val: &mut T) -> NonOwnedHandle<T> {
-    let ptr = val as *mut T;
-    NonOwnedHandle::new(ptr as Handle)
+pub fn as_handle<T: 'static>(val: &mut T) -> NonOwnedHandle<T> {
+    NonOwnedHandle::new(tag_pointer(val as *mut T))
 }
 
 /// "Converts" a handle to the object reference.
@@ -80,12 +84,13 @@ pub fn as_handle<T>(val: &mut T) -> NonOwnedHandle<T> {
 /// # Notes
 ///
 /// Additional validity checks are performed if "resource-manager" feature is enabled.
-pub fn cast_handle<T>(handle: Handle) -> &'static mut T {
+/// If "tagged-handles" feature is enabled, panics if the handle has a tag of another type.
+pub fn cast_handle<T: 'static>(handle: Handle) -> &'static mut T {
     assert_ne!(handle, 0, "Invalid handle value");
 
     resource_manager::check_handle::<T>(handle);
 
-    let ptr = handle as *mut T;
+    let ptr = untag_handle::<T>(handle);
     unsafe { &mut *ptr }
 }
 
@@ -96,16 +101,147 @@ pub fn cast_handle<T>(handle: Handle) -> &'static mut T {
 /// Panics if the handle is not valid, or if it identifies a native-owned object.
 pub fn drop_handle<T: 'static>(env: &JNIEnv, handle: Handle) {
     let res = panic::catch_unwind(|| unsafe {
-        resource_manager::remove_handle::<T>(handle);
-        Box::from_raw(handle as *mut T);
+        drop_raw::<T>(handle);
         Ok(())
     });
     exception::unwrap_exc_or_default(env, res);
 }
 
+/// A function destroying the Java-owned native object identified by the given handle.
+pub type DropFunction = unsafe fn(Handle);
+
+/// Returns the address of the function destroying the Java-owned native objects of type `T`,
+/// so that the Java side can destroy objects of various types with `drop_handles`.
+pub fn drop_function<T: 'static>() -> Handle {
+    drop_raw::<T> as DropFunction as usize as Handle
+}
+
+/// Destroys the Java-owned native objects identified by the given handles, using
+/// the corresponding functions obtained with `drop_function`.
+///
+/// Each object is destroyed even if the destruction of some other object panics,
+/// so that a single failure does not leak the rest of the objects.
+///
+/// # Panics
+///
+/// Panics if the slices have different lengths. After all the objects are processed,
+/// resumes the first panic that occurred while destroying them, e.g., if some handle
+/// is not valid.
+///
+/// # Safety
+///
+/// Each drop function must be obtained with `drop_function` for the type of the corresponding
+/// object.
+pub unsafe fn drop_handles(handles: &[Handle], drop_functions: &[Handle]) {
+    assert_eq!(handles.len(), drop_functions.len());
+    let mut first_panic = None;
+    for (&handle, &function) in handles.iter().zip(drop_functions) {
+        let res = panic::catch_unwind(|| {
+            assert_ne!(function, 0, "Invalid drop function");
+            let drop_fn: DropFunction = mem::transmute(function as usize);
+            drop_fn(handle);
+        });
+        if let Err(payload) = res {
+            if first_panic.is_none() {
+                first_panic = Some(payload);
+            }
+        }
+    }
+    if let Some(payload) = first_panic {
+        panic::resume_unwind(payload);
+    }
+}
+
+unsafe fn drop_raw<T: 'static>(handle: Handle) {
+    resource_manager::remove_handle::<T>(handle);
+    Box::from_raw(untag_handle::<T>(handle));
+}
+
+/// The position of the type tag in the handles, if "tagged-handles" feature is enabled.
+/// The addresses must fit in the lower bits, which holds for the user-space pointers
+/// on x86-64 and AArch64.
+const TAG_SHIFT: u32 = 48;
+const ADDRESS_MASK: u64 = (1 << TAG_SHIFT) - 1;
+
+/// Converts a pointer to a handle. If "tagged-handles" feature is enabled, puts the tag
+/// of the type in the higher bits of the handle, so that `cast_handle` can detect
+/// the handles of other types without the resource manager.
+///
+/// Unlike the resource manager, the tags do not detect the handles of destroyed objects,
+/// but their check is cheap enough to be used in production.
+#[cfg(feature = "tagged-handles")]
+fn tag_pointer<T: 'static>(ptr: *mut T) -> Handle {
+    let address = ptr as u64;
+    assert_eq!(
+        address & !ADDRESS_MASK,
+        0,
+        "Unable to tag the pointer '{:X}'",
+        address
+    );
+    (address | type_tag::<T>() << TAG_SHIFT) as Handle
+}
+
+#[cfg(not(feature = "tagged-handles"))]
+fn tag_pointer<T: 'static>(ptr: *mut T) -> Handle {
+    ptr as Handle
+}
+
+/// Converts a handle obtained with `tag_pointer` back to the pointer.
+///
+/// # Panics
+///
+/// Panics if "tagged-handles" feature is enabled and the handle has a tag of another type.
+#[cfg(feature = "tagged-handles")]
+fn untag_handle<T: 'static>(handle: Handle) -> *mut T {
+    let tag = handle as u64 >> TAG_SHIFT;
+    assert_eq!(
+        tag,
+        type_tag::<T>(),
+        "Wrong type tag for '{:X}' handle",
+        handle
+    );
+    (handle as u64 & ADDRESS_MASK) as *mut T
+}
+
+#[cfg(not(feature = "tagged-handles"))]
+fn untag_handle<T: 'static>(handle: Handle) -> *mut T {
+    handle as *mut T
+}
+
+/// Returns a non-zero tag of the type `T` that fits in the higher bits of a handle.
+#[cfg(feature = "tagged-handles")]
+fn type_tag<T: 'static>() -> u64 {
+    let mut hasher = TypeIdHasher(0);
+    TypeId::of::<T>().hash(&mut hasher);
+    (hasher.finish().wrapping_mul(0x9E37_79B9_7F4A_7C15) >> TAG_SHIFT) | 1
+}
+
+/// A hasher of `TypeId`, which is already a hash of the type, therefore, it does not need
+/// to be hashed with a more expensive algorithm.
+#[cfg(feature = "tagged-handles")]
+struct TypeIdHasher(u64);
+
+#[cfg(feature = "tagged-handles")]
+impl Hasher for TypeIdHasher {
+    fn finish(&self) -> u64 {
+        self.0
+    }
+
+    fn write(&mut self, bytes: &[u8]) {
+        for &b in bytes {
+            self.0 = self.0.rotate_left(8) ^ u64::from(b);
+        }
+    }
+
+    fn write_u64(&mut self, i: u64) {
+        self.0 ^= i;
+    }
+}
+
 #[cfg(test)]
 mod tests {
     use super::*;
+    use std::sync::atomic::{AtomicUsize, Ordering};
 
     #[cfg(not(feature = "resource-manager"))]
     #[test]
@@ -113,8 +249,8 @@ mod tests {
         static VALUE: i32 = 0;
 
         let mut object = Box::new(VALUE);
-        let ptr = &mut *object as *mut i32;
-        let casted = cast_handle::<i32>(ptr as jlong);
+        let handle = tag_pointer(&mut *object as *mut i32);
+        let casted = cast_handle::<i32>(handle);
         assert_eq!(casted, &VALUE);
     }
 
@@ -123,4 +259,69 @@ mod tests {
     fn cast_zero_object() {
         let _ = cast_handle::<i32>(0);
     }
+
+    #[test]
+    fn drop_objects_of_various_types() {
+        let handles = [to_handle(1_i32), to_handle(String::from("a")), to_handle(vec![1_u8])];
+        let drop_functions = [
+            drop_function::<i32>(),
+            drop_function::<String>(),
+            drop_function::<Vec<u8>>(),
+        ];
+        unsafe { drop_handles(&handles, &drop_functions) };
+    }
+
+    #[test]
+    fn drop_handles_drops_all_objects_if_some_drop_panics() {
+        static DROPPED: AtomicUsize = AtomicUsize::new(0);
+
+        // Not zero-sized, so that the objects have distinct addresses
+        struct Counted(u8);
+
+        impl Drop for Counted {
+            fn drop(&mut self) {
+                DROPPED.fetch_add(1, Ordering::SeqCst);
+            }
+        }
+
+        struct PanicOnDrop(u8);
+
+        impl Drop for PanicOnDrop {
+            fn drop(&mut self) {
+                panic!("Drop failed");
+            }
+        }
+
+        let handles = [
+            to_handle(Counted(1)),
+            to_handle(PanicOnDrop(2)),
+            to_handle(Counted(3)),
+        ];
+        let drop_functions = [
+            drop_function::<Counted>(),
+            drop_function::<PanicOnDrop>(),
+            drop_function::<Counted>(),
+        ];
+        let res = panic::catch_unwind(|| unsafe { drop_handles(&handles, &drop_functions) });
+
+        assert!(res.is_err());
+        assert_eq!(DROPPED.load(Ordering::SeqCst), 2);
+    }
+
+    #[cfg(feature = "tagged-handles")]
+    #[test]
+    fn tagged_handle_roundtrip() {
+        let handle = to_handle(String::from("a"));
+        assert_ne!(handle as u64 >> TAG_SHIFT, 0);
+        assert_eq!(cast_handle::<String>(handle), "a");
+        unsafe { drop_raw::<String>(handle) };
+    }
+
+    #[cfg(all(feature = "tagged-handles", not(feature = "resource-manager")))]
+    #[test]
+    #[should_panic(expected = "Wrong type tag for")]
+    fn cast_handle_of_wrong_type() {
+        let handle = to_handle(1_i32);
+        let _ = cast_handle::<String>(handle);
+    }
 }
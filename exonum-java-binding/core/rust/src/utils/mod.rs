@@ -14,6 +14,7 @@
 
 #![deny(non_snake_case)]
 
+mod chunk;
 mod conversion;
 mod errors;
 mod exception;
@@ -26,17 +27,23 @@ mod resource_manager;
 mod services;
 mod time_service;
 
-pub use self::conversion::{convert_hash, convert_to_hash, convert_to_string};
+pub use self::chunk::{pack_items, pack_optional_items, pack_pairs, unpack_items, write_length};
+pub use self::conversion::{
+    convert_direct_buffer, convert_hash, convert_to_hash, convert_to_string,
+};
 pub use self::errors::{
     check_error_on_exception, describe_java_exception, get_and_clear_java_exception,
     panic_on_exception, unwrap_jni, unwrap_jni_verbose,
 };
 pub use self::exception::{any_to_string, unwrap_exc_or, unwrap_exc_or_default};
-pub use self::handle::{as_handle, cast_handle, drop_handle, to_handle, Handle};
+pub use self::handle::{
+    as_handle, cast_handle, drop_function, drop_handle, drop_handles, to_handle, DropFunction,
+    Handle,
+};
 pub use self::jni::{get_class_name, get_exception_message};
 pub use self::pair_iter::PairIter;
 pub use self::path::{executable_directory, join_paths, PATH_SEPARATOR};
-pub use self::resource_manager::known_handles;
+pub use self::resource_manager::{known_handles, registry_stats, RegistryStats};
 pub use self::services::{
     is_service_enabled_in_config_file, load_enabled_services, BTC_ANCHORING_SERVICE,
     CONFIGURATION_SERVICE, EJB_SERVICE, PATH_TO_SERVICES_TO_ENABLE, TIME_SERVICE,
@@ -12,14 +12,76 @@
 // See the License for the specific language governing permissions and
 // limitations under the License.
 
+use parking_lot::{RwLock, RwLockReadGuard, RwLockWriteGuard};
+
 use std::any::TypeId;
 use std::collections::HashMap;
-use std::sync::RwLock;
+use std::sync::atomic::{AtomicUsize, Ordering};
 
+use super::RegistryStats;
 use utils::Handle;
 
+/// The number of shards of the registry. Must be a power of two.
+const NUM_SHARDS: usize = 16;
+const SHARD_BITS: u32 = 4;
+
 lazy_static! {
-    static ref HANDLES_MAP: RwLock<HashMap<Handle, HandleInfo>> = RwLock::new(HashMap::new());
+    static ref SHARDS: Vec<Shard> = (0..NUM_SHARDS).map(|_| Shard::new()).collect();
+}
+
+/// A part of the registry containing the handles which hash maps to this shard.
+///
+/// Each shard has its own lock, so that the operations with the handles of different shards
+/// (e.g., the checks of the handles of different indexes, performed in multiple threads)
+/// do not contend.
+struct Shard {
+    handles: RwLock<HashMap<Handle, HandleInfo>>,
+    lock_acquisitions: AtomicUsize,
+    contended_acquisitions: AtomicUsize,
+}
+
+impl Shard {
+    fn new() -> Self {
+        Self {
+            handles: RwLock::new(HashMap::new()),
+            lock_acquisitions: AtomicUsize::new(0),
+            contended_acquisitions: AtomicUsize::new(0),
+        }
+    }
+
+    /// Returns the shard of the given handle.
+    fn of(handle: Handle) -> &'static Shard {
+        &SHARDS[shard_index(handle)]
+    }
+
+    fn read(&self) -> RwLockReadGuard<HashMap<Handle, HandleInfo>> {
+        self.lock_acquisitions.fetch_add(1, Ordering::Relaxed);
+        match self.handles.try_read() {
+            Some(guard) => guard,
+            None => {
+                self.contended_acquisitions.fetch_add(1, Ordering::Relaxed);
+                self.handles.read()
+            }
+        }
+    }
+
+    fn write(&self) -> RwLockWriteGuard<HashMap<Handle, HandleInfo>> {
+        self.lock_acquisitions.fetch_add(1, Ordering::Relaxed);
+        match self.handles.try_write() {
+            Some(guard) => guard,
+            None => {
+                self.contended_acquisitions.fetch_add(1, Ordering::Relaxed);
+                self.handles.write()
+            }
+        }
+    }
+}
+
+/// Returns the index of the shard of the given handle.
+fn shard_index(handle: Handle) -> usize {
+    // The handles are pointers to the heap, which lower bits are usually zero,
+    // hence a multiplicative hash to use the higher bits as well.
+    ((handle as u64).wrapping_mul(0x9E37_79B9_7F4A_7C15) >> (64 - SHARD_BITS)) as usize
 }
 
 /// Represents `Handle` ownership model.
@@ -56,9 +118,8 @@ impl HandleInfo {
 fn add_handle_impl<T: 'static>(handle: Handle, ownership: HandleOwnershipType) {
     assert_ne!(handle, 0);
     assert!(
-        HANDLES_MAP
+        Shard::of(handle)
             .write()
-            .expect("Unable to obtain write-lock")
             .insert(handle, HandleInfo::new(TypeId::of::<T>(), ownership))
             .is_none(),
         "Trying to add the same handle for the second time: {:X}",
@@ -74,10 +135,7 @@ fn add_handle_impl<T: 'static>(handle: Handle, ownership: HandleOwnershipType) {
 fn remove_handle_impl<T: 'static>(handle: Handle, ownership: HandleOwnershipType) {
     check_handle_impl::<T>(handle, Some(ownership));
     // Return value is ignored because `check_handle_impl` already checks that handle is present.
-    HANDLES_MAP
-        .write()
-        .expect("Unable to obtain write-lock")
-        .remove(&handle);
+    Shard::of(handle).write().remove(&handle);
 }
 
 /// Checks given handle for validity.
@@ -86,11 +144,7 @@ fn remove_handle_impl<T: 'static>(handle: Handle, ownership: HandleOwnershipType
 ///
 /// Panics if handle is unknown or its type or ownership model is wrong.
 fn check_handle_impl<T: 'static>(handle: Handle, ownership: Option<HandleOwnershipType>) {
-    match HANDLES_MAP
-        .read()
-        .expect("Unable to obtain read-lock")
-        .get(&handle)
-    {
+    match Shard::of(handle).read().get(&handle) {
         Some(info) => {
             let actual_object_type = TypeId::of::<T>();
             assert_eq!(
@@ -159,10 +213,24 @@ pub fn check_handle<T: 'static>(handle: Handle) {
 
 /// Returns the number of known handles.
 pub fn known_handles() -> usize {
-    HANDLES_MAP
-        .read()
-        .expect("Unable to obtain read-lock")
-        .len()
+    SHARDS.iter().map(|shard| shard.handles.read().len()).sum()
+}
+
+/// Returns the statistics of the resource manager. The shards are inspected one by one,
+/// therefore, the values might be inconsistent if the handles are concurrently modified.
+pub fn registry_stats() -> RegistryStats {
+    let mut stats = RegistryStats {
+        enabled: true,
+        known_handles: 0,
+        lock_acquisitions: 0,
+        contended_acquisitions: 0,
+    };
+    for shard in SHARDS.iter() {
+        stats.known_handles += shard.handles.read().len();
+        stats.lock_acquisitions += shard.lock_acquisitions.load(Ordering::Relaxed);
+        stats.contended_acquisitions += shard.contended_acquisitions.load(Ordering::Relaxed);
+    }
+    stats
 }
 
 #[cfg(test)]
@@ -173,7 +241,7 @@ mod tests {
     enum T {}
     const INVALID_HANDLE: Handle = i64::MAX;
 
-    // Unique ("valid") handles should be used in the each test because `HANDLES_MAP` is a shared
+    // Unique ("valid") handles should be used in the each test because `SHARDS` is a shared
     // state and tests are run concurrently.
     const MANAGE_HANDLES_FIRST_HANDLE: Handle = 1000;
     const MANAGE_HANDLES_SECOND_HANDLE: Handle = 2000;
@@ -227,6 +295,32 @@ mod tests {
         unregister_handle::<T3>(MANAGE_HANDLES_NON_OWNED_HANDLE);
     }
 
+    #[test]
+    fn handles_spread_across_shards() {
+        // Heap pointers are aligned, so the handles of adjacent objects differ in higher bits only.
+        let mut used = [false; NUM_SHARDS];
+        for i in 1..=1024 {
+            used[shard_index(i * 16)] = true;
+        }
+        assert!(used.iter().all(|&u| u));
+    }
+
+    #[test]
+    fn stats_count_handles_and_acquisitions() {
+        const STATS_HANDLE: Handle = 7000;
+        let before = registry_stats();
+        add_handle::<T>(STATS_HANDLE);
+        check_handle::<T>(STATS_HANDLE);
+        let after = registry_stats();
+        remove_handle::<T>(STATS_HANDLE);
+
+        assert!(after.enabled);
+        // Tests run concurrently, so other handles might be added as well.
+        assert!(after.known_handles >= 1);
+        assert!(after.lock_acquisitions >= before.lock_acquisitions + 2);
+        assert!(after.contended_acquisitions <= after.lock_acquisitions);
+    }
+
     #[test]
     #[should_panic(expected = "assertion failed: `(left != right)`\n  left: `0`,\n right: `0`")]
     fn add_zero_handle() {
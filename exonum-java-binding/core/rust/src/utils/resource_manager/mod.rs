@@ -13,7 +13,9 @@
 // limitations under the License.
 
 /// The main goal of resource manager is early detection of possible problems with resources
-/// management and accessing objects with pointers. Not required in production.
+/// management and accessing objects with pointers. Not required in production, where
+/// the "tagged-handles" feature may be used instead to detect the handles of wrong types
+/// (see `utils::handle`).
 
 #[cfg(not(feature = "resource-manager"))]
 #[path = "stub.rs"]
@@ -24,3 +26,16 @@ mod imp;
 mod imp;
 
 pub use self::imp::*;
+
+/// Statistics of the resource manager.
+#[derive(Debug, Clone, Copy, Default)]
+pub struct RegistryStats {
+    /// Whether the resource manager is enabled. If it is not, all other values are zero.
+    pub enabled: bool,
+    /// The number of known handles.
+    pub known_handles: usize,
+    /// The total number of acquisitions of the locks guarding the handles.
+    pub lock_acquisitions: usize,
+    /// The number of lock acquisitions that had to wait for another thread.
+    pub contended_acquisitions: usize,
+}
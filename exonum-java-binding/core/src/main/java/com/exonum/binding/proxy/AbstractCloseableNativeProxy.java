@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Collections.singleton;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.MapMaker;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
@@ -39,6 +40,12 @@ import java.util.stream.Stream;
  * You may use a <a href="https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html">try-with-resources</a>
  * statement to do that in orderly fashion.
  * When a proxy is closed, it becomes invalid.
+ *
+ * <p>The validity of a proxy and the proxies it references is checked before each native call.
+ * To make the check cheap, each proxy keeps the number of invalid proxies among itself and
+ * the proxies it references, which a closed proxy updates in all proxies referencing it.
+ *
+ * <p>This class is not thread-safe.
  */
 public abstract class AbstractCloseableNativeProxy extends AbstractNativeProxy
     implements CloseableNativeProxy {
@@ -55,6 +62,18 @@ public abstract class AbstractCloseableNativeProxy extends AbstractNativeProxy
    */
   private final Set<AbstractCloseableNativeProxy> referenced;
 
+  /**
+   * Proxies that reference this one, including transitive references. Weakly referenced
+   * (and compared by identity) so that a long-living proxy does not retain its dependents.
+   */
+  private final Set<AbstractCloseableNativeProxy> dependents;
+
+  /**
+   * The number of invalid proxies among this one and the proxies it references.
+   * This proxy may be used if and only if it is zero.
+   */
+  private int numInvalidProxies;
+
   /**
    * Creates a native proxy.
    *
@@ -95,6 +114,17 @@ public abstract class AbstractCloseableNativeProxy extends AbstractNativeProxy
     super(new NativeHandle(nativeHandle));
     this.dispose = dispose;
     this.referenced = getTransitivelyReferenced(referenced);
+    this.dependents = Collections.newSetFromMap(new MapMaker()
+        .weakKeys()
+        .concurrencyLevel(1)
+        .makeMap());
+    this.numInvalidProxies = 0;
+    for (AbstractCloseableNativeProxy r : this.referenced) {
+      r.dependents.add(this);
+      if (!r.isValidHandle()) {
+        numInvalidProxies++;
+      }
+    }
   }
 
   private Set<AbstractCloseableNativeProxy> getTransitivelyReferenced(
@@ -138,16 +168,11 @@ public abstract class AbstractCloseableNativeProxy extends AbstractNativeProxy
   }
 
   private void checkAllRefsValid() {
-    if (!allRefsValid()) {
+    if (numInvalidProxies != 0) {
       throw new IllegalStateException(getInvalidProxyErrMessage());
     }
   }
 
-  private boolean allRefsValid() {
-    return isValidHandle() && referenced.stream()
-        .allMatch(AbstractCloseableNativeProxy::isValidHandle);
-  }
-
   private String getInvalidProxyErrMessage() {
     if (!isValidHandle()) {
       return String.format("This proxy (%s) is not valid", this);
@@ -174,5 +199,10 @@ public abstract class AbstractCloseableNativeProxy extends AbstractNativeProxy
 
   private void invalidate() {
     nativeHandle.close();
+    numInvalidProxies++;
+    for (AbstractCloseableNativeProxy d : dependents) {
+      d.numInvalidProxies++;
+    }
+    dependents.clear();
   }
 }
@@ -17,13 +17,17 @@
 package com.exonum.binding.proxy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -37,6 +41,12 @@ import org.apache.logging.log4j.Logger;
  * <p>The context might have a description of its origin so that it can be identified
  * for a particular context.
  *
+ * <p>A context {@linkplain #withNativeArena(String) with a native arena} destroys the native
+ * proxies {@linkplain ProxyDestructor#register registered} one after another
+ * in a single native call, instead of a native call per proxy.
+ * It is preferable when a context is expected to hold many proxies,
+ * e.g., the indexes accessed during a transaction execution.
+ *
  * <p>All method arguments are non-null by default.
  *
  * <p>This class is not thread-safe.
@@ -59,6 +69,10 @@ public final class Cleaner implements AutoCloseable {
 
   private final Deque<CleanAction<?>> registeredCleanActions;
   private final String description;
+  @Nullable
+  private final Supplier<NativeArena> nativeArenaFactory;
+  @Nullable
+  private NativeArena currentArena;
   private boolean closed;
 
   /**
@@ -75,11 +89,33 @@ public final class Cleaner implements AutoCloseable {
    *                    and is included in {@link #toString()}
    */
   public Cleaner(String description) {
+    this(description, null);
+  }
+
+  @VisibleForTesting
+  Cleaner(String description, @Nullable Supplier<NativeArena> nativeArenaFactory) {
     registeredCleanActions = new ArrayDeque<>();
     this.description = checkNotNull(description);
+    this.nativeArenaFactory = nativeArenaFactory;
+    currentArena = null;
     closed = false;
   }
 
+  /**
+   * Creates a new cleaner that destroys the native proxies in batches, using native arenas.
+   *
+   * @param description a description of this context, which describes its origin
+   *                    and is included in {@link #toString()}
+   */
+  public static Cleaner withNativeArena(String description) {
+    return new Cleaner(description, NativeArena::new);
+  }
+
+  /** Returns true if this cleaner destroys the native proxies in batches. */
+  public boolean hasNativeArena() {
+    return nativeArenaFactory != null;
+  }
+
   /** Returns true if this cleaner is closed. */
   public boolean isClosed() {
     return closed;
@@ -114,12 +150,34 @@ public final class Cleaner implements AutoCloseable {
     }
 
     registeredCleanActions.push(cleanAction);
+    // Proxies registered after this action must be destroyed before it.
+    currentArena = null;
 
     // As this class is used to automatically (from the user perspective) manage resources,
     // we log if there is an unusually high number of resource cleaners.
     logIfTooManyCleaners();
   }
 
+  /**
+   * Adds a native proxy to the current native arena, creating a new one if the last
+   * registered clean action is not an arena. If the context is already closed,
+   * the native proxy will be destroyed immediately.
+   *
+   * @throws IllegalStateException if this context has no native arena; or if it’s attempted
+   *     to add a proxy to a closed context
+   */
+  void addToNativeArena(NativeHandle nativeHandle, NativeDropFunction dropFunction) {
+    checkState(hasNativeArena(), "This context (%s) has no native arena", this);
+    if (currentArena == null || closed) {
+      NativeArena arena = nativeArenaFactory.get();
+      arena.add(nativeHandle, dropFunction);
+      add(arena);
+      currentArena = arena;
+    } else {
+      currentArena.add(nativeHandle, dropFunction);
+    }
+  }
+
   private void logIfTooManyCleaners() {
     int numRegisteredCleaners = getNumRegisteredActions();
 
@@ -223,6 +281,7 @@ public final class Cleaner implements AutoCloseable {
     }
     return sb
         .add("numRegisteredActions", getNumRegisteredActions())
+        .add("nativeArena", hasNativeArena())
         .add("closed", closed)
         .toString();
   }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A clean action destroying a group of native proxies in a single native call.
+ *
+ * <p>A native arena is created by a {@linkplain Cleaner#withNativeArena(String) cleaner}
+ * to register the proxies that are created one after another: each arena is registered
+ * in the cleaner as a single clean action, preserving the order of destruction of
+ * the proxies relative to other clean actions.
+ *
+ * <p>When cleaned, the arena closes the native handles of its proxies, so that they can
+ * no longer be accessed, and destroys the valid ones in the reversed order of their registration.
+ *
+ * <p>This class is not thread-safe.
+ */
+final class NativeArena implements CleanAction<String> {
+
+  private static final String RESOURCE_TYPE = "NativeArena";
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final BatchDestructor batchDestructor;
+  private final List<NativeHandle> nativeHandles;
+  private long[] dropFunctions;
+  private boolean destroyed;
+
+  NativeArena() {
+    this(NativeArena::nativeFreeAll);
+  }
+
+  @VisibleForTesting
+  NativeArena(BatchDestructor batchDestructor) {
+    this.batchDestructor = checkNotNull(batchDestructor);
+    nativeHandles = new ArrayList<>(INITIAL_CAPACITY);
+    dropFunctions = new long[INITIAL_CAPACITY];
+    destroyed = false;
+  }
+
+  /**
+   * Adds a native proxy to this arena.
+   *
+   * @param nativeHandle a handle to the native object
+   * @param dropFunction a function destroying the native object
+   */
+  void add(NativeHandle nativeHandle, NativeDropFunction dropFunction) {
+    checkNotNull(nativeHandle);
+    int index = nativeHandles.size();
+    if (index == dropFunctions.length) {
+      dropFunctions = Arrays.copyOf(dropFunctions, 2 * index);
+    }
+    dropFunctions[index] = dropFunction.getAddress();
+    nativeHandles.add(nativeHandle);
+  }
+
+  /** Returns the number of proxies added to this arena. */
+  int size() {
+    return nativeHandles.size();
+  }
+
+  /**
+   * Closes the native handles of the proxies and destroys their native objects
+   * in a single native call.
+   *
+   * <p>This method is idempotent.
+   */
+  @Override
+  public void clean() {
+    if (destroyed) {
+      return;
+    }
+
+    destroyed = true;
+
+    int numProxies = nativeHandles.size();
+    long[] handles = new long[numProxies];
+    long[] functions = new long[numProxies];
+    int numValid = 0;
+    for (int i = numProxies - 1; i >= 0; i--) {
+      NativeHandle nativeHandle = nativeHandles.get(i);
+      // Do not destroy the objects which handles are not valid.
+      if (nativeHandle.isValid()) {
+        handles[numValid] = nativeHandle.get();
+        functions[numValid] = dropFunctions[i];
+        numValid++;
+        nativeHandle.close();
+      }
+    }
+
+    if (numValid != 0) {
+      batchDestructor.destroy(handles, functions, numValid);
+    }
+  }
+
+  @Override
+  public Optional<String> resourceType() {
+    return Optional.of(RESOURCE_TYPE);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("numProxies", size())
+        .add("destroyed", destroyed)
+        .toString();
+  }
+
+  /**
+   * Destroys the native objects with the corresponding drop functions.
+   */
+  @FunctionalInterface
+  @VisibleForTesting
+  interface BatchDestructor {
+    void destroy(long[] handles, long[] dropFunctions, int size);
+  }
+
+  private static native void nativeFreeAll(long[] handles, long[] dropFunctions, int size);
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.proxy;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.MoreObjects;
+import java.util.function.LongSupplier;
+
+/**
+ * An address of a native function destroying the native objects of a certain type.
+ * It is used by a {@linkplain Cleaner#withNativeArena(String) native arena} to destroy
+ * native objects of various types in a single native call.
+ *
+ * <p>The address is requested from the native code when it is first needed,
+ * therefore, the instances may be stored in static fields of native proxy classes.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class NativeDropFunction {
+
+  private final LongSupplier addressSupplier;
+  private volatile long address;
+
+  private NativeDropFunction(LongSupplier addressSupplier) {
+    this.addressSupplier = checkNotNull(addressSupplier);
+  }
+
+  /**
+   * Creates a drop function which address is provided by the given supplier.
+   * The supplier is invoked lazily, when the address is first needed.
+   *
+   * @param addressSupplier a supplier of the address of the native drop function,
+   *     usually, a static native method of a proxy class
+   */
+  public static NativeDropFunction from(LongSupplier addressSupplier) {
+    return new NativeDropFunction(addressSupplier);
+  }
+
+  /**
+   * Returns the address of the native function.
+   *
+   * @throws IllegalStateException if the native code provided a null address
+   */
+  long getAddress() {
+    long a = address;
+    if (a == 0L) {
+      // A benign race: the address does not change, so it might be requested more than once
+      a = addressSupplier.getAsLong();
+      checkState(a != 0L, "Invalid address of the drop function");
+      address = a;
+    }
+    return a;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("address", Long.toHexString(address).toUpperCase())
+        .toString();
+  }
+}
@@ -57,7 +57,9 @@ public final class NativeHandle implements AutoCloseable {
    * @throws IllegalStateException if this native handle is invalid (closed or nullptr)
    */
   public long get() {
-    checkValid();
+    if (!isValid) {
+      throw new IllegalStateException("This handle is not valid: " + this);
+    }
     return nativeHandle;
   }
 
@@ -68,10 +70,6 @@ public final class NativeHandle implements AutoCloseable {
     }
   }
 
-  private void checkValid() {
-    checkState(isValid, "This handle is not valid: %s", this);
-  }
-
   final boolean isValid() {
     return isValid;
   }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.proxy;
+
+/**
+ * Provides the statistics of the native resource manager, which keeps track of the native
+ * handles passed to Java and checks them on each native call. The resource manager is enabled
+ * in the debug builds of the native library; it is disabled in production, where
+ * the native handles are not checked or are checked with the type tags only.
+ *
+ * <p>The statistics may be used to monitor the number of live native objects
+ * (e.g., to detect leaks of native proxies) and the contention on the registry of handles.
+ */
+public final class NativeResourceManager {
+
+  private NativeResourceManager() {}
+
+  /**
+   * Returns the current statistics of the native resource manager.
+   *
+   * @see NativeResourceManagerStats#isEnabled()
+   */
+  public static NativeResourceManagerStats getStats() {
+    long[] stats = nativeGetStats();
+    return NativeResourceManagerStats.valueOf(stats[0] != 0L, stats[1], stats[2], stats[3]);
+  }
+
+  private static native long[] nativeGetStats();
+}
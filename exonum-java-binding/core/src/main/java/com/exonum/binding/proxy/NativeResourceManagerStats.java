@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.proxy;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Statistics of the {@linkplain NativeResourceManager native resource manager}.
+ * As the registry of handles is split into several independently locked parts,
+ * the values are not necessarily consistent with each other if the handles are concurrently
+ * created or destroyed.
+ */
+@AutoValue
+public abstract class NativeResourceManagerStats {
+
+  /**
+   * Returns true if the resource manager is enabled in the native library;
+   * if it is not, all other values are zero.
+   */
+  public abstract boolean isEnabled();
+
+  /**
+   * Returns the number of the native handles that are currently registered,
+   * i.e., the number of the live native objects accessible from Java.
+   */
+  public abstract long getKnownHandleCount();
+
+  /**
+   * Returns the total number of acquisitions of the locks guarding the registry of handles.
+   */
+  public abstract long getLockAcquisitionCount();
+
+  /**
+   * Returns the number of lock acquisitions that had to wait for another thread.
+   */
+  public abstract long getContendedLockAcquisitionCount();
+
+  /**
+   * Returns the ratio of the contended lock acquisitions to all acquisitions,
+   * or 0.0 if there were no acquisitions.
+   */
+  public final double getContentionRate() {
+    long acquisitions = getLockAcquisitionCount();
+    return (acquisitions == 0) ? 0.0 : (double) getContendedLockAcquisitionCount() / acquisitions;
+  }
+
+  static NativeResourceManagerStats valueOf(boolean enabled, long knownHandleCount,
+      long lockAcquisitionCount, long contendedLockAcquisitionCount) {
+    return new AutoValue_NativeResourceManagerStats(enabled, knownHandleCount,
+        lockAcquisitionCount, contendedLockAcquisitionCount);
+  }
+}
@@ -59,6 +59,30 @@ public final class ProxyDestructor implements CleanAction<Class<?>> {
     return d;
   }
 
+  /**
+   * Registers the destruction of a native proxy in the given cleaner. If the cleaner
+   * {@linkplain Cleaner#hasNativeArena() has a native arena}, the native object is destroyed
+   * with the other proxies in the arena in a single native call, using the drop function;
+   * otherwise, a new destructor is registered.
+   *
+   * @param cleaner a cleaner to register the proxy in
+   * @param nativeHandle a handle to the native object
+   * @param proxyClass a class of proxy
+   * @param destructorFunction a clean function to perform
+   * @param dropFunction a native function destroying the objects of the proxy class
+   */
+  public static void register(Cleaner cleaner,
+                              NativeHandle nativeHandle,
+                              Class<?> proxyClass,
+                              LongConsumer destructorFunction,
+                              NativeDropFunction dropFunction) {
+    if (cleaner.hasNativeArena()) {
+      cleaner.addToNativeArena(nativeHandle, dropFunction);
+    } else {
+      newRegistered(cleaner, nativeHandle, proxyClass, destructorFunction);
+    }
+  }
+
   /**
    * Creates a new destructor of a native proxy.
    *
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.service;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Statistics of the native executor, which attaches the native threads of the node
+ * to the JVM when they invoke the Java code (e.g., execute transactions or handle
+ * the requests to the services).
+ *
+ * <p>The executor keeps up to {@link #getAttachLimit()} threads permanently attached,
+ * until they exit. Other threads are attached for the duration of each call only,
+ * which is considerably slower. If {@link #getTemporaryAttachmentCount()} grows, the limit
+ * is smaller than the number of the native threads invoking the Java code.
+ */
+@AutoValue
+public abstract class NativeExecutorStats {
+
+  /**
+   * Returns the maximum number of permanently attached threads.
+   */
+  public abstract int getAttachLimit();
+
+  /**
+   * Returns the number of the threads that are currently attached permanently.
+   */
+  public abstract int getAttachedThreadCount();
+
+  /**
+   * Returns the total number of permanent attachments.
+   */
+  public abstract long getPermanentAttachmentCount();
+
+  /**
+   * Returns the total number of attachments for the duration of a single call,
+   * performed when the limit of permanently attached threads is exhausted.
+   */
+  public abstract long getTemporaryAttachmentCount();
+
+  /**
+   * Returns the total number of detachments of the permanently attached threads on their exit.
+   */
+  public abstract long getDetachmentCount();
+
+  /**
+   * Returns the total time spent attaching the threads, in nanoseconds.
+   */
+  public abstract long getTotalAttachTimeNanos();
+
+  /**
+   * Returns the maximum time of a single attachment, in nanoseconds.
+   */
+  public abstract long getMaxAttachTimeNanos();
+
+  /**
+   * Returns the total number of local reference frames allocated by the executor.
+   */
+  public abstract long getLocalFrameCount();
+
+  /**
+   * Returns the maximum requested capacity of a local reference frame.
+   */
+  public abstract int getMaxLocalFrameCapacity();
+
+  /**
+   * Returns the average time of an attachment in nanoseconds, or 0.0 if there were none.
+   */
+  public final double getAverageAttachTimeNanos() {
+    long attachments = getPermanentAttachmentCount() + getTemporaryAttachmentCount();
+    return (attachments == 0) ? 0.0 : (double) getTotalAttachTimeNanos() / attachments;
+  }
+
+  static NativeExecutorStats fromArray(long[] stats) {
+    checkArgument(stats.length == 9, "Unexpected number of values: %s", stats.length);
+    return new AutoValue_NativeExecutorStats((int) stats[0], (int) stats[1], stats[2], stats[3],
+        stats[4], stats[5], stats[6], stats[7], (int) stats[8]);
+  }
+}
@@ -20,6 +20,7 @@ import com.exonum.binding.blockchain.Blockchain;
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.storage.database.Snapshot;
+import com.exonum.binding.storage.database.SnapshotLease;
 import com.exonum.binding.transaction.RawTransaction;
 import java.util.function.Function;
 
@@ -61,6 +62,27 @@ public interface Node {
    */
   <ResultT> ResultT withSnapshot(Function<Snapshot, ResultT> snapshotFunction);
 
+  /**
+   * Acquires a lease of a snapshot of the database state, shared with other readers.
+   * Unlike {@link #withSnapshot(Function)}, which creates a new native snapshot on each
+   * invocation, this method reuses a single native snapshot, which corresponds to
+   * the latest committed block at the time it was created, until the next block is committed.
+   *
+   * <p>The returned lease must be closed when the snapshot is no longer needed:
+   * <pre><code>
+   * try (SnapshotLease lease = node.sharedSnapshot()) {
+   *   Snapshot snapshot = lease.getSnapshot();
+   *   // Read the database state
+   * }
+   * </code></pre>
+   *
+   * <p>A lease and the index proxies created from its snapshot must be used by a single thread;
+   * different leases may be used by different threads concurrently.
+   *
+   * @throws IllegalStateException if the node proxy is closed
+   */
+  SnapshotLease sharedSnapshot();
+
   /**
    * Returns the service public key of this node. The corresponding private key is used
    * for signing transactions in {@link #submitTransaction(RawTransaction)}.
@@ -25,7 +25,9 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.CloseFailuresException;
 import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.database.SharedSnapshot;
 import com.exonum.binding.storage.database.Snapshot;
+import com.exonum.binding.storage.database.SnapshotLease;
 import com.exonum.binding.transaction.RawTransaction;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
@@ -106,6 +108,22 @@ public final class NodeFake implements Node {
     }
   }
 
+  /**
+   * Returns a lease of a new snapshot of the current database state. As the fake does not
+   * track committed blocks, the native snapshot is not reused and is destroyed
+   * when the lease is closed.
+   */
+  @Override
+  public SnapshotLease sharedSnapshot() {
+    SharedSnapshot snapshot = database.createSharedSnapshot();
+    try {
+      return snapshot.tryAcquire()
+          .orElseThrow(() -> new AssertionError("A new snapshot must not be destroyed"));
+    } finally {
+      snapshot.release();
+    }
+  }
+
   @Override
   public PublicKey getPublicKey() {
     return publicKey;
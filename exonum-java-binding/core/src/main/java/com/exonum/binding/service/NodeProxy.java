@@ -16,16 +16,18 @@
 
 package com.exonum.binding.service;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.exonum.binding.common.crypto.PublicKey;
 import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.proxy.AbstractCloseableNativeProxy;
-import com.exonum.binding.proxy.Cleaner;
-import com.exonum.binding.proxy.CloseFailuresException;
 import com.exonum.binding.storage.database.Snapshot;
+import com.exonum.binding.storage.database.SnapshotCache;
+import com.exonum.binding.storage.database.SnapshotCacheStats;
+import com.exonum.binding.storage.database.SnapshotLease;
 import com.exonum.binding.transaction.RawTransaction;
+import java.util.Optional;
 import java.util.function.Function;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
 /**
  * An Exonum node context. Allows to add transactions to Exonum network
@@ -33,7 +35,15 @@ import org.apache.logging.log4j.Logger;
  */
 public final class NodeProxy extends AbstractCloseableNativeProxy implements Node {
 
-  private static final Logger logger = LogManager.getLogger(NodeProxy.class);
+  /**
+   * The name of the system property that configures the number of latest block heights
+   * the node keeps the shared snapshots of.
+   */
+  public static final String RETAINED_SNAPSHOTS_PROPERTY = "exonum.node.retainedSnapshots";
+
+  private static final int DEFAULT_RETAINED_SNAPSHOTS = 1;
+
+  private final SnapshotCache snapshotCache;
 
   /**
    * Creates a proxy of a node. Native code owns the node,
@@ -42,7 +52,23 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
    * @param nativeHandle an implementation-specific reference to a native node
    */
   public NodeProxy(long nativeHandle) {
+    this(nativeHandle, Integer.getInteger(RETAINED_SNAPSHOTS_PROPERTY,
+        DEFAULT_RETAINED_SNAPSHOTS));
+  }
+
+  /**
+   * Creates a proxy of a node. Native code owns the node,
+   * and, therefore, shall destroy the object.
+   *
+   * @param nativeHandle an implementation-specific reference to a native node
+   * @param retainedSnapshots the number of latest block heights to keep the shared snapshots of,
+   *     including the current one
+   * @throws IllegalArgumentException if retainedSnapshots is not positive
+   */
+  public NodeProxy(long nativeHandle, int retainedSnapshots) {
     super(nativeHandle, false);
+    snapshotCache = SnapshotCache.newInstance(retainedSnapshots,
+        () -> nativeCreateSnapshot(getNativeHandle()));
   }
 
   /**
@@ -74,23 +100,85 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
   /**
    * {@inheritDoc}
    *
+   * <p>The snapshot is shared with other readers until the next block is committed,
+   * see {@link #sharedSnapshot()}.
+   *
    * @throws IllegalStateException if the node proxy is closed
    */
   @Override
   public <ResultT> ResultT withSnapshot(Function<Snapshot, ResultT> snapshotFunction) {
-    try (Cleaner cleaner = new Cleaner("NodeProxy#withSnapshot")) {
-      long nodeNativeHandle = getNativeHandle();
-      long snapshotNativeHandle = nativeCreateSnapshot(nodeNativeHandle);
-      Snapshot snapshot = Snapshot.newInstance(snapshotNativeHandle, cleaner);
-      return snapshotFunction.apply(snapshot);
-    } catch (CloseFailuresException e) {
-      logger.error(e);
-      throw new RuntimeException(e);
+    try (SnapshotLease lease = sharedSnapshot()) {
+      return snapshotFunction.apply(lease.getSnapshot());
     }
   }
 
   private native long nativeCreateSnapshot(long nativeHandle);
 
+  @Override
+  public SnapshotLease sharedSnapshot() {
+    checkState(isValidHandle(), "The node proxy is closed");
+    return snapshotCache.acquire();
+  }
+
+  /**
+   * Acquires a lease of the shared snapshot of the block at the given height, if the node
+   * still retains it. The number of retained heights is configured with
+   * the {@value #RETAINED_SNAPSHOTS_PROPERTY} system property.
+   *
+   * @param height the block height
+   * @return a lease of the snapshot at the given height, or {@code Optional.empty()} if it
+   *     is not available
+   * @throws IllegalStateException if the node proxy is closed
+   */
+  public Optional<SnapshotLease> sharedSnapshot(long height) {
+    checkState(isValidHandle(), "The node proxy is closed");
+    return snapshotCache.acquire(height);
+  }
+
+  /**
+   * Notifies the node that a block at the given height is committed, so that the subsequent
+   * {@link #sharedSnapshot()} invocations use a snapshot of the new database state.
+   * The snapshots of the heights that are no longer retained are destroyed once the readers
+   * close their leases.
+   *
+   * <p>This method is invoked after each committed block.
+   *
+   * @param height the height of the committed block
+   */
+  public void onBlockCommitted(long height) {
+    snapshotCache.onBlockCommitted(height);
+  }
+
+  /**
+   * Releases all the shared snapshots of this node. They are destroyed once the readers close
+   * their leases. Subsequent {@link #sharedSnapshot()} invocations will fail.
+   *
+   * <p>This method is invoked when the service is stopped.
+   */
+  public void releaseSnapshots() {
+    snapshotCache.close();
+  }
+
+  /**
+   * Returns the statistics of the shared snapshots of this node.
+   */
+  public SnapshotCacheStats getSnapshotCacheStats() {
+    return snapshotCache.getStats();
+  }
+
+  /**
+   * Returns the statistics of the native executor that attaches the native threads of the node
+   * to the JVM to invoke the Java code.
+   *
+   * @throws IllegalStateException if the node proxy is closed
+   */
+  public NativeExecutorStats getNativeExecutorStats() {
+    long[] stats = nativeGetExecutorStats(getNativeHandle());
+    return NativeExecutorStats.fromArray(stats);
+  }
+
+  private static native long[] nativeGetExecutorStats(long nodeNativeHandle);
+
   /**
    * {@inheritDoc}
    *
@@ -106,6 +194,7 @@ public final class NodeProxy extends AbstractCloseableNativeProxy implements Nod
 
   @Override
   protected void disposeInternal() {
+    releaseSnapshots();
     nativeFree(getNativeHandle());
   }
 
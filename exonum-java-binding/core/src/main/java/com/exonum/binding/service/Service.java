@@ -23,6 +23,7 @@ import com.exonum.binding.storage.indices.ProofListIndexProxy;
 import com.exonum.binding.storage.indices.ProofMapIndexProxy;
 import com.exonum.binding.transaction.RawTransaction;
 import com.exonum.binding.transaction.Transaction;
+import com.exonum.binding.transaction.TransactionContext;
 import io.vertx.ext.web.Router;
 import java.util.Collections;
 import java.util.List;
@@ -71,6 +72,14 @@ public interface Service {
   /**
    * Converts an Exonum raw transaction to an executable transaction of <em>this</em> service.
    *
+   * <p>If the cache of the converted transactions is enabled with
+   * {@code exonum.service.transactionCacheSize} system property, the returned transaction
+   * may be reused for any message with the same raw transaction, including the messages
+   * signed by other authors. Such transaction may be executed several times and
+   * concurrently with other operations on it (e.g., its verification before it is added
+   * to the pool), therefore it must be immutable and thread-safe, and get the information
+   * about the message (e.g., its author) from the {@link TransactionContext} only.
+   *
    * @param rawTransaction a raw transaction to be converted
    * @return an executable transaction
    * @throws IllegalArgumentException if the raw transaction is malformed
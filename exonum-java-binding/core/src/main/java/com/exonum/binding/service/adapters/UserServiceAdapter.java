@@ -16,6 +16,7 @@
 
 package com.exonum.binding.service.adapters;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
@@ -31,6 +32,9 @@ import com.exonum.binding.storage.database.Snapshot;
 import com.exonum.binding.transaction.RawTransaction;
 import com.exonum.binding.transaction.Transaction;
 import com.exonum.binding.transport.Server;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import io.vertx.ext.web.Router;
 import java.util.List;
@@ -41,26 +45,61 @@ import org.apache.logging.log4j.Logger;
 
 /**
  * An adapter of a user-facing interface {@link Service} to an interface with a native code.
+ *
+ * <p>The adapter can cache the converted transactions, because the native code requests
+ * the conversion of a transaction message both when it is added to the pool of unconfirmed
+ * transactions and when it is executed. The cache is disabled by default; the maximum number
+ * of cached transactions is configured with {@value #TRANSACTION_CACHE_SIZE_PROPERTY}
+ * system property. The transactions executed in a block are evicted from the cache
+ * once the block is committed. See {@link Service#convertToTransaction(RawTransaction)}
+ * for the requirements to the transactions of the services when the cache is enabled.
  */
 @SuppressWarnings({"unused", "WeakerAccess"})  // Methods are called from the native proxy
 public class UserServiceAdapter {
 
   private static final Logger logger = LogManager.getLogger(UserServiceAdapter.class);
 
+  /**
+   * The name of the system property that configures the maximum number of converted
+   * transactions cached by each service adapter. Zero, the default, disables the cache.
+   */
+  public static final String TRANSACTION_CACHE_SIZE_PROPERTY =
+      "exonum.service.transactionCacheSize";
+
+  private static final int DEFAULT_TRANSACTION_CACHE_SIZE = 0;
+
   private static final String API_ROOT_PATH = "/api";
 
   private final Service service;
   private final Server server;
   private final ViewFactory viewFactory;
+  private final Cache<RawTransaction, UserTransactionAdapter> transactionCache;
 
   @Nullable
   private NodeProxy node;
 
   @Inject
   public UserServiceAdapter(Service service, Server server, ViewFactory viewFactory) {
+    this(service, server, viewFactory, getTransactionCacheSize());
+  }
+
+  @VisibleForTesting
+  UserServiceAdapter(Service service, Server server, ViewFactory viewFactory,
+      int transactionCacheSize) {
     this.service = checkNotNull(service, "service");
     this.server = checkNotNull(server, "server");
     this.viewFactory = checkNotNull(viewFactory, "viewFactory");
+    this.transactionCache = CacheBuilder.newBuilder()
+        .maximumSize(transactionCacheSize)
+        .build();
+  }
+
+  private static int getTransactionCacheSize() {
+    int cacheSize = Integer.getInteger(TRANSACTION_CACHE_SIZE_PROPERTY,
+        DEFAULT_TRANSACTION_CACHE_SIZE);
+    checkArgument(cacheSize >= 0, "%s must not be negative, but is: %s",
+        TRANSACTION_CACHE_SIZE_PROPERTY, cacheSize);
+    return cacheSize;
   }
 
   public short getId() {
@@ -73,6 +112,8 @@ public class UserServiceAdapter {
 
   /**
    * Converts a transaction messages into an executable transaction of this service.
+   * If the transaction cache is enabled and the same transaction message was recently
+   * converted, returns the cached transaction.
    *
    * <p>The callee must handle the declared exceptions.
    *
@@ -91,13 +132,20 @@ public class UserServiceAdapter {
           .transactionId(transactionId)
           .payload(payload)
           .build();
+      UserTransactionAdapter cachedTransaction = transactionCache.getIfPresent(rawTransaction);
+      if (cachedTransaction != null) {
+        return cachedTransaction;
+      }
       Transaction transaction = service.convertToTransaction(rawTransaction);
       checkNotNull(transaction, "Invalid service implementation: "
               + "Service#convertToTransaction must never return null.\n"
               + "Throw an exception if your service does not recognize this message id (%s)",
           transactionId);
 
-      return new UserTransactionAdapter(transaction, viewFactory);
+      UserTransactionAdapter transactionAdapter =
+          new UserTransactionAdapter(transaction, viewFactory);
+      transactionCache.put(rawTransaction, transactionAdapter);
+      return transactionAdapter;
     } catch (NullPointerException | IllegalArgumentException e) {
       logger.warn("Failed to convert transaction {} for service {}",
           transactionId, service.getId(), e);
@@ -121,7 +169,7 @@ public class UserServiceAdapter {
   public byte[][] getStateHashes(long snapshotHandle) {
     assert snapshotHandle != 0;
 
-    try (Cleaner cleaner = new Cleaner("UserServiceAdapter#getStateHashes")) {
+    try (Cleaner cleaner = Cleaner.withNativeArena("UserServiceAdapter#getStateHashes")) {
       Snapshot snapshot = viewFactory.createSnapshot(snapshotHandle, cleaner);
       List<HashCode> stateHashes = service.getStateHashes(snapshot);
       return stateHashes.stream()
@@ -149,7 +197,7 @@ public class UserServiceAdapter {
   public String initialize(long forkHandle) {
     assert forkHandle != 0;
 
-    try (Cleaner cleaner = new Cleaner("UserServiceAdapter#initialize")) {
+    try (Cleaner cleaner = Cleaner.withNativeArena("UserServiceAdapter#initialize")) {
       Fork fork = viewFactory.createFork(forkHandle, cleaner);
       return service.initialize(fork)
           .orElse(null);
@@ -184,7 +232,14 @@ public class UserServiceAdapter {
   public void afterCommit(long snapshotHandle, int validatorId, long height) {
     assert snapshotHandle != 0;
 
-    try (Cleaner cleaner = new Cleaner("UserServiceAdapter#afterCommit")) {
+    if (node != null) {
+      node.onBlockCommitted(height);
+    }
+    // The transactions executed in the committed block will not be requested again
+    transactionCache.asMap().values()
+        .removeIf(UserTransactionAdapter::isExecuted);
+
+    try (Cleaner cleaner = Cleaner.withNativeArena("UserServiceAdapter#afterCommit")) {
       Snapshot snapshot = viewFactory.createSnapshot(snapshotHandle, cleaner);
       OptionalInt optionalValidatorId = validatorId >= 0
           ? OptionalInt.of(validatorId)
@@ -220,6 +275,7 @@ public class UserServiceAdapter {
   public void close() {
     try {
       if (node != null) {
+        node.releaseSnapshots();
         node.close();
       }
     } catch (Exception e) {
@@ -43,6 +43,8 @@ public final class UserTransactionAdapter {
 
   private final ViewFactory viewFactory;
 
+  private volatile boolean executed;
+
   public UserTransactionAdapter(Transaction transaction, ViewFactory viewFactory) {
     this.transaction = checkNotNull(transaction, "Transaction must not be null");
     this.viewFactory = checkNotNull(viewFactory, "viewFactory");
@@ -52,8 +54,9 @@ public final class UserTransactionAdapter {
       throws TransactionExecutionException {
     try {
       assert forkNativeHandle != 0L : "Fork handle must not be 0";
+      executed = true;
 
-      try (Cleaner cleaner = new Cleaner("Transaction#execute")) {
+      try (Cleaner cleaner = Cleaner.withNativeArena("Transaction#execute")) {
         Fork fork = viewFactory.createFork(forkNativeHandle, cleaner);
         HashCode hash = HashCode.fromBytes(txMessageHash);
         PublicKey authorPk = PublicKey.fromBytes(authorPublicKey);
@@ -64,6 +67,8 @@ public final class UserTransactionAdapter {
             .build();
 
         transaction.execute(context);
+        // Apply the modifications buffered during the execution in a batch
+        fork.flushWriteBuffers();
       }
 
     } catch (TransactionExecutionException e) {
@@ -88,6 +93,13 @@ public final class UserTransactionAdapter {
     }
   }
 
+  /**
+   * Returns true if this transaction was executed at least once.
+   */
+  boolean isExecuted() {
+    return executed;
+  }
+
   private void logUnexpectedException(Throwable e) {
     logger.error("Unexpected exception in transaction {}:", transaction, e);
   }
@@ -21,6 +21,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A fork is a database view, allowing both read and write operations.
@@ -35,6 +37,8 @@ import com.exonum.binding.proxy.ProxyDestructor;
  */
 public final class Fork extends View {
 
+  private final List<WriteBuffer> writeBuffers = new ArrayList<>();
+
   /**
    * Creates a new owning Fork proxy.
    *
@@ -75,4 +79,39 @@ public final class Fork extends View {
   private Fork(NativeHandle nativeHandle, Cleaner cleaner) {
     super(nativeHandle, cleaner, new IncrementalModificationCounter(), true);
   }
+
+  /**
+   * Registers a buffer of modifications of this fork, so that they are applied
+   * when the {@linkplain #flushWriteBuffers() buffers are flushed}. The buffers of the fork
+   * passed to {@link com.exonum.binding.transaction.Transaction#execute} are flushed
+   * once the transaction is executed successfully.
+   *
+   * @param buffer a buffer of pending modifications of this fork
+   */
+  public void registerWriteBuffer(WriteBuffer buffer) {
+    writeBuffers.add(checkNotNull(buffer));
+  }
+
+  /**
+   * Applies the pending modifications of the registered write buffers to this fork,
+   * in the order the buffers were registered.
+   */
+  public void flushWriteBuffers() {
+    for (WriteBuffer buffer : writeBuffers) {
+      buffer.flush();
+    }
+  }
+
+  /**
+   * Returns true if any of the registered write buffers has modifications
+   * that are not yet applied to this fork.
+   */
+  public boolean hasPendingWrites() {
+    for (WriteBuffer buffer : writeBuffers) {
+      if (buffer.hasPendingWrites()) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
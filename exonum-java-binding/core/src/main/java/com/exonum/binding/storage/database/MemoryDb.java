@@ -17,6 +17,7 @@
 package com.exonum.binding.storage.database;
 
 import static com.exonum.binding.proxy.NativeHandle.INVALID_NATIVE_HANDLE;
+import static com.google.common.base.Preconditions.checkState;
 
 import com.exonum.binding.proxy.AbstractCloseableNativeProxy;
 import com.exonum.binding.proxy.Cleaner;
@@ -58,6 +59,16 @@ public final class MemoryDb extends AbstractCloseableNativeProxy implements Data
     return Snapshot.newInstance(snapshotHandle, cleaner);
   }
 
+  /**
+   * Creates a snapshot of the current database state that can be shared by several readers.
+   * The caller owns the returned snapshot and must {@linkplain SharedSnapshot#release() release}
+   * it when no new leases of it are needed.
+   */
+  public SharedSnapshot createSharedSnapshot() {
+    long snapshotHandle = nativeCreateSnapshot(getNativeHandle());
+    return SharedSnapshot.newInstance(snapshotHandle);
+  }
+
   @Override
   public Fork createFork(Cleaner cleaner) {
     long forkHandle = nativeCreateFork(getNativeHandle());
@@ -68,8 +79,12 @@ public final class MemoryDb extends AbstractCloseableNativeProxy implements Data
    * Applies the changes from the given fork to the database state.
    *
    * @param fork a fork to get changes from
+   * @throws IllegalStateException if the fork has modifications in the write buffers
+   *     that are not {@linkplain Fork#flushWriteBuffers() flushed}
    */
   public void merge(Fork fork) {
+    checkState(!fork.hasPendingWrites(),
+        "The fork has buffered modifications that are not flushed: %s", fork);
     nativeMerge(getNativeHandle(), fork.getViewNativeHandle());
   }
 
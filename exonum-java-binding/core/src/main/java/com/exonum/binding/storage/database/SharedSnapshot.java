@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * A reference-counted native snapshot that can be read by several threads concurrently.
+ *
+ * <p>Each reader {@linkplain #tryAcquire() acquires} a {@link SnapshotLease}, which provides
+ * a {@link Snapshot} proxy confined to the reader thread. The native snapshot is destroyed when
+ * the owner has {@linkplain #release() released} it and all the leases are closed.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @see com.exonum.binding.service.Node#sharedSnapshot()
+ */
+public final class SharedSnapshot {
+
+  private final long nativeHandle;
+  private final LongConsumer destructor;
+  /**
+   * The number of references to the native snapshot: one of the owner until it is released,
+   * and one of each open lease.
+   */
+  private final AtomicInteger referenceCount;
+  private final AtomicBoolean released;
+
+  /**
+   * Creates a new shared snapshot that takes ownership of the given native snapshot.
+   *
+   * @param nativeHandle a handle of the native Snapshot object
+   */
+  public static SharedSnapshot newInstance(long nativeHandle) {
+    return new SharedSnapshot(nativeHandle, Views::nativeFree);
+  }
+
+  @VisibleForTesting
+  SharedSnapshot(long nativeHandle, LongConsumer destructor) {
+    this.nativeHandle = nativeHandle;
+    this.destructor = checkNotNull(destructor);
+    this.referenceCount = new AtomicInteger(1);
+    this.released = new AtomicBoolean(false);
+  }
+
+  /**
+   * Acquires a new lease of this snapshot, if it has not been destroyed yet.
+   * The returned lease must be closed once the reader no longer needs it.
+   *
+   * @return a lease of this snapshot, or {@code Optional.empty()} if the native snapshot
+   *     is already destroyed
+   */
+  public Optional<SnapshotLease> tryAcquire() {
+    while (true) {
+      int count = referenceCount.get();
+      if (count == 0) {
+        return Optional.empty();
+      }
+      if (referenceCount.compareAndSet(count, count + 1)) {
+        return Optional.of(new SnapshotLease(this, nativeHandle));
+      }
+    }
+  }
+
+  /**
+   * Releases the reference of the owner of this snapshot. The native snapshot is destroyed
+   * once all the leases are closed. Subsequent invocations have no effect.
+   */
+  public void release() {
+    if (released.compareAndSet(false, true)) {
+      releaseReference();
+    }
+  }
+
+  /**
+   * Returns true if the owner has released this snapshot.
+   */
+  public boolean isReleased() {
+    return released.get();
+  }
+
+  /**
+   * Returns the current number of references to the native snapshot.
+   */
+  public int getReferenceCount() {
+    return referenceCount.get();
+  }
+
+  void releaseReference() {
+    int count = referenceCount.decrementAndGet();
+    checkState(count >= 0, "Released more references than acquired: %s", count);
+    if (count == 0) {
+      destructor.accept(nativeHandle);
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * A cache of shared snapshots keyed by the block height. The snapshot of the latest
+ * committed block is shared by all readers until the next block is committed;
+ * the snapshots of several previous blocks may be retained for consistent historical reads.
+ *
+ * <p>The owner must notify the cache of each committed block with {@link #onBlockCommitted(long)}.
+ * Before the first notification the height of the database state is unknown, therefore
+ * the snapshot of the current state is only available with {@link #acquire()}.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class SnapshotCache implements AutoCloseable {
+
+  private static final long UNKNOWN_HEIGHT = -1;
+
+  private final int retainedHeights;
+  private final LongSupplier snapshotFactory;
+  private final LongConsumer snapshotDestructor;
+
+  private final Object lock = new Object();
+
+  /**
+   * The snapshot of the latest committed block; null if it has not been created yet.
+   */
+  @Nullable
+  private volatile SharedSnapshot current;
+  private long currentHeight;
+  /** The snapshots of the previous blocks, by height. */
+  private final NavigableMap<Long, SharedSnapshot> retained;
+  private boolean closed;
+
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final AtomicInteger liveSnapshots;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param retainedHeights the number of latest heights to keep the snapshots of, including
+   *     the current one. Must be positive
+   * @param snapshotFactory a function creating a native snapshot of the current database state
+   *     and returning its handle
+   * @throws IllegalArgumentException if retainedHeights is not positive
+   */
+  public static SnapshotCache newInstance(int retainedHeights, LongSupplier snapshotFactory) {
+    return new SnapshotCache(retainedHeights, snapshotFactory, Views::nativeFree);
+  }
+
+  @VisibleForTesting
+  SnapshotCache(int retainedHeights, LongSupplier snapshotFactory,
+      LongConsumer snapshotDestructor) {
+    checkArgument(retainedHeights > 0, "retainedHeights (%s) must be positive", retainedHeights);
+    this.retainedHeights = retainedHeights;
+    this.snapshotFactory = checkNotNull(snapshotFactory);
+    this.snapshotDestructor = checkNotNull(snapshotDestructor);
+    this.currentHeight = UNKNOWN_HEIGHT;
+    this.retained = new TreeMap<>();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.liveSnapshots = new AtomicInteger();
+  }
+
+  /**
+   * Acquires a lease of the snapshot of the latest committed block.
+   *
+   * @throws IllegalStateException if the cache is closed
+   */
+  public SnapshotLease acquire() {
+    SharedSnapshot snapshot = current;
+    if (snapshot != null) {
+      Optional<SnapshotLease> lease = snapshot.tryAcquire();
+      if (lease.isPresent()) {
+        hits.increment();
+        return lease.get();
+      }
+    }
+    synchronized (lock) {
+      checkState(!closed, "The cache is closed");
+      if (current == null) {
+        misses.increment();
+        current = createSnapshot();
+      } else {
+        hits.increment();
+      }
+      // The current snapshot is not released while the lock is held
+      return current.tryAcquire()
+          .orElseThrow(() -> new AssertionError("The current snapshot is destroyed"));
+    }
+  }
+
+  /**
+   * Acquires a lease of the snapshot of the block at the given height, if it is retained
+   * by this cache.
+   *
+   * @param height the block height
+   * @return a lease of the snapshot at the given height, or {@code Optional.empty()} if it
+   *     is not available
+   * @throws IllegalStateException if the cache is closed
+   */
+  public Optional<SnapshotLease> acquire(long height) {
+    synchronized (lock) {
+      checkState(!closed, "The cache is closed");
+      if (height == currentHeight && height != UNKNOWN_HEIGHT) {
+        return Optional.of(acquire());
+      }
+      SharedSnapshot snapshot = retained.get(height);
+      Optional<SnapshotLease> lease = (snapshot == null)
+          ? Optional.empty()
+          : snapshot.tryAcquire();
+      if (lease.isPresent()) {
+        hits.increment();
+      } else {
+        misses.increment();
+      }
+      return lease;
+    }
+  }
+
+  /**
+   * Rotates the cache after a new block is committed: the current snapshot is retained
+   * as the snapshot of the previous height, if the retention allows, and a snapshot
+   * of the new database state becomes the current one. The snapshots of the heights
+   * that are no longer retained are destroyed once their readers close the leases.
+   *
+   * @param height the height of the committed block
+   */
+  public void onBlockCommitted(long height) {
+    checkArgument(height >= 0, "height (%s) must not be negative", height);
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      SharedSnapshot previous = current;
+      current = null;
+      if (previous != null) {
+        if (currentHeight != UNKNOWN_HEIGHT && retainedHeights > 1) {
+          SharedSnapshot replaced = retained.put(currentHeight, previous);
+          if (replaced != null) {
+            replaced.release();
+          }
+        } else {
+          previous.release();
+        }
+      }
+      currentHeight = height;
+      evictOld();
+      current = createSnapshot();
+    }
+  }
+
+  private void evictOld() {
+    // Keep the snapshots of (retainedHeights - 1) heights preceding the current one
+    long oldestRetained = currentHeight - retainedHeights + 1;
+    Iterator<Map.Entry<Long, SharedSnapshot>> it = retained.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Long, SharedSnapshot> e = it.next();
+      long h = e.getKey();
+      if (oldestRetained <= h && h < currentHeight) {
+        continue;
+      }
+      e.getValue().release();
+      it.remove();
+    }
+  }
+
+  private SharedSnapshot createSnapshot() {
+    long nativeHandle = snapshotFactory.getAsLong();
+    liveSnapshots.incrementAndGet();
+    return new SharedSnapshot(nativeHandle, h -> {
+      try {
+        snapshotDestructor.accept(h);
+      } finally {
+        liveSnapshots.decrementAndGet();
+      }
+    });
+  }
+
+  /**
+   * Returns the statistics of this cache.
+   */
+  public SnapshotCacheStats getStats() {
+    return SnapshotCacheStats.valueOf(hits.sum(), misses.sum(), liveSnapshots.get());
+  }
+
+  /**
+   * Releases all the snapshots of this cache. They are destroyed once their readers close
+   * the leases. Subsequent invocations have no effect.
+   */
+  @Override
+  public void close() {
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (current != null) {
+        current.release();
+        current = null;
+      }
+      retained.values().forEach(SharedSnapshot::release);
+      retained.clear();
+    }
+  }
+}
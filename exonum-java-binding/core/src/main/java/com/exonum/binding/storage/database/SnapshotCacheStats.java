@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Statistics of a {@link SnapshotCache}.
+ */
+@AutoValue
+public abstract class SnapshotCacheStats {
+
+  /**
+   * Returns the number of leases of a cached snapshot.
+   */
+  public abstract long getHitCount();
+
+  /**
+   * Returns the number of requests that required creating a new snapshot,
+   * or requested a snapshot of a height that is not retained.
+   */
+  public abstract long getMissCount();
+
+  /**
+   * Returns the number of native snapshots created by the cache that are not destroyed yet,
+   * including the snapshots released by the cache but still leased by the readers.
+   */
+  public abstract int getLiveSnapshotCount();
+
+  /**
+   * Returns the ratio of hits to all requests, or 1.0 if there were no requests.
+   */
+  public final double getHitRate() {
+    long requests = getHitCount() + getMissCount();
+    return (requests == 0) ? 1.0 : (double) getHitCount() / requests;
+  }
+
+  static SnapshotCacheStats valueOf(long hitCount, long missCount, int liveSnapshotCount) {
+    return new AutoValue_SnapshotCacheStats(hitCount, missCount, liveSnapshotCount);
+  }
+}
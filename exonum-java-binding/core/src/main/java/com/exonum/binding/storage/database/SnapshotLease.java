@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A lease of a {@link SharedSnapshot}. It provides a snapshot proxy and index proxies
+ * created from it to a single reader thread; different leases of the same shared snapshot
+ * may be used concurrently.
+ *
+ * <p>The lease must be closed when it is no longer needed, which destroys the proxies
+ * created from its snapshot and releases its reference to the native snapshot.
+ */
+public final class SnapshotLease implements AutoCloseable {
+
+  private static final Logger logger = LogManager.getLogger(SnapshotLease.class);
+
+  private final SharedSnapshot shared;
+  private final Cleaner cleaner;
+  private final Snapshot snapshot;
+  private boolean closed;
+
+  SnapshotLease(SharedSnapshot shared, long snapshotNativeHandle) {
+    this.shared = shared;
+    this.cleaner = Cleaner.withNativeArena("SnapshotLease");
+    this.snapshot = Snapshot.newInstance(snapshotNativeHandle, false, cleaner);
+    this.closed = false;
+  }
+
+  /**
+   * Returns a snapshot proxy, valid until this lease is closed.
+   */
+  public Snapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Destroys the proxies created from the snapshot of this lease and releases the
+   * reference to the shared snapshot. Subsequent invocations have no effect.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      cleaner.close();
+    } catch (CloseFailuresException e) {
+      logger.error(e);
+      throw new RuntimeException(e);
+    } finally {
+      shared.releaseReference();
+    }
+  }
+}
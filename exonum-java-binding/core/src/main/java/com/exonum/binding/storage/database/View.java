@@ -16,9 +16,14 @@
 
 package com.exonum.binding.storage.database;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.exonum.binding.proxy.AbstractNativeProxy;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Represents a view of the database.
@@ -32,6 +37,10 @@ import com.exonum.binding.proxy.NativeHandle;
  * <p>As in some cases the clients need to detect any changes made to a database, a view also
  * holds a modification counter, which any clients changing the database state must notify.
  *
+ * <p>A view also keeps the index proxies created with it, so that the repeated requests
+ * of the same index (e.g., in the schema accessors) return the existing proxy
+ * instead of creating a new native object each time.
+ *
  * @see Snapshot
  * @see Fork
  */
@@ -40,6 +49,7 @@ public abstract class View extends AbstractNativeProxy {
   private final Cleaner cleaner;
   private final ModificationCounter modCounter;
   private final boolean canModify;
+  private final Map<Object, Object> indexes;
 
   /**
    * Create a new view proxy.
@@ -55,6 +65,7 @@ public abstract class View extends AbstractNativeProxy {
     this.cleaner = cleaner;
     this.modCounter = modCounter;
     this.canModify = canModify;
+    this.indexes = new HashMap<>();
   }
 
   /**
@@ -88,4 +99,37 @@ public abstract class View extends AbstractNativeProxy {
   public ModificationCounter getModificationCounter() {
     return modCounter;
   }
+
+  /**
+   * Returns the index proxy created with this view and identified by the given key;
+   * or creates a new proxy with the given factory if there is none.
+   *
+   * <p>The proxies are kept until this view is destroyed. The index proxies use this method
+   * in their factory methods, so that the same proxy is returned when an index is requested
+   * multiple times with the same view.
+   *
+   * @param key the key identifying the index proxy, including its type, its address
+   *     in the storage, and its serializers. Must implement {@link Object#equals(Object)}
+   *     and {@link Object#hashCode()}
+   * @param indexFactory a factory of the index proxy
+   * @param <IndexT> the type of the index proxy; must be the same for equal keys
+   * @throws IllegalStateException if the view is not valid
+   */
+  @SuppressWarnings("unchecked") // The key includes the type of the index
+  public <IndexT> IndexT findOrCreateIndex(Object key, Supplier<IndexT> indexFactory) {
+    checkState(isValidHandle(), "The view is not valid: %s", this);
+    Object index = indexes.get(key);
+    if (index == null) {
+      index = indexFactory.get();
+      indexes.put(key, index);
+    }
+    return (IndexT) index;
+  }
+
+  /**
+   * Returns the number of the index proxies kept by this view.
+   */
+  public int getNumIndexes() {
+    return indexes.size();
+  }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+/**
+ * A buffer of pending modifications of a {@link Fork}. The buffered modifications are
+ * applied to the fork when the buffer is flushed.
+ *
+ * @see Fork#registerWriteBuffer(WriteBuffer)
+ */
+public interface WriteBuffer {
+
+  /**
+   * Applies the pending modifications to the fork and clears this buffer.
+   */
+  void flush();
+
+  /**
+   * Returns true if this buffer has modifications that are not yet applied to the fork.
+   */
+  boolean hasPendingWrites();
+}
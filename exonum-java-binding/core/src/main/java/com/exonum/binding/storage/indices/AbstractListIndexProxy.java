@@ -18,12 +18,16 @@ package com.exonum.binding.storage.indices;
 
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkElementIndex;
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkNoNulls;
+import static com.exonum.binding.storage.indices.StoragePreconditions.checkPositionIndex;
+import static com.google.common.base.Preconditions.checkArgument;
 
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.storage.database.View;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -54,16 +58,8 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
   public void addAll(Collection<? extends T> elements) {
     notifyModified();
     checkNoNulls(elements);
-    addAllUnchecked(elements);
-  }
-
-  private void addAllUnchecked(Collection<? extends T> elements) {
-    // Cache the nativeHandle to avoid repeated 'isValid' checks.
-    // It's OK to do that during this call, as this class is not thread-safe.
-    long nativeHandle = getNativeHandle();
-    elements.stream()
-        .map(serializer::toBytes)
-        .forEach((e) -> nativeAdd(nativeHandle, e));
+    byte[] packedElements = PackedItems.pack(elements, serializer::toBytes);
+    nativeAddAll(getNativeHandle(), packedElements);
   }
 
   @Override
@@ -81,6 +77,20 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
     return serializer.fromBytes(e);
   }
 
+  @Override
+  public final List<T> getRange(long fromIndex, long toIndex) {
+    checkPositionIndex(toIndex, size());
+    checkPositionIndex(fromIndex, toIndex);
+    long rangeSize = toIndex - fromIndex;
+    checkArgument(rangeSize <= Integer.MAX_VALUE,
+        "The range [%s, %s) is too large to fit in a list", fromIndex, toIndex);
+    if (rangeSize == 0) {
+      return Collections.emptyList();
+    }
+    byte[] packedElements = nativeGetRange(getNativeHandle(), fromIndex, toIndex);
+    return PackedItems.unpack(packedElements, serializer::fromBytes);
+  }
+
   @Override
   public final T getLast() {
     byte[] e = nativeGetLast(getNativeHandle());
@@ -109,9 +119,23 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
 
   @Override
   public final Iterator<T> iterator() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedIterator(
         nativeCreateIter(getNativeHandle()),
-        this::nativeIterNext,
+        this::nativeIterNextChunk,
+        PackedItems::readItem,
+        this::nativeIterFree,
+        dbView,
+        modCounter,
+        serializer::fromBytes);
+  }
+
+  @Override
+  public final Iterator<T> iterator(long fromIndex) {
+    checkPositionIndex(fromIndex, size());
+    return StorageIterators.createChunkedIterator(
+        nativeIterFrom(getNativeHandle(), fromIndex),
+        this::nativeIterNextChunk,
+        PackedItems::readItem,
         this::nativeIterFree,
         dbView,
         modCounter,
@@ -127,10 +151,14 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
 
   abstract void nativeAdd(long nativeHandle, byte[] e);
 
+  abstract void nativeAddAll(long nativeHandle, byte[] packedElements);
+
   abstract void nativeSet(long nativeHandle, long index, byte[] e);
 
   abstract byte[] nativeGet(long nativeHandle, long index);
 
+  abstract byte[] nativeGetRange(long nativeHandle, long fromIndex, long toIndex);
+
   abstract byte[] nativeGetLast(long nativeHandle);
 
   abstract void nativeClear(long nativeHandle);
@@ -141,7 +169,9 @@ abstract class AbstractListIndexProxy<T> extends AbstractIndexProxy implements L
 
   abstract long nativeCreateIter(long nativeHandle);
 
-  abstract byte[] nativeIterNext(long iterNativeHandle);
+  abstract long nativeIterFrom(long nativeHandle, long fromIndex);
+
+  abstract byte[] nativeIterNextChunk(long iterNativeHandle, int maxItems);
 
   abstract void nativeIterFree(long iterNativeHandle);
 }
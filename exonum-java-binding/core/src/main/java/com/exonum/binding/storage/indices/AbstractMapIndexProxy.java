@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.proxy.NativeHandle;
+import com.exonum.binding.storage.database.View;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * An abstract class for map indices, giving the decorators of maps in this package
+ * access to the serializers and to the serialized entries of the map.
+ *
+ * @param <K> the type of keys in this map
+ * @param <V> the type of values in this map
+ */
+abstract class AbstractMapIndexProxy<K, V> extends AbstractIndexProxy implements MapIndex<K, V> {
+
+  private final IndexCacheKey cacheKey;
+
+  /**
+   * Creates a new map index.
+   *
+   * @param nativeHandle a native handle of the created index
+   * @param cacheKey the key of this proxy in the view, including the address of the map
+   * @param view a database view from which the index has been created
+   */
+  AbstractMapIndexProxy(NativeHandle nativeHandle, IndexCacheKey cacheKey, View view) {
+    super(nativeHandle, cacheKey.getName(), view);
+    this.cacheKey = cacheKey;
+  }
+
+  /**
+   * Returns the key of the write buffer of this map in the view. The key is the same
+   * for all the proxies of the map, regardless of their type and serializers.
+   */
+  final IndexCacheKey getWriteBufferKey() {
+    return IndexCacheKey.inGroup(MapWriteBuffer.class, cacheKey.getName(),
+        cacheKey.getIdInGroup());
+  }
+
+  /**
+   * Returns the serializer of keys, which checks the serialized keys.
+   */
+  abstract Serializer<K> getKeySerializer();
+
+  /**
+   * Returns the serializer of values, which checks the serialized values.
+   */
+  abstract Serializer<V> getValueSerializer();
+
+  /**
+   * Returns the serialized value associated with the serialized key,
+   * or {@code null} if there is no such key in the map.
+   */
+  @Nullable
+  abstract byte[] getSerialized(byte[] dbKey);
+
+  /**
+   * Returns the serialized values associated with the serialized keys, in the order
+   * of the keys; {@code null} if there is no such key in the map.
+   */
+  abstract List<byte[]> getAllSerialized(List<byte[]> dbKeys);
+
+  /**
+   * Puts the serialized entries into the map.
+   *
+   * @param dbKeys the serialized keys, checked by the {@linkplain #getKeySerializer() serializer}
+   * @param dbValues the serialized values, in the order of the keys
+   */
+  abstract void putAllSerialized(List<byte[]> dbKeys, List<byte[]> dbValues);
+
+  /**
+   * Removes the serialized keys from the map.
+   *
+   * @param dbKeys the serialized keys, checked by the {@linkplain #getKeySerializer() serializer}
+   */
+  abstract void removeAllSerialized(List<byte[]> dbKeys);
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.storage.database.Fork;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * A map index decorator that buffers the modifications of the map in memory and writes them
+ * to the fork in a batch when {@linkplain #flush() flushed}. The reads of the keys
+ * that are modified or have already been read are served from the buffer, therefore
+ * read-modify-write sequences (e.g., {@code containsKey}, {@code get} and {@code put}
+ * of the same key) access the storage at most once per key.
+ *
+ * <p>The keys and values are serialized when a modification is buffered, therefore invalid
+ * keys and values (e.g., proof map keys that are not 32-byte long) are rejected
+ * immediately. The buffered maps of the same map in the fork share the buffer, even if they
+ * decorate the proxies with different serializers.
+ *
+ * <p>The buffered modifications are not visible through the index proxies until the buffer
+ * is flushed: call {@link #flush()} or {@link Fork#flushWriteBuffers()} before accessing
+ * the map through its proxies. The buffers of the fork passed to
+ * {@link com.exonum.binding.transaction.Transaction#execute} are flushed in a batch
+ * once the transaction is executed successfully. Each buffered modification notifies
+ * the modification counter of the fork, so that the iterators over the fork fail fast.
+ * The iteration methods of this decorator flush the buffer first so that the iterators
+ * reflect the buffered modifications.
+ *
+ * <p>The buffer is not bounded, therefore it shall only be used within a single
+ * transaction. This class is not thread-safe.
+ *
+ * @param <K> the type of keys in this map
+ * @param <V> the type of values in this map
+ */
+public final class BufferedMapIndex<K, V> implements MapIndex<K, V> {
+
+  private final MapIndex<K, V> map;
+  private final Serializer<K> keySerializer;
+  private final Serializer<V> valueSerializer;
+  private final MapWriteBuffer buffer;
+
+  /**
+   * Creates a buffered decorator of the given map index, using the write buffer
+   * of the map in the fork.
+   *
+   * @param map a map index proxy to buffer the modifications of: {@link MapIndexProxy}
+   *     or {@link ProofMapIndexProxy}
+   * @param fork the fork the map is created with
+   * @param <K> the type of keys in the map
+   * @param <V> the type of values in the map
+   * @throws IllegalArgumentException if the map is not an index proxy created with the fork
+   */
+  public static <K, V> BufferedMapIndex<K, V> newInstance(MapIndex<K, V> map, Fork fork) {
+    checkArgument(map instanceof AbstractMapIndexProxy
+            && ((AbstractMapIndexProxy<?, ?>) map).dbView == fork,
+        "map (%s) must be an index proxy created with the fork", map);
+    AbstractMapIndexProxy<K, V> proxy = (AbstractMapIndexProxy<K, V>) map;
+    MapWriteBuffer buffer = MapWriteBuffer.findOrCreate(proxy, fork);
+    return new BufferedMapIndex<>(proxy, proxy.getKeySerializer(), proxy.getValueSerializer(),
+        buffer);
+  }
+
+  @VisibleForTesting
+  BufferedMapIndex(MapIndex<K, V> map, Serializer<K> keySerializer,
+      Serializer<V> valueSerializer, MapWriteBuffer buffer) {
+    this.map = checkNotNull(map);
+    this.keySerializer = checkNotNull(keySerializer);
+    this.valueSerializer = checkNotNull(valueSerializer);
+    this.buffer = checkNotNull(buffer);
+  }
+
+  @Override
+  public boolean containsKey(K key) {
+    // Read the value, as read-modify-write transactions will likely need it next
+    return buffer.get(serializeKey(key)) != null;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    ByteString dbKey = serializeKey(key);
+    ByteString dbValue = serializeValue(value);
+    buffer.put(dbKey, dbValue);
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> sourceMap) {
+    // Serialize all the entries first, so that an invalid entry rejects the whole map
+    Map<ByteString, ByteString> entries = new LinkedHashMap<>();
+    sourceMap.forEach((key, value) -> entries.put(serializeKey(key), serializeValue(value)));
+    entries.forEach(buffer::put);
+  }
+
+  @Override
+  public V get(K key) {
+    return deserializeValue(buffer.get(serializeKey(key)));
+  }
+
+  @Override
+  public List<V> getAll(Collection<? extends K> keys) {
+    List<ByteString> dbValues = buffer.getAll(serializeKeys(keys));
+    List<V> values = new ArrayList<>(dbValues.size());
+    for (ByteString dbValue : dbValues) {
+      values.add(deserializeValue(dbValue));
+    }
+    return values;
+  }
+
+  @Override
+  public void remove(K key) {
+    buffer.put(serializeKey(key), null);
+  }
+
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    for (ByteString dbKey : serializeKeys(keys)) {
+      buffer.put(dbKey, null);
+    }
+  }
+
+  @Override
+  public Iterator<K> keys() {
+    flush();
+    return map.keys();
+  }
+
+  @Override
+  public Iterator<K> keys(K fromKey) {
+    flush();
+    return map.keys(fromKey);
+  }
+
+  @Override
+  public Iterator<V> values() {
+    flush();
+    return map.values();
+  }
+
+  @Override
+  public Iterator<V> values(K fromKey) {
+    flush();
+    return map.values(fromKey);
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries() {
+    flush();
+    return map.entries();
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey) {
+    flush();
+    return map.entries(fromKey);
+  }
+
+  @Override
+  public Stream<MapEntry<K, V>> entryStream() {
+    flush();
+    return map.entryStream();
+  }
+
+  @Override
+  public void clear() {
+    buffer.clear();
+  }
+
+  @Override
+  public String getName() {
+    return map.getName();
+  }
+
+  /**
+   * Returns the number of keys modified since the last flush.
+   */
+  public int getPendingWriteCount() {
+    return buffer.getPendingWriteCount();
+  }
+
+  /**
+   * Writes the buffered modifications of the map to the fork: the removed keys
+   * with a single request, and the put entries with a single request.
+   */
+  public void flush() {
+    buffer.flush();
+  }
+
+  private ByteString serializeKey(K key) {
+    checkNotNull(key, "Storage key is null");
+    // Copy the serialized key, as some serializers (e.g., of byte arrays) return the key itself
+    return ByteString.copyFrom(keySerializer.toBytes(key));
+  }
+
+  private List<ByteString> serializeKeys(Collection<? extends K> keys) {
+    List<ByteString> dbKeys = new ArrayList<>(keys.size());
+    for (K key : keys) {
+      dbKeys.add(serializeKey(key));
+    }
+    return dbKeys;
+  }
+
+  private ByteString serializeValue(V value) {
+    checkNotNull(value, "Storage value is null");
+    return ByteString.copyFrom(valueSerializer.toBytes(value));
+  }
+
+  @Nullable
+  private V deserializeValue(@Nullable ByteString dbValue) {
+    return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue.toByteArray());
+  }
+
+  @Override
+  public String toString() {
+    return "BufferedMapIndex{" + map + "}";
+  }
+}
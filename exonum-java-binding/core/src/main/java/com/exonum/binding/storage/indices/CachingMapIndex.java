@@ -0,0 +1,318 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.collect.MapEntry;
+import com.exonum.binding.storage.database.ModificationCounter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * A map index decorator that caches the values of recently accessed keys, so that repeated reads
+ * of the same keys do not access the storage.
+ *
+ * <p>The cache holds up to a given number of entries, evicting the least recently used ones,
+ * and records both present and absent keys. The values are cached in deserialized form,
+ * therefore the reads of the cached keys neither access the storage nor deserialize
+ * the values. The keys are compared with {@link Object#equals(Object)}, except byte arrays,
+ * which are compared by contents.
+ *
+ * <p>As the cached values are returned to the clients as is, the values must be immutable
+ * (e.g., strings, hashes or protobuf messages), except byte arrays, which are copied
+ * defensively. Likewise, the keys must not be modified once passed to this decorator,
+ * except byte arrays, which are copied.
+ *
+ * <p>The cache is scoped to the database view of the decorated map:
+ * <ul>
+ *   <li>If the map is created with a {@link com.exonum.binding.storage.database.Fork},
+ *       the modifications made through this decorator update the cached entries, and
+ *       any other modifications of the fork invalidate the whole cache, as detected by
+ *       the {@linkplain ModificationCounter modification counter} of the fork.
+ *   <li>If the map is created with a {@link com.exonum.binding.storage.database.Snapshot},
+ *       the cache is never invalidated because the snapshot is immutable.
+ * </ul>
+ *
+ * <p>The decorator must not be used after the view of the decorated map is destroyed.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <K> the type of keys in this map
+ * @param <V> the type of values in this map
+ */
+public final class CachingMapIndex<K, V> implements MapIndex<K, V> {
+
+  private final MapIndex<K, V> map;
+  private final ModificationCounter modCounter;
+  /** The values by cache key (see {@link #toCacheKey}); null if the key is absent in the map. */
+  private final Map<Object, V> cache;
+  private int lastModCount;
+
+  /**
+   * Creates a caching decorator of the given map index.
+   *
+   * @param map a map index proxy to cache the values of: {@link MapIndexProxy}
+   *     or {@link ProofMapIndexProxy}
+   * @param maximumSize the maximum number of cached entries
+   * @param <K> the type of keys in the map
+   * @param <V> the type of values in the map
+   * @throws IllegalArgumentException if the map is not an index proxy,
+   *     or the maximum size is not positive
+   */
+  public static <K, V> CachingMapIndex<K, V> newInstance(MapIndex<K, V> map, int maximumSize) {
+    checkArgument(map instanceof AbstractMapIndexProxy, "map (%s) must be an index proxy", map);
+    AbstractMapIndexProxy<K, V> proxy = (AbstractMapIndexProxy<K, V>) map;
+    return new CachingMapIndex<>(map, proxy.modCounter, maximumSize);
+  }
+
+  @VisibleForTesting
+  CachingMapIndex(MapIndex<K, V> map, ModificationCounter modCounter, int maximumSize) {
+    checkArgument(maximumSize > 0, "maximumSize (%s) must be positive", maximumSize);
+    this.map = checkNotNull(map);
+    this.modCounter = checkNotNull(modCounter);
+    this.cache = new LruCache<>(maximumSize);
+    this.lastModCount = modCounter.getCurrentValue();
+  }
+
+  @Override
+  public boolean containsKey(K key) {
+    Object cacheKey = toCacheKey(key);
+    invalidateIfModified();
+    if (cache.containsKey(cacheKey)) {
+      return cache.get(cacheKey) != null;
+    }
+    return map.containsKey(key);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    Object cacheKey = toCacheKey(key);
+    V cachedValue = copyValue(value);
+    invalidateIfModified();
+    map.put(key, value);
+    cache.put(cacheKey, cachedValue);
+    updateModCount();
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> sourceMap) {
+    Map<Object, V> entries = new LinkedHashMap<>();
+    sourceMap.forEach((key, value) -> entries.put(toCacheKey(key), copyValue(value)));
+    invalidateIfModified();
+    map.putAll(sourceMap);
+    cache.putAll(entries);
+    updateModCount();
+  }
+
+  @Override
+  public V get(K key) {
+    Object cacheKey = toCacheKey(key);
+    invalidateIfModified();
+    if (cache.containsKey(cacheKey)) {
+      return copyValue(cache.get(cacheKey));
+    }
+    V value = map.get(key);
+    cache.put(cacheKey, copyValue(value));
+    return value;
+  }
+
+  @Override
+  public List<V> getAll(Collection<? extends K> keys) {
+    List<Object> cacheKeys = toCacheKeys(keys);
+    invalidateIfModified();
+    List<V> values = new ArrayList<>(keys.size());
+    List<K> missingKeys = new ArrayList<>();
+    List<Integer> missingIndexes = new ArrayList<>();
+    int i = 0;
+    for (K key : keys) {
+      Object cacheKey = cacheKeys.get(i);
+      if (cache.containsKey(cacheKey)) {
+        values.add(copyValue(cache.get(cacheKey)));
+      } else {
+        values.add(null);
+        missingKeys.add(key);
+        missingIndexes.add(i);
+      }
+      i++;
+    }
+    if (!missingKeys.isEmpty()) {
+      List<V> missingValues = map.getAll(missingKeys);
+      for (int j = 0; j < missingKeys.size(); j++) {
+        int index = missingIndexes.get(j);
+        V value = missingValues.get(j);
+        values.set(index, value);
+        cache.put(cacheKeys.get(index), copyValue(value));
+      }
+    }
+    return values;
+  }
+
+  @Override
+  public void remove(K key) {
+    Object cacheKey = toCacheKey(key);
+    invalidateIfModified();
+    map.remove(key);
+    cache.put(cacheKey, null);
+    updateModCount();
+  }
+
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    List<Object> cacheKeys = toCacheKeys(keys);
+    invalidateIfModified();
+    map.removeAll(keys);
+    for (Object cacheKey : cacheKeys) {
+      cache.put(cacheKey, null);
+    }
+    updateModCount();
+  }
+
+  @Override
+  public Iterator<K> keys() {
+    return map.keys();
+  }
+
+  @Override
+  public Iterator<K> keys(K fromKey) {
+    return map.keys(fromKey);
+  }
+
+  @Override
+  public Iterator<V> values() {
+    return map.values();
+  }
+
+  @Override
+  public Iterator<V> values(K fromKey) {
+    return map.values(fromKey);
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries() {
+    return map.entries();
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey) {
+    return map.entries(fromKey);
+  }
+
+  @Override
+  public Stream<MapEntry<K, V>> entryStream() {
+    return map.entryStream();
+  }
+
+  @Override
+  public void clear() {
+    map.clear();
+    cache.clear();
+    updateModCount();
+  }
+
+  @Override
+  public String getName() {
+    return map.getName();
+  }
+
+  /**
+   * Returns the number of the currently cached entries.
+   */
+  public int getCachedSize() {
+    return cache.size();
+  }
+
+  /**
+   * Removes all the cached entries.
+   */
+  public void invalidateAll() {
+    cache.clear();
+  }
+
+  /**
+   * Returns the key of the cached entry of the given storage key: a copy of the contents
+   * of a byte array key, or the key itself.
+   */
+  private static Object toCacheKey(Object key) {
+    checkNotNull(key, "Storage key is null");
+    if (key instanceof byte[]) {
+      return ByteString.copyFrom((byte[]) key);
+    }
+    return key;
+  }
+
+  private static List<Object> toCacheKeys(Collection<?> keys) {
+    List<Object> cacheKeys = new ArrayList<>(keys.size());
+    for (Object key : keys) {
+      cacheKeys.add(toCacheKey(key));
+    }
+    return cacheKeys;
+  }
+
+  /**
+   * Returns a copy of the given value if it is a byte array, or the value itself,
+   * as the other values are required to be immutable.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private static <V> V copyValue(@Nullable V value) {
+    if (value instanceof byte[]) {
+      return (V) ((byte[]) value).clone();
+    }
+    return value;
+  }
+
+  private void invalidateIfModified() {
+    if (modCounter.isModifiedSince(lastModCount)) {
+      cache.clear();
+      updateModCount();
+    }
+  }
+
+  private void updateModCount() {
+    lastModCount = modCounter.getCurrentValue();
+  }
+
+  @Override
+  public String toString() {
+    return "CachingMapIndex{" + map + "}";
+  }
+
+  private static final class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maximumSize;
+
+    LruCache(int maximumSize) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      return size() > maximumSize;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.exonum.binding.proxy.AbstractNativeProxy;
+import com.exonum.binding.proxy.NativeHandle;
+import com.exonum.binding.storage.database.ModificationCounter;
+import java.nio.ByteBuffer;
+import java.util.ConcurrentModificationException;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A fail-fast iterator that fetches the items from the native iterator in chunks,
+ * so that several items are obtained with a single native call.
+ *
+ * @param <E> type of elements returned by the iterator.
+ * @see PackedItems
+ */
+final class ChunkedRustIter<E> extends AbstractNativeProxy implements RustIter<E> {
+
+  private final NextChunkFunction nextChunkFunction;
+  private final Function<ByteBuffer, E> itemReader;
+  private final int chunkSize;
+  private final ModificationCounter modificationCounter;
+  private final Integer initialModCount;
+
+  @Nullable
+  private ByteBuffer chunk;
+  private boolean exhausted;
+
+  /**
+   * Creates a new iterator over a collection (index).
+   *
+   * @param nativeHandle nativeHandle of this iterator
+   * @param nextChunkFunction a function to call to get the next chunk of items
+   * @param itemReader a function reading a single item from the chunk
+   * @param chunkSize the maximum number of items to request in a single chunk
+   * @param modificationCounter a view modification counter
+   */
+  ChunkedRustIter(NativeHandle nativeHandle,
+                  NextChunkFunction nextChunkFunction,
+                  Function<ByteBuffer, E> itemReader,
+                  int chunkSize,
+                  ModificationCounter modificationCounter) {
+    super(nativeHandle);
+    checkArgument(chunkSize > 0, "chunkSize must be positive, but: %s", chunkSize);
+    this.nextChunkFunction = nextChunkFunction;
+    this.itemReader = itemReader;
+    this.chunkSize = chunkSize;
+    this.modificationCounter = modificationCounter;
+    this.initialModCount = modificationCounter.getCurrentValue();
+  }
+
+  @Override
+  public Optional<E> next() {
+    checkNotModified();
+    if (chunk == null || !chunk.hasRemaining()) {
+      chunk = nextChunk();
+      if (chunk == null) {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(itemReader.apply(chunk));
+  }
+
+  @Nullable
+  private ByteBuffer nextChunk() {
+    if (exhausted) {
+      return null;
+    }
+    byte[] packedItems = nextChunkFunction.nextChunk(getNativeHandle(), chunkSize);
+    if (packedItems == null) {
+      exhausted = true;
+      return null;
+    }
+    return ByteBuffer.wrap(packedItems);
+  }
+
+  private void checkNotModified() {
+    if (modificationCounter.isModifiedSince(initialModCount)) {
+      throw new ConcurrentModificationException("Collection or the corresponding Fork "
+          + "were modified during iteration");
+    }
+  }
+
+  /**
+   * A function returning the next chunk of items from the native iterator.
+   */
+  @FunctionalInterface
+  interface NextChunkFunction {
+
+    /**
+     * Returns the next chunk of at most {@code maxItems} packed items,
+     * or {@code null} if the iterator is exhausted.
+     *
+     * @param iterNativeHandle a handle to the native iterator
+     * @param maxItems the maximum number of items in the chunk; must be positive
+     */
+    @Nullable
+    byte[] nextChunk(long iterNativeHandle, int maxItems);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
+
+/**
+ * Thread-local direct buffers used to pass keys and values to the native code
+ * without intermediate byte arrays.
+ *
+ * <p>Each thread has a single buffer, which is taken with {@link #acquire()} and must be
+ * returned with {@link #release(ByteBuffer)}. If the buffer of the current thread is already
+ * taken (e.g., a serializer accesses another index), {@link #acquire()} returns null
+ * and the caller must use the array-based native methods.
+ *
+ * <p>The size of the buffers is set with the {@value #BUFFER_SIZE_PROPERTY} system property
+ * and defaults to {@value #DEFAULT_BUFFER_SIZE} bytes. Entries that do not fit into the buffer
+ * are passed using the array-based native methods.
+ */
+final class DirectBuffers {
+
+  static final String BUFFER_SIZE_PROPERTY = "exonum.storage.directBufferSize";
+
+  static final int DEFAULT_BUFFER_SIZE = 4096;
+
+  /**
+   * The value size the native code returns if there is no value for the requested key.
+   */
+  static final int ABSENT_VALUE_SIZE = -1;
+
+  /**
+   * The value size used when a key does not fit into the buffer and was not looked up.
+   */
+  static final int KEY_TOO_LARGE = -2;
+
+  private static final int BUFFER_SIZE = Integer.getInteger(BUFFER_SIZE_PROPERTY,
+      DEFAULT_BUFFER_SIZE);
+
+  private static final ThreadLocal<ByteBuffer[]> BUFFERS = ThreadLocal.withInitial(() ->
+      new ByteBuffer[] {ByteBuffer.allocateDirect(BUFFER_SIZE)});
+
+  static {
+    checkArgument(BUFFER_SIZE > 0, "Invalid %s (%s), must be positive",
+        BUFFER_SIZE_PROPERTY, BUFFER_SIZE);
+  }
+
+  /**
+   * Takes the direct buffer of the current thread. The returned buffer is cleared.
+   *
+   * @return the buffer of the current thread, or null if it is already taken
+   */
+  @Nullable
+  static ByteBuffer acquire() {
+    ByteBuffer[] slot = BUFFERS.get();
+    ByteBuffer buffer = slot[0];
+    if (buffer == null) {
+      return null;
+    }
+    slot[0] = null;
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Returns the buffer taken with {@link #acquire()} to the current thread.
+   */
+  static void release(ByteBuffer buffer) {
+    BUFFERS.get()[0] = buffer;
+  }
+
+  private DirectBuffers() {}
+}
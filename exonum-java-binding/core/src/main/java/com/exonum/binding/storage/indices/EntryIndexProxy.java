@@ -22,6 +22,7 @@ import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.NativeDropFunction;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
 import com.exonum.binding.storage.database.Fork;
@@ -52,6 +53,9 @@ import java.util.Optional;
  */
 public final class EntryIndexProxy<T> extends AbstractIndexProxy {
 
+  private static final NativeDropFunction DROP_FUNCTION =
+      NativeDropFunction.from(EntryIndexProxy::nativeDropFunction);
+
   private final CheckingSerializerDecorator<T> serializer;
 
   /**
@@ -89,11 +93,14 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
   public static <E> EntryIndexProxy<E> newInstance(
       String name, View view, Serializer<E> serializer) {
     checkIndexName(name);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.of(EntryIndexProxy.class, name, serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    NativeHandle entryNativeHandle = createNativeEntry(name, view);
+      NativeHandle entryNativeHandle = createNativeEntry(name, view);
 
-    return new EntryIndexProxy<>(entryNativeHandle, name, view, s);
+      return new EntryIndexProxy<>(entryNativeHandle, name, view, s);
+    });
   }
 
   private static NativeHandle createNativeEntry(String name, View view) {
@@ -101,8 +108,8 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
     NativeHandle entryNativeHandle = new NativeHandle(nativeCreate(name, viewNativeHandle));
 
     Cleaner cleaner = view.getCleaner();
-    ProxyDestructor.newRegistered(cleaner, entryNativeHandle, EntryIndexProxy.class,
-        EntryIndexProxy::nativeFree);
+    ProxyDestructor.register(cleaner, entryNativeHandle, EntryIndexProxy.class,
+        EntryIndexProxy::nativeFree, DROP_FUNCTION);
     return entryNativeHandle;
   }
 
@@ -204,4 +211,6 @@ public final class EntryIndexProxy<T> extends AbstractIndexProxy {
   private native void nativeRemove(long nativeHandle);
 
   private static native void nativeFree(long nativeHandle);
+
+  private static native long nativeDropFunction();
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import com.exonum.binding.common.serialization.Serializer;
+import com.google.auto.value.AutoValue;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A key identifying an index proxy in a {@linkplain com.exonum.binding.storage.database.View
+ * view}: the type of the proxy, the address of the index in the storage, and the serializers
+ * of the proxy.
+ *
+ * @see com.exonum.binding.storage.database.View#findOrCreateIndex(Object,
+ *     java.util.function.Supplier)
+ */
+@AutoValue
+abstract class IndexCacheKey {
+
+  private static final byte[] NO_ID_IN_GROUP = new byte[0];
+
+  abstract Class<?> getIndexType();
+
+  abstract String getName();
+
+  /**
+   * Returns the identifier of the index in a group, or an empty array if the index
+   * does not belong to a group.
+   */
+  @SuppressWarnings("mutable") // Not exposed: a copy of the id supplied by the client
+  abstract byte[] getIdInGroup();
+
+  abstract List<Serializer<?>> getSerializers();
+
+  /**
+   * Creates a key of a standalone index proxy.
+   */
+  static IndexCacheKey of(Class<?> indexType, String name, Serializer<?>... serializers) {
+    return new AutoValue_IndexCacheKey(indexType, name, NO_ID_IN_GROUP,
+        Arrays.asList(serializers));
+  }
+
+  /**
+   * Creates a key of an index proxy in a group.
+   */
+  static IndexCacheKey inGroup(Class<?> indexType, String groupName, byte[] idInGroup,
+      Serializer<?>... serializers) {
+    return new AutoValue_IndexCacheKey(indexType, groupName, idInGroup.clone(),
+        Arrays.asList(serializers));
+  }
+}
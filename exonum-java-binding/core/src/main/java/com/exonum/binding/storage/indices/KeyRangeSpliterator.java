@@ -0,0 +1,361 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.UnsignedBytes;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A spliterator over an index whose items are ordered by their keys: maps and sets.
+ * The spliterator covers a range of keys [fromKey, toKey), and splits it into two sub-ranges
+ * using the seek iteration of the underlying index.
+ *
+ * <p>This spliterator is late-binding: the native iterator is created on the first traversal.
+ * It is fail-fast if the underlying iterator is fail-fast.
+ *
+ * <p>Only a spliterator over an immutable source (i.e., an index created with
+ * a {@link com.exonum.binding.storage.database.Snapshot}) can be split.
+ * Such spliterators may be traversed concurrently (e.g., in a parallel stream):
+ * the native iterators of the spliterators are created under a lock shared by all spliterators
+ * split from the same root spliterator; and the traversal of each native iterator is confined
+ * to the thread that traverses the corresponding spliterator.
+ *
+ * <p>The spliterator looks for a split key as follows:
+ * <ol>
+ *   <li>Finds the first two keys in its range. If there are less than two keys,
+ *   it cannot be split.
+ *   <li>Bisects the range of keys, treating the keys as unsigned fractions,
+ *   until there is a key in the upper half of the range, and splits at the first such key.
+ *   <li>If the first bisection does not find a key, and there are any keys in the range
+ *   that do not start with the common prefix of the first two keys, splits at the first such key.
+ *   That allows to separate groups of keys with distinct prefixes, and quickly narrow the range
+ *   in case of keys with a common prefix.
+ *   <li>If bisection does not find a key in {@link #MAX_BISECTION_STEPS} steps, splits at
+ *   the second key.
+ * </ol>
+ * The bisection gives evenly sized splits if the keys are uniformly distributed
+ * (e.g., hashes or public keys).
+ *
+ * @param <NativeT> the type of items returned by the native iterator
+ * @param <ElementT> the type of elements this spliterator provides
+ */
+final class KeyRangeSpliterator<NativeT, ElementT> implements Spliterator<ElementT> {
+
+  /** The maximum number of bisections of the key range performed in a single split. */
+  @VisibleForTesting
+  static final int MAX_BISECTION_STEPS = 16;
+
+  /** Indicates that the keys of the index have a variable size. */
+  static final int VARIABLE_KEY_SIZE = 0;
+
+  private static final Comparator<byte[]> KEY_ORDER = UnsignedBytes.lexicographicalComparator();
+
+  private final KeyOrderedIndex<NativeT> index;
+  private final Function<? super NativeT, ? extends ElementT> transformingFunction;
+  private final int keySize;
+  private final boolean immutable;
+
+  /**
+   * The first key of the range (inclusive); or {@code null} if the range starts
+   * at the first key.
+   */
+  @Nullable
+  private byte[] fromKey;
+
+  /**
+   * The last key of the range (exclusive); or {@code null} if the range ends after the last key.
+   */
+  @Nullable
+  private byte[] toKey;
+
+  private long estimatedSize;
+
+  @Nullable
+  private Iterator<NativeT> iterator;
+
+  private boolean exhausted;
+
+  /**
+   * Creates a spliterator over all the items of the index.
+   *
+   * @param index an index to iterate over
+   * @param transformingFunction a function to apply to the native items
+   * @param keySize the size of the index keys in bytes if all keys have the same size;
+   *     or {@link #VARIABLE_KEY_SIZE} otherwise. The native operations of the index
+   *     are invoked only with the keys of that size
+   * @param immutable whether the source index is immutable; only such a spliterator can be split
+   */
+  KeyRangeSpliterator(KeyOrderedIndex<NativeT> index,
+      Function<? super NativeT, ? extends ElementT> transformingFunction,
+      int keySize, boolean immutable) {
+    this(index, transformingFunction, keySize, immutable, null, null, Long.MAX_VALUE);
+  }
+
+  private KeyRangeSpliterator(KeyOrderedIndex<NativeT> index,
+      Function<? super NativeT, ? extends ElementT> transformingFunction,
+      int keySize, boolean immutable, @Nullable byte[] fromKey, @Nullable byte[] toKey,
+      long estimatedSize) {
+    checkArgument(keySize >= 0, "keySize (%s) must be non-negative", keySize);
+    this.index = checkNotNull(index);
+    this.transformingFunction = checkNotNull(transformingFunction);
+    this.keySize = keySize;
+    this.immutable = immutable;
+    this.fromKey = fromKey;
+    this.toKey = toKey;
+    this.estimatedSize = estimatedSize;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super ElementT> action) {
+    checkNotNull(action);
+    NativeT item = nextItem();
+    if (item == null) {
+      return false;
+    }
+    action.accept(transformingFunction.apply(item));
+    return true;
+  }
+
+  @Nullable
+  private NativeT nextItem() {
+    if (exhausted) {
+      return null;
+    }
+    if (iterator == null) {
+      // Iterators register themselves in the cleaner of the view, which is not thread-safe.
+      synchronized (index) {
+        iterator = index.iterator(fromKey);
+      }
+    }
+    if (iterator.hasNext()) {
+      NativeT item = iterator.next();
+      if (isInRange(index.keyOf(item))) {
+        return item;
+      }
+    }
+    exhausted = true;
+    return null;
+  }
+
+  @Override
+  @Nullable
+  public Spliterator<ElementT> trySplit() {
+    if (!immutable || iterator != null || exhausted) {
+      return null;
+    }
+    byte[] splitKey = findSplitKey();
+    if (splitKey == null) {
+      return null;
+    }
+    estimatedSize >>>= 1;
+    Spliterator<ElementT> prefix = new KeyRangeSpliterator<>(index, transformingFunction,
+        keySize, immutable, fromKey, splitKey, estimatedSize);
+    fromKey = splitKey;
+    return prefix;
+  }
+
+  /**
+   * Returns a key that is greater than the first key in the range, and such that there is an item
+   * with that key in the range; or {@code null} if there is no such key (i.e., the range
+   * contains less than two items).
+   */
+  @Nullable
+  private byte[] findSplitKey() {
+    List<NativeT> firstItems = index.firstItems(fromKey, 2);
+    if (firstItems.size() < 2 || !isInRange(index.keyOf(firstItems.get(1)))) {
+      return null;
+    }
+    byte[] firstKey = index.keyOf(firstItems.get(0));
+    byte[] secondKey = index.keyOf(firstItems.get(1));
+
+    // Bisect the range until there is a key in the upper half
+    for (int i = 0; i < MAX_BISECTION_STEPS; i++) {
+      byte[] midKey = midpoint(firstKey, toKey, keySize);
+      if (midKey == null) {
+        break;
+      }
+      byte[] splitKey = firstKeyFrom(midKey);
+      if (splitKey != null) {
+        return splitKey;
+      }
+      // There are no keys in the upper half
+      toKey = midKey;
+
+      if (i == 0) {
+        // Try to split at the first key which does not have the common prefix
+        // of the first two keys
+        byte[] prefixSuccessor = commonPrefixSuccessor(firstKey, secondKey);
+        if (prefixSuccessor != null && isInRange(prefixSuccessor)) {
+          splitKey = firstKeyFrom(prefixSuccessor);
+          if (splitKey != null) {
+            return splitKey;
+          }
+          // All keys in the range have the common prefix
+          toKey = prefixSuccessor;
+        }
+      }
+    }
+    return secondKey;
+  }
+
+  /**
+   * Returns the first key in the range that is greater than or equal to the given key;
+   * or {@code null} if there is no such key.
+   */
+  @Nullable
+  private byte[] firstKeyFrom(byte[] key) {
+    List<NativeT> items = index.firstItems(padKey(key), 1);
+    if (items.isEmpty()) {
+      return null;
+    }
+    byte[] firstKey = index.keyOf(items.get(0));
+    return isInRange(firstKey) ? firstKey : null;
+  }
+
+  private byte[] padKey(byte[] key) {
+    return (key.length < keySize) ? Arrays.copyOf(key, keySize) : key;
+  }
+
+  private boolean isInRange(byte[] key) {
+    return toKey == null || KEY_ORDER.compare(key, toKey) < 0;
+  }
+
+  @Override
+  public long estimateSize() {
+    return exhausted ? 0 : estimatedSize;
+  }
+
+  @Override
+  public int characteristics() {
+    int characteristics = ORDERED | DISTINCT | NONNULL;
+    return immutable ? characteristics | IMMUTABLE : characteristics;
+  }
+
+  /**
+   * Returns the smallest key that is greater than any key starting with the longest common
+   * prefix of the given keys; or {@code null} if there is no such key (i.e., the common
+   * prefix is empty or consists of 0xFF bytes only).
+   */
+  @Nullable
+  @VisibleForTesting
+  static byte[] commonPrefixSuccessor(byte[] key1, byte[] key2) {
+    int prefixSize = 0;
+    int maxPrefixSize = Math.min(key1.length, key2.length);
+    while (prefixSize < maxPrefixSize && key1[prefixSize] == key2[prefixSize]) {
+      prefixSize++;
+    }
+    for (int i = prefixSize - 1; i >= 0; i--) {
+      if (key1[i] != (byte) 0xFF) {
+        byte[] successor = Arrays.copyOf(key1, i + 1);
+        successor[i]++;
+        return successor;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns a key in the middle of the given range of keys, treating the keys as
+   * unsigned fractions (i.e., the first byte is the most significant); or {@code null}
+   * if there is no such key of the given size in the range.
+   *
+   * @param lowKey the lower bound of the range, exclusive
+   * @param highKey the upper bound of the range, exclusive; or {@code null} if the range
+   *     is not bounded
+   * @param keySize the size of the key in bytes, or {@link #VARIABLE_KEY_SIZE}
+   */
+  @Nullable
+  @VisibleForTesting
+  static byte[] midpoint(byte[] lowKey, @Nullable byte[] highKey, int keySize) {
+    int highKeyLength = (highKey == null) ? 0 : highKey.length;
+    int size = (keySize == VARIABLE_KEY_SIZE)
+        ? Math.max(lowKey.length, highKeyLength) + 1
+        : keySize;
+    BigInteger low = toUnsignedInteger(lowKey, size);
+    BigInteger high = (highKey == null)
+        ? BigInteger.ONE.shiftLeft(Byte.SIZE * size)
+        : toUnsignedInteger(highKey, size);
+    BigInteger mid = low.add(high).shiftRight(1);
+    if (mid.compareTo(low) <= 0) {
+      return null;
+    }
+    byte[] midKey = toBytes(mid, size);
+    return (keySize == VARIABLE_KEY_SIZE) ? trimTrailingZeros(midKey) : midKey;
+  }
+
+  private static BigInteger toUnsignedInteger(byte[] key, int size) {
+    return new BigInteger(1, Arrays.copyOf(key, size));
+  }
+
+  private static byte[] toBytes(BigInteger value, int size) {
+    byte[] bytes = value.toByteArray();
+    byte[] result = new byte[size];
+    int length = Math.min(bytes.length, size);
+    System.arraycopy(bytes, bytes.length - length, result, size - length, length);
+    return result;
+  }
+
+  private static byte[] trimTrailingZeros(byte[] key) {
+    int length = key.length;
+    while (length > 0 && key[length - 1] == 0) {
+      length--;
+    }
+    return Arrays.copyOf(key, length);
+  }
+
+  /**
+   * Native operations of an index whose items are ordered by their keys.
+   *
+   * @param <NativeT> the type of items returned by the native iterator
+   */
+  interface KeyOrderedIndex<NativeT> {
+
+    /**
+     * Creates an iterator over the items of the index, starting at the given key (inclusive).
+     *
+     * @param fromKey the key to start the iteration from; or {@code null} to start from
+     *     the first key
+     */
+    Iterator<NativeT> iterator(@Nullable byte[] fromKey);
+
+    /**
+     * Returns at most {@code maxItems} first items of the index, starting at the given
+     * key (inclusive). Unlike {@link #iterator(byte[])}, does not retain any native resources.
+     *
+     * @param fromKey the key to start from; or {@code null} to start from the first key
+     * @param maxItems the maximum number of items to return
+     */
+    List<NativeT> firstItems(@Nullable byte[] fromKey, int maxItems);
+
+    /**
+     * Returns the key of the given item, as stored in the index.
+     */
+    byte[] keyOf(NativeT item);
+  }
+}
@@ -23,13 +23,21 @@ import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.NativeDropFunction;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
 import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.storage.database.View;
 import com.google.protobuf.MessageLite;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 
 /**
  * A key set is an index that contains no duplicate elements (keys).
@@ -58,6 +66,9 @@ import java.util.function.LongSupplier;
  */
 public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Iterable<E> {
 
+  private static final NativeDropFunction DROP_FUNCTION =
+      NativeDropFunction.from(KeySetIndexProxy::nativeDropFunction);
+
   private final CheckingSerializerDecorator<E> serializer;
 
   /**
@@ -94,13 +105,16 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
   public static <E> KeySetIndexProxy<E> newInstance(
       String name, View view, Serializer<E> serializer) {
     checkIndexName(name);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.of(KeySetIndexProxy.class, name, serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle setNativeHandle = createNativeSet(view,
-        () -> nativeCreate(name, viewNativeHandle));
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle setNativeHandle = createNativeSet(view,
+          () -> nativeCreate(name, viewNativeHandle));
 
-    return new KeySetIndexProxy<>(setNativeHandle, name, view, s);
+      return new KeySetIndexProxy<>(setNativeHandle, name, view, s);
+    });
   }
 
   /**
@@ -123,20 +137,24 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
                                                          View view, Serializer<E> serializer) {
     checkIndexName(groupName);
     checkIdInGroup(indexId);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.inGroup(KeySetIndexProxy.class, groupName, indexId,
+        serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle setNativeHandle = createNativeSet(view,
-        () -> nativeCreateInGroup(groupName, indexId, viewNativeHandle));
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle setNativeHandle = createNativeSet(view,
+          () -> nativeCreateInGroup(groupName, indexId, viewNativeHandle));
 
-    return new KeySetIndexProxy<>(setNativeHandle, groupName, view, s);
+      return new KeySetIndexProxy<>(setNativeHandle, groupName, view, s);
+    });
   }
 
   private static NativeHandle createNativeSet(View view, LongSupplier nativeSetConstructor) {
     Cleaner cleaner = view.getCleaner();
     NativeHandle setNativeHandle = new NativeHandle(nativeSetConstructor.getAsLong());
-    ProxyDestructor.newRegistered(cleaner, setNativeHandle, KeySetIndexProxy.class,
-        KeySetIndexProxy::nativeFree);
+    ProxyDestructor.register(cleaner, setNativeHandle, KeySetIndexProxy.class,
+        KeySetIndexProxy::nativeFree, DROP_FUNCTION);
     return setNativeHandle;
   }
 
@@ -160,6 +178,21 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
     nativeAdd(getNativeHandle(), dbElement);
   }
 
+  /**
+   * Adds all of the given elements to the set. Equivalent to a sequence
+   * of individual {@link #add} operations.
+   *
+   * @param elements elements to add
+   * @throws NullPointerException if the passed collection is null or contains a null element
+   * @throws IllegalStateException if this set is not valid
+   * @throws UnsupportedOperationException if this set is read-only
+   */
+  public void addAll(Collection<? extends E> elements) {
+    notifyModified();
+    byte[] dbElements = PackedItems.pack(elements, serializer::toBytes);
+    nativeAddAll(getNativeHandle(), dbElements);
+  }
+
   /**
    * Removes all of the elements from this set.
    * The set will be empty after this method returns.
@@ -182,6 +215,18 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
     return nativeContains(getNativeHandle(), dbElement);
   }
 
+  /**
+   * Returns true if this set contains all of the given elements.
+   *
+   * @param elements elements to check
+   * @throws NullPointerException if the passed collection is null or contains a null element
+   * @throws IllegalStateException if this set is not valid
+   */
+  public boolean containsAll(Collection<? extends E> elements) {
+    byte[] dbElements = PackedItems.pack(elements, serializer::toBytes);
+    return nativeContainsAll(getNativeHandle(), dbElements);
+  }
+
   /**
    * Creates an iterator over the set elements. The elements are ordered lexicographically.
    * 
@@ -202,6 +247,60 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
         serializer::fromBytes);
   }
 
+  /**
+   * Creates an iterator over the set elements starting at the given element (inclusive).
+   * The elements are ordered lexicographically. If the given element is not
+   * in the set, the iterator starts at the next element in the lexicographical order.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this set uses
+   * (but not necessarily on <em>this set</em>) will invalidate the iterator.
+   *
+   * @param from an element to start the iteration from
+   * @return an iterator over the elements of this set, starting at the given element
+   * @throws IllegalStateException if this set is not valid
+   */
+  public Iterator<E> iterator(E from) {
+    byte[] dbFrom = serializer.toBytes(from);
+    return StorageIterators.createIterator(
+        nativeCreateIteratorFrom(getNativeHandle(), dbFrom),
+        this::nativeIteratorNext,
+        this::nativeIteratorFree,
+        dbView,
+        modCounter,
+        serializer::fromBytes);
+  }
+
+  /**
+   * Creates a spliterator over the set elements. The elements are ordered lexicographically.
+   *
+   * <p>The spliterator is <em>late-binding</em>. If this set is created with
+   * a {@link com.exonum.binding.storage.database.Snapshot}, the spliterator can be split
+   * into spliterators over sub-ranges of the elements, allowing efficient parallel traversal.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this set uses
+   * (but not necessarily on <em>this set</em>) will invalidate the spliterator.
+   *
+   * @throws IllegalStateException if this set is not valid
+   */
+  @Override
+  public Spliterator<E> spliterator() {
+    return new KeyRangeSpliterator<>(
+        new OrderedElements(),
+        serializer::fromBytes,
+        KeyRangeSpliterator.VARIABLE_KEY_SIZE,
+        !dbView.canModify());
+  }
+
+  /**
+   * Returns a stream of the set elements. The elements are ordered lexicographically.
+   *
+   * @throws IllegalStateException if this set is not valid
+   * @see #spliterator()
+   */
+  public Stream<E> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
   /**
    * Removes the element from this set. If it's not in the set, does nothing.
    * 
@@ -215,6 +314,21 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
     nativeRemove(getNativeHandle(), dbElement);
   }
 
+  /**
+   * Removes all of the given elements from this set. The elements that are not in the set
+   * are ignored.
+   *
+   * @param elements elements to remove
+   * @throws NullPointerException if the passed collection is null or contains a null element
+   * @throws IllegalStateException if this set is not valid
+   * @throws UnsupportedOperationException if this set is read-only
+   */
+  public void removeAll(Collection<? extends E> elements) {
+    notifyModified();
+    byte[] dbElements = PackedItems.pack(elements, serializer::toBytes);
+    nativeRemoveAll(getNativeHandle(), dbElements);
+  }
+
   private static native long nativeCreate(String setName, long viewNativeHandle);
 
   private static native long nativeCreateInGroup(String groupName, byte[] setId,
@@ -222,17 +336,64 @@ public final class KeySetIndexProxy<E> extends AbstractIndexProxy implements Ite
 
   private native void nativeAdd(long nativeHandle, byte[] e);
 
+  private native void nativeAddAll(long nativeHandle, byte[] elements);
+
   private native void nativeClear(long nativeHandle);
 
   private native boolean nativeContains(long nativeHandle, byte[] e);
 
+  private native boolean nativeContainsAll(long nativeHandle, byte[] elements);
+
   private native long nativeCreateIterator(long nativeHandle);
 
+  private native long nativeCreateIteratorFrom(long nativeHandle, byte[] from);
+
   private native byte[] nativeIteratorNext(long iterNativeHandle);
 
   private native void nativeIteratorFree(long iterNativeHandle);
 
+  /**
+   * Native operations over the elements of this set, ordered lexicographically.
+   */
+  private final class OrderedElements implements KeyRangeSpliterator.KeyOrderedIndex<byte[]> {
+
+    @Override
+    public Iterator<byte[]> iterator(@Nullable byte[] fromKey) {
+      return StorageIterators.createIterator(
+          createIterator(fromKey),
+          KeySetIndexProxy.this::nativeIteratorNext,
+          KeySetIndexProxy.this::nativeIteratorFree,
+          dbView,
+          modCounter,
+          Function.identity());
+    }
+
+    @Override
+    public List<byte[]> firstItems(@Nullable byte[] fromKey, int maxItems) {
+      return StorageIterators.readFirstItems(
+          createIterator(fromKey),
+          KeySetIndexProxy.this::nativeIteratorNext,
+          KeySetIndexProxy.this::nativeIteratorFree,
+          maxItems);
+    }
+
+    private long createIterator(@Nullable byte[] fromKey) {
+      return (fromKey == null)
+          ? nativeCreateIterator(getNativeHandle())
+          : nativeCreateIteratorFrom(getNativeHandle(), fromKey);
+    }
+
+    @Override
+    public byte[] keyOf(byte[] element) {
+      return element;
+    }
+  }
+
   private native void nativeRemove(long nativeHandle, byte[] e);
 
+  private native void nativeRemoveAll(long nativeHandle, byte[] elements);
+
   private static native void nativeFree(long nativeHandle);
+
+  private static native long nativeDropFunction();
 }
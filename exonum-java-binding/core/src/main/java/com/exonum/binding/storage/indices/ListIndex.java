@@ -16,9 +16,14 @@
 
 package com.exonum.binding.storage.indices;
 
+import static com.exonum.binding.storage.indices.StoragePreconditions.checkPositionIndex;
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.exonum.binding.storage.database.Fork;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
 
@@ -81,6 +86,33 @@ public interface ListIndex<T> extends StorageIndex, Iterable<T> {
    */
   T get(long index);
 
+  /**
+   * Returns the elements in the given range of indexes, as a list. Equivalent to a sequence
+   * of individual {@link #get(long)} operations; the index proxies override it to retrieve
+   * all the elements from the storage at once.
+   *
+   * @param fromIndex an index of the first element to return, inclusive
+   * @param toIndex an index of the last element to return, exclusive
+   * @return a list of elements in range [fromIndex, toIndex); empty if the range is empty
+   * @throws IndexOutOfBoundsException if the range is invalid, i.e., is not within
+   *     [0, size], or {@code fromIndex > toIndex}
+   * @throws IllegalArgumentException if the range contains more than
+   *     {@code Integer.MAX_VALUE} elements
+   * @throws IllegalStateException if this list is not valid
+   */
+  default List<T> getRange(long fromIndex, long toIndex) {
+    checkPositionIndex(toIndex, size());
+    checkPositionIndex(fromIndex, toIndex);
+    long rangeSize = toIndex - fromIndex;
+    checkArgument(rangeSize <= Integer.MAX_VALUE,
+        "The range [%s, %s) is too large to fit in a list", fromIndex, toIndex);
+    List<T> elements = new ArrayList<>((int) rangeSize);
+    for (long i = fromIndex; i < toIndex; i++) {
+      elements.add(get(i));
+    }
+    return elements;
+  }
+
   /**
    * Returns the last element of the list.
    *
@@ -123,6 +155,28 @@ public interface ListIndex<T> extends StorageIndex, Iterable<T> {
   @Override
   Iterator<T> iterator();
 
+  /**
+   * Returns an iterator over the elements of the list, starting at the given index
+   * (inclusive). Equivalent to skipping the first {@code fromIndex} elements
+   * of {@link #iterator()}; the index proxies override it to start the iteration
+   * at the given index in the storage.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this list uses
+   * (but not necessarily on <em>this list</em>) will invalidate the iterator.
+   *
+   * @param fromIndex an index of the first element to return, in range [0, size]
+   * @throws IndexOutOfBoundsException if the index is not in range [0, size]
+   * @throws IllegalStateException if this list is not valid
+   */
+  default Iterator<T> iterator(long fromIndex) {
+    checkPositionIndex(fromIndex, size());
+    Iterator<T> iterator = iterator();
+    for (long i = 0; i < fromIndex; i++) {
+      iterator.next();
+    }
+    return iterator;
+  }
+
   /**
    * Returns a stream of elements in this list.
    * The returned stream is <em>fail-fast</em> and <em>late-binding</em>;
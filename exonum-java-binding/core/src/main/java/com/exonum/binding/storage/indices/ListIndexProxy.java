@@ -24,6 +24,7 @@ import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.NativeDropFunction;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
 import com.exonum.binding.storage.database.View;
@@ -53,6 +54,9 @@ import java.util.function.LongSupplier;
  */
 public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implements ListIndex<E> {
 
+  private static final NativeDropFunction DROP_FUNCTION =
+      NativeDropFunction.from(ListIndexProxy::nativeDropFunction);
+
   /**
    * Creates a new ListIndexProxy storing protobuf messages.
    *
@@ -87,13 +91,16 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
   public static <E> ListIndexProxy<E> newInstance(
       String name, View view, Serializer<E> serializer) {
     checkIndexName(name);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.of(ListIndexProxy.class, name, serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle listNativeHandle = createNativeList(view,
-        () -> nativeCreate(name, viewNativeHandle));
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle listNativeHandle = createNativeList(view,
+          () -> nativeCreate(name, viewNativeHandle));
 
-    return new ListIndexProxy<>(listNativeHandle, name, view, s);
+      return new ListIndexProxy<>(listNativeHandle, name, view, s);
+    });
   }
 
   /**
@@ -116,21 +123,25 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
                                                        View view, Serializer<E> serializer) {
     checkIndexName(groupName);
     checkIdInGroup(listId);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.inGroup(ListIndexProxy.class, groupName, listId,
+        serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle listNativeHandle = createNativeList(view,
-        () -> nativeCreateInGroup(groupName, listId, viewNativeHandle));
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle listNativeHandle = createNativeList(view,
+          () -> nativeCreateInGroup(groupName, listId, viewNativeHandle));
 
-    return new ListIndexProxy<>(listNativeHandle, groupName, view, s);
+      return new ListIndexProxy<>(listNativeHandle, groupName, view, s);
+    });
   }
 
   private static NativeHandle createNativeList(View view, LongSupplier nativeListConstructor) {
     NativeHandle listNativeHandle = new NativeHandle(nativeListConstructor.getAsLong());
 
     Cleaner cleaner = view.getCleaner();
-    ProxyDestructor.newRegistered(cleaner, listNativeHandle, ListIndexProxy.class,
-        ListIndexProxy::nativeFree);
+    ProxyDestructor.register(cleaner, listNativeHandle, ListIndexProxy.class,
+        ListIndexProxy::nativeFree, DROP_FUNCTION);
     return listNativeHandle;
   }
 
@@ -180,15 +191,23 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
 
   private static native void nativeFree(long nativeHandle);
 
+  private static native long nativeDropFunction();
+
   @Override
   native void nativeAdd(long nativeHandle, byte[] e);
 
+  @Override
+  native void nativeAddAll(long nativeHandle, byte[] packedElements);
+
   @Override
   native void nativeSet(long nativeHandle, long index, byte[] e);
 
   @Override
   native byte[] nativeGet(long nativeHandle, long index);
 
+  @Override
+  native byte[] nativeGetRange(long nativeHandle, long fromIndex, long toIndex);
+
   @Override
   native byte[] nativeGetLast(long nativeHandle);
 
@@ -209,7 +228,10 @@ public final class ListIndexProxy<E> extends AbstractListIndexProxy<E> implement
   native long nativeCreateIter(long nativeHandle);
 
   @Override
-  native byte[] nativeIterNext(long iterNativeHandle);
+  native long nativeIterFrom(long nativeHandle, long fromIndex);
+
+  @Override
+  native byte[] nativeIterNextChunk(long iterNativeHandle, int maxItems);
 
   @Override
   native void nativeIterFree(long iterNativeHandle);
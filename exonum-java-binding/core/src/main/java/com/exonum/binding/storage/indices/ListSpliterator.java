@@ -22,6 +22,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import com.exonum.binding.storage.database.ModificationCounter;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
@@ -49,6 +50,13 @@ class ListSpliterator<ElementT> implements Spliterator<ElementT> {
   @VisibleForTesting
   static final int MIN_SPLITTABLE_SIZE = 2;
 
+  /**
+   * The maximum number of elements {@link #forEachRemaining(Consumer)} requests
+   * from the list at once.
+   */
+  @VisibleForTesting
+  static final int FOR_EACH_BATCH_SIZE = 4096;
+
   private final ListIndex<ElementT> list;
 
   /** An index of the next element to read. */
@@ -83,12 +91,6 @@ class ListSpliterator<ElementT> implements Spliterator<ElementT> {
     this.initialCounterValue = initialCounterValue;
   }
 
-  //  todo: can add forEachRemaining and AbstractListIndexProxy#forEachInRange to list that
-  //    can avoid performing repetitive operation per each get:
-  //    - a check for modifications of the source list
-  //    - getNativeHandle
-  //    - size checks (a native call to size): [ECR-2817]
-
   @Override
   public boolean tryAdvance(Consumer<? super ElementT> action) {
     bindOrCheckModifications();
@@ -102,6 +104,26 @@ class ListSpliterator<ElementT> implements Spliterator<ElementT> {
     }
   }
 
+  /**
+   * Performs the given action for each remaining element. Unlike {@link #tryAdvance(Consumer)},
+   * retrieves the elements from the list in batches, performing a single native call
+   * per batch.
+   *
+   * <p>Modifications of the source are detected when the traversal starts and after
+   * each batch is processed.
+   */
+  @Override
+  public void forEachRemaining(Consumer<? super ElementT> action) {
+    bindOrCheckModifications();
+    while (nextIndex < fence) {
+      long batchEnd = Math.min(fence, nextIndex + FOR_EACH_BATCH_SIZE);
+      List<ElementT> batch = list.getRange(nextIndex, batchEnd);
+      nextIndex = batchEnd;
+      batch.forEach(action);
+      bindOrCheckModifications();
+    }
+  }
+
   @Override
   public Spliterator<ElementT> trySplit() {
     bindOrCheckModifications();
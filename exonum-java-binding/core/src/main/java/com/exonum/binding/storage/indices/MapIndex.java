@@ -18,8 +18,12 @@ package com.exonum.binding.storage.indices;
 
 import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.storage.database.Fork;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * A MapIndex is an index that maps keys to values. A map cannot contain duplicate keys;
@@ -43,6 +47,23 @@ public interface MapIndex<K, V> extends StorageIndex {
    */
   boolean containsKey(K key);
 
+  /**
+   * Returns true if this map contains a mapping for each of the specified keys.
+   * Equivalent to a sequence of individual {@link #containsKey} operations.
+   *
+   * @param keys storage keys
+   * @throws NullPointerException if the passed collection is null or contains a null key
+   * @throws IllegalStateException if this map is not valid
+   */
+  default boolean containsAll(Collection<? extends K> keys) {
+    for (K key : keys) {
+      if (!containsKey(key)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Puts a new key-value pair into the map. If this map already contains
    * a mapping for the specified key, overwrites the old value with the specified value.
@@ -84,6 +105,24 @@ public interface MapIndex<K, V> extends StorageIndex {
    */
   V get(K key);
 
+  /**
+   * Returns the values associated with the specified keys. Equivalent to a sequence
+   * of individual {@link #get} operations.
+   *
+   * @param keys storage keys
+   * @return a list of the values mapped to the specified keys, in the order of the keys;
+   *         the list contains {@code null} for each key that has no mapping
+   * @throws NullPointerException if the passed collection is null or contains a null key
+   * @throws IllegalStateException if this map is not valid
+   */
+  default List<V> getAll(Collection<? extends K> keys) {
+    List<V> values = new ArrayList<>(keys.size());
+    for (K key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
   /**
    * Removes the value mapped to the specified key from the map.
    * If there is no such mapping, has no effect.
@@ -93,7 +132,22 @@ public interface MapIndex<K, V> extends StorageIndex {
    * @throws UnsupportedOperationException if this map is read-only
    */
   void remove(K key);
-  
+
+  /**
+   * Removes the values mapped to the specified keys from the map. Equivalent to a sequence
+   * of individual {@link #remove} operations.
+   *
+   * @param keys storage keys
+   * @throws NullPointerException if the passed collection is null or contains a null key
+   * @throws IllegalStateException if this map is not valid
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  default void removeAll(Collection<? extends K> keys) {
+    for (K key : keys) {
+      remove(key);
+    }
+  }
+
   /**
    * Returns an iterator over the map keys in lexicographical order.
    *
@@ -104,6 +158,19 @@ public interface MapIndex<K, V> extends StorageIndex {
    */
   Iterator<K> keys();
 
+  /**
+   * Returns an iterator over the map keys in lexicographical order, starting at
+   * the given key (inclusive). If there is no mapping for the given key, the iterator
+   * starts at the next key in the lexicographical order.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this map uses
+   * (but not necessarily on <em>this map</em>) will invalidate the iterator.
+   *
+   * @param fromKey a key to start the iteration from
+   * @throws IllegalStateException if this map is not valid
+   */
+  Iterator<K> keys(K fromKey);
+
   /**
    * Returns an iterator over the map values in lexicographical order of <em>keys</em>.
    *
@@ -114,6 +181,19 @@ public interface MapIndex<K, V> extends StorageIndex {
    */
   Iterator<V> values();
 
+  /**
+   * Returns an iterator over the map values in lexicographical order of <em>keys</em>,
+   * starting at the value mapped to the given key (inclusive). If there is no mapping
+   * for the given key, the iterator starts at the value of the next key.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this map uses
+   * (but not necessarily on <em>this map</em>) will invalidate the iterator.
+   *
+   * @param fromKey a key to start the iteration from
+   * @throws IllegalStateException if this map is not valid
+   */
+  Iterator<V> values(K fromKey);
+
   /**
    * Returns an iterator over the map entries.
    * The entries are ordered by keys in lexicographical order.
@@ -125,6 +205,35 @@ public interface MapIndex<K, V> extends StorageIndex {
    */
   Iterator<MapEntry<K, V>> entries();
 
+  /**
+   * Returns an iterator over the map entries, starting at the entry with the given key
+   * (inclusive). The entries are ordered by keys in lexicographical order.
+   * If there is no mapping for the given key, the iterator starts at the next entry.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this map uses
+   * (but not necessarily on <em>this map</em>) will invalidate the iterator.
+   *
+   * @param fromKey a key to start the iteration from
+   * @throws IllegalStateException if this map is not valid
+   */
+  Iterator<MapEntry<K, V>> entries(K fromKey);
+
+  /**
+   * Returns a stream of the entries in this map. The entries are ordered by keys
+   * lexicographically.
+   *
+   * <p>The stream is <em>late-binding</em>. If this map is created with
+   * a {@link com.exonum.binding.storage.database.Snapshot}, the stream supports efficient
+   * parallel traversal: its spliterator splits the range of keys in sub-ranges,
+   * which are traversed independently.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this map uses
+   * (but not necessarily on <em>this map</em>) will invalidate the stream.
+   *
+   * @throws IllegalStateException if this map is not valid
+   */
+  Stream<MapEntry<K, V>> entryStream();
+
   /**
    * Removes all of the key-value pairs from the map.
    * The map will be empty after this method returns.
@@ -24,13 +24,24 @@ import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.NativeDropFunction;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
 import com.exonum.binding.storage.database.View;
 import com.google.protobuf.MessageLite;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 
 /**
  * A MapIndex is an index that maps keys to values. A map cannot contain duplicate keys;
@@ -53,7 +64,10 @@ import java.util.function.LongSupplier;
  * @param <V> the type of values in this map
  * @see View
  */
-public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements MapIndex<K, V> {
+public final class MapIndexProxy<K, V> extends AbstractMapIndexProxy<K, V> {
+
+  private static final NativeDropFunction DROP_FUNCTION =
+      NativeDropFunction.from(MapIndexProxy::nativeDropFunction);
 
   private final CheckingSerializerDecorator<K> keySerializer;
   private final CheckingSerializerDecorator<V> valueSerializer;
@@ -102,14 +116,18 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
                                                        Serializer<K> keySerializer,
                                                        Serializer<V> valueSerializer) {
     checkIndexName(name);
-    CheckingSerializerDecorator<K> ks = CheckingSerializerDecorator.from(keySerializer);
-    CheckingSerializerDecorator<V> vs = CheckingSerializerDecorator.from(valueSerializer);
-
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle mapNativeHandle = createNativeMap(view,
-        () -> nativeCreate(name, viewNativeHandle));
-
-    return new MapIndexProxy<>(mapNativeHandle, name, view, ks, vs);
+    IndexCacheKey cacheKey = IndexCacheKey.of(MapIndexProxy.class, name, keySerializer,
+        valueSerializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<K> ks = CheckingSerializerDecorator.from(keySerializer);
+      CheckingSerializerDecorator<V> vs = CheckingSerializerDecorator.from(valueSerializer);
+
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle mapNativeHandle = createNativeMap(view,
+          () -> nativeCreate(name, viewNativeHandle));
+
+      return new MapIndexProxy<>(mapNativeHandle, cacheKey, view, ks, vs);
+    });
   }
 
   /**
@@ -137,67 +155,152 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
                                                             Serializer<V> valueSerializer) {
     checkIndexName(groupName);
     checkIdInGroup(mapId);
-    CheckingSerializerDecorator<K> ks = CheckingSerializerDecorator.from(keySerializer);
-    CheckingSerializerDecorator<V> vs = CheckingSerializerDecorator.from(valueSerializer);
-
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle mapNativeHandle = createNativeMap(view,
-        () -> nativeCreateInGroup(groupName, mapId, viewNativeHandle));
-
-    return new MapIndexProxy<>(mapNativeHandle, groupName, view, ks, vs);
+    IndexCacheKey cacheKey = IndexCacheKey.inGroup(MapIndexProxy.class, groupName, mapId,
+        keySerializer, valueSerializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<K> ks = CheckingSerializerDecorator.from(keySerializer);
+      CheckingSerializerDecorator<V> vs = CheckingSerializerDecorator.from(valueSerializer);
+
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle mapNativeHandle = createNativeMap(view,
+          () -> nativeCreateInGroup(groupName, mapId, viewNativeHandle));
+
+      return new MapIndexProxy<>(mapNativeHandle, cacheKey, view, ks, vs);
+    });
   }
 
   private static NativeHandle createNativeMap(View view, LongSupplier nativeMapConstructor) {
     NativeHandle mapNativeHandle = new NativeHandle(nativeMapConstructor.getAsLong());
 
     Cleaner cleaner = view.getCleaner();
-    ProxyDestructor.newRegistered(cleaner, mapNativeHandle, MapIndexProxy.class,
-        MapIndexProxy::nativeFree);
+    ProxyDestructor.register(cleaner, mapNativeHandle, MapIndexProxy.class,
+        MapIndexProxy::nativeFree, DROP_FUNCTION);
     return mapNativeHandle;
   }
 
-  private MapIndexProxy(NativeHandle nativeHandle, String name, View view,
+  private MapIndexProxy(NativeHandle nativeHandle, IndexCacheKey cacheKey, View view,
                         CheckingSerializerDecorator<K> keySerializer,
                         CheckingSerializerDecorator<V> valueSerializer) {
-    super(nativeHandle, name, view);
+    super(nativeHandle, cacheKey, view);
     this.keySerializer = keySerializer;
     this.valueSerializer = valueSerializer;
   }
 
+  @Override
+  Serializer<K> getKeySerializer() {
+    return keySerializer;
+  }
+
+  @Override
+  Serializer<V> getValueSerializer() {
+    return valueSerializer;
+  }
+
   @Override
   public boolean containsKey(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
     return nativeContainsKey(getNativeHandle(), dbKey);
   }
 
+  @Override
+  public boolean containsAll(Collection<? extends K> keys) {
+    byte[] dbKeys = PackedItems.pack(keys, keySerializer::toBytes);
+    return nativeContainsAll(getNativeHandle(), dbKeys);
+  }
+
   @Override
   public void put(K key, V value) {
     notifyModified();
-    putInternal(getNativeHandle(), key, value);
+    ByteBuffer buffer = DirectBuffers.acquire();
+    if (buffer != null) {
+      try {
+        if (tryPutDirect(key, value, buffer)) {
+          return;
+        }
+      } finally {
+        DirectBuffers.release(buffer);
+      }
+    }
+    byte[] dbKey = keySerializer.toBytes(key);
+    byte[] dbValue = valueSerializer.toBytes(value);
+    nativePut(getNativeHandle(), dbKey, dbValue);
+  }
+
+  /**
+   * Puts the entry using the direct buffer; returns false if it does not fit into the buffer.
+   */
+  private boolean tryPutDirect(K key, V value, ByteBuffer buffer) {
+    int keySize;
+    int valueSize;
+    try {
+      keySerializer.writeTo(key, buffer);
+      keySize = buffer.position();
+      valueSerializer.writeTo(value, buffer);
+      valueSize = buffer.position() - keySize;
+    } catch (BufferOverflowException e) {
+      return false;
+    }
+    nativePutDirect(getNativeHandle(), buffer, keySize, valueSize);
+    return true;
   }
 
   @Override
   public void putAll(Map<? extends K, ? extends V> sourceMap) {
     notifyModified();
-    long nativeHandle = getNativeHandle();
+    List<byte[]> dbKeys = new ArrayList<>(sourceMap.size());
+    List<byte[]> dbValues = new ArrayList<>(sourceMap.size());
     for (Map.Entry<? extends K, ? extends V> entry : sourceMap.entrySet()) {
-      putInternal(nativeHandle, entry.getKey(), entry.getValue());
+      dbKeys.add(keySerializer.toBytes(entry.getKey()));
+      dbValues.add(valueSerializer.toBytes(entry.getValue()));
     }
-  }
-
-  private void putInternal(long thisNativeHandle, K key, V value) {
-    byte[] dbKey = keySerializer.toBytes(key);
-    byte[] dbValue = valueSerializer.toBytes(value);
-    nativePut(thisNativeHandle, dbKey, dbValue);
+    nativePutAll(getNativeHandle(), PackedItems.pack(dbKeys), PackedItems.pack(dbValues));
   }
 
   @Override
   public V get(K key) {
+    ByteBuffer buffer = DirectBuffers.acquire();
+    if (buffer != null) {
+      try {
+        int valueSize = getDirect(key, buffer);
+        if (valueSize == DirectBuffers.ABSENT_VALUE_SIZE) {
+          return null;
+        }
+        if (0 <= valueSize && valueSize <= buffer.capacity()) {
+          buffer.position(0);
+          buffer.limit(valueSize);
+          return valueSerializer.fromBuffer(buffer);
+        }
+      } finally {
+        DirectBuffers.release(buffer);
+      }
+    }
     byte[] dbKey = keySerializer.toBytes(key);
     byte[] dbValue = nativeGet(getNativeHandle(), dbKey);
     return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
   }
 
+  /**
+   * Looks up the value using the direct buffer. Returns the size of the value,
+   * which is written at the start of the buffer only if it fits;
+   * {@link DirectBuffers#ABSENT_VALUE_SIZE} if there is no value;
+   * or {@link DirectBuffers#KEY_TOO_LARGE} if the key does not fit into the buffer.
+   */
+  private int getDirect(K key, ByteBuffer buffer) {
+    try {
+      keySerializer.writeTo(key, buffer);
+    } catch (BufferOverflowException e) {
+      return DirectBuffers.KEY_TOO_LARGE;
+    }
+    return nativeGetDirect(getNativeHandle(), buffer, buffer.position());
+  }
+
+  @Override
+  public List<V> getAll(Collection<? extends K> keys) {
+    byte[] dbKeys = PackedItems.pack(keys, keySerializer::toBytes);
+    byte[] dbValues = nativeGetAll(getNativeHandle(), dbKeys);
+    return PackedItems.unpackOptional(dbValues, valueSerializer::fromBytes);
+  }
+
   @Override
   public void remove(K key) {
     notifyModified();
@@ -205,11 +308,56 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
     nativeRemove(getNativeHandle(), dbKey);
   }
 
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    notifyModified();
+    byte[] dbKeys = PackedItems.pack(keys, keySerializer::toBytes);
+    nativeRemoveAll(getNativeHandle(), dbKeys);
+  }
+
+  @Override
+  byte[] getSerialized(byte[] dbKey) {
+    return nativeGet(getNativeHandle(), dbKey);
+  }
+
+  @Override
+  List<byte[]> getAllSerialized(List<byte[]> dbKeys) {
+    byte[] dbValues = nativeGetAll(getNativeHandle(), PackedItems.pack(dbKeys));
+    return PackedItems.unpackOptional(dbValues, Function.identity());
+  }
+
+  @Override
+  void putAllSerialized(List<byte[]> dbKeys, List<byte[]> dbValues) {
+    notifyModified();
+    nativePutAll(getNativeHandle(), PackedItems.pack(dbKeys), PackedItems.pack(dbValues));
+  }
+
+  @Override
+  void removeAllSerialized(List<byte[]> dbKeys) {
+    notifyModified();
+    nativeRemoveAll(getNativeHandle(), PackedItems.pack(dbKeys));
+  }
+
   @Override
   public Iterator<K> keys() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedIterator(
         nativeCreateKeysIter(getNativeHandle()),
-        this::nativeKeysIterNext,
+        this::nativeKeysIterNextChunk,
+        PackedItems::readItem,
+        this::nativeKeysIterFree,
+        dbView,
+        modCounter,
+        keySerializer::fromBytes
+    );
+  }
+
+  @Override
+  public Iterator<K> keys(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return StorageIterators.createChunkedIterator(
+        nativeKeysFrom(getNativeHandle(), dbFromKey),
+        this::nativeKeysIterNextChunk,
+        PackedItems::readItem,
         this::nativeKeysIterFree,
         dbView,
         modCounter,
@@ -219,9 +367,24 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   @Override
   public Iterator<V> values() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedIterator(
         nativeCreateValuesIter(getNativeHandle()),
-        this::nativeValuesIterNext,
+        this::nativeValuesIterNextChunk,
+        PackedItems::readItem,
+        this::nativeValuesIterFree,
+        dbView,
+        modCounter,
+        valueSerializer::fromBytes
+    );
+  }
+
+  @Override
+  public Iterator<V> values(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return StorageIterators.createChunkedIterator(
+        nativeValuesFrom(getNativeHandle(), dbFromKey),
+        this::nativeValuesIterNextChunk,
+        PackedItems::readItem,
         this::nativeValuesIterFree,
         dbView,
         modCounter,
@@ -231,9 +394,24 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   @Override
   public Iterator<MapEntry<K, V>> entries() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedIterator(
         nativeCreateEntriesIter(getNativeHandle()),
-        this::nativeEntriesIterNext,
+        this::nativeEntriesIterNextChunk,
+        PackedItems::readEntry,
+        this::nativeEntriesIterFree,
+        dbView,
+        modCounter,
+        (entry) -> entry.toMapEntry(entry, keySerializer, valueSerializer)
+    );
+  }
+
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return StorageIterators.createChunkedIterator(
+        nativeCreateIterFrom(getNativeHandle(), dbFromKey),
+        this::nativeEntriesIterNextChunk,
+        PackedItems::readEntry,
         this::nativeEntriesIterFree,
         dbView,
         modCounter,
@@ -241,12 +419,66 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
     );
   }
 
+  @Override
+  public Stream<MapEntry<K, V>> entryStream() {
+    Spliterator<MapEntry<K, V>> spliterator = new KeyRangeSpliterator<>(
+        new OrderedEntries(),
+        (entry) -> entry.toMapEntry(entry, keySerializer, valueSerializer),
+        KeyRangeSpliterator.VARIABLE_KEY_SIZE,
+        !dbView.canModify());
+    return StreamSupport.stream(spliterator, false);
+  }
+
   private native long nativeCreateEntriesIter(long nativeHandle);
 
-  private native MapEntryInternal nativeEntriesIterNext(long iterNativeHandle);
+  private native long nativeCreateIterFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[] nativeEntriesIterNextChunk(long iterNativeHandle, int maxItems);
 
   private native void nativeEntriesIterFree(long iterNativeHandle);
 
+  /**
+   * Native operations over the entries of this map, ordered by keys.
+   */
+  private final class OrderedEntries
+      implements KeyRangeSpliterator.KeyOrderedIndex<MapEntryInternal> {
+
+    @Override
+    public Iterator<MapEntryInternal> iterator(@Nullable byte[] fromKey) {
+      return StorageIterators.createChunkedIterator(
+          createEntriesIter(fromKey),
+          MapIndexProxy.this::nativeEntriesIterNextChunk,
+          PackedItems::readEntry,
+          MapIndexProxy.this::nativeEntriesIterFree,
+          dbView,
+          modCounter,
+          Function.identity()
+      );
+    }
+
+    @Override
+    public List<MapEntryInternal> firstItems(@Nullable byte[] fromKey, int maxItems) {
+      return StorageIterators.readFirstChunk(
+          createEntriesIter(fromKey),
+          MapIndexProxy.this::nativeEntriesIterNextChunk,
+          PackedItems::readEntry,
+          MapIndexProxy.this::nativeEntriesIterFree,
+          maxItems
+      );
+    }
+
+    private long createEntriesIter(@Nullable byte[] fromKey) {
+      return (fromKey == null)
+          ? nativeCreateEntriesIter(getNativeHandle())
+          : nativeCreateIterFrom(getNativeHandle(), fromKey);
+    }
+
+    @Override
+    public byte[] keyOf(MapEntryInternal entry) {
+      return entry.key;
+    }
+  }
+
   @Override
   public void clear() {
     notifyModified();
@@ -260,26 +492,45 @@ public final class MapIndexProxy<K, V> extends AbstractIndexProxy implements Map
 
   private native boolean nativeContainsKey(long nativeHandle, byte[] key);
 
+  private native boolean nativeContainsAll(long nativeHandle, byte[] keys);
+
   private native void nativePut(long nativeHandle, byte[] key, byte[] value);
 
+  private native void nativePutDirect(long nativeHandle, ByteBuffer buffer, int keySize,
+      int valueSize);
+
+  private native void nativePutAll(long nativeHandle, byte[] keys, byte[] values);
+
   private native byte[] nativeGet(long nativeHandle, byte[] key);
 
+  private native int nativeGetDirect(long nativeHandle, ByteBuffer buffer, int keySize);
+
+  private native byte[] nativeGetAll(long nativeHandle, byte[] keys);
+
   private native void nativeRemove(long nativeHandle, byte[] key);
 
+  private native void nativeRemoveAll(long nativeHandle, byte[] keys);
+
   private native long nativeCreateKeysIter(long nativeHandle);
 
-  private native byte[] nativeKeysIterNext(long iterNativeHandle);
+  private native byte[] nativeKeysIterNextChunk(long iterNativeHandle, int maxItems);
 
   private native void nativeKeysIterFree(long iterNativeHandle);
 
+  private static native long nativeKeysFrom(long nativeHandle, byte[] fromKey);
+
   private native long nativeCreateValuesIter(long nativeHandle);
 
-  private native byte[] nativeValuesIterNext(long iterNativeHandle);
+  private native byte[] nativeValuesIterNextChunk(long iterNativeHandle, int maxItems);
 
   private native void nativeValuesIterFree(long iterNativeHandle);
 
+  private static native long nativeValuesFrom(long nativeHandle, byte[] fromKey);
+
   private native void nativeClear(long nativeHandle);
 
   private static native void nativeFree(long nativeHandle);
 
+  private static native long nativeDropFunction();
+
 }
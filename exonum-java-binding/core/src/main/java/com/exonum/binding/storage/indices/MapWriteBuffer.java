@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.ModificationCounter;
+import com.exonum.binding.storage.database.WriteBuffer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * A buffer of the modifications of a map in a fork, shared by all the
+ * {@linkplain BufferedMapIndex buffered maps} of the same map in the fork. The buffer holds
+ * the serialized entries, keyed by the serialized keys, therefore it does not depend
+ * on the serializers of the particular map proxy.
+ *
+ * <p>The buffer notifies the modification counter of the fork of each buffered modification,
+ * so that the iterators over the fork fail and the other decorators discard their cached
+ * values, as if the modification was made to the fork.
+ */
+final class MapWriteBuffer implements WriteBuffer {
+
+  private final AbstractMapIndexProxy<?, ?> map;
+  private final ModificationCounter modCounter;
+  /** The known serialized values by serialized key; null if the key is absent in the map. */
+  private final Map<ByteString, ByteString> values;
+  /** The keys modified since the last flush. */
+  private final Set<ByteString> modifiedKeys;
+  private int lastModCount;
+
+  /**
+   * Returns the write buffer of the given map in the fork. Creates and registers
+   * a new buffer in the fork if there is none.
+   *
+   * @param map a proxy of the map created with the fork
+   * @param fork the fork of the map
+   */
+  static MapWriteBuffer findOrCreate(AbstractMapIndexProxy<?, ?> map, Fork fork) {
+    return fork.findOrCreateIndex(map.getWriteBufferKey(), () -> {
+      MapWriteBuffer buffer = new MapWriteBuffer(map, fork.getModificationCounter());
+      fork.registerWriteBuffer(buffer);
+      return buffer;
+    });
+  }
+
+  @VisibleForTesting
+  MapWriteBuffer(AbstractMapIndexProxy<?, ?> map, ModificationCounter modCounter) {
+    this.map = checkNotNull(map);
+    this.modCounter = checkNotNull(modCounter);
+    this.values = new HashMap<>();
+    this.modifiedKeys = new LinkedHashSet<>();
+    this.lastModCount = modCounter.getCurrentValue();
+  }
+
+  /**
+   * Returns the serialized value associated with the serialized key, or {@code null}
+   * if the key is absent. The value is read from the map if it is not known.
+   */
+  @Nullable
+  ByteString get(ByteString key) {
+    discardReadsIfModified();
+    if (values.containsKey(key)) {
+      return values.get(key);
+    }
+    ByteString value = wrap(map.getSerialized(key.toByteArray()));
+    values.put(key, value);
+    return value;
+  }
+
+  /**
+   * Returns the serialized values associated with the serialized keys, in the order
+   * of the keys. The values that are not known are read from the map with a single request.
+   */
+  List<ByteString> getAll(List<ByteString> keys) {
+    discardReadsIfModified();
+    Set<ByteString> missingKeys = new LinkedHashSet<>();
+    for (ByteString key : keys) {
+      if (!values.containsKey(key)) {
+        missingKeys.add(key);
+      }
+    }
+    if (!missingKeys.isEmpty()) {
+      List<byte[]> dbKeys = new ArrayList<>(missingKeys.size());
+      for (ByteString key : missingKeys) {
+        dbKeys.add(key.toByteArray());
+      }
+      List<byte[]> dbValues = map.getAllSerialized(dbKeys);
+      int i = 0;
+      for (ByteString key : missingKeys) {
+        values.put(key, wrap(dbValues.get(i++)));
+      }
+    }
+    List<ByteString> result = new ArrayList<>(keys.size());
+    for (ByteString key : keys) {
+      result.add(values.get(key));
+    }
+    return result;
+  }
+
+  /**
+   * Buffers the modification of the serialized key.
+   *
+   * @param key a serialized key
+   * @param value a serialized value to associate with the key,
+   *     or {@code null} to remove the key from the map
+   */
+  void put(ByteString key, @Nullable ByteString value) {
+    discardReadsIfModified();
+    modCounter.notifyModified();
+    values.put(key, value);
+    modifiedKeys.add(key);
+    updateModCount();
+  }
+
+  /**
+   * Removes all the entries from the map and discards the buffered modifications.
+   */
+  void clear() {
+    map.clear();
+    values.clear();
+    modifiedKeys.clear();
+    updateModCount();
+  }
+
+  /**
+   * Returns the number of keys modified since the last flush.
+   */
+  int getPendingWriteCount() {
+    return modifiedKeys.size();
+  }
+
+  @Override
+  public boolean hasPendingWrites() {
+    return !modifiedKeys.isEmpty();
+  }
+
+  /**
+   * Writes the buffered modifications to the fork: the removed keys with a single request,
+   * and the put entries with a single request.
+   */
+  @Override
+  public void flush() {
+    if (modifiedKeys.isEmpty()) {
+      return;
+    }
+    List<byte[]> removedKeys = new ArrayList<>();
+    List<byte[]> putKeys = new ArrayList<>();
+    List<byte[]> putValues = new ArrayList<>();
+    for (ByteString key : modifiedKeys) {
+      ByteString value = values.get(key);
+      if (value == null) {
+        removedKeys.add(key.toByteArray());
+      } else {
+        putKeys.add(key.toByteArray());
+        putValues.add(value.toByteArray());
+      }
+    }
+    if (!removedKeys.isEmpty()) {
+      map.removeAllSerialized(removedKeys);
+    }
+    if (!putKeys.isEmpty()) {
+      map.putAllSerialized(putKeys, putValues);
+    }
+    modifiedKeys.clear();
+    updateModCount();
+  }
+
+  private void discardReadsIfModified() {
+    if (modCounter.isModifiedSince(lastModCount)) {
+      values.keySet().retainAll(modifiedKeys);
+      updateModCount();
+    }
+  }
+
+  private void updateModCount() {
+    lastModCount = modCounter.getCurrentValue();
+  }
+
+  @Nullable
+  private static ByteString wrap(@Nullable byte[] dbValue) {
+    // The arrays returned by the native code are not shared, therefore need no copying
+    return (dbValue == null) ? null : UnsafeByteOperations.unsafeWrap(dbValue);
+  }
+
+  @Override
+  public String toString() {
+    return "MapWriteBuffer{" + map.getName() + "}";
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Packs items into chunks passed to the native code, and reads items packed
+ * by the native code.
+ *
+ * <p>A chunk is a sequence of items, each prefixed with its length in bytes,
+ * encoded as a big-endian 32-bit integer. A map entry is encoded as two consecutive items:
+ * a key and a value. In a chunk of optional items an absent item is encoded
+ * as a single length prefix equal to {@value #ABSENT_ITEM_LENGTH}.
+ *
+ * <p>The format must be kept in sync with the native {@code utils::chunk} module.
+ */
+final class PackedItems {
+
+  private static final int LENGTH_PREFIX_SIZE = Integer.BYTES;
+
+  /**
+   * The length prefix of an absent item: {@code 0xFFFFFFFF} (u32::MAX) as a signed integer.
+   */
+  static final int ABSENT_ITEM_LENGTH = -1;
+
+  /**
+   * Packs the given items into a chunk.
+   *
+   * @param items the items to pack
+   */
+  static byte[] pack(Collection<byte[]> items) {
+    int chunkSize = 0;
+    for (byte[] item : items) {
+      chunkSize += LENGTH_PREFIX_SIZE + item.length;
+    }
+    ByteBuffer chunk = ByteBuffer.allocate(chunkSize);
+    for (byte[] item : items) {
+      chunk.putInt(item.length)
+          .put(item);
+    }
+    return chunk.array();
+  }
+
+  /**
+   * Converts the given items to bytes and packs them into a chunk.
+   *
+   * @param items the items to pack
+   * @param toBytes a function converting an item to bytes
+   */
+  static <T> byte[] pack(Collection<? extends T> items, Function<? super T, byte[]> toBytes) {
+    List<byte[]> packedItems = new ArrayList<>(items.size());
+    for (T item : items) {
+      packedItems.add(toBytes.apply(item));
+    }
+    return pack(packedItems);
+  }
+
+  /**
+   * Reads all the items from the chunk.
+   *
+   * @param chunk a chunk of packed items
+   * @param fromBytes a function converting an item from bytes
+   * @return a list of the converted items in the order they are packed
+   */
+  static <T> List<T> unpack(byte[] chunk, Function<byte[], ? extends T> fromBytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(chunk);
+    List<T> items = new ArrayList<>();
+    while (buffer.hasRemaining()) {
+      byte[] item = readItem(buffer);
+      items.add(fromBytes.apply(item));
+    }
+    return items;
+  }
+
+  /**
+   * Reads all the optional items from the chunk.
+   *
+   * @param chunk a chunk of packed optional items
+   * @param fromBytes a function converting a present item from bytes
+   * @return a list of the converted items in the order they are packed,
+   *         containing {@code null} for each absent item
+   */
+  static <T> List<T> unpackOptional(byte[] chunk, Function<byte[], ? extends T> fromBytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(chunk);
+    List<T> items = new ArrayList<>();
+    while (buffer.hasRemaining()) {
+      byte[] item = readOptionalItem(buffer);
+      items.add((item == null) ? null : fromBytes.apply(item));
+    }
+    return items;
+  }
+
+  /**
+   * Reads the next item from the chunk.
+   *
+   * @param chunk a buffer with packed items, positioned at the start of an item
+   * @throws java.nio.BufferUnderflowException if the chunk does not contain a whole item
+   */
+  static byte[] readItem(ByteBuffer chunk) {
+    int length = chunk.getInt();
+    byte[] item = new byte[length];
+    chunk.get(item);
+    return item;
+  }
+
+  /**
+   * Reads the next optional item from the chunk.
+   *
+   * @param chunk a buffer with packed optional items, positioned at the start of an item
+   * @return the item, or {@code null} if it is absent
+   * @throws java.nio.BufferUnderflowException if the chunk does not contain a whole item
+   */
+  @Nullable
+  static byte[] readOptionalItem(ByteBuffer chunk) {
+    int length = chunk.getInt();
+    if (length == ABSENT_ITEM_LENGTH) {
+      return null;
+    }
+    checkState(length >= 0, "Invalid item length: %s", length);
+    byte[] item = new byte[length];
+    chunk.get(item);
+    return item;
+  }
+
+  /**
+   * Reads the next map entry from the chunk.
+   *
+   * @param chunk a buffer with packed entries, positioned at the start of an entry
+   * @throws java.nio.BufferUnderflowException if the chunk does not contain a whole entry
+   */
+  static MapEntryInternal readEntry(ByteBuffer chunk) {
+    byte[] key = readItem(chunk);
+    byte[] value = readItem(chunk);
+    return new MapEntryInternal(key, value);
+  }
+
+  private PackedItems() {}
+}
@@ -22,13 +22,13 @@ import static com.exonum.binding.storage.indices.StoragePreconditions.checkIndex
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkPositionIndex;
 
 import com.exonum.binding.common.hash.HashCode;
-import com.exonum.binding.common.proofs.list.ListProofNode;
+import com.exonum.binding.common.proofs.list.PackedListProof;
 import com.exonum.binding.common.proofs.list.UncheckedListProof;
-import com.exonum.binding.common.proofs.list.UncheckedListProofAdapter;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.NativeDropFunction;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
 import com.exonum.binding.storage.database.View;
@@ -59,6 +59,9 @@ import java.util.function.LongSupplier;
 public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
     implements ListIndex<E> {
 
+  private static final NativeDropFunction DROP_FUNCTION =
+      NativeDropFunction.from(ProofListIndexProxy::nativeDropFunction);
+
   /**
    * Creates a new ProofListIndexProxy storing protobuf messages.
    *
@@ -93,13 +96,16 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
   public static <E> ProofListIndexProxy<E> newInstance(
       String name, View view, Serializer<E> serializer) {
     checkIndexName(name);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.of(ProofListIndexProxy.class, name, serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle listNativeHandle = createNativeList(view,
-        () -> nativeCreate(name, viewNativeHandle));
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle listNativeHandle = createNativeList(view,
+          () -> nativeCreate(name, viewNativeHandle));
 
-    return new ProofListIndexProxy<>(listNativeHandle, name, view, s);
+      return new ProofListIndexProxy<>(listNativeHandle, name, view, s);
+    });
   }
 
   private static native long nativeCreate(String listName, long viewNativeHandle);
@@ -124,13 +130,17 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
                                                             View view, Serializer<E> serializer) {
     checkIndexName(groupName);
     checkIdInGroup(listId);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.inGroup(ProofListIndexProxy.class, groupName, listId,
+        serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle setNativeHandle = createNativeList(view,
-        () -> nativeCreateInGroup(groupName, listId, viewNativeHandle));
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle setNativeHandle = createNativeList(view,
+          () -> nativeCreateInGroup(groupName, listId, viewNativeHandle));
 
-    return new ProofListIndexProxy<>(setNativeHandle, groupName, view, s);
+      return new ProofListIndexProxy<>(setNativeHandle, groupName, view, s);
+    });
   }
 
   private static native long nativeCreateInGroup(String groupName, byte[] listId,
@@ -140,8 +150,8 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
     NativeHandle listNativeHandle = new NativeHandle(nativeListConstructor.getAsLong());
 
     Cleaner cleaner = view.getCleaner();
-    ProxyDestructor.newRegistered(cleaner, listNativeHandle, ProofListIndexProxy.class,
-        ProofListIndexProxy::nativeFree);
+    ProxyDestructor.register(cleaner, listNativeHandle, ProofListIndexProxy.class,
+        ProofListIndexProxy::nativeFree, DROP_FUNCTION);
     return listNativeHandle;
   }
 
@@ -160,11 +170,11 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
   public UncheckedListProof getProof(long index) {
     checkElementIndex(index, size());
 
-    ListProofNode listProofNode = nativeGetProof(getNativeHandle(), index);
-    return new UncheckedListProofAdapter<>(listProofNode, this.serializer);
+    byte[] packedProof = nativeGetProof(getNativeHandle(), index);
+    return PackedListProof.fromBytes(packedProof, this.serializer);
   }
 
-  private native ListProofNode nativeGetProof(long nativeHandle, long index);
+  private native byte[] nativeGetProof(long nativeHandle, long index);
 
   /**
    * Returns a proof that some elements exist in the specified range in this list.
@@ -176,14 +186,14 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
    */
   public UncheckedListProof getRangeProof(long from, long to) {
     long size = size();
-    ListProofNode listProofNode = nativeGetRangeProof(getNativeHandle(),
+    byte[] packedProof = nativeGetRangeProof(getNativeHandle(),
         checkElementIndex(from, size),
         checkPositionIndex(to, size));
 
-    return new UncheckedListProofAdapter<>(listProofNode, this.serializer);
+    return PackedListProof.fromBytes(packedProof, this.serializer);
   }
 
-  private native ListProofNode nativeGetRangeProof(long nativeHandle, long from, long to);
+  private native byte[] nativeGetRangeProof(long nativeHandle, long from, long to);
 
   /**
    * Returns the root hash of the proof list.
@@ -198,15 +208,23 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
 
   private static native void nativeFree(long nativeHandle);
 
+  private static native long nativeDropFunction();
+
   @Override
   native void nativeAdd(long nativeHandle, byte[] e);
 
+  @Override
+  native void nativeAddAll(long nativeHandle, byte[] packedElements);
+
   @Override
   native void nativeSet(long nativeHandle, long index, byte[] e);
 
   @Override
   native byte[] nativeGet(long nativeHandle, long index);
 
+  @Override
+  native byte[] nativeGetRange(long nativeHandle, long fromIndex, long toIndex);
+
   @Override
   native byte[] nativeGetLast(long nativeHandle);
 
@@ -223,7 +241,10 @@ public final class ProofListIndexProxy<E> extends AbstractListIndexProxy<E>
   native long nativeCreateIter(long nativeHandle);
 
   @Override
-  native byte[] nativeIterNext(long iterNativeHandle);
+  native long nativeIterFrom(long nativeHandle, long fromIndex);
+
+  @Override
+  native byte[] nativeIterNextChunk(long iterNativeHandle, int maxItems);
 
   @Override
   native void nativeIterFree(long iterNativeHandle);
@@ -23,21 +23,30 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.exonum.binding.common.collect.MapEntry;
 import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.proofs.map.UncheckedFlatMapProof;
 import com.exonum.binding.common.proofs.map.UncheckedMapProof;
 import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.NativeDropFunction;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
 import com.exonum.binding.storage.database.View;
 import com.google.common.collect.Lists;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 
 /**
  * A ProofMapIndexProxy is an index that maps keys to values. A map cannot contain duplicate keys;
@@ -63,7 +72,10 @@ import java.util.function.LongSupplier;
  * @param <V> the type of values in this map
  * @see View
  */
-public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implements MapIndex<K, V> {
+public final class ProofMapIndexProxy<K, V> extends AbstractMapIndexProxy<K, V> {
+
+  private static final NativeDropFunction DROP_FUNCTION =
+      NativeDropFunction.from(ProofMapIndexProxy::nativeDropFunction);
 
   private final ProofMapKeyCheckingSerializerDecorator<K> keySerializer;
   private final CheckingSerializerDecorator<V> valueSerializer;
@@ -86,15 +98,19 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   public static <K, V> ProofMapIndexProxy<K, V> newInstance(
       String name, View view, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
     checkIndexName(name);
-    ProofMapKeyCheckingSerializerDecorator<K> ks =
-        ProofMapKeyCheckingSerializerDecorator.from(keySerializer);
-    CheckingSerializerDecorator<V> vs = CheckingSerializerDecorator.from(valueSerializer);
-
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle mapNativeHandle = createNativeMap(view,
-        () -> nativeCreate(name, viewNativeHandle));
-
-    return new ProofMapIndexProxy<>(mapNativeHandle, name, view, ks, vs);
+    IndexCacheKey cacheKey = IndexCacheKey.of(ProofMapIndexProxy.class, name, keySerializer,
+        valueSerializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      ProofMapKeyCheckingSerializerDecorator<K> ks =
+          ProofMapKeyCheckingSerializerDecorator.from(keySerializer);
+      CheckingSerializerDecorator<V> vs = CheckingSerializerDecorator.from(valueSerializer);
+
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle mapNativeHandle = createNativeMap(view,
+          () -> nativeCreate(name, viewNativeHandle));
+
+      return new ProofMapIndexProxy<>(mapNativeHandle, cacheKey, view, ks, vs);
+    });
   }
 
   /**
@@ -122,23 +138,27 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
                                                                  Serializer<V> valueSerializer) {
     checkIndexName(groupName);
     checkIdInGroup(mapId);
-    ProofMapKeyCheckingSerializerDecorator<K> ks =
-        ProofMapKeyCheckingSerializerDecorator.from(keySerializer);
-    CheckingSerializerDecorator<V> vs = CheckingSerializerDecorator.from(valueSerializer);
-
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle mapNativeHandle = createNativeMap(view,
-        () -> nativeCreateInGroup(groupName, mapId, viewNativeHandle));
-
-    return new ProofMapIndexProxy<>(mapNativeHandle, groupName, view, ks, vs);
+    IndexCacheKey cacheKey = IndexCacheKey.inGroup(ProofMapIndexProxy.class, groupName, mapId,
+        keySerializer, valueSerializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      ProofMapKeyCheckingSerializerDecorator<K> ks =
+          ProofMapKeyCheckingSerializerDecorator.from(keySerializer);
+      CheckingSerializerDecorator<V> vs = CheckingSerializerDecorator.from(valueSerializer);
+
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle mapNativeHandle = createNativeMap(view,
+          () -> nativeCreateInGroup(groupName, mapId, viewNativeHandle));
+
+      return new ProofMapIndexProxy<>(mapNativeHandle, cacheKey, view, ks, vs);
+    });
   }
 
   private static NativeHandle createNativeMap(View view, LongSupplier nativeMapConstructor) {
     NativeHandle mapNativeHandle = new NativeHandle(nativeMapConstructor.getAsLong());
 
     Cleaner cleaner = view.getCleaner();
-    ProxyDestructor.newRegistered(cleaner, mapNativeHandle, ProofMapIndexProxy.class,
-        ProofMapIndexProxy::nativeFree);
+    ProxyDestructor.register(cleaner, mapNativeHandle, ProofMapIndexProxy.class,
+        ProofMapIndexProxy::nativeFree, DROP_FUNCTION);
     return mapNativeHandle;
   }
 
@@ -147,14 +167,24 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   private static native long nativeCreateInGroup(String groupName, byte[] mapId,
                                                  long viewNativeHandle);
 
-  private ProofMapIndexProxy(NativeHandle nativeHandle, String name, View view,
+  private ProofMapIndexProxy(NativeHandle nativeHandle, IndexCacheKey cacheKey, View view,
                              ProofMapKeyCheckingSerializerDecorator<K> keySerializer,
                              CheckingSerializerDecorator<V> valueSerializer) {
-    super(nativeHandle, name, view);
+    super(nativeHandle, cacheKey, view);
     this.keySerializer = keySerializer;
     this.valueSerializer = valueSerializer;
   }
 
+  @Override
+  Serializer<K> getKeySerializer() {
+    return keySerializer;
+  }
+
+  @Override
+  Serializer<V> getValueSerializer() {
+    return valueSerializer;
+  }
+
   @Override
   public boolean containsKey(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
@@ -163,6 +193,20 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private native boolean nativeContainsKey(long nativeHandle, byte[] key);
 
+  /**
+   * {@inheritDoc}
+   *
+   * @param keys proof map keys, each must be 32-byte long when serialized
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the size of any key is not 32 bytes
+   */
+  @Override
+  public boolean containsAll(Collection<? extends K> keys) {
+    return nativeContainsAll(getNativeHandle(), mergeKeysIntoByteArray(keys));
+  }
+
+  private native boolean nativeContainsAll(long nativeHandle, byte[] keys);
+
   /**
    * {@inheritDoc}
    *
@@ -179,32 +223,123 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     putInternal(nativeHandle, key, value);
   }
 
-  @Override
-  public void putAll(Map<? extends K, ? extends V> sourceMap) {
-    notifyModified();
-    long nativeHandle = getNativeHandle();
-    for (Map.Entry<? extends K, ? extends V> entry : sourceMap.entrySet()) {
-      putInternal(nativeHandle, entry.getKey(), entry.getValue());
-    }
-  }
-
   private void putInternal(long nativeHandle, K key, V value) {
+    ByteBuffer buffer = DirectBuffers.acquire();
+    if (buffer != null) {
+      try {
+        if (tryPutDirect(nativeHandle, key, value, buffer)) {
+          return;
+        }
+      } finally {
+        DirectBuffers.release(buffer);
+      }
+    }
     byte[] dbKey = keySerializer.toBytes(key);
     byte[] dbValue = valueSerializer.toBytes(value);
     nativePut(nativeHandle, dbKey, dbValue);
   }
 
+  /**
+   * Puts the entry using the direct buffer; returns false if it does not fit into the buffer.
+   */
+  private boolean tryPutDirect(long nativeHandle, K key, V value, ByteBuffer buffer) {
+    int valueSize;
+    try {
+      keySerializer.writeTo(key, buffer);
+      valueSerializer.writeTo(value, buffer);
+      valueSize = buffer.position() - PROOF_MAP_KEY_SIZE;
+    } catch (BufferOverflowException e) {
+      return false;
+    }
+    nativePutDirect(nativeHandle, buffer, valueSize);
+    return true;
+  }
+
   private native void nativePut(long nativeHandle, byte[] key, byte[] value);
 
+  private native void nativePutDirect(long nativeHandle, ByteBuffer buffer, int valueSize);
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param sourceMap a map to put into this one; each key must be 32-byte long when serialized
+   * @throws NullPointerException if the passed map is null or contains a null key or values
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the size of any key is not 32 bytes
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  @Override
+  public void putAll(Map<? extends K, ? extends V> sourceMap) {
+    notifyModified();
+    int numEntries = sourceMap.size();
+    ByteBuffer dbKeys = ByteBuffer.allocate(numEntries * PROOF_MAP_KEY_SIZE);
+    List<byte[]> dbValues = new ArrayList<>(numEntries);
+    for (Map.Entry<? extends K, ? extends V> entry : sourceMap.entrySet()) {
+      dbKeys.put(keySerializer.toBytes(entry.getKey()));
+      dbValues.add(valueSerializer.toBytes(entry.getValue()));
+    }
+    nativePutAll(getNativeHandle(), dbKeys.array(), PackedItems.pack(dbValues));
+  }
+
+  private native void nativePutAll(long nativeHandle, byte[] keys, byte[] values);
+
   @Override
   public V get(K key) {
+    ByteBuffer buffer = DirectBuffers.acquire();
+    if (buffer != null) {
+      try {
+        int valueSize = getDirect(key, buffer);
+        if (valueSize == DirectBuffers.ABSENT_VALUE_SIZE) {
+          return null;
+        }
+        if (0 <= valueSize && valueSize <= buffer.capacity()) {
+          buffer.position(0);
+          buffer.limit(valueSize);
+          return valueSerializer.fromBuffer(buffer);
+        }
+      } finally {
+        DirectBuffers.release(buffer);
+      }
+    }
     byte[] dbKey = keySerializer.toBytes(key);
     byte[] dbValue = nativeGet(getNativeHandle(), dbKey);
     return (dbValue == null) ? null : valueSerializer.fromBytes(dbValue);
   }
 
+  /**
+   * Looks up the value using the direct buffer. Returns the size of the value,
+   * which is written at the start of the buffer only if it fits;
+   * {@link DirectBuffers#ABSENT_VALUE_SIZE} if there is no value;
+   * or {@link DirectBuffers#KEY_TOO_LARGE} if the key does not fit into the buffer.
+   */
+  private int getDirect(K key, ByteBuffer buffer) {
+    try {
+      keySerializer.writeTo(key, buffer);
+    } catch (BufferOverflowException e) {
+      return DirectBuffers.KEY_TOO_LARGE;
+    }
+    return nativeGetDirect(getNativeHandle(), buffer);
+  }
+
   private native byte[] nativeGet(long nativeHandle, byte[] key);
 
+  private native int nativeGetDirect(long nativeHandle, ByteBuffer buffer);
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param keys proof map keys, each must be 32-byte long when serialized
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the size of any key is not 32 bytes
+   */
+  @Override
+  public List<V> getAll(Collection<? extends K> keys) {
+    byte[] dbValues = nativeGetAll(getNativeHandle(), mergeKeysIntoByteArray(keys));
+    return PackedItems.unpackOptional(dbValues, valueSerializer::fromBytes);
+  }
+
+  private native byte[] nativeGetAll(long nativeHandle, byte[] keys);
+
   /**
    * Returns a proof that there are values mapped to the specified keys or that there are no such
    * mappings.
@@ -246,13 +381,15 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private UncheckedMapProof getSingleKeyProof(K key) {
     byte[] dbKey = keySerializer.toBytes(key);
-    return nativeGetProof(getNativeHandle(), dbKey);
+    byte[] packedProof = nativeGetProof(getNativeHandle(), dbKey);
+    return UncheckedFlatMapProof.fromBytes(packedProof);
   }
 
-  private native UncheckedMapProof nativeGetProof(long nativeHandle, byte[] key);
+  private native byte[] nativeGetProof(long nativeHandle, byte[] key);
 
   private UncheckedMapProof getMultiKeyProof(Collection<? extends K> keys) {
-    return nativeGetMultiProof(getNativeHandle(), mergeKeysIntoByteArray(keys));
+    byte[] packedProof = nativeGetMultiProof(getNativeHandle(), mergeKeysIntoByteArray(keys));
+    return UncheckedFlatMapProof.fromBytes(packedProof);
   }
 
   private byte[] mergeKeysIntoByteArray(Collection<? extends K> keys) {
@@ -264,7 +401,7 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     return flattenedKeys.array();
   }
 
-  private native UncheckedMapProof nativeGetMultiProof(long nativeHandle, byte[] keys);
+  private native byte[] nativeGetMultiProof(long nativeHandle, byte[] keys);
 
   /**
    * Returns the root hash of the underlying Merkle-Patricia tree.
@@ -286,11 +423,79 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private native void nativeRemove(long nativeHandle, byte[] key);
 
+  /**
+   * {@inheritDoc}
+   *
+   * @param keys proof map keys, each must be 32-byte long when serialized
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the size of any key is not 32 bytes
+   * @throws UnsupportedOperationException if this map is read-only
+   */
+  @Override
+  public void removeAll(Collection<? extends K> keys) {
+    notifyModified();
+    nativeRemoveAll(getNativeHandle(), mergeKeysIntoByteArray(keys));
+  }
+
+  private native void nativeRemoveAll(long nativeHandle, byte[] keys);
+
+  @Override
+  byte[] getSerialized(byte[] dbKey) {
+    return nativeGet(getNativeHandle(), dbKey);
+  }
+
+  @Override
+  List<byte[]> getAllSerialized(List<byte[]> dbKeys) {
+    byte[] dbValues = nativeGetAll(getNativeHandle(), mergeSerializedKeys(dbKeys));
+    return PackedItems.unpackOptional(dbValues, Function.identity());
+  }
+
+  @Override
+  void putAllSerialized(List<byte[]> dbKeys, List<byte[]> dbValues) {
+    notifyModified();
+    nativePutAll(getNativeHandle(), mergeSerializedKeys(dbKeys), PackedItems.pack(dbValues));
+  }
+
+  @Override
+  void removeAllSerialized(List<byte[]> dbKeys) {
+    notifyModified();
+    nativeRemoveAll(getNativeHandle(), mergeSerializedKeys(dbKeys));
+  }
+
+  private static byte[] mergeSerializedKeys(List<byte[]> dbKeys) {
+    ByteBuffer flattenedKeys = ByteBuffer.allocate(dbKeys.size() * PROOF_MAP_KEY_SIZE);
+    dbKeys.forEach(flattenedKeys::put);
+    return flattenedKeys.array();
+  }
+
   @Override
   public Iterator<K> keys() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedIterator(
         nativeCreateKeysIter(getNativeHandle()),
-        this::nativeKeysIterNext,
+        this::nativeKeysIterNextChunk,
+        PackedItems::readItem,
+        this::nativeKeysIterFree,
+        dbView,
+        modCounter,
+        keySerializer::fromBytes
+    );
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param fromKey a proof map key to start the iteration from, must be 32-byte long
+   *                when serialized
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the size of the key is not 32 bytes
+   */
+  @Override
+  public Iterator<K> keys(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return StorageIterators.createChunkedIterator(
+        nativeKeysFrom(getNativeHandle(), dbFromKey),
+        this::nativeKeysIterNextChunk,
+        PackedItems::readItem,
         this::nativeKeysIterFree,
         dbView,
         modCounter,
@@ -300,15 +505,40 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private native long nativeCreateKeysIter(long nativeHandle);
 
-  private native byte[] nativeKeysIterNext(long iterNativeHandle);
+  private static native long nativeKeysFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[] nativeKeysIterNextChunk(long iterNativeHandle, int maxItems);
 
   private native void nativeKeysIterFree(long iterNativeHandle);
 
   @Override
   public Iterator<V> values() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedIterator(
         nativeCreateValuesIter(getNativeHandle()),
-        this::nativeValuesIterNext,
+        this::nativeValuesIterNextChunk,
+        PackedItems::readItem,
+        this::nativeValuesIterFree,
+        dbView,
+        modCounter,
+        valueSerializer::fromBytes
+    );
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param fromKey a proof map key to start the iteration from, must be 32-byte long
+   *                when serialized
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the size of the key is not 32 bytes
+   */
+  @Override
+  public Iterator<V> values(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return StorageIterators.createChunkedIterator(
+        nativeValuesFrom(getNativeHandle(), dbFromKey),
+        this::nativeValuesIterNextChunk,
+        PackedItems::readItem,
         this::nativeValuesIterFree,
         dbView,
         modCounter,
@@ -318,15 +548,40 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
 
   private native long nativeCreateValuesIter(long nativeHandle);
 
-  private native byte[] nativeValuesIterNext(long iterNativeHandle);
+  private static native long nativeValuesFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[] nativeValuesIterNextChunk(long iterNativeHandle, int maxItems);
 
   private native void nativeValuesIterFree(long iterNativeHandle);
 
   @Override
   public Iterator<MapEntry<K, V>> entries() {
-    return StorageIterators.createIterator(
+    return StorageIterators.createChunkedIterator(
         nativeCreateEntriesIter(getNativeHandle()),
-        this::nativeEntriesIterNext,
+        this::nativeEntriesIterNextChunk,
+        PackedItems::readEntry,
+        this::nativeEntriesIterFree,
+        dbView,
+        modCounter,
+        (entry) -> entry.toMapEntry(entry, keySerializer, valueSerializer)
+    );
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @param fromKey a proof map key to start the iteration from, must be 32-byte long
+   *                when serialized
+   * @throws IllegalStateException if this map is not valid
+   * @throws IllegalArgumentException if the size of the key is not 32 bytes
+   */
+  @Override
+  public Iterator<MapEntry<K, V>> entries(K fromKey) {
+    byte[] dbFromKey = keySerializer.toBytes(fromKey);
+    return StorageIterators.createChunkedIterator(
+        nativeCreateIterFrom(getNativeHandle(), dbFromKey),
+        this::nativeEntriesIterNextChunk,
+        PackedItems::readEntry,
         this::nativeEntriesIterFree,
         dbView,
         modCounter,
@@ -334,12 +589,66 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
     );
   }
 
+  @Override
+  public Stream<MapEntry<K, V>> entryStream() {
+    Spliterator<MapEntry<K, V>> spliterator = new KeyRangeSpliterator<>(
+        new OrderedEntries(),
+        (entry) -> entry.toMapEntry(entry, keySerializer, valueSerializer),
+        PROOF_MAP_KEY_SIZE,
+        !dbView.canModify());
+    return StreamSupport.stream(spliterator, false);
+  }
+
   private native long nativeCreateEntriesIter(long nativeHandle);
 
-  private native MapEntryInternal nativeEntriesIterNext(long iterNativeHandle);
+  private native long nativeCreateIterFrom(long nativeHandle, byte[] fromKey);
+
+  private native byte[] nativeEntriesIterNextChunk(long iterNativeHandle, int maxItems);
 
   private native void nativeEntriesIterFree(long iterNativeHandle);
 
+  /**
+   * Native operations over the entries of this map, ordered by keys.
+   */
+  private final class OrderedEntries
+      implements KeyRangeSpliterator.KeyOrderedIndex<MapEntryInternal> {
+
+    @Override
+    public Iterator<MapEntryInternal> iterator(@Nullable byte[] fromKey) {
+      return StorageIterators.createChunkedIterator(
+          createEntriesIter(fromKey),
+          ProofMapIndexProxy.this::nativeEntriesIterNextChunk,
+          PackedItems::readEntry,
+          ProofMapIndexProxy.this::nativeEntriesIterFree,
+          dbView,
+          modCounter,
+          Function.identity()
+      );
+    }
+
+    @Override
+    public List<MapEntryInternal> firstItems(@Nullable byte[] fromKey, int maxItems) {
+      return StorageIterators.readFirstChunk(
+          createEntriesIter(fromKey),
+          ProofMapIndexProxy.this::nativeEntriesIterNextChunk,
+          PackedItems::readEntry,
+          ProofMapIndexProxy.this::nativeEntriesIterFree,
+          maxItems
+      );
+    }
+
+    private long createEntriesIter(@Nullable byte[] fromKey) {
+      return (fromKey == null)
+          ? nativeCreateEntriesIter(getNativeHandle())
+          : nativeCreateIterFrom(getNativeHandle(), fromKey);
+    }
+
+    @Override
+    public byte[] keyOf(MapEntryInternal entry) {
+      return entry.key;
+    }
+  }
+
   @Override
   public void clear() {
     notifyModified();
@@ -349,4 +658,6 @@ public final class ProofMapIndexProxy<K, V> extends AbstractIndexProxy implement
   private native void nativeClear(long nativeHandle);
 
   private static native void nativeFree(long nativeHandle);
+
+  private static native long nativeDropFunction();
 }
@@ -16,10 +16,13 @@
 
 package com.exonum.binding.storage.indices;
 
+import static com.exonum.binding.storage.indices.StoragePreconditions.PROOF_MAP_KEY_SIZE;
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkProofKey;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.common.serialization.Serializer;
+import java.nio.ByteBuffer;
 
 /**
  * A serializer decorator that checks proof map keys for correctness.
@@ -57,4 +60,21 @@ final class ProofMapKeyCheckingSerializerDecorator<T> implements Serializer<T> {
     checkProofKey(serializedProofKey);
     return delegate.fromBytes(serializedProofKey);
   }
+
+  @Override
+  public void writeTo(T proofKey, ByteBuffer buffer) {
+    int start = buffer.position();
+    delegate.writeTo(proofKey, buffer);
+    int keySize = buffer.position() - start;
+    checkArgument(keySize == PROOF_MAP_KEY_SIZE,
+        "Proof map key has invalid size (%s), must be 32 bytes", keySize);
+  }
+
+  @Override
+  public T fromBuffer(ByteBuffer serializedProofKey) {
+    int keySize = serializedProofKey.remaining();
+    checkArgument(keySize == PROOF_MAP_KEY_SIZE,
+        "Proof map key has invalid size (%s), must be 32 bytes", keySize);
+    return delegate.fromBuffer(serializedProofKey);
+  }
 }
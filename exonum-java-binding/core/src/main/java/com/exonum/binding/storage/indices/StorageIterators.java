@@ -16,19 +16,41 @@
 
 package com.exonum.binding.storage.indices;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
 import com.exonum.binding.storage.database.ModificationCounter;
 import com.exonum.binding.storage.database.View;
 import com.google.common.collect.Iterators;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.LongConsumer;
 import java.util.function.LongFunction;
 
 final class StorageIterators {
 
+  /**
+   * The name of the system property that configures the maximum number of items
+   * fetched from a native iterator in a single call.
+   */
+  static final String ITERATOR_CHUNK_SIZE_PROPERTY = "exonum.storage.iteratorChunkSize";
+
+  private static final int DEFAULT_ITERATOR_CHUNK_SIZE = 128;
+
+  /**
+   * The maximum number of items fetched from a native iterator in a single call
+   * by the iterators created with
+   * {@link #createChunkedIterator(long, ChunkedRustIter.NextChunkFunction, Function,
+   * LongConsumer, View, ModificationCounter, Function)}.
+   */
+  static final int ITERATOR_CHUNK_SIZE = checkChunkSize(
+      Integer.getInteger(ITERATOR_CHUNK_SIZE_PROPERTY, DEFAULT_ITERATOR_CHUNK_SIZE));
+
   /**
    * Creates a new iterator over an index.
    *
@@ -52,18 +74,134 @@ final class StorageIterators {
       Function<? super NativeT, ? extends ElementT> transformingFunction) {
 
     // Register the destructor first.
+    NativeHandle handle = registerIterator(nativeHandle, disposeOperation, collectionView);
+
+    RustIter<NativeT> rustIter = new ConfigurableRustIter<>(
+        handle,
+        nextFunction,
+        modificationCounter
+    );
+
+    return adapt(rustIter, transformingFunction);
+  }
+
+  /**
+   * Creates a new iterator over an index that fetches the items from the native iterator
+   * in chunks of at most {@link #ITERATOR_CHUNK_SIZE} items.
+   *
+   * <p>The returned iterator is a {@link ChunkedRustIter}
+   * wrapped in a {@link RustIterAdapter}.
+   *
+   * @param nativeHandle nativeHandle of this iterator
+   * @param nextChunkFunction a function to call to get the next chunk of packed items
+   * @param itemReader a function reading a single item from the chunk,
+   *                   see {@link PackedItems}
+   * @param disposeOperation an operation to call to destroy the corresponding native iterator
+   * @param collectionView a database view of the collection over which to iterate
+   * @param modificationCounter a view modification counter
+   * @param transformingFunction a function to apply to elements read from the chunks
+   *                             (usually, to an array of bytes)
+   */
+  static <ElementT, NativeT> Iterator<ElementT> createChunkedIterator(
+      long nativeHandle,
+      ChunkedRustIter.NextChunkFunction nextChunkFunction,
+      Function<ByteBuffer, NativeT> itemReader,
+      LongConsumer disposeOperation,
+      View collectionView,
+      ModificationCounter modificationCounter,
+      Function<? super NativeT, ? extends ElementT> transformingFunction) {
+
+    // Register the destructor first.
+    NativeHandle handle = registerIterator(nativeHandle, disposeOperation, collectionView);
+
+    RustIter<NativeT> rustIter = new ChunkedRustIter<>(
+        handle,
+        nextChunkFunction,
+        itemReader,
+        ITERATOR_CHUNK_SIZE,
+        modificationCounter
+    );
+
+    return adapt(rustIter, transformingFunction);
+  }
+
+  /**
+   * Reads at most {@code maxItems} items from a new native iterator in a single chunk,
+   * and destroys the iterator.
+   *
+   * @param nativeHandle nativeHandle of the iterator; the iterator is destroyed
+   *                     when this method returns
+   * @param nextChunkFunction a function to call to get the next chunk of packed items
+   * @param itemReader a function reading a single item from the chunk
+   * @param disposeOperation an operation to call to destroy the native iterator
+   * @param maxItems the maximum number of items to read; must be positive
+   */
+  static <NativeT> List<NativeT> readFirstChunk(long nativeHandle,
+      ChunkedRustIter.NextChunkFunction nextChunkFunction,
+      Function<ByteBuffer, NativeT> itemReader,
+      LongConsumer disposeOperation,
+      int maxItems) {
+    try {
+      byte[] packedItems = nextChunkFunction.nextChunk(nativeHandle, maxItems);
+      List<NativeT> items = new ArrayList<>(maxItems);
+      if (packedItems != null) {
+        ByteBuffer chunk = ByteBuffer.wrap(packedItems);
+        while (chunk.hasRemaining()) {
+          items.add(itemReader.apply(chunk));
+        }
+      }
+      return items;
+    } finally {
+      disposeOperation.accept(nativeHandle);
+    }
+  }
+
+  /**
+   * Reads at most {@code maxItems} items from a new native iterator, and destroys the iterator.
+   *
+   * @param nativeHandle nativeHandle of the iterator; the iterator is destroyed
+   *                     when this method returns
+   * @param nextFunction a function to call to get the next item;
+   *                     returns {@code null} if the iterator is exhausted
+   * @param disposeOperation an operation to call to destroy the native iterator
+   * @param maxItems the maximum number of items to read
+   */
+  static <NativeT> List<NativeT> readFirstItems(long nativeHandle,
+      LongFunction<NativeT> nextFunction,
+      LongConsumer disposeOperation,
+      int maxItems) {
+    try {
+      List<NativeT> items = new ArrayList<>(maxItems);
+      while (items.size() < maxItems) {
+        NativeT item = nextFunction.apply(nativeHandle);
+        if (item == null) {
+          break;
+        }
+        items.add(item);
+      }
+      return items;
+    } finally {
+      disposeOperation.accept(nativeHandle);
+    }
+  }
+
+  private static int checkChunkSize(int chunkSize) {
+    checkArgument(chunkSize > 0, "%s must be positive, but is: %s",
+        ITERATOR_CHUNK_SIZE_PROPERTY, chunkSize);
+    return chunkSize;
+  }
+
+  private static NativeHandle registerIterator(long nativeHandle,
+      LongConsumer disposeOperation, View collectionView) {
     NativeHandle handle = new NativeHandle(nativeHandle);
     Cleaner cleaner = collectionView.getCleaner();
     cleaner.add(new ProxyDestructor(handle, RustIter.class, disposeOperation));
+    return handle;
+  }
 
-    Iterator<NativeT> iterator = new RustIterAdapter<>(
-        new ConfigurableRustIter<>(
-            handle,
-            nextFunction,
-            modificationCounter
-        )
-    );
-
+  private static <ElementT, NativeT> Iterator<ElementT> adapt(RustIter<NativeT> rustIter,
+      Function<? super NativeT, ? extends ElementT> transformingFunction) {
+    Iterator<NativeT> iterator = new RustIterAdapter<>(rustIter);
     return Iterators.transform(iterator, transformingFunction::apply);
   }
 
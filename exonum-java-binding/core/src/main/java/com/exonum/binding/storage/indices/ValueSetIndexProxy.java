@@ -16,6 +16,7 @@
 
 package com.exonum.binding.storage.indices;
 
+import static com.exonum.binding.common.hash.Hashing.DEFAULT_HASH_SIZE_BYTES;
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkIdInGroup;
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkIndexName;
 import static com.exonum.binding.storage.indices.StoragePreconditions.checkStorageValue;
@@ -26,6 +27,7 @@ import com.exonum.binding.common.serialization.CheckingSerializerDecorator;
 import com.exonum.binding.common.serialization.Serializer;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.NativeDropFunction;
 import com.exonum.binding.proxy.NativeHandle;
 import com.exonum.binding.proxy.ProxyDestructor;
 import com.exonum.binding.storage.database.Fork;
@@ -33,8 +35,14 @@ import com.exonum.binding.storage.database.View;
 import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.MessageLite;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 
 /**
@@ -65,6 +73,9 @@ import javax.annotation.Nullable;
 public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
     implements Iterable<ValueSetIndexProxy.Entry<E>> {
 
+  private static final NativeDropFunction DROP_FUNCTION =
+      NativeDropFunction.from(ValueSetIndexProxy::nativeDropFunction);
+
   private final CheckingSerializerDecorator<E> serializer;
 
   /**
@@ -101,13 +112,16 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
   public static <E> ValueSetIndexProxy<E> newInstance(String name, View view,
                                                       Serializer<E> serializer) {
     checkIndexName(name);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.of(ValueSetIndexProxy.class, name, serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle setNativeHandle = createNativeSet(view,
-        () -> nativeCreate(name, viewNativeHandle));
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle setNativeHandle = createNativeSet(view,
+          () -> nativeCreate(name, viewNativeHandle));
 
-    return new ValueSetIndexProxy<>(setNativeHandle, name, view, s);
+      return new ValueSetIndexProxy<>(setNativeHandle, name, view, s);
+    });
   }
 
   /**
@@ -130,21 +144,25 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
                                                            View view, Serializer<E> serializer) {
     checkIndexName(groupName);
     checkIdInGroup(indexId);
-    CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
+    IndexCacheKey cacheKey = IndexCacheKey.inGroup(ValueSetIndexProxy.class, groupName, indexId,
+        serializer);
+    return view.findOrCreateIndex(cacheKey, () -> {
+      CheckingSerializerDecorator<E> s = CheckingSerializerDecorator.from(serializer);
 
-    long viewNativeHandle = view.getViewNativeHandle();
-    NativeHandle setNativeHandle = createNativeSet(view,
-        () -> nativeCreateInGroup(groupName, indexId, viewNativeHandle));
+      long viewNativeHandle = view.getViewNativeHandle();
+      NativeHandle setNativeHandle = createNativeSet(view,
+          () -> nativeCreateInGroup(groupName, indexId, viewNativeHandle));
 
-    return new ValueSetIndexProxy<>(setNativeHandle, groupName, view, s);
+      return new ValueSetIndexProxy<>(setNativeHandle, groupName, view, s);
+    });
   }
 
   private static NativeHandle createNativeSet(View view, LongSupplier nativeSetConstructor) {
     NativeHandle setNativeHandle = new NativeHandle(nativeSetConstructor.getAsLong());
 
     Cleaner cleaner = view.getCleaner();
-    ProxyDestructor.newRegistered(cleaner, setNativeHandle, ValueSetIndexProxy.class,
-        ValueSetIndexProxy::nativeFree);
+    ProxyDestructor.register(cleaner, setNativeHandle, ValueSetIndexProxy.class,
+        ValueSetIndexProxy::nativeFree, DROP_FUNCTION);
     return setNativeHandle;
   }
 
@@ -168,6 +186,21 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
     nativeAdd(getNativeHandle(), dbElement);
   }
 
+  /**
+   * Adds all of the given elements to the set. Equivalent to a sequence
+   * of individual {@link #add} operations.
+   *
+   * @param elements elements to add
+   * @throws NullPointerException if the passed collection is null or contains a null element
+   * @throws IllegalStateException if this set is not valid
+   * @throws UnsupportedOperationException if this set is read-only
+   */
+  public void addAll(Collection<? extends E> elements) {
+    notifyModified();
+    byte[] dbElements = PackedItems.pack(elements, serializer::toBytes);
+    nativeAddAll(getNativeHandle(), dbElements);
+  }
+
   /**
    * Removes all of the elements from this set.
    * The set will be empty after this method returns.
@@ -191,6 +224,18 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
     return nativeContains(getNativeHandle(), dbElement);
   }
 
+  /**
+   * Returns true if this set contains all of the given elements.
+   *
+   * @param elements elements to check
+   * @throws NullPointerException if the passed collection is null or contains a null element
+   * @throws IllegalStateException if this set is not valid
+   */
+  public boolean containsAll(Collection<? extends E> elements) {
+    byte[] dbElements = PackedItems.pack(elements, serializer::toBytes);
+    return nativeContainsAll(getNativeHandle(), dbElements);
+  }
+
   /**
    * Returns true if this set contains an element with the specified hash.
    *
@@ -221,6 +266,28 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
         HashCode::fromBytes);
   }
 
+  /**
+   * Creates an iterator over the hashes of the elements in this set, starting at
+   * the given hash (inclusive). The hashes are ordered lexicographically. If there is
+   * no element with the given hash, the iterator starts at the next hash.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this set uses
+   * (but not necessarily on <em>this set</em>) will invalidate the iterator.
+   *
+   * @param fromHash a hash to start the iteration from
+   * @return an iterator over the hashes of the elements in this set
+   * @throws IllegalStateException if this set is not valid
+   */
+  public Iterator<HashCode> hashes(HashCode fromHash) {
+    return StorageIterators.createIterator(
+        nativeCreateHashIterFrom(getNativeHandle(), fromHash.asBytes()),
+        this::nativeHashIteratorNext,
+        this::nativeHashIteratorFree,
+        dbView,
+        modCounter,
+        HashCode::fromBytes);
+  }
+
   /**
    * Returns an iterator over the entries of this set. An entry is a hash-value pair.
    * The entries are ordered by keys lexicographically.
@@ -242,12 +309,106 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
         (e) -> Entry.fromInternal(e, serializer));
   }
 
+  /**
+   * Returns an iterator over the entries of this set, starting at the entry with
+   * the given hash (inclusive). The entries are ordered by keys lexicographically.
+   * If there is no element with the given hash, the iterator starts at the next entry.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this set uses
+   * (but not necessarily on <em>this set</em>) will invalidate the iterator.
+   *
+   * @param fromHash a hash of an element to start the iteration from
+   * @return an iterator over the entries of this set
+   * @throws IllegalStateException if this set is not valid
+   */
+  public Iterator<Entry<E>> iterator(HashCode fromHash) {
+    return StorageIterators.createIterator(
+        nativeCreateIterFrom(getNativeHandle(), fromHash.asBytes()),
+        this::nativeIteratorNext,
+        this::nativeIteratorFree,
+        dbView,
+        modCounter,
+        (e) -> Entry.fromInternal(e, serializer));
+  }
+
+  /**
+   * Creates a spliterator over the entries of this set. The entries are ordered by keys
+   * lexicographically.
+   *
+   * <p>The spliterator is <em>late-binding</em>. If this set is created with
+   * a {@link com.exonum.binding.storage.database.Snapshot}, the spliterator can be split
+   * into spliterators over sub-ranges of the entries, allowing efficient parallel traversal.
+   *
+   * <p>Any destructive operation on the same {@link Fork} this set uses
+   * (but not necessarily on <em>this set</em>) will invalidate the spliterator.
+   *
+   * @throws IllegalStateException if this set is not valid
+   */
+  @Override
+  public Spliterator<Entry<E>> spliterator() {
+    return new KeyRangeSpliterator<>(
+        new OrderedEntries(),
+        (e) -> Entry.fromInternal(e, serializer),
+        DEFAULT_HASH_SIZE_BYTES,
+        !dbView.canModify());
+  }
+
+  /**
+   * Returns a stream of the entries of this set. The entries are ordered by keys
+   * lexicographically.
+   *
+   * @throws IllegalStateException if this set is not valid
+   * @see #spliterator()
+   */
+  public Stream<Entry<E>> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
   private native long nativeCreateIterator(long nativeHandle);
 
+  private native long nativeCreateIterFrom(long nativeHandle, byte[] fromHash);
+
   private native EntryInternal nativeIteratorNext(long iterNativeHandle);
 
   private native void nativeIteratorFree(long iterNativeHandle);
 
+  /**
+   * Native operations over the entries of this set, ordered by hashes.
+   */
+  private final class OrderedEntries implements KeyRangeSpliterator.KeyOrderedIndex<EntryInternal> {
+
+    @Override
+    public Iterator<EntryInternal> iterator(@Nullable byte[] fromKey) {
+      return StorageIterators.createIterator(
+          createIterator(fromKey),
+          ValueSetIndexProxy.this::nativeIteratorNext,
+          ValueSetIndexProxy.this::nativeIteratorFree,
+          dbView,
+          modCounter,
+          Function.identity());
+    }
+
+    @Override
+    public List<EntryInternal> firstItems(@Nullable byte[] fromKey, int maxItems) {
+      return StorageIterators.readFirstItems(
+          createIterator(fromKey),
+          ValueSetIndexProxy.this::nativeIteratorNext,
+          ValueSetIndexProxy.this::nativeIteratorFree,
+          maxItems);
+    }
+
+    private long createIterator(@Nullable byte[] fromKey) {
+      return (fromKey == null)
+          ? nativeCreateIterator(getNativeHandle())
+          : nativeCreateIterFrom(getNativeHandle(), fromKey);
+    }
+
+    @Override
+    public byte[] keyOf(EntryInternal entry) {
+      return entry.hash;
+    }
+  }
+
   /**
    * An entry of a value set index: a hash-value pair.
    *
@@ -315,6 +476,21 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
     nativeRemove(getNativeHandle(), dbElement);
   }
 
+  /**
+   * Removes all of the given elements from this set. The elements that are not in the set
+   * are ignored.
+   *
+   * @param elements elements to remove
+   * @throws NullPointerException if the passed collection is null or contains a null element
+   * @throws IllegalStateException if this set is not valid
+   * @throws UnsupportedOperationException if this set is read-only
+   */
+  public void removeAll(Collection<? extends E> elements) {
+    notifyModified();
+    byte[] dbElements = PackedItems.pack(elements, serializer::toBytes);
+    nativeRemoveAll(getNativeHandle(), dbElements);
+  }
+
   /**
    * Removes an element from this set by its hash. If there is no such element in the set,
    * does nothing.
@@ -335,14 +511,20 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
 
   private native void nativeAdd(long nativeHandle, byte[] e);
 
+  private native void nativeAddAll(long nativeHandle, byte[] elements);
+
   private native void nativeClear(long nativeHandle);
 
   private native boolean nativeContains(long nativeHandle, byte[] e);
 
+  private native boolean nativeContainsAll(long nativeHandle, byte[] elements);
+
   private native boolean nativeContainsByHash(long nativeHandle, byte[] elementHash);
 
   private native long nativeCreateHashIterator(long nativeHandle);
 
+  private native long nativeCreateHashIterFrom(long nativeHandle, byte[] fromHash);
+
   @Nullable
   private native byte[] nativeHashIteratorNext(long iterNativeHandle);
 
@@ -350,7 +532,11 @@ public final class ValueSetIndexProxy<E> extends AbstractIndexProxy
 
   private native void nativeRemove(long nativeHandle, byte[] e);
 
+  private native void nativeRemoveAll(long nativeHandle, byte[] elements);
+
   private native void nativeRemoveByHash(long nativeHandle, byte[] elementHash);
 
   private static native void nativeFree(long nativeHandle);
+
+  private static native long nativeDropFunction();
 }
@@ -19,6 +19,11 @@ package com.exonum.binding.transaction;
 /**
  * An Exonum transaction.
  *
+ * <p>A transaction shall not keep any state between the executions: the same transaction object
+ * may be executed several times, e.g., in several rounds of the consensus, and,
+ * if the cache of the converted transactions is enabled, may be shared by all the messages
+ * with the same payload. See {@link com.exonum.binding.service.Service#convertToTransaction}.
+ *
  * @see <a href="https://exonum.com/doc/version/0.10/architecture/transactions">Exonum Transactions</a>
  * @see <a href="https://exonum.com/doc/version/0.10/architecture/services">Exonum Services</a>
  */
@@ -116,6 +116,32 @@ class AbstractCloseableNativeProxyTest {
     assertThrows(IllegalStateException.class, () -> new NativeProxyFake(invalidHandle, true));
   }
 
+  @Test
+  void getNativeHandle_ShallFailIfCreatedWithInvalidReference() {
+    NativeProxyFake referenced = makeProxy(20L);
+    referenced.close();
+
+    proxy = new NativeProxyFake(1L, true, referenced);
+
+    assertThat(proxy, hasInvalidReferences(referenced));
+    assertThrows(IllegalStateException.class, () -> proxy.getNativeHandle());
+  }
+
+  @Test
+  void getNativeHandle_ReferencedByManyInvalid() {
+    NativeProxyFake referenced = makeProxy(20L);
+    List<NativeProxyFake> dependents = new ArrayList<>();
+    for (long h = 1; h <= 3; h++) {
+      dependents.add(new NativeProxyFake(h, true, referenced));
+    }
+
+    referenced.close();
+
+    for (NativeProxyFake dependent : dependents) {
+      assertThrows(IllegalStateException.class, dependent::getNativeHandle);
+    }
+  }
+
   @Test
   void getNativeHandle_DirectlyReferencedInvalid1() {
     long nativeHandle = 1L;
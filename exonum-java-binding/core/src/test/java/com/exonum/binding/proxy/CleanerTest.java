@@ -17,7 +17,9 @@
 package com.exonum.binding.proxy;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -25,6 +27,7 @@ import static org.mockito.Mockito.verify;
 
 import com.exonum.binding.testutils.LoggingTestUtils;
 import com.google.common.testing.NullPointerTester;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.logging.log4j.test.appender.ListAppender;
 import org.junit.jupiter.api.AfterEach;
@@ -215,4 +218,81 @@ class CleanerTest {
     assertThat(context.getNumRegisteredActions())
         .isZero();
   }
+
+  @Test
+  void newCleanerHasNoNativeArena() {
+    assertFalse(context.hasNativeArena());
+    assertThrows(IllegalStateException.class,
+        () -> context.addToNativeArena(new NativeHandle(1L), dropFunction(10L)));
+  }
+
+  @Test
+  void withNativeArena() {
+    Cleaner cleaner = Cleaner.withNativeArena("test");
+
+    assertTrue(cleaner.hasNativeArena());
+  }
+
+  @Test
+  void addToNativeArenaRegistersOneAction() throws CloseFailuresException {
+    List<Long> destroyedHandles = new ArrayList<>();
+    Cleaner cleaner = new Cleaner("", () -> new NativeArena(
+        (handles, dropFunctions, size) -> {
+          for (int i = 0; i < size; i++) {
+            destroyedHandles.add(handles[i]);
+          }
+        }));
+
+    for (long h = 1; h <= 3; h++) {
+      cleaner.addToNativeArena(new NativeHandle(h), dropFunction(10L));
+    }
+
+    assertThat(cleaner.getNumRegisteredActions()).isEqualTo(1);
+
+    cleaner.close();
+
+    assertThat(destroyedHandles).containsExactly(3L, 2L, 1L);
+  }
+
+  @Test
+  void addToNativeArenaPreservesOrderWithOtherActions() throws CloseFailuresException {
+    List<String> events = new ArrayList<>();
+    Cleaner cleaner = new Cleaner("", () -> new NativeArena(
+        (handles, dropFunctions, size) -> {
+          for (int i = 0; i < size; i++) {
+            events.add("proxy " + handles[i]);
+          }
+        }));
+
+    cleaner.add(() -> events.add("view 1"));
+    cleaner.addToNativeArena(new NativeHandle(1L), dropFunction(10L));
+    cleaner.addToNativeArena(new NativeHandle(2L), dropFunction(10L));
+    cleaner.add(() -> events.add("view 2"));
+    cleaner.addToNativeArena(new NativeHandle(3L), dropFunction(10L));
+
+    assertThat(cleaner.getNumRegisteredActions()).isEqualTo(4);
+
+    cleaner.close();
+
+    assertThat(events).containsExactly("proxy 3", "view 2", "proxy 2", "proxy 1", "view 1");
+  }
+
+  @Test
+  void addToNativeArenaOfClosedDestroysProxy() throws CloseFailuresException {
+    List<Long> destroyedHandles = new ArrayList<>();
+    Cleaner cleaner = new Cleaner("", () -> new NativeArena(
+        (handles, dropFunctions, size) -> destroyedHandles.add(handles[0])));
+    cleaner.close();
+
+    NativeHandle handle = new NativeHandle(1L);
+    assertThrows(IllegalStateException.class,
+        () -> cleaner.addToNativeArena(handle, dropFunction(10L)));
+
+    assertThat(destroyedHandles).containsExactly(1L);
+    assertFalse(handle.isValid());
+  }
+
+  private static NativeDropFunction dropFunction(long address) {
+    return NativeDropFunction.from(() -> address);
+  }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.exonum.binding.proxy.NativeArena.BatchDestructor;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NativeArenaTest {
+
+  @Test
+  void cleanEmpty() {
+    BatchDestructor destructor = mock(BatchDestructor.class);
+    NativeArena arena = new NativeArena(destructor);
+
+    arena.clean();
+
+    verify(destructor, never()).destroy(any(), any(), anyInt());
+  }
+
+  @Test
+  void cleanDestroysInReversedOrder() {
+    List<Long> handles = new ArrayList<>();
+    List<Long> functions = new ArrayList<>();
+    NativeArena arena = new NativeArena((h, f, size) -> {
+      for (int i = 0; i < size; i++) {
+        handles.add(h[i]);
+        functions.add(f[i]);
+      }
+    });
+
+    // Add more than the initial capacity
+    int numProxies = 20;
+    List<NativeHandle> nativeHandles = new ArrayList<>();
+    for (long i = 1; i <= numProxies; i++) {
+      NativeHandle handle = new NativeHandle(i);
+      nativeHandles.add(handle);
+      arena.add(handle, NativeDropFunction.from(() -> 100L));
+    }
+    assertThat(arena.size()).isEqualTo(numProxies);
+
+    arena.clean();
+
+    assertThat(handles).hasSize(numProxies);
+    assertThat(handles.get(0)).isEqualTo(numProxies);
+    assertThat(handles.get(numProxies - 1)).isEqualTo(1L);
+    assertThat(functions).containsOnly(100L);
+    for (NativeHandle handle : nativeHandles) {
+      assertFalse(handle.isValid());
+    }
+  }
+
+  @Test
+  void cleanSkipsInvalidHandles() {
+    List<Long> handles = new ArrayList<>();
+    NativeArena arena = new NativeArena((h, f, size) -> {
+      for (int i = 0; i < size; i++) {
+        handles.add(h[i]);
+      }
+    });
+    NativeHandle closed = new NativeHandle(1L);
+    arena.add(closed, NativeDropFunction.from(() -> 100L));
+    arena.add(new NativeHandle(2L), NativeDropFunction.from(() -> 200L));
+    closed.close();
+
+    arena.clean();
+
+    assertThat(handles).containsExactly(2L);
+  }
+
+  @Test
+  void cleanIsIdempotent() {
+    BatchDestructor destructor = mock(BatchDestructor.class);
+    NativeArena arena = new NativeArena(destructor);
+    arena.add(new NativeHandle(1L), NativeDropFunction.from(() -> 100L));
+
+    arena.clean();
+    arena.clean();
+
+    verify(destructor, times(1)).destroy(any(), any(), anyInt());
+  }
+}
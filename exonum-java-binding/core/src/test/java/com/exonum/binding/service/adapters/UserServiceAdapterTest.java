@@ -22,6 +22,8 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.collection.IsArrayWithSize.arrayWithSize;
 import static org.hamcrest.collection.IsArrayWithSize.emptyArray;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,6 +32,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +40,7 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.service.BlockCommittedEvent;
 import com.exonum.binding.service.Service;
+import com.exonum.binding.storage.database.Fork;
 import com.exonum.binding.storage.database.Snapshot;
 import com.exonum.binding.test.Bytes;
 import com.exonum.binding.transaction.RawTransaction;
@@ -48,10 +52,10 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.OptionalInt;
 import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -70,7 +74,6 @@ class UserServiceAdapterTest {
   @Mock
   private Snapshot snapshot;
 
-  @InjectMocks
   private UserServiceAdapter serviceAdapter;
 
   private static final short SERVICE_ID = (short) 0xA103;
@@ -78,6 +81,12 @@ class UserServiceAdapterTest {
   private static final long SNAPSHOT_HANDLE = 0x0A;
   private static final long HEIGHT = 1;
   private static final int VALIDATOR_ID = 1;
+  private static final int TRANSACTION_CACHE_SIZE = 16;
+
+  @BeforeEach
+  void setUp() {
+    serviceAdapter = new UserServiceAdapter(service, server, viewFactory);
+  }
 
   @Test
   void convertTransaction_ThrowsIfNull() {
@@ -105,6 +114,89 @@ class UserServiceAdapterTest {
     verify(service).convertToTransaction(expectedRawTransaction);
   }
 
+  @Test
+  void convertTransaction_ReusesConvertedTransaction() {
+    serviceAdapter = newCachingAdapter();
+    when(service.convertToTransaction(any(RawTransaction.class)))
+        .thenReturn(mock(Transaction.class));
+    byte[] payload = Bytes.bytes(0x00, 0x01);
+
+    UserTransactionAdapter first = serviceAdapter.convertTransaction(TRANSACTION_ID, payload);
+    UserTransactionAdapter second =
+        serviceAdapter.convertTransaction(TRANSACTION_ID, payload.clone());
+
+    assertThat(second, sameInstance(first));
+    verify(service).convertToTransaction(any(RawTransaction.class));
+  }
+
+  @Test
+  void convertTransaction_ConvertsDistinctMessages() {
+    serviceAdapter = newCachingAdapter();
+    when(service.convertToTransaction(any(RawTransaction.class)))
+        .thenReturn(mock(Transaction.class));
+
+    UserTransactionAdapter first =
+        serviceAdapter.convertTransaction(TRANSACTION_ID, Bytes.bytes(0x00, 0x01));
+    UserTransactionAdapter second =
+        serviceAdapter.convertTransaction(TRANSACTION_ID, Bytes.bytes(0x00, 0x02));
+
+    assertThat(second, not(sameInstance(first)));
+    verify(service, times(2)).convertToTransaction(any(RawTransaction.class));
+  }
+
+  @Test
+  void afterCommit_EvictsExecutedTransactions() throws Exception {
+    serviceAdapter = newCachingAdapter();
+    when(service.convertToTransaction(any(RawTransaction.class)))
+        .thenReturn(mock(Transaction.class));
+    long forkHandle = 0x0B;
+    when(viewFactory.createFork(eq(forkHandle), any(Cleaner.class)))
+        .thenReturn(mock(Fork.class));
+    when(viewFactory.createSnapshot(eq(SNAPSHOT_HANDLE), any(Cleaner.class)))
+        .thenReturn(snapshot);
+    byte[] executedPayload = Bytes.bytes(0x00, 0x01);
+    byte[] pendingPayload = Bytes.bytes(0x00, 0x02);
+    UserTransactionAdapter executed =
+        serviceAdapter.convertTransaction(TRANSACTION_ID, executedPayload);
+    UserTransactionAdapter pending =
+        serviceAdapter.convertTransaction(TRANSACTION_ID, pendingPayload);
+    executed.execute(forkHandle, Bytes.bytes(0x0A), Bytes.bytes(0x0B));
+
+    serviceAdapter.afterCommit(SNAPSHOT_HANDLE, VALIDATOR_ID, HEIGHT);
+
+    assertThat(serviceAdapter.convertTransaction(TRANSACTION_ID, pendingPayload),
+        sameInstance(pending));
+    assertThat(serviceAdapter.convertTransaction(TRANSACTION_ID, executedPayload),
+        not(sameInstance(executed)));
+  }
+
+  @Test
+  void convertTransaction_DoesNotCacheByDefault() {
+    when(service.convertToTransaction(any(RawTransaction.class)))
+        .thenReturn(mock(Transaction.class));
+    byte[] payload = Bytes.bytes(0x00, 0x01);
+
+    UserTransactionAdapter first = serviceAdapter.convertTransaction(TRANSACTION_ID, payload);
+    UserTransactionAdapter second = serviceAdapter.convertTransaction(TRANSACTION_ID, payload);
+
+    assertThat(second, not(sameInstance(first)));
+    verify(service, times(2)).convertToTransaction(any(RawTransaction.class));
+  }
+
+  @Test
+  void constructor_RejectsNegativeTransactionCacheSize() {
+    String property = UserServiceAdapter.TRANSACTION_CACHE_SIZE_PROPERTY;
+    System.setProperty(property, "-1");
+    try {
+      IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+          () -> new UserServiceAdapter(service, server, viewFactory));
+
+      assertThat(thrown.getMessage(), containsString(property));
+    } finally {
+      System.clearProperty(property);
+    }
+  }
+
   @Test
   void convertTransaction_InvalidServiceImplReturningNull() {
     when(service.convertToTransaction(any(RawTransaction.class)))
@@ -179,6 +271,7 @@ class UserServiceAdapterTest {
     Cleaner cleaner = ac.getValue();
 
     assertTrue(cleaner.isClosed());
+    assertTrue(cleaner.hasNativeArena());
   }
 
   @Test
@@ -272,4 +365,7 @@ class UserServiceAdapterTest {
     verify(service).afterCommit(any(BlockCommittedEvent.class));
   }
 
+  private UserServiceAdapter newCachingAdapter() {
+    return new UserServiceAdapter(service, server, viewFactory, TRANSACTION_CACHE_SIZE);
+  }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.service.adapters;
+
+import static com.exonum.binding.test.Bytes.randomBytes;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.MemoryDb;
+import com.exonum.binding.storage.indices.BufferedMapIndex;
+import com.exonum.binding.storage.indices.MapIndex;
+import com.exonum.binding.storage.indices.MapIndexProxy;
+import com.exonum.binding.test.RequiresNativeLibrary;
+import com.exonum.binding.transaction.Transaction;
+import com.exonum.binding.util.LibraryLoader;
+import org.junit.jupiter.api.Test;
+
+@RequiresNativeLibrary
+class UserTransactionAdapterIntegrationTest {
+
+  static {
+    LibraryLoader.load();
+  }
+
+  private static final long FORK_HANDLE = 0x0B;
+  private static final String MAP_NAME = "test_map";
+
+  @Test
+  void executeAppliesBufferedWritesToFork() throws Exception {
+    try (MemoryDb db = MemoryDb.newInstance();
+         Cleaner cleaner = new Cleaner()) {
+      Fork fork = db.createFork(cleaner);
+      ViewFactory viewFactory = mock(ViewFactory.class);
+      when(viewFactory.createFork(anyLong(), any(Cleaner.class))).thenReturn(fork);
+      // Writes through the buffer and never flushes it
+      Transaction transaction = context -> {
+        Fork txFork = context.getFork();
+        MapIndex<String, String> map = BufferedMapIndex.newInstance(newMap(txFork), txFork);
+        map.put("k1", "v1");
+        map.put("k2", "v2");
+      };
+      UserTransactionAdapter adapter = new UserTransactionAdapter(transaction, viewFactory);
+
+      adapter.execute(FORK_HANDLE, randomBytes(32), randomBytes(32));
+
+      MapIndex<String, String> map = newMap(fork);
+      assertThat(map.get("k1"), equalTo("v1"));
+      assertThat(map.get("k2"), equalTo("v2"));
+    }
+  }
+
+  private static MapIndex<String, String> newMap(Fork fork) {
+    return MapIndexProxy.newInstance(MAP_NAME, fork, StandardSerializers.string(),
+        StandardSerializers.string());
+  }
+}
@@ -19,22 +19,31 @@ package com.exonum.binding.service.adapters;
 import static com.exonum.binding.test.Bytes.randomBytes;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.WriteBuffer;
 import com.exonum.binding.transaction.Transaction;
 import com.exonum.binding.transaction.TransactionContext;
 import com.exonum.binding.transaction.TransactionExecutionException;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -68,6 +77,45 @@ class UserTransactionAdapterTest {
     assertTrue(cleaner.isClosed());
   }
 
+  @Test
+  void execute_flushesWriteBuffersBeforeClosingCleaner() throws TransactionExecutionException {
+    when(viewFactory.createFork(eq(FORK_HANDLE), any(Cleaner.class))).thenAnswer(inv -> {
+      Cleaner cleaner = inv.getArgument(1);
+      doAnswer(flush -> {
+        assertFalse(cleaner.isClosed());
+        return null;
+      }).when(fork).flushWriteBuffers();
+      return fork;
+    });
+
+    transactionAdapter.execute(FORK_HANDLE, TX_HASH, AUTHOR_PK);
+
+    InOrder inOrder = inOrder(transaction, fork);
+    inOrder.verify(transaction).execute(any(TransactionContext.class));
+    inOrder.verify(fork).flushWriteBuffers();
+  }
+
+  @Test
+  void execute_appliesWritesThatAreNotFlushedByTransaction()
+      throws TransactionExecutionException {
+    when(viewFactory.createFork(eq(FORK_HANDLE), any(Cleaner.class)))
+        .thenAnswer(inv -> Fork.newInstance(FORK_HANDLE, false, inv.getArgument(1)));
+    List<String> appliedWrites = new ArrayList<>();
+    doAnswer(inv -> {
+      // Write through a buffer of the fork and never flush it
+      TransactionContext context = inv.getArgument(0);
+      RecordingWriteBuffer buffer = new RecordingWriteBuffer(appliedWrites);
+      context.getFork().registerWriteBuffer(buffer);
+      buffer.write("k1");
+      buffer.write("k2");
+      return null;
+    }).when(transaction).execute(any(TransactionContext.class));
+
+    transactionAdapter.execute(FORK_HANDLE, TX_HASH, AUTHOR_PK);
+
+    assertThat(appliedWrites, contains("k1", "k2"));
+  }
+
   @Test
   void execute_rethrowsExecutionException() throws TransactionExecutionException {
     when(viewFactory.createFork(eq(FORK_HANDLE), any(Cleaner.class))).thenReturn(fork);
@@ -79,6 +127,7 @@ class UserTransactionAdapterTest {
     TransactionExecutionException thrown = assertThrows(TransactionExecutionException.class,
         () -> transactionAdapter.execute(FORK_HANDLE, TX_HASH, AUTHOR_PK));
     assertThat(thrown, is(txError));
+    verify(fork, never()).flushWriteBuffers();
   }
 
   @Test
@@ -94,4 +143,28 @@ class UserTransactionAdapterTest {
     assertThat(thrown, is(unexpectedTxError));
   }
 
+  /** A write buffer recording the applied writes. */
+  private static final class RecordingWriteBuffer implements WriteBuffer {
+    private final List<String> appliedWrites;
+    private final List<String> pendingWrites = new ArrayList<>();
+
+    RecordingWriteBuffer(List<String> appliedWrites) {
+      this.appliedWrites = appliedWrites;
+    }
+
+    void write(String key) {
+      pendingWrites.add(key);
+    }
+
+    @Override
+    public void flush() {
+      appliedWrites.addAll(pendingWrites);
+      pendingWrites.clear();
+    }
+
+    @Override
+    public boolean hasPendingWrites() {
+      return !pendingWrites.isEmpty();
+    }
+  }
 }
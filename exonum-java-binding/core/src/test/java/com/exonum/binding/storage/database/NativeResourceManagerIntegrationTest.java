@@ -21,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.NativeResourceManager;
+import com.exonum.binding.proxy.NativeResourceManagerStats;
 import com.exonum.binding.storage.indices.ListIndexProxy;
 import com.exonum.binding.util.LibraryLoader;
 import org.junit.jupiter.api.Test;
@@ -82,6 +84,22 @@ class NativeResourceManagerIntegrationTest {
     // No cleaner#close on purpose.
   }
 
+  @Test
+  void getStatsShallCountKnownHandles() throws Exception {
+    try (Database database = MemoryDb.newInstance();
+         Cleaner cleaner = new Cleaner()) {
+      NativeResourceManagerStats before = NativeResourceManager.getStats();
+
+      database.createFork(cleaner);
+
+      NativeResourceManagerStats after = NativeResourceManager.getStats();
+      assertThat(after.isEnabled()).isTrue();
+      assertThat(after.getKnownHandleCount()).isEqualTo(before.getKnownHandleCount() + 1);
+      assertThat(after.getLockAcquisitionCount())
+          .isGreaterThan(before.getLockAcquisitionCount());
+    }
+  }
+
   private static String handleToHex(long snapshotNativeHandle) {
     return Long.toHexString(snapshotNativeHandle).toUpperCase();
   }
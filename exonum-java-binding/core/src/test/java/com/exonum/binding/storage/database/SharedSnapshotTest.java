@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SharedSnapshotTest {
+
+  private static final long NATIVE_HANDLE = 0x0A;
+
+  private LongConsumer destructor;
+  private SharedSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    destructor = mock(LongConsumer.class);
+    snapshot = new SharedSnapshot(NATIVE_HANDLE, destructor);
+  }
+
+  @Test
+  void newSnapshotHasOwnerReference() {
+    assertThat(snapshot.getReferenceCount()).isEqualTo(1);
+    assertFalse(snapshot.isReleased());
+  }
+
+  @Test
+  void tryAcquire() {
+    Optional<SnapshotLease> lease = snapshot.tryAcquire();
+
+    assertTrue(lease.isPresent());
+    assertThat(snapshot.getReferenceCount()).isEqualTo(2);
+    assertThat(lease.get().getSnapshot().getViewNativeHandle()).isEqualTo(NATIVE_HANDLE);
+  }
+
+  @Test
+  void closeLeaseReleasesReference() {
+    SnapshotLease lease = snapshot.tryAcquire().get();
+    Snapshot leaseSnapshot = lease.getSnapshot();
+
+    lease.close();
+
+    assertThat(snapshot.getReferenceCount()).isEqualTo(1);
+    assertThrows(IllegalStateException.class, leaseSnapshot::getViewNativeHandle);
+    verify(destructor, never()).accept(anyLong());
+  }
+
+  @Test
+  void closeLeaseIsIdempotent() {
+    SnapshotLease lease = snapshot.tryAcquire().get();
+
+    lease.close();
+    lease.close();
+
+    assertThat(snapshot.getReferenceCount()).isEqualTo(1);
+  }
+
+  @Test
+  void releaseWithoutLeasesDestroysSnapshot() {
+    snapshot.release();
+
+    assertTrue(snapshot.isReleased());
+    assertThat(snapshot.getReferenceCount()).isZero();
+    verify(destructor).accept(NATIVE_HANDLE);
+  }
+
+  @Test
+  void releaseIsIdempotent() {
+    try (SnapshotLease lease = snapshot.tryAcquire().get()) {
+      snapshot.release();
+      snapshot.release();
+
+      assertThat(snapshot.getReferenceCount()).isEqualTo(1);
+      verify(destructor, never()).accept(anyLong());
+    }
+  }
+
+  @Test
+  void releaseDestroysSnapshotWhenLastLeaseIsClosed() {
+    SnapshotLease lease1 = snapshot.tryAcquire().get();
+    SnapshotLease lease2 = snapshot.tryAcquire().get();
+
+    snapshot.release();
+    lease1.close();
+    verify(destructor, never()).accept(anyLong());
+
+    lease2.close();
+    verify(destructor).accept(NATIVE_HANDLE);
+  }
+
+  @Test
+  void tryAcquireAfterDestroyed() {
+    snapshot.release();
+
+    assertFalse(snapshot.tryAcquire().isPresent());
+  }
+
+  @Test
+  void leaseSnapshotIsReadOnly() {
+    try (SnapshotLease lease = snapshot.tryAcquire().get()) {
+      assertFalse(lease.getSnapshot().canModify());
+    }
+  }
+
+  @Test
+  void concurrentLeasesDestroySnapshotOnce() throws Exception {
+    int numThreads = 8;
+    int leasesPerThread = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < numThreads; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          for (int j = 0; j < leasesPerThread; j++) {
+            snapshot.tryAcquire().ifPresent(SnapshotLease::close);
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+      snapshot.release();
+      for (Future<?> f : results) {
+        f.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(snapshot.getReferenceCount()).isZero();
+    verify(destructor, times(1)).accept(NATIVE_HANDLE);
+  }
+}
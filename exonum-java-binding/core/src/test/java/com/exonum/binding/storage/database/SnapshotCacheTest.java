@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnapshotCacheTest {
+
+  private long nextHandle;
+  private List<Long> destroyed;
+  private LongSupplier snapshotFactory;
+
+  @BeforeEach
+  void setUp() {
+    nextHandle = 1;
+    destroyed = new ArrayList<>();
+    snapshotFactory = () -> nextHandle++;
+  }
+
+  @Test
+  void newInstanceRejectsNonPositiveRetention() {
+    assertThrows(IllegalArgumentException.class,
+        () -> SnapshotCache.newInstance(0, snapshotFactory));
+  }
+
+  @Test
+  void acquireCreatesSnapshotOnce() {
+    SnapshotCache cache = createCache(1);
+
+    try (SnapshotLease lease1 = cache.acquire();
+        SnapshotLease lease2 = cache.acquire()) {
+      assertThat(handleOf(lease1)).isEqualTo(handleOf(lease2));
+    }
+
+    SnapshotCacheStats stats = cache.getStats();
+    assertThat(stats.getMissCount()).isEqualTo(1);
+    assertThat(stats.getHitCount()).isEqualTo(1);
+    assertThat(stats.getHitRate()).isEqualTo(0.5);
+    assertThat(stats.getLiveSnapshotCount()).isEqualTo(1);
+  }
+
+  @Test
+  void onBlockCommittedRotatesSnapshot() {
+    SnapshotCache cache = createCache(1);
+    long oldHandle = acquireHandle(cache);
+
+    cache.onBlockCommitted(1);
+
+    assertThat(destroyed).containsExactly(oldHandle);
+    assertThat(acquireHandle(cache)).isNotEqualTo(oldHandle);
+    assertThat(cache.getStats().getLiveSnapshotCount()).isEqualTo(1);
+  }
+
+  @Test
+  void onBlockCommittedKeepsLeasedSnapshot() {
+    SnapshotCache cache = createCache(1);
+    SnapshotLease lease = cache.acquire();
+    final long oldHandle = handleOf(lease);
+
+    cache.onBlockCommitted(1);
+
+    assertThat(destroyed).isEmpty();
+    assertThat(cache.getStats().getLiveSnapshotCount()).isEqualTo(2);
+
+    lease.close();
+    assertThat(destroyed).containsExactly(oldHandle);
+    assertThat(cache.getStats().getLiveSnapshotCount()).isEqualTo(1);
+  }
+
+  @Test
+  void acquireAtHeightNotRetained() {
+    SnapshotCache cache = createCache(1);
+    cache.onBlockCommitted(1);
+    cache.onBlockCommitted(2);
+
+    assertFalse(cache.acquire(1).isPresent());
+    assertThat(cache.getStats().getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void acquireAtUnknownHeight() {
+    SnapshotCache cache = createCache(2);
+    acquireHandle(cache);
+
+    assertFalse(cache.acquire(-1).isPresent());
+  }
+
+  @Test
+  void acquireAtCurrentHeight() {
+    SnapshotCache cache = createCache(1);
+    cache.onBlockCommitted(1);
+    long current = acquireHandle(cache);
+
+    Optional<SnapshotLease> lease = cache.acquire(1);
+
+    assertTrue(lease.isPresent());
+    assertThat(handleOf(lease.get())).isEqualTo(current);
+    lease.get().close();
+  }
+
+  @Test
+  void retainsPreviousHeights() {
+    int retainedHeights = 3;
+    SnapshotCache cache = createCache(retainedHeights);
+    long[] handles = new long[5];
+    for (int height = 0; height < handles.length; height++) {
+      cache.onBlockCommitted(height);
+      handles[height] = acquireHandle(cache);
+    }
+
+    // Heights 2, 3 and 4 are retained
+    for (int height = 2; height < handles.length; height++) {
+      Optional<SnapshotLease> lease = cache.acquire(height);
+      assertTrue(lease.isPresent(), "height " + height);
+      assertThat(handleOf(lease.get())).isEqualTo(handles[height]);
+      lease.get().close();
+    }
+    assertFalse(cache.acquire(1).isPresent());
+    assertThat(destroyed).containsExactly(handles[0], handles[1]);
+    assertThat(cache.getStats().getLiveSnapshotCount()).isEqualTo(retainedHeights);
+  }
+
+  @Test
+  void closeReleasesAllSnapshots() {
+    SnapshotCache cache = createCache(2);
+    cache.onBlockCommitted(1);
+    cache.onBlockCommitted(2);
+    SnapshotLease lease = cache.acquire();
+
+    cache.close();
+
+    assertThat(cache.getStats().getLiveSnapshotCount()).isEqualTo(1);
+    lease.close();
+    assertThat(cache.getStats().getLiveSnapshotCount()).isZero();
+    assertThat(destroyed).hasSize(2);
+  }
+
+  @Test
+  void acquireAfterClose() {
+    SnapshotCache cache = createCache(1);
+    cache.close();
+
+    assertThrows(IllegalStateException.class, cache::acquire);
+    assertThrows(IllegalStateException.class, () -> cache.acquire(0));
+  }
+
+  @Test
+  void hitRateWithoutRequests() {
+    SnapshotCache cache = createCache(1);
+
+    assertThat(cache.getStats().getHitRate()).isEqualTo(1.0);
+  }
+
+  private SnapshotCache createCache(int retainedHeights) {
+    return new SnapshotCache(retainedHeights, snapshotFactory, destroyed::add);
+  }
+
+  private static long acquireHandle(SnapshotCache cache) {
+    try (SnapshotLease lease = cache.acquire()) {
+      return handleOf(lease);
+    }
+  }
+
+  private static long handleOf(SnapshotLease lease) {
+    return lease.getSnapshot().getViewNativeHandle();
+  }
+}
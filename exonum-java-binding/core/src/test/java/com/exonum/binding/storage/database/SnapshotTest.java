@@ -16,6 +16,10 @@
 
 package com.exonum.binding.storage.database;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -83,4 +87,30 @@ class SnapshotTest {
     Snapshot s = Snapshot.newInstance(0x0A, false, new Cleaner());
     assertFalse(s.canModify());
   }
+
+  @Test
+  void findOrCreateIndexReturnsExistingIndex() throws CloseFailuresException {
+    try (Cleaner cleaner = new Cleaner()) {
+      Snapshot s = Snapshot.newInstance(0x0A, false, cleaner);
+
+      Object index = s.findOrCreateIndex("index", Object::new);
+      Object sameIndex = s.findOrCreateIndex("index", Object::new);
+      Object otherIndex = s.findOrCreateIndex("other index", Object::new);
+
+      assertThat(sameIndex, sameInstance(index));
+      assertThat(otherIndex, not(sameInstance(index)));
+      assertThat(s.getNumIndexes(), equalTo(2));
+    }
+  }
+
+  @Test
+  void findOrCreateIndexFailsIfClosed() throws CloseFailuresException {
+    Cleaner cleaner = new Cleaner();
+    Snapshot s = Snapshot.newInstance(0x0A, false, cleaner);
+    s.findOrCreateIndex("index", Object::new);
+
+    cleaner.close();
+
+    assertThrows(IllegalStateException.class, () -> s.findOrCreateIndex("index", Object::new));
+  }
 }
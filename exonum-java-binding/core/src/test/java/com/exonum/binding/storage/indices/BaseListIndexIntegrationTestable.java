@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
@@ -204,6 +205,60 @@ abstract class BaseListIndexIntegrationTestable
     }
   }
 
+  @Test
+  void getRange() {
+    runTestWithView(database::createFork, (l) -> {
+      List<String> elements = TestStorageItems.values;
+      l.addAll(elements);
+
+      int fromIndex = 1;
+      int toIndex = elements.size() - 1;
+      List<String> range = l.getRange(fromIndex, toIndex);
+
+      assertThat(range, equalTo(elements.subList(fromIndex, toIndex)));
+    });
+  }
+
+  @Test
+  void getRangeWholeList() {
+    runTestWithView(database::createFork, (l) -> {
+      List<String> elements = TestStorageItems.values;
+      l.addAll(elements);
+
+      List<String> range = l.getRange(0, l.size());
+
+      assertThat(range, equalTo(elements));
+    });
+  }
+
+  @Test
+  void getRangeEmptyRange() {
+    runTestWithView(database::createFork, (l) -> {
+      l.addAll(asList(V1, V2));
+
+      assertTrue(l.getRange(1, 1).isEmpty());
+      assertTrue(l.getRange(2, 2).isEmpty());
+    });
+  }
+
+  @Test
+  void getRangeWithSnapshot() {
+    runTestWithView(database::createSnapshot, (l) -> {
+      assertTrue(l.getRange(0, 0).isEmpty());
+    });
+  }
+
+  @Test
+  void getRangeFailsIfRangeOutOfBounds() {
+    runTestWithView(database::createFork, (l) -> {
+      l.addAll(asList(V1, V2));
+
+      assertThrows(IndexOutOfBoundsException.class, () -> l.getRange(-1, 1));
+      assertThrows(IndexOutOfBoundsException.class, () -> l.getRange(0, 3));
+      assertThrows(IndexOutOfBoundsException.class, () -> l.getRange(2, 1));
+    });
+  }
+
   @Test
   void getLastEmptyList() {
     runTestWithView(database::createFork, (l) -> {
@@ -306,6 +361,41 @@ abstract class BaseListIndexIntegrationTestable
     });
   }
 
+  @Test
+  void testIteratorFrom() {
+    runTestWithView(database::createFork, (l) -> {
+      List<String> elements = TestStorageItems.values;
+
+      l.addAll(elements);
+
+      int fromIndex = elements.size() / 2;
+      Iterator<String> iterator = l.iterator(fromIndex);
+      List<String> iterElements = ImmutableList.copyOf(iterator);
+
+      assertThat(iterElements, equalTo(elements.subList(fromIndex, elements.size())));
+    });
+  }
+
+  @Test
+  void testIteratorFromSizeIsEmpty() {
+    runTestWithView(database::createFork, (l) -> {
+      l.addAll(TestStorageItems.values);
+
+      Iterator<String> iterator = l.iterator(l.size());
+
+      assertFalse(iterator.hasNext());
+    });
+  }
+
+  @Test
+  void testIteratorFromFailsIfIndexOutOfBounds() {
+    runTestWithView(database::createFork, (l) -> {
+      l.add(V1);
+
+      assertThrows(IndexOutOfBoundsException.class, () -> l.iterator(2));
+    });
+  }
+
   @Test
   void testStream() {
     runTestWithView(database::createFork, (l) -> {
@@ -320,6 +410,22 @@ abstract class BaseListIndexIntegrationTestable
     });
   }
 
+  @Test
+  void testStreamOfSeveralBatches() {
+    runTestWithView(database::createFork, (l) -> {
+      List<String> elements = IntStream.range(0, ListSpliterator.FOR_EACH_BATCH_SIZE + 2)
+          .mapToObj(i -> "v" + i)
+          .collect(toList());
+
+      l.addAll(elements);
+
+      List<String> streamElements = l.stream()
+          .collect(toList());
+
+      assertThat(streamElements, equalTo(elements));
+    });
+  }
+
   @Test
   void streamIsLateBinding() {
     runTestWithView(database::createFork, (l) -> {
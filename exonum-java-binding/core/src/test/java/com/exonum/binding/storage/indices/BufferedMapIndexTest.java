@@ -0,0 +1,302 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.exonum.binding.common.serialization.StandardSerializers.string;
+import static com.exonum.binding.test.Bytes.bytes;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.common.serialization.Serializer;
+import com.exonum.binding.common.serialization.StandardSerializers;
+import com.exonum.binding.storage.database.IncrementalModificationCounter;
+import com.exonum.binding.storage.database.ModificationCounter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+class BufferedMapIndexTest {
+
+  private AbstractMapIndexProxy<String, String> map;
+  private ModificationCounter modCounter;
+  private MapWriteBuffer buffer;
+  private BufferedMapIndex<String, String> bufferedMap;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    map = mock(AbstractMapIndexProxy.class);
+    modCounter = new IncrementalModificationCounter();
+    buffer = new MapWriteBuffer(map, modCounter);
+    bufferedMap = new BufferedMapIndex<>(map, string(), string(), buffer);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void newInstanceRejectsNonProxies() {
+    MapIndex<String, String> otherMap = mock(MapIndex.class);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> BufferedMapIndex.newInstance(otherMap, null));
+  }
+
+  @Test
+  void readModifyWriteAccessesStorageOnce() {
+    when(map.getSerialized(aryEq(utf8("k1")))).thenReturn(utf8("1"));
+
+    assertTrue(bufferedMap.containsKey("k1"));
+    String value = bufferedMap.get("k1");
+    bufferedMap.put("k1", value + "0");
+
+    assertThat(bufferedMap.get("k1")).isEqualTo("10");
+    verify(map, times(1)).getSerialized(any());
+    verify(map, never()).putAllSerialized(anyList(), anyList());
+  }
+
+  @Test
+  void putIsBuffered() {
+    bufferedMap.put("k1", "v1");
+
+    assertThat(bufferedMap.get("k1")).isEqualTo("v1");
+    assertThat(bufferedMap.getPendingWriteCount()).isEqualTo(1);
+    assertTrue(buffer.hasPendingWrites());
+    verify(map, never()).putAllSerialized(anyList(), anyList());
+    verify(map, never()).getSerialized(any());
+  }
+
+  @Test
+  void putNotifiesModification() {
+    int modCount = modCounter.getCurrentValue();
+
+    bufferedMap.put("k1", "v1");
+
+    assertTrue(modCounter.isModifiedSince(modCount));
+  }
+
+  @Test
+  void putRejectsNulls() {
+    assertThrows(NullPointerException.class, () -> bufferedMap.put(null, "v1"));
+    assertThrows(NullPointerException.class, () -> bufferedMap.put("k1", null));
+  }
+
+  @Test
+  void putRejectsInvalidKeyImmediately() {
+    @SuppressWarnings("unchecked")
+    Serializer<String> keySerializer = mock(Serializer.class);
+    when(keySerializer.toBytes("k1")).thenThrow(IllegalArgumentException.class);
+    bufferedMap = new BufferedMapIndex<>(map, keySerializer, string(), buffer);
+
+    assertThrows(IllegalArgumentException.class, () -> bufferedMap.put("k1", "v1"));
+
+    assertThat(bufferedMap.getPendingWriteCount()).isZero();
+  }
+
+  @Test
+  void putAllRejectsNullsAtomically() {
+    assertThrows(NullPointerException.class,
+        () -> bufferedMap.putAll(Collections.singletonMap("k1", null)));
+
+    assertThat(bufferedMap.getPendingWriteCount()).isZero();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void byteArrayKeysAreComparedByContents() {
+    AbstractMapIndexProxy<byte[], String> bytesMap = mock(AbstractMapIndexProxy.class);
+    BufferedMapIndex<byte[], String> bufferedBytesMap = new BufferedMapIndex<>(bytesMap,
+        StandardSerializers.bytes(), string(), new MapWriteBuffer(bytesMap, modCounter));
+    byte[] key = bytes(1, 2);
+
+    bufferedBytesMap.put(key, "v1");
+    key[0] = 3;
+    bufferedBytesMap.put(bytes(1, 2), "v2");
+
+    assertThat(bufferedBytesMap.get(bytes(1, 2))).isEqualTo("v2");
+    assertThat(bufferedBytesMap.getPendingWriteCount()).isEqualTo(1);
+  }
+
+  @Test
+  void buffersOfSameMapShareWrites() {
+    @SuppressWarnings("unchecked")
+    AbstractMapIndexProxy<byte[], byte[]> bytesMap = mock(AbstractMapIndexProxy.class);
+    BufferedMapIndex<byte[], byte[]> bufferedBytesMap = new BufferedMapIndex<>(bytesMap,
+        StandardSerializers.bytes(), StandardSerializers.bytes(), buffer);
+
+    bufferedMap.put("k1", "v1");
+
+    assertThat(bufferedBytesMap.get(utf8("k1"))).isEqualTo(utf8("v1"));
+    verify(map, never()).getSerialized(any());
+  }
+
+  @Test
+  void removeIsBuffered() {
+    bufferedMap.put("k1", "v1");
+    bufferedMap.remove("k1");
+
+    assertFalse(bufferedMap.containsKey("k1"));
+    assertNull(bufferedMap.get("k1"));
+    verify(map, never()).getSerialized(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void flushWritesInBatches() {
+    bufferedMap.put("k1", "v1");
+    bufferedMap.put("k2", "v2");
+    bufferedMap.put("k1", "v3");
+    bufferedMap.remove("k4");
+    bufferedMap.removeAll(ImmutableList.of("k5"));
+
+    bufferedMap.flush();
+
+    ArgumentCaptor<List<byte[]>> removedKeys = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<List<byte[]>> putKeys = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<List<byte[]>> putValues = ArgumentCaptor.forClass(List.class);
+    InOrder inOrder = inOrder(map);
+    inOrder.verify(map).removeAllSerialized(removedKeys.capture());
+    inOrder.verify(map).putAllSerialized(putKeys.capture(), putValues.capture());
+    assertThat(strings(removedKeys.getValue())).containsExactly("k4", "k5");
+    assertThat(strings(putKeys.getValue())).containsExactly("k1", "k2");
+    assertThat(strings(putValues.getValue())).containsExactly("v3", "v2");
+    assertThat(bufferedMap.getPendingWriteCount()).isZero();
+    assertFalse(buffer.hasPendingWrites());
+  }
+
+  @Test
+  void flushKeepsValues() {
+    // The map proxy notifies the counter of its modifications
+    doAnswer(invocation -> {
+      modCounter.notifyModified();
+      return null;
+    }).when(map).putAllSerialized(anyList(), anyList());
+    bufferedMap.put("k1", "v1");
+
+    bufferedMap.flush();
+
+    assertThat(bufferedMap.get("k1")).isEqualTo("v1");
+    verify(map, never()).getSerialized(any());
+  }
+
+  @Test
+  void flushWithoutModifications() {
+    when(map.getSerialized(aryEq(utf8("k1")))).thenReturn(utf8("v1"));
+    bufferedMap.get("k1");
+
+    bufferedMap.flush();
+
+    verify(map, never()).putAllSerialized(anyList(), anyList());
+    verify(map, never()).removeAllSerialized(anyList());
+  }
+
+  @Test
+  void secondFlushIsNoOp() {
+    bufferedMap.put("k1", "v1");
+
+    bufferedMap.flush();
+    bufferedMap.flush();
+
+    verify(map, times(1)).putAllSerialized(anyList(), anyList());
+  }
+
+  @Test
+  void externalModificationDiscardsReadsOnly() {
+    when(map.getSerialized(aryEq(utf8("k1")))).thenReturn(utf8("v1"), utf8("v2"));
+    bufferedMap.get("k1");
+    bufferedMap.put("k2", "v2");
+
+    modCounter.notifyModified();
+
+    assertThat(bufferedMap.get("k1")).isEqualTo("v2");
+    assertThat(bufferedMap.get("k2")).isEqualTo("v2");
+    verify(map, times(2)).getSerialized(aryEq(utf8("k1")));
+    verify(map, never()).getSerialized(aryEq(utf8("k2")));
+  }
+
+  @Test
+  void getAllFetchesUnknownKeysOnly() {
+    bufferedMap.put("k1", "v1");
+    when(map.getAllSerialized(anyList())).thenReturn(Arrays.asList(utf8("v2"), null));
+
+    assertThat(bufferedMap.getAll(ImmutableList.of("k1", "k2", "k3", "k2")))
+        .containsExactly("v1", "v2", null, "v2");
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<byte[]>> requestedKeys = ArgumentCaptor.forClass(List.class);
+    verify(map).getAllSerialized(requestedKeys.capture());
+    assertThat(strings(requestedKeys.getValue())).containsExactly("k2", "k3");
+  }
+
+  @Test
+  void iterationFlushesBuffer() {
+    bufferedMap.put("k1", "v1");
+
+    bufferedMap.keys();
+
+    InOrder inOrder = inOrder(map);
+    inOrder.verify(map).putAllSerialized(anyList(), anyList());
+    inOrder.verify(map).keys();
+  }
+
+  @Test
+  void clearDiscardsBuffer() {
+    bufferedMap.put("k1", "v1");
+
+    bufferedMap.clear();
+    bufferedMap.flush();
+
+    verify(map).clear();
+    verify(map, never()).putAllSerialized(anyList(), anyList());
+  }
+
+  @Test
+  void putAllIsBuffered() {
+    bufferedMap.putAll(ImmutableMap.of("k1", "v1", "k2", "v2"));
+
+    assertThat(bufferedMap.getAll(ImmutableList.of("k1", "k2"))).containsExactly("v1", "v2");
+    verify(map, never()).getAllSerialized(anyList());
+  }
+
+  private static byte[] utf8(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  private static List<String> strings(List<byte[]> items) {
+    return items.stream()
+        .map(item -> new String(item, UTF_8))
+        .collect(Collectors.toList());
+  }
+}
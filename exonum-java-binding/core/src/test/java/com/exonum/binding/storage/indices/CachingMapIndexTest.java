@@ -0,0 +1,294 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.exonum.binding.test.Bytes.bytes;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.storage.database.IncrementalModificationCounter;
+import com.exonum.binding.storage.database.ModificationCounter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachingMapIndexTest {
+
+  private static final int MAXIMUM_SIZE = 2;
+
+  private MapIndex<String, String> map;
+  private ModificationCounter modCounter;
+  private CachingMapIndex<String, String> cachingMap;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    map = mock(MapIndex.class);
+    modCounter = new IncrementalModificationCounter();
+    cachingMap = new CachingMapIndex<>(map, modCounter, MAXIMUM_SIZE);
+  }
+
+  @Test
+  void newInstanceRejectsNonProxies() {
+    assertThrows(IllegalArgumentException.class,
+        () -> CachingMapIndex.newInstance(map, MAXIMUM_SIZE));
+  }
+
+  @Test
+  void constructorRejectsNonPositiveSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new CachingMapIndex<>(map, modCounter, 0));
+  }
+
+  @Test
+  void getCachesValue() {
+    when(map.get("k1")).thenReturn("v1");
+
+    assertThat(cachingMap.get("k1")).isEqualTo("v1");
+    assertThat(cachingMap.get("k1")).isEqualTo("v1");
+
+    verify(map, times(1)).get("k1");
+  }
+
+  @Test
+  void getCachesAbsentKey() {
+    assertNull(cachingMap.get("k1"));
+    assertNull(cachingMap.get("k1"));
+    assertFalse(cachingMap.containsKey("k1"));
+
+    verify(map, times(1)).get("k1");
+    verify(map, times(0)).containsKey("k1");
+  }
+
+  @Test
+  void getRejectsNullKey() {
+    assertThrows(NullPointerException.class, () -> cachingMap.get(null));
+  }
+
+  @Test
+  void getEvictsLeastRecentlyUsed() {
+    when(map.get(any())).thenAnswer(invocation -> "v_" + invocation.getArgument(0));
+
+    cachingMap.get("k1");
+    cachingMap.get("k2");
+    cachingMap.get("k1");
+    cachingMap.get("k3");
+
+    assertThat(cachingMap.getCachedSize()).isEqualTo(MAXIMUM_SIZE);
+    // k2 is evicted, k1 is not
+    cachingMap.get("k1");
+    cachingMap.get("k2");
+    verify(map, times(1)).get("k1");
+    verify(map, times(2)).get("k2");
+  }
+
+  @Test
+  void containsKeyUsesCachedValue() {
+    when(map.get("k1")).thenReturn("v1");
+    cachingMap.get("k1");
+
+    assertTrue(cachingMap.containsKey("k1"));
+    verify(map, times(0)).containsKey("k1");
+  }
+
+  @Test
+  void putUpdatesCache() {
+    cachingMap.put("k1", "v1");
+
+    assertThat(cachingMap.get("k1")).isEqualTo("v1");
+    verify(map).put("k1", "v1");
+    verify(map, times(0)).get("k1");
+  }
+
+  @Test
+  void putFailureKeepsCache() {
+    when(map.get("k1")).thenReturn("v1");
+    cachingMap.get("k1");
+    doThrow(UnsupportedOperationException.class).when(map).put("k1", "v2");
+
+    assertThrows(UnsupportedOperationException.class, () -> cachingMap.put("k1", "v2"));
+
+    assertThat(cachingMap.get("k1")).isEqualTo("v1");
+  }
+
+  @Test
+  void putAllUpdatesCache() {
+    cachingMap.putAll(ImmutableMap.of("k1", "v1", "k2", "v2"));
+
+    assertThat(cachingMap.get("k1")).isEqualTo("v1");
+    assertThat(cachingMap.get("k2")).isEqualTo("v2");
+    verify(map, times(0)).get(any());
+  }
+
+  @Test
+  void removeUpdatesCache() {
+    cachingMap.put("k1", "v1");
+
+    cachingMap.remove("k1");
+
+    assertNull(cachingMap.get("k1"));
+    verify(map).remove("k1");
+    verify(map, times(0)).get("k1");
+  }
+
+  @Test
+  void removeAllUpdatesCache() {
+    cachingMap.put("k1", "v1");
+
+    cachingMap.removeAll(ImmutableList.of("k1"));
+
+    assertNull(cachingMap.get("k1"));
+    verify(map, times(0)).get("k1");
+  }
+
+  @Test
+  void clearInvalidatesCache() {
+    cachingMap.put("k1", "v1");
+
+    cachingMap.clear();
+
+    assertThat(cachingMap.getCachedSize()).isZero();
+    verify(map).clear();
+  }
+
+  @Test
+  void externalModificationInvalidatesCache() {
+    when(map.get("k1")).thenReturn("v1", "v2");
+    cachingMap.get("k1");
+
+    // Some other index of the same view is modified
+    modCounter.notifyModified();
+
+    assertThat(cachingMap.get("k1")).isEqualTo("v2");
+    verify(map, times(2)).get("k1");
+  }
+
+  @Test
+  void getAllFetchesMissingKeysOnly() {
+    cachingMap.put("k1", "v1");
+    when(map.getAll(ImmutableList.of("k2"))).thenReturn(Arrays.asList((String) null));
+
+    assertThat(cachingMap.getAll(ImmutableList.of("k1", "k2")))
+        .containsExactly("v1", null);
+    verify(map).getAll(ImmutableList.of("k2"));
+  }
+
+  @Test
+  void getAllExceedingCacheSize() {
+    when(map.getAll(any())).thenReturn(ImmutableList.of("v1", "v2", "v3"));
+    when(map.get(any())).thenAnswer(invocation -> "v" + invocation.<String>getArgument(0)
+        .substring(1));
+
+    assertThat(cachingMap.getAll(ImmutableList.of("k1", "k2", "k3")))
+        .containsExactly("v1", "v2", "v3");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void putOfEqualArrayKeyUpdatesCachedEntry() {
+    MapIndex<byte[], String> bytesMap = mock(MapIndex.class);
+    CachingMapIndex<byte[], String> cachingBytesMap =
+        new CachingMapIndex<>(bytesMap, modCounter, MAXIMUM_SIZE);
+    byte[] key = bytes(1, 2);
+    when(bytesMap.get(key)).thenReturn("v1");
+    cachingBytesMap.get(key);
+
+    cachingBytesMap.put(key.clone(), "v2");
+
+    assertThat(cachingBytesMap.get(key)).isEqualTo("v2");
+    assertThat(cachingBytesMap.getCachedSize()).isEqualTo(1);
+  }
+
+  @Test
+  void modificationOfKeyArrayDoesNotAffectCache() {
+    @SuppressWarnings("unchecked")
+    MapIndex<byte[], String> bytesMap = mock(MapIndex.class);
+    CachingMapIndex<byte[], String> cachingBytesMap =
+        new CachingMapIndex<>(bytesMap, modCounter, MAXIMUM_SIZE);
+    byte[] key = bytes(1, 2);
+    cachingBytesMap.put(key, "v1");
+
+    key[0] = 3;
+
+    assertNull(cachingBytesMap.get(key));
+    verify(bytesMap).get(key);
+  }
+
+  @Test
+  void modificationOfReturnedValueDoesNotAffectCache() {
+    @SuppressWarnings("unchecked")
+    MapIndex<String, byte[]> bytesMap = mock(MapIndex.class);
+    CachingMapIndex<String, byte[]> cachingBytesMap =
+        new CachingMapIndex<>(bytesMap, modCounter, MAXIMUM_SIZE);
+    when(bytesMap.get("k1")).thenReturn(bytes(1, 2));
+
+    byte[] value = cachingBytesMap.get("k1");
+    value[0] = 3;
+
+    assertThat(cachingBytesMap.get("k1")).containsExactly(1, 2);
+    verify(bytesMap, times(1)).get("k1");
+  }
+
+  @Test
+  void modificationOfPutValueDoesNotAffectCache() {
+    @SuppressWarnings("unchecked")
+    MapIndex<String, byte[]> bytesMap = mock(MapIndex.class);
+    CachingMapIndex<String, byte[]> cachingBytesMap =
+        new CachingMapIndex<>(bytesMap, modCounter, MAXIMUM_SIZE);
+    byte[] value = bytes(1, 2);
+    cachingBytesMap.put("k1", value);
+
+    value[0] = 3;
+
+    assertThat(cachingBytesMap.get("k1")).containsExactly(1, 2);
+    verify(bytesMap, never()).get("k1");
+  }
+
+  @Test
+  void getReturnsCachedValue() {
+    HashCode value = HashCode.fromInt(1);
+    @SuppressWarnings("unchecked")
+    MapIndex<String, HashCode> hashesMap = mock(MapIndex.class);
+    CachingMapIndex<String, HashCode> cachingHashesMap =
+        new CachingMapIndex<>(hashesMap, modCounter, MAXIMUM_SIZE);
+    when(hashesMap.get("k1")).thenReturn(value);
+    cachingHashesMap.get("k1");
+
+    // The cached value is not deserialized again
+    assertThat(cachingHashesMap.get("k1")).isSameAs(value);
+  }
+
+  @Test
+  void getName() {
+    when(map.getName()).thenReturn("test_map");
+
+    assertThat(cachingMap.getName()).isEqualTo("test_map");
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.proxy.NativeHandle;
+import com.exonum.binding.storage.database.ModificationCounter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import java.nio.ByteBuffer;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChunkedRustIterTest {
+
+  private static final int INITIAL_MOD_COUNT = 11;
+
+  private static final long DEFAULT_NATIVE_HANDLE = 0x05;
+
+  private ModificationCounter modCounter;
+
+  private ChunkedRustIter<Integer> iter;
+
+  private int numChunkRequests;
+
+  @BeforeEach
+  void setUp() {
+    modCounter = mock(ModificationCounter.class);
+    when(modCounter.getCurrentValue())
+        .thenReturn(INITIAL_MOD_COUNT);
+  }
+
+  @Test
+  void nextGoesThroughAllElements() {
+    List<Integer> underlyingList = asList(1, 2, 3, 4, 5);
+    createFromIterable(underlyingList, 2);
+
+    List<Integer> iterElements = ImmutableList.copyOf(new RustIterAdapter<>(iter));
+
+    assertThat(iterElements, equalTo(underlyingList));
+  }
+
+  @Test
+  void nextRequestsItemsInChunks() {
+    createFromIterable(asList(1, 2, 3, 4, 5), 2);
+
+    ImmutableList.copyOf(new RustIterAdapter<>(iter));
+
+    // Three non-empty chunks and the terminal one
+    assertThat(numChunkRequests, equalTo(4));
+  }
+
+  @Test
+  void nextDoesNotRequestChunksOnceExhausted() {
+    createFromIterable(asList(1), 4);
+
+    assertThat(iter.next(), equalTo(Optional.of(1)));
+    assertThat(iter.next(), equalTo(Optional.empty()));
+    assertThat(iter.next(), equalTo(Optional.empty()));
+
+    assertThat(numChunkRequests, equalTo(2));
+  }
+
+  @Test
+  void nextWithOneItemChunks() {
+    List<Integer> underlyingList = asList(1, 2, 3);
+    createFromIterable(underlyingList, 1);
+
+    List<Integer> iterElements = ImmutableList.copyOf(new RustIterAdapter<>(iter));
+
+    assertThat(iterElements, equalTo(underlyingList));
+    assertThat(numChunkRequests, equalTo(4));
+  }
+
+  @Test
+  void constructorRejectsNonPositiveChunkSize() {
+    assertThrows(IllegalArgumentException.class, () -> createFromIterable(emptyList(), 0));
+  }
+
+  @Test
+  void nextFailsIfModifiedBeforeFirstNext() {
+    createFromIterable(emptyList(), 2);
+
+    notifyModified();
+
+    assertThrows(ConcurrentModificationException.class, () -> iter.next());
+  }
+
+  @Test
+  void nextFailsIfModifiedWithinChunk() {
+    createFromIterable(asList(1, 2, 3), 3);
+
+    iter.next();  // 1st must succeed
+
+    notifyModified();
+
+    // Must throw even though the next item is already fetched
+    assertThrows(ConcurrentModificationException.class, () -> iter.next());
+  }
+
+  @Test
+  void nextFailsIfHandleClosed() {
+    NativeHandle nh = new NativeHandle(DEFAULT_NATIVE_HANDLE);
+    createFromIterable(nh, asList(1, 2), 2);
+
+    // Close the native handle.
+    nh.close();
+
+    assertThrows(IllegalStateException.class, () -> iter.next());
+  }
+
+  private void createFromIterable(Iterable<Integer> it, int chunkSize) {
+    NativeHandle nh = new NativeHandle(DEFAULT_NATIVE_HANDLE);
+    createFromIterable(nh, it, chunkSize);
+  }
+
+  private void createFromIterable(NativeHandle nativeHandle, Iterable<Integer> it,
+      int chunkSize) {
+    Iterator<Integer> iterator = it.iterator();
+    iter = new ChunkedRustIter<>(nativeHandle,
+        (h, maxItems) -> nextChunk(iterator, maxItems),
+        (chunk) -> Ints.fromByteArray(PackedItems.readItem(chunk)),
+        chunkSize,
+        modCounter);
+  }
+
+  private byte[] nextChunk(Iterator<Integer> iterator, int maxItems) {
+    numChunkRequests++;
+    ByteBuffer chunk = ByteBuffer.allocate(maxItems * 2 * Integer.BYTES);
+    for (int i = 0; i < maxItems && iterator.hasNext(); i++) {
+      chunk.putInt(Integer.BYTES)
+          .putInt(iterator.next());
+    }
+    if (chunk.position() == 0) {
+      return null;
+    }
+    byte[] packed = new byte[chunk.position()];
+    chunk.flip();
+    chunk.get(packed);
+    return packed;
+  }
+
+  private void notifyModified() {
+    when(modCounter.isModifiedSince(eq(INITIAL_MOD_COUNT)))
+        .thenReturn(true);
+  }
+}
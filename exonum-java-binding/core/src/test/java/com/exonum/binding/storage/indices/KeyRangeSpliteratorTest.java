@@ -0,0 +1,332 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static com.exonum.binding.storage.indices.KeyRangeSpliterator.VARIABLE_KEY_SIZE;
+import static com.exonum.binding.storage.indices.KeyRangeSpliterator.commonPrefixSuccessor;
+import static com.exonum.binding.storage.indices.KeyRangeSpliterator.midpoint;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.exonum.binding.common.hash.Hashing;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.UnsignedBytes;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class KeyRangeSpliteratorTest {
+
+  @Test
+  void commonPrefixSuccessorOfKeysWithCommonPrefix() {
+    byte[] successor = commonPrefixSuccessor(bytes(1, 2, 3), bytes(1, 2, 4, 5));
+
+    assertThat(successor).isEqualTo(bytes(1, 3));
+  }
+
+  @Test
+  void commonPrefixSuccessorOfKeysWithCommonPrefixEndingWithMaxByte() {
+    byte[] successor = commonPrefixSuccessor(bytes(1, 0xFF, 3), bytes(1, 0xFF, 4));
+
+    assertThat(successor).isEqualTo(bytes(2));
+  }
+
+  @Test
+  void commonPrefixSuccessorOfKeyAndItsExtension() {
+    byte[] successor = commonPrefixSuccessor(bytes(1, 2), bytes(1, 2, 0));
+
+    assertThat(successor).isEqualTo(bytes(1, 3));
+  }
+
+  @Test
+  void commonPrefixSuccessorOfKeysWithoutCommonPrefix() {
+    assertNull(commonPrefixSuccessor(bytes(1, 2), bytes(2, 2)));
+  }
+
+  @Test
+  void commonPrefixSuccessorOfKeysWithMaxBytesPrefix() {
+    assertNull(commonPrefixSuccessor(bytes(0xFF, 0xFF, 1), bytes(0xFF, 0xFF, 2)));
+  }
+
+  @Test
+  void midpointVariableSize() {
+    byte[] mid = midpoint(bytes(0x10), bytes(0x20), VARIABLE_KEY_SIZE);
+
+    assertThat(mid).isEqualTo(bytes(0x18));
+  }
+
+  @Test
+  void midpointVariableSizeOfAdjacentKeys() {
+    byte[] mid = midpoint(bytes(0x10), bytes(0x11), VARIABLE_KEY_SIZE);
+
+    assertThat(mid).isEqualTo(bytes(0x10, 0x80));
+  }
+
+  @Test
+  void midpointVariableSizeUnbounded() {
+    byte[] mid = midpoint(bytes(0x80), null, VARIABLE_KEY_SIZE);
+
+    assertThat(mid).isEqualTo(bytes(0xC0));
+  }
+
+  @Test
+  void midpointFixedSize() {
+    byte[] mid = midpoint(bytes(0x10, 0x00), bytes(0x10, 0x04), 2);
+
+    assertThat(mid).isEqualTo(bytes(0x10, 0x02));
+  }
+
+  @Test
+  void midpointFixedSizeUnbounded() {
+    byte[] mid = midpoint(bytes(0xFF, 0xFE), null, 2);
+
+    assertThat(mid).isEqualTo(bytes(0xFF, 0xFF));
+  }
+
+  @Test
+  void midpointFixedSizeOfAdjacentKeys() {
+    assertNull(midpoint(bytes(0x10, 0x00), bytes(0x10, 0x01), 2));
+  }
+
+  @Test
+  void trySplitEmpty() {
+    Spliterator<String> spliterator = createSpliterator(new TreeSet<>(), true);
+
+    assertNull(spliterator.trySplit());
+  }
+
+  @Test
+  void trySplitSingleElement() {
+    Spliterator<String> spliterator = createSpliterator(keys("a"), true);
+
+    assertNull(spliterator.trySplit());
+  }
+
+  @Test
+  void trySplitMutableSource() {
+    Spliterator<String> spliterator = createSpliterator(keys("a", "b", "c"), false);
+
+    assertNull(spliterator.trySplit());
+  }
+
+  @Test
+  void trySplitTwoElements() {
+    Spliterator<String> spliterator = createSpliterator(keys("a", "b"), true);
+
+    Spliterator<String> prefix = spliterator.trySplit();
+
+    assertThat(prefix).isNotNull();
+    assertThat(elements(prefix)).containsExactly("a");
+    assertThat(elements(spliterator)).containsExactly("b");
+  }
+
+  @Test
+  void trySplitAfterTraversalStarted() {
+    Spliterator<String> spliterator = createSpliterator(keys("a", "b", "c"), true);
+
+    spliterator.tryAdvance(e -> { });
+
+    assertNull(spliterator.trySplit());
+  }
+
+  @Test
+  void trySplitKeysWithCommonPrefix() {
+    NavigableSet<byte[]> keys = keys("wallet_a", "wallet_b", "wallet_c", "wallet_d");
+    Spliterator<String> spliterator = createSpliterator(keys, true);
+
+    Spliterator<String> prefix = spliterator.trySplit();
+
+    assertThat(prefix).isNotNull();
+    List<String> prefixElements = elements(prefix);
+    List<String> suffixElements = elements(spliterator);
+    assertThat(prefixElements).startsWith("wallet_a");
+    assertThat(suffixElements).isNotEmpty();
+    assertThat(Stream.concat(prefixElements.stream(), suffixElements.stream()))
+        .containsExactly("wallet_a", "wallet_b", "wallet_c", "wallet_d");
+  }
+
+  @Test
+  void trySplitKeysWithDistinctPrefixes() {
+    NavigableSet<byte[]> keys = keys("a1", "a2", "b1", "b2", "c");
+    Spliterator<String> spliterator = createSpliterator(keys, true);
+
+    Spliterator<String> prefix = spliterator.trySplit();
+
+    assertThat(prefix).isNotNull();
+    assertThat(elements(prefix)).containsExactly("a1", "a2");
+    assertThat(elements(spliterator)).containsExactly("b1", "b2", "c");
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {2, 3, 10, 100, 1000})
+  void splitRecursivelyVariableSizeKeys(int numKeys) {
+    NavigableSet<byte[]> keys = IntStream.range(0, numKeys)
+        .mapToObj(i -> "key_" + i)
+        .map(KeyRangeSpliteratorTest::bytes)
+        .collect(Collectors.toCollection(KeyRangeSpliteratorTest::newKeySet));
+
+    testSplitRecursively(keys, VARIABLE_KEY_SIZE);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {2, 3, 10, 100, 1000})
+  void splitRecursivelyHashes(int numKeys) {
+    NavigableSet<byte[]> keys = IntStream.range(0, numKeys)
+        .mapToObj(i -> Hashing.sha256().hashInt(i).asBytes())
+        .collect(Collectors.toCollection(KeyRangeSpliteratorTest::newKeySet));
+
+    testSplitRecursively(keys, Hashing.DEFAULT_HASH_SIZE_BYTES);
+  }
+
+  @Test
+  void splitRecursivelyHashesAreBalanced() {
+    int numKeys = 1024;
+    NavigableSet<byte[]> keys = IntStream.range(0, numKeys)
+        .mapToObj(i -> Hashing.sha256().hashInt(i).asBytes())
+        .collect(Collectors.toCollection(KeyRangeSpliteratorTest::newKeySet));
+    Spliterator<byte[]> spliterator = new KeyRangeSpliterator<>(new FakeIndex(keys),
+        k -> k, Hashing.DEFAULT_HASH_SIZE_BYTES, true);
+
+    Spliterator<byte[]> prefix = spliterator.trySplit();
+
+    assertThat(prefix).isNotNull();
+    long prefixSize = StreamSupport.stream(prefix, false).count();
+    assertThat(prefixSize).isBetween(numKeys / 4L, 3L * numKeys / 4);
+  }
+
+  @Test
+  void parallelStreamHashes() {
+    int numKeys = 10_000;
+    NavigableSet<byte[]> keys = IntStream.range(0, numKeys)
+        .mapToObj(i -> Hashing.sha256().hashInt(i).asBytes())
+        .collect(Collectors.toCollection(KeyRangeSpliteratorTest::newKeySet));
+    Spliterator<byte[]> spliterator = new KeyRangeSpliterator<>(new FakeIndex(keys),
+        k -> k, Hashing.DEFAULT_HASH_SIZE_BYTES, true);
+
+    List<byte[]> elements = StreamSupport.stream(spliterator, true)
+        .collect(toList());
+
+    assertThat(elements).containsExactlyElementsOf(keys);
+  }
+
+  private static void testSplitRecursively(NavigableSet<byte[]> keys, int keySize) {
+    Spliterator<byte[]> spliterator = new KeyRangeSpliterator<>(new FakeIndex(keys), k -> k,
+        keySize, true);
+
+    List<byte[]> elements = splitRecursively(spliterator)
+        .collect(toList());
+
+    assertThat(elements).containsExactlyElementsOf(keys);
+  }
+
+  /**
+   * Splits the spliterator while it is splittable, and concatenates the resulting streams.
+   */
+  private static Stream<byte[]> splitRecursively(Spliterator<byte[]> spliterator) {
+    Spliterator<byte[]> prefix = spliterator.trySplit();
+    if (prefix == null) {
+      return StreamSupport.stream(spliterator, false);
+    }
+    // Check that neither of the splits is empty
+    List<byte[]> prefixElements = splitRecursively(prefix).collect(toList());
+    List<byte[]> suffixElements = splitRecursively(spliterator).collect(toList());
+    assertThat(prefixElements).isNotEmpty();
+    assertThat(suffixElements).isNotEmpty();
+    return Stream.concat(prefixElements.stream(), suffixElements.stream());
+  }
+
+  private static Spliterator<String> createSpliterator(NavigableSet<byte[]> keys,
+      boolean immutable) {
+    return new KeyRangeSpliterator<>(new FakeIndex(keys),
+        k -> new String(k, StandardCharsets.UTF_8), VARIABLE_KEY_SIZE, immutable);
+  }
+
+  private static List<String> elements(Spliterator<String> spliterator) {
+    return StreamSupport.stream(spliterator, false)
+        .collect(toList());
+  }
+
+  private static NavigableSet<byte[]> keys(String... keys) {
+    NavigableSet<byte[]> keySet = newKeySet();
+    for (String key : keys) {
+      keySet.add(bytes(key));
+    }
+    return keySet;
+  }
+
+  private static NavigableSet<byte[]> newKeySet() {
+    return new TreeSet<>(UnsignedBytes.lexicographicalComparator());
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] bytes(int... bytes) {
+    List<Byte> list = new ArrayList<>();
+    for (int b : bytes) {
+      list.add(UnsignedBytes.checkedCast(b));
+    }
+    return Bytes.toArray(list);
+  }
+
+  /**
+   * An index of keys, backed by a sorted set.
+   */
+  private static class FakeIndex implements KeyRangeSpliterator.KeyOrderedIndex<byte[]> {
+
+    private final NavigableSet<byte[]> keys;
+
+    FakeIndex(NavigableSet<byte[]> keys) {
+      this.keys = keys;
+    }
+
+    @Override
+    public Iterator<byte[]> iterator(@Nullable byte[] fromKey) {
+      return (fromKey == null) ? keys.iterator() : keys.tailSet(fromKey, true).iterator();
+    }
+
+    @Override
+    public List<byte[]> firstItems(@Nullable byte[] fromKey, int maxItems) {
+      Iterator<byte[]> it = iterator(fromKey);
+      ImmutableList.Builder<byte[]> items = ImmutableList.builder();
+      for (int i = 0; i < maxItems && it.hasNext(); i++) {
+        items.add(it.next());
+      }
+      return items.build();
+    }
+
+    @Override
+    public byte[] keyOf(byte[] item) {
+      return item;
+    }
+  }
+}
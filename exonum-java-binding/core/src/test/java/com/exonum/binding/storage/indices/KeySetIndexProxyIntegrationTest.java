@@ -18,6 +18,9 @@ package com.exonum.binding.storage.indices;
 
 import static com.exonum.binding.storage.indices.TestStorageItems.K1;
 import static com.exonum.binding.storage.indices.TestStorageItems.K9;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -26,6 +29,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.Snapshot;
 import com.exonum.binding.storage.database.View;
 import com.google.common.collect.ImmutableList;
 import java.util.Iterator;
@@ -33,6 +39,8 @@ import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class KeySetIndexProxyIntegrationTest
@@ -65,6 +73,25 @@ class KeySetIndexProxyIntegrationTest
         (set) -> assertThrows(UnsupportedOperationException.class, () -> set.add(K1)));
   }
 
+  @Test
+  void addAll() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> keys = TestStorageItems.keys.subList(0, 3);
+
+      set.addAll(keys);
+
+      assertTrue(set.containsAll(keys));
+      assertFalse(set.contains(K9));
+    });
+  }
+
+  @Test
+  void addAllFailsIfSnapshot() {
+    runTestWithView(database::createSnapshot,
+        (set) -> assertThrows(UnsupportedOperationException.class,
+            () -> set.addAll(singletonList(K1))));
+  }
+
   @Test
   void clearEmptyHasNoEffect() {
     runTestWithView(database::createFork, KeySetIndexProxy::clear);
@@ -95,6 +122,17 @@ class KeySetIndexProxyIntegrationTest
     runTestWithView(database::createSnapshot, (set) -> assertFalse(set.contains(K1)));
   }
 
+  @Test
+  void containsAll() {
+    runTestWithView(database::createFork, (set) -> {
+      set.add(K1);
+
+      assertTrue(set.containsAll(singletonList(K1)));
+      assertTrue(set.containsAll(emptyList()));
+      assertFalse(set.containsAll(asList(K1, K9)));
+    });
+  }
+
   @Test
   void testIterator() {
     runTestWithView(database::createFork, (set) -> {
@@ -111,6 +149,56 @@ class KeySetIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void testIteratorFrom() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> elements = TestStorageItems.keys;
+
+      elements.forEach(set::add);
+
+      int fromIndex = elements.size() / 2;
+      Iterator<String> iterator = set.iterator(elements.get(fromIndex));
+      List<String> iterElements = ImmutableList.copyOf(iterator);
+
+      assertThat(iterElements, equalTo(elements.subList(fromIndex, elements.size())));
+    });
+  }
+
+  @Test
+  void testStream() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> elements = TestStorageItems.keys;
+
+      set.addAll(elements);
+
+      List<String> streamElements = set.stream()
+          .collect(Collectors.toList());
+
+      assertThat(streamElements, equalTo(elements));
+    });
+  }
+
+  @Test
+  void testParallelStreamWithSnapshot() throws CloseFailuresException {
+    List<String> elements = IntStream.range(0, 1000)
+        .mapToObj(i -> String.format("k%04d", i))
+        .collect(Collectors.toList());
+    try (Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      create(KEY_SET_NAME, fork).addAll(elements);
+      database.merge(fork);
+
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      KeySetIndexProxy<String> set = create(KEY_SET_NAME, snapshot);
+
+      List<String> streamElements = set.stream()
+          .parallel()
+          .collect(Collectors.toList());
+
+      assertThat(streamElements, equalTo(elements));
+    }
+  }
+
   @Test
   void removesAddedElement() {
     runTestWithView(database::createFork, (set) -> {
@@ -140,6 +228,20 @@ class KeySetIndexProxyIntegrationTest
         (set) -> assertThrows(UnsupportedOperationException.class, () -> set.remove(K1)));
   }
 
+  @Test
+  void removeAll() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> keys = TestStorageItems.keys.subList(0, 3);
+      set.addAll(keys);
+
+      set.removeAll(asList(keys.get(0), keys.get(2), K9));
+
+      assertFalse(set.contains(keys.get(0)));
+      assertTrue(set.contains(keys.get(1)));
+      assertFalse(set.contains(keys.get(2)));
+    });
+  }
+
   /**
    * Creates a view, a key set index and runs a test against the view and the set.
    * Automatically closes the view and the set.
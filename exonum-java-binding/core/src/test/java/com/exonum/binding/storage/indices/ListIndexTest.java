@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.exonum.binding.storage.indices;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ListIndexTest {
+
+  private static final List<String> ELEMENTS = ImmutableList.of("e0", "e1", "e2");
+
+  private ListIndex<String> list;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    // Use the default implementations on top of the basic operations
+    list = mock(ListIndex.class, CALLS_REAL_METHODS);
+    doReturn((long) ELEMENTS.size()).when(list).size();
+    doAnswer(inv -> ELEMENTS.get(Math.toIntExact(inv.getArgument(0))))
+        .when(list).get(anyLong());
+    doAnswer(inv -> ELEMENTS.iterator()).when(list).iterator();
+  }
+
+  @Test
+  void getRange() {
+    assertThat(list.getRange(1, 3)).containsExactly("e1", "e2");
+  }
+
+  @Test
+  void getRangeEmpty() {
+    assertThat(list.getRange(3, 3)).isEmpty();
+  }
+
+  @Test
+  void getRangeRejectsInvalidRange() {
+    assertThrows(IndexOutOfBoundsException.class, () -> list.getRange(2, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.getRange(0, 4));
+  }
+
+  @Test
+  void iteratorFromIndex() {
+    Iterator<String> iterator = list.iterator(1);
+
+    assertThat(iterator).toIterable().containsExactly("e1", "e2");
+  }
+
+  @Test
+  void iteratorFromSize() {
+    assertThat(list.iterator(3).hasNext()).isFalse();
+  }
+
+  @Test
+  void iteratorFromIndexRejectsInvalidIndex() {
+    assertThrows(IndexOutOfBoundsException.class, () -> list.iterator(4));
+  }
+}
@@ -28,12 +28,15 @@ import static org.mockito.Mockito.when;
 
 import com.exonum.binding.storage.database.IncrementalModificationCounter;
 import com.exonum.binding.storage.database.ModificationCounter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.junit.jupiter.api.DisplayName;
@@ -239,6 +242,47 @@ class ListSpliteratorTest {
     assertThat(spliterator.estimateSize()).isEqualTo(size);
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {1, ListSpliterator.FOR_EACH_BATCH_SIZE - 1,
+      ListSpliterator.FOR_EACH_BATCH_SIZE, ListSpliterator.FOR_EACH_BATCH_SIZE + 1,
+      2 * ListSpliterator.FOR_EACH_BATCH_SIZE + 1})
+  void forEachRemainingRequestsElementsInBatches(int size) {
+    int[] source = IntStream.range(0, size).toArray();
+    Spliterator<Integer> spliterator = createSpliteratorOf(source);
+
+    // Advance the spliterator so that forEachRemaining starts with a non-zero index
+    spliterator.tryAdvance(NULL_CONSUMER);
+
+    List<Integer> elements = new ArrayList<>();
+    spliterator.forEachRemaining(elements::add);
+
+    int[] expected = Arrays.copyOfRange(source, 1, size);
+    assertThat(elements).containsExactly(Arrays.stream(expected).boxed().toArray(Integer[]::new));
+    assertThat(spliterator.estimateSize()).isZero();
+  }
+
+  @Test
+  void forEachRemainingDetectsModificationsBetweenBatches() {
+    int size = ListSpliterator.FOR_EACH_BATCH_SIZE + 1;
+    ListIndex<Integer> list = createListMock();
+    when(list.size()).thenReturn((long) size);
+    when(list.getRange(anyLong(), anyLong())).thenAnswer(invocation -> {
+      long fromIndex = invocation.getArgument(0);
+      long toIndex = invocation.getArgument(1);
+      return LongStream.range(fromIndex, toIndex)
+          .mapToObj(Math::toIntExact)
+          .collect(Collectors.toList());
+    });
+    ModificationCounter counter = new IncrementalModificationCounter();
+    Spliterator<Integer> spliterator = new ListSpliterator<>(list, counter, true);
+
+    // Modify the source when processing the first batch
+    Consumer<Integer> modifyingAction = e -> counter.notifyModified();
+
+    assertThrows(ConcurrentModificationException.class,
+        () -> spliterator.forEachRemaining(modifyingAction));
+  }
+
   private static void assertHasDetectedModification(Spliterator<Integer> spliterator) {
     assertThrows(ConcurrentModificationException.class,
         () -> spliterator.tryAdvance(NULL_CONSUMER));
@@ -292,6 +336,13 @@ class ListSpliteratorTest {
       Long index = invocation.getArgument(0);
       return source[Math.toIntExact(index)];
     });
+    lenient().when(list.getRange(anyLong(), anyLong())).thenAnswer(invocation -> {
+      Long fromIndex = invocation.getArgument(0);
+      Long toIndex = invocation.getArgument(1);
+      return Arrays.stream(source, Math.toIntExact(fromIndex), Math.toIntExact(toIndex))
+          .boxed()
+          .collect(Collectors.toList());
+    });
     lenient().when(list.size()).thenReturn((long) source.length);
 
     ModificationCounter modCounter = mock(ModificationCounter.class);
@@ -19,13 +19,19 @@ package com.exonum.binding.storage.indices;
 import static com.exonum.binding.storage.indices.MapEntries.putAll;
 import static com.exonum.binding.storage.indices.TestStorageItems.K1;
 import static com.exonum.binding.storage.indices.TestStorageItems.K2;
+import static com.exonum.binding.storage.indices.TestStorageItems.K3;
+import static com.exonum.binding.storage.indices.TestStorageItems.K4;
 import static com.exonum.binding.storage.indices.TestStorageItems.V1;
 import static com.exonum.binding.storage.indices.TestStorageItems.V2;
 import static com.exonum.binding.storage.indices.TestStorageItems.V3;
 import static com.exonum.binding.storage.indices.TestStorageItems.V4;
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -36,9 +42,11 @@ import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.CloseFailuresException;
 import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.Snapshot;
 import com.exonum.binding.storage.database.View;
 import com.exonum.binding.storage.indices.TestProtoMessages.Id;
 import com.exonum.binding.storage.indices.TestProtoMessages.Point;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
@@ -84,6 +92,27 @@ class MapIndexProxyIntegrationTest
     }
   }
 
+  @Test
+  void newInstanceReturnsSameProxyInView() {
+    runTestWithView(database::createSnapshot, (view, map) -> {
+      MapIndexProxy<String, String> sameMap = createMap(MAP_NAME, view);
+      MapIndexProxy<String, String> otherMap = createMap("other_map", view);
+
+      assertThat(sameMap, sameInstance(map));
+      assertThat(otherMap, not(sameInstance(map)));
+    });
+  }
+
+  @Test
+  void newInstanceReturnsDifferentProxiesForDifferentSerializers() {
+    runTestWithView(database::createSnapshot, (view, map) -> {
+      MapIndexProxy<String, byte[]> bytesMap = MapIndexProxy.newInstance(MAP_NAME, view,
+          StandardSerializers.string(), StandardSerializers.bytes());
+
+      assertThat(bytesMap, not(sameInstance(map)));
+    });
+  }
+
   @Test
   void containsKeyShouldReturnFalseIfNoSuchKey() {
     runTestWithView(database::createSnapshot,
@@ -149,6 +178,33 @@ class MapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void getShouldReturnValueLargerThanDirectBuffer() {
+    runTestWithView(database::createFork, (map) -> {
+      String key = "key";
+      String value = Strings.repeat("v", 2 * DirectBuffers.DEFAULT_BUFFER_SIZE);
+
+      map.put(key, value);
+
+      String storedValue = map.get(key);
+
+      assertThat(storedValue, equalTo(value));
+    });
+  }
+
+  @Test
+  void getShouldReturnValueOfKeyLargerThanDirectBuffer() {
+    runTestWithView(database::createFork, (map) -> {
+      String key = Strings.repeat("k", 2 * DirectBuffers.DEFAULT_BUFFER_SIZE);
+
+      map.put(key, V1);
+
+      String storedValue = map.get(key);
+
+      assertThat(storedValue, equalTo(V1));
+    });
+  }
+
   @Test
   void putAllInEmptyMap() {
     runTestWithView(database::createFork, (map) -> {
@@ -195,6 +251,83 @@ class MapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void putAllShouldFailWithSnapshot() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(UnsupportedOperationException.class,
+          () -> map.putAll(ImmutableMap.of(K1, V1)));
+    });
+  }
+
+  @Test
+  void getAllReturnsValuesInKeysOrder() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putAll(ImmutableMap.of(
+          K1, V1,
+          K2, V2,
+          "", V3
+      ));
+
+      List<String> values = map.getAll(asList(K2, K3, "", K1));
+
+      assertThat(values, equalTo(asList(V2, null, V3, V1)));
+    });
+  }
+
+  @Test
+  void getAllWithNoKeys() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      List<String> values = map.getAll(emptyList());
+
+      assertThat(values, equalTo(emptyList()));
+    });
+  }
+
+  @Test
+  void getAllShouldThrowIfNullKey() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(NullPointerException.class, () -> map.getAll(asList(K1, null)));
+    });
+  }
+
+  @Test
+  void containsAll() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putAll(ImmutableMap.of(
+          K1, V1,
+          K2, V2
+      ));
+
+      assertTrue(map.containsAll(asList(K1, K2)));
+      assertTrue(map.containsAll(emptyList()));
+      assertFalse(map.containsAll(asList(K1, K3)));
+    });
+  }
+
+  @Test
+  void removeAll() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putAll(ImmutableMap.of(
+          K1, V1,
+          K2, V2,
+          K3, V3
+      ));
+
+      map.removeAll(asList(K1, K3, K4));
+
+      assertFalse(map.containsKey(K1));
+      assertTrue(map.containsKey(K2));
+      assertFalse(map.containsKey(K3));
+    });
+  }
+
+  @Test
+  void removeAllShouldFailWithSnapshot() {
+    runTestWithView(database::createSnapshot, (map) -> {
+      assertThrows(UnsupportedOperationException.class, () -> map.removeAll(asList(K1)));
+    });
+  }
+
   @Test
   void getShouldReturnSuccessfullyPutEmptyValue() {
     runTestWithView(database::createFork, (map) -> {
@@ -397,6 +530,133 @@ class MapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void keysFromShouldReturnIterStartingAtTheKey() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      String fromKey = entries.get(2).getKey();
+      List<String> keysFromIter = ImmutableList.copyOf(map.keys(fromKey));
+      List<String> expectedKeys = MapEntries.extractKeys(entries.subList(2, entries.size()));
+
+      assertThat(keysFromIter, equalTo(expectedKeys));
+    });
+  }
+
+  @Test
+  void keysFromShouldStartAtTheNextKeyIfNoSuchKey() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(3);
+      putAll(map, entries);
+
+      // "a" < "a0" < "b"
+      List<String> keysFromIter = ImmutableList.copyOf(map.keys("a0"));
+      List<String> expectedKeys = MapEntries.extractKeys(entries.subList(1, entries.size()));
+
+      assertThat(keysFromIter, equalTo(expectedKeys));
+    });
+  }
+
+  @Test
+  void keysFromShouldReturnEmptyIterIfKeyIsAfterTheLast() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(3);
+      putAll(map, entries);
+
+      Iterator<String> iterator = map.keys("z");
+
+      assertFalse(iterator.hasNext());
+    });
+  }
+
+  @Test
+  void valuesFromShouldReturnIterStartingAtTheKey() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      String fromKey = entries.get(3).getKey();
+      List<String> valuesFromIter = ImmutableList.copyOf(map.values(fromKey));
+      List<String> expectedValues = MapEntries.extractValues(entries.subList(3, entries.size()));
+
+      assertThat(valuesFromIter, equalTo(expectedValues));
+    });
+  }
+
+  @Test
+  void entriesFromShouldReturnIterStartingAtTheKey() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      String fromKey = entries.get(1).getKey();
+      List<MapEntry<String, String>> iterEntries = ImmutableList.copyOf(map.entries(fromKey));
+
+      assertThat(iterEntries, equalTo(entries.subList(1, entries.size())));
+    });
+  }
+
+  @Test
+  void entriesFromIterNextShouldFailIfThisMapModified() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(3);
+      putAll(map, entries);
+
+      Iterator<MapEntry<String, String>> iterator = map.entries(entries.get(1).getKey());
+      iterator.next();
+      map.put("new key", "new value");
+
+      assertThrows(ConcurrentModificationException.class, iterator::next);
+    });
+  }
+
+  @Test
+  void entryStreamShouldReturnAllEntries() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(5);
+      putAll(map, entries);
+
+      List<MapEntry<String, String>> streamEntries = map.entryStream()
+          .collect(Collectors.toList());
+
+      assertThat(streamEntries, equalTo(entries));
+    });
+  }
+
+  @Test
+  void entryStreamShouldFailIfThisMapModified() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<String, String>> entries = createSortedMapEntries(3);
+      putAll(map, entries);
+
+      assertThrows(ConcurrentModificationException.class, () -> map.entryStream()
+          .peek(e -> map.put("new key", "new value"))
+          .count());
+    });
+  }
+
+  @Test
+  void parallelEntryStreamWithSnapshot() throws CloseFailuresException {
+    List<MapEntry<String, String>> entries = IntStream.range(0, 1000)
+        .mapToObj(i -> MapEntry.valueOf(String.format("key_%04d", i), "v" + i))
+        .collect(Collectors.toList());
+    try (Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      putAll(createMap(MAP_NAME, fork), entries);
+      database.merge(fork);
+
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      MapIndexProxy<String, String> map = createMap(MAP_NAME, snapshot);
+
+      List<MapEntry<String, String>> streamEntries = map.entryStream()
+          .parallel()
+          .collect(Collectors.toList());
+
+      assertThat(streamEntries, equalTo(entries));
+    }
+  }
+
   @Test
   void clearEmptyFork() {
     runTestWithView(database::createFork, MapIndexProxy::clear);  // no-op
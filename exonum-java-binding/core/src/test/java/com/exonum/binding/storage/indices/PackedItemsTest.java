@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.exonum.binding.storage.indices;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PackedItemsTest {
+
+  @Test
+  void readItem() {
+    ByteBuffer chunk = ByteBuffer.wrap(new byte[] {0, 0, 0, 2, 1, 2});
+
+    byte[] item = PackedItems.readItem(chunk);
+
+    assertThat(item, equalTo(new byte[] {1, 2}));
+    assertFalse(chunk.hasRemaining());
+  }
+
+  @Test
+  void readEmptyItem() {
+    ByteBuffer chunk = ByteBuffer.wrap(new byte[] {0, 0, 0, 0});
+
+    byte[] item = PackedItems.readItem(chunk);
+
+    assertThat(item, equalTo(new byte[0]));
+  }
+
+  @Test
+  void readSeveralItems() {
+    ByteBuffer chunk = ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 1, 0, 0, 0, 2, 2, 3});
+
+    assertThat(PackedItems.readItem(chunk), equalTo(new byte[] {1}));
+    assertThat(PackedItems.readItem(chunk), equalTo(new byte[] {2, 3}));
+    assertFalse(chunk.hasRemaining());
+  }
+
+  @Test
+  void readItemTruncated() {
+    ByteBuffer chunk = ByteBuffer.wrap(new byte[] {0, 0, 0, 3, 1, 2});
+
+    assertThrows(BufferUnderflowException.class, () -> PackedItems.readItem(chunk));
+  }
+
+  @Test
+  void readEntry() {
+    ByteBuffer chunk = ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 1, 0, 0, 0, 2, 2, 3});
+
+    MapEntryInternal entry = PackedItems.readEntry(chunk);
+
+    assertThat(entry.key, equalTo(new byte[] {1}));
+    assertThat(entry.value, equalTo(new byte[] {2, 3}));
+    assertFalse(chunk.hasRemaining());
+  }
+
+  @Test
+  void pack() {
+    byte[] chunk = PackedItems.pack(asList(new byte[] {1}, new byte[0], new byte[] {2, 3}));
+
+    assertThat(chunk, equalTo(new byte[] {0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 2, 2, 3}));
+  }
+
+  @Test
+  void packNoItems() {
+    byte[] chunk = PackedItems.pack(emptyList());
+
+    assertThat(chunk, equalTo(new byte[0]));
+  }
+
+  @Test
+  void packThenRead() {
+    List<byte[]> items = asList(new byte[] {1, 2}, new byte[] {3});
+    ByteBuffer chunk = ByteBuffer.wrap(PackedItems.pack(items));
+
+    assertThat(PackedItems.readItem(chunk), equalTo(items.get(0)));
+    assertThat(PackedItems.readItem(chunk), equalTo(items.get(1)));
+    assertFalse(chunk.hasRemaining());
+  }
+
+  @Test
+  void readOptionalItem() {
+    ByteBuffer chunk = ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 1});
+
+    assertThat(PackedItems.readOptionalItem(chunk), equalTo(new byte[] {1}));
+  }
+
+  @Test
+  void readOptionalItemAbsent() {
+    ByteBuffer chunk = ByteBuffer.wrap(new byte[] {-1, -1, -1, -1});
+
+    assertNull(PackedItems.readOptionalItem(chunk));
+    assertFalse(chunk.hasRemaining());
+  }
+
+  @Test
+  void unpackOptional() {
+    byte[] chunk = {0, 0, 0, 1, 1, -1, -1, -1, -1, 0, 0, 0, 0};
+
+    List<Integer> lengths = PackedItems.unpackOptional(chunk, (item) -> item.length);
+
+    assertThat(lengths, equalTo(asList(1, null, 0)));
+  }
+}
@@ -53,9 +53,12 @@ import com.exonum.binding.common.proofs.map.UncheckedMapProof;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
 import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.Snapshot;
 import com.exonum.binding.storage.database.View;
 import com.exonum.binding.test.Bytes;
 import com.exonum.binding.test.CiOnly;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
@@ -64,6 +67,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -198,6 +202,49 @@ class ProofMapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void putAllFailsIfInvalidKey() {
+    runTestWithView(database::createFork, (map) -> assertThrows(IllegalArgumentException.class,
+        () -> map.putAll(ImmutableMap.of(
+            PK1, V1,
+            INVALID_PROOF_KEY, V2
+        ))));
+  }
+
+  @Test
+  void getAllReturnsValuesInKeysOrder() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putAll(ImmutableMap.of(
+          PK1, V1,
+          PK3, V3
+      ));
+
+      List<String> values = map.getAll(Arrays.asList(PK3, PK2, PK1));
+
+      assertThat(values, equalTo(Arrays.asList(V3, null, V1)));
+    });
+  }
+
+  @Test
+  void getAllFailsIfInvalidKey() {
+    runTestWithView(database::createSnapshot, (map) -> assertThrows(IllegalArgumentException.class,
+        () -> map.getAll(Arrays.asList(PK1, INVALID_PROOF_KEY))));
+  }
+
+  @Test
+  void containsAll() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putAll(ImmutableMap.of(
+          PK1, V1,
+          PK2, V2
+      ));
+
+      assertTrue(map.containsAll(Arrays.asList(PK1, PK2)));
+      assertTrue(map.containsAll(Collections.emptyList()));
+      assertFalse(map.containsAll(Arrays.asList(PK1, PK3)));
+    });
+  }
+
   @Test
   void get() {
     runTestWithView(database::createFork, (map) -> {
@@ -207,6 +254,16 @@ class ProofMapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void getValueLargerThanDirectBuffer() {
+    runTestWithView(database::createFork, (map) -> {
+      String value = Strings.repeat("v", 2 * DirectBuffers.DEFAULT_BUFFER_SIZE);
+      map.put(PK1, value);
+
+      assertThat(map.get(PK1), equalTo(value));
+    });
+  }
+
   @Test
   void getRootHash_EmptyMap() {
     runTestWithView(database::createSnapshot,
@@ -585,6 +642,30 @@ class ProofMapIndexProxyIntegrationTest
         (map) -> assertThrows(IllegalArgumentException.class, () -> map.remove(INVALID_PROOF_KEY)));
   }
 
+  @Test
+  void removeAll() {
+    runTestWithView(database::createFork, (map) -> {
+      map.putAll(ImmutableMap.of(
+          PK1, V1,
+          PK2, V2,
+          PK3, V3
+      ));
+
+      map.removeAll(Arrays.asList(PK1, PK3));
+
+      assertNull(map.get(PK1));
+      assertThat(map.get(PK2), equalTo(V2));
+      assertNull(map.get(PK3));
+    });
+  }
+
+  @Test
+  void removeAllFailsIfSnapshot() {
+    runTestWithView(database::createSnapshot,
+        (map) -> assertThrows(UnsupportedOperationException.class,
+            () -> map.removeAll(singletonList(PK1))));
+  }
+
   @Test
   void keysTest() {
     runTestWithView(database::createFork, (map) -> {
@@ -631,6 +712,98 @@ class ProofMapIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void keysFromTest() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+
+      putAll(map, entries);
+
+      int fromIndex = entries.size() / 2;
+      HashCode fromKey = entries.get(fromIndex).getKey();
+      List<HashCode> keysFromIter = ImmutableList.copyOf(map.keys(fromKey));
+      List<HashCode> expectedKeys = MapEntries.extractKeys(
+          entries.subList(fromIndex, entries.size()));
+
+      assertThat(keysFromIter, equalTo(expectedKeys));
+    });
+  }
+
+  @Test
+  void valuesFromTest() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+
+      putAll(map, entries);
+
+      int fromIndex = entries.size() / 2;
+      HashCode fromKey = entries.get(fromIndex).getKey();
+      List<String> valuesFromIter = ImmutableList.copyOf(map.values(fromKey));
+      List<String> expectedValues = MapEntries.extractValues(
+          entries.subList(fromIndex, entries.size()));
+
+      assertThat(valuesFromIter, equalTo(expectedValues));
+    });
+  }
+
+  @Test
+  void entriesFromTest() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+
+      putAll(map, entries);
+
+      int fromIndex = entries.size() / 2;
+      HashCode fromKey = entries.get(fromIndex).getKey();
+      List<MapEntry<HashCode, String>> entriesFromIter = ImmutableList.copyOf(
+          map.entries(fromKey));
+
+      assertThat(entriesFromIter, equalTo(entries.subList(fromIndex, entries.size())));
+    });
+  }
+
+  @Test
+  void entryStreamTest() {
+    runTestWithView(database::createFork, (map) -> {
+      List<MapEntry<HashCode, String>> entries = createSortedMapEntries();
+
+      putAll(map, entries);
+
+      List<MapEntry<HashCode, String>> streamEntries = map.entryStream()
+          .collect(Collectors.toList());
+      assertThat(streamEntries, equalTo(entries));
+    });
+  }
+
+  @Test
+  void parallelEntryStreamWithSnapshot() throws CloseFailuresException {
+    List<MapEntry<HashCode, String>> entries = IntStream.range(0, 1000)
+        .mapToObj(i -> MapEntry.valueOf(Hashing.sha256().hashInt(i), "v" + i))
+        .sorted(Comparator.comparing(e -> e.getKey().asBytes(),
+            UnsignedBytes.lexicographicalComparator()))
+        .collect(Collectors.toList());
+    try (Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      putAll(createProofMap(MAP_NAME, fork), entries);
+      database.merge(fork);
+
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      ProofMapIndexProxy<HashCode, String> map = createProofMap(MAP_NAME, snapshot);
+
+      List<MapEntry<HashCode, String>> streamEntries = map.entryStream()
+          .parallel()
+          .collect(Collectors.toList());
+
+      assertThat(streamEntries, equalTo(entries));
+    }
+  }
+
+  @Test
+  void keysFromFailsIfInvalidKey() {
+    runTestWithView(database::createFork,
+        (map) -> assertThrows(IllegalArgumentException.class, () -> map.keys(INVALID_PROOF_KEY)));
+  }
+
   @Test
   void clearEmptyHasNoEffect() {
     runTestWithView(database::createFork, ProofMapIndexProxy::clear);
@@ -19,6 +19,9 @@ package com.exonum.binding.storage.indices;
 import static com.exonum.binding.storage.indices.TestStorageItems.V1;
 import static com.exonum.binding.storage.indices.TestStorageItems.V2;
 import static com.exonum.binding.storage.indices.TestStorageItems.V9;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -29,6 +32,9 @@ import com.exonum.binding.common.hash.HashCode;
 import com.exonum.binding.common.hash.Hashing;
 import com.exonum.binding.common.serialization.StandardSerializers;
 import com.exonum.binding.proxy.Cleaner;
+import com.exonum.binding.proxy.CloseFailuresException;
+import com.exonum.binding.storage.database.Fork;
+import com.exonum.binding.storage.database.Snapshot;
 import com.exonum.binding.storage.database.View;
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.UnsignedBytes;
@@ -38,6 +44,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class ValueSetIndexProxyIntegrationTest
@@ -59,6 +66,23 @@ class ValueSetIndexProxyIntegrationTest
         (set) -> assertThrows(UnsupportedOperationException.class, () -> set.add(V1)));
   }
 
+  @Test
+  void addAll() {
+    runTestWithView(database::createFork, (set) -> {
+      set.addAll(asList(V1, V2));
+
+      assertTrue(set.containsAll(asList(V1, V2)));
+      assertFalse(set.contains(V9));
+    });
+  }
+
+  @Test
+  void addAllFailsIfSnapshot() {
+    runTestWithView(database::createSnapshot,
+        (set) -> assertThrows(UnsupportedOperationException.class,
+            () -> set.addAll(singletonList(V1))));
+  }
+
   @Test
   void clearEmptyHasNoEffect() {
     runTestWithView(database::createFork, ValueSetIndexProxy::clear);
@@ -99,6 +123,17 @@ class ValueSetIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void containsAll() {
+    runTestWithView(database::createFork, (set) -> {
+      set.add(V1);
+
+      assertTrue(set.containsAll(singletonList(V1)));
+      assertTrue(set.containsAll(emptyList()));
+      assertFalse(set.containsAll(asList(V1, V9)));
+    });
+  }
+
   @Test
   void doesNotContainElementsByHashWhenEmpty() {
     runTestWithView(database::createSnapshot, (set) -> {
@@ -159,6 +194,75 @@ class ValueSetIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void testHashesIterFrom() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> elements = TestStorageItems.values;
+
+      elements.forEach(set::add);
+
+      List<HashCode> expectedHashes = getOrderedHashes(elements);
+      int fromIndex = expectedHashes.size() / 2;
+      Iterator<HashCode> iter = set.hashes(expectedHashes.get(fromIndex));
+      List<HashCode> iterHashes = ImmutableList.copyOf(iter);
+
+      assertThat(iterHashes, equalTo(expectedHashes.subList(fromIndex, expectedHashes.size())));
+    });
+  }
+
+  @Test
+  void testIteratorFrom() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> elements = TestStorageItems.values;
+
+      elements.forEach(set::add);
+
+      List<ValueSetIndexProxy.Entry<String>> entriesExpected = getOrderedEntries(elements);
+      int fromIndex = entriesExpected.size() / 2;
+      HashCode fromHash = entriesExpected.get(fromIndex).getHash();
+      Iterator<ValueSetIndexProxy.Entry<String>> iterator = set.iterator(fromHash);
+      List<ValueSetIndexProxy.Entry<String>> entriesFromIter = ImmutableList.copyOf(iterator);
+
+      assertThat(entriesFromIter,
+          equalTo(entriesExpected.subList(fromIndex, entriesExpected.size())));
+    });
+  }
+
+  @Test
+  void testStream() {
+    runTestWithView(database::createFork, (set) -> {
+      List<String> elements = TestStorageItems.values;
+
+      set.addAll(elements);
+
+      List<ValueSetIndexProxy.Entry<String>> streamEntries = set.stream()
+          .collect(Collectors.toList());
+
+      assertThat(streamEntries, equalTo(getOrderedEntries(elements)));
+    });
+  }
+
+  @Test
+  void testParallelStreamWithSnapshot() throws CloseFailuresException {
+    List<String> elements = IntStream.range(0, 1000)
+        .mapToObj(i -> "v" + i)
+        .collect(Collectors.toList());
+    try (Cleaner cleaner = new Cleaner()) {
+      Fork fork = database.createFork(cleaner);
+      create(VALUE_SET_NAME, fork).addAll(elements);
+      database.merge(fork);
+
+      Snapshot snapshot = database.createSnapshot(cleaner);
+      ValueSetIndexProxy<String> set = create(VALUE_SET_NAME, snapshot);
+
+      List<ValueSetIndexProxy.Entry<String>> streamEntries = set.stream()
+          .parallel()
+          .collect(Collectors.toList());
+
+      assertThat(streamEntries, equalTo(getOrderedEntries(elements)));
+    }
+  }
+
   private static List<HashCode> getOrderedHashes(List<String> elements) {
     return getOrderedEntries(elements).stream()
         .map(ValueSetIndexProxy.Entry::getHash)
@@ -203,6 +307,18 @@ class ValueSetIndexProxyIntegrationTest
     });
   }
 
+  @Test
+  void removeAll() {
+    runTestWithView(database::createFork, (set) -> {
+      set.addAll(asList(V1, V2));
+
+      set.removeAll(asList(V1, V9));
+
+      assertFalse(set.contains(V1));
+      assertTrue(set.contains(V2));
+    });
+  }
+
   @Test
   void removesAddedElementByHash() {
     runTestWithView(database::createFork, (set) -> {
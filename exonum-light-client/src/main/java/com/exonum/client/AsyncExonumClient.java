@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.request.BlockFilteringOption;
+import com.exonum.client.request.BlockTimeOption;
+import com.exonum.client.response.Block;
+import com.exonum.client.response.BlockResponse;
+import com.exonum.client.response.BlocksResponse;
+import com.exonum.client.response.HealthCheckInfo;
+import com.exonum.client.response.TransactionResponse;
+import com.exonum.client.response.TransactionSubmissionResult;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous interface of Exonum Light client. Provides the same operations
+ * as {@link ExonumClient}, but the methods do not block: they enqueue the request
+ * and return a future that is completed when the response is received and processed.
+ * The calling thread is not blocked while the request is in flight.
+ *
+ * <p>The returned futures are completed on the threads of the HTTP client.
+ * If the client is unable to complete a request (e.g., in case of connectivity problems),
+ * or the request is not successful, the future is completed exceptionally.
+ * Cancellation of a future cancels the corresponding HTTP request.
+ *
+ * <p>The number of the requests executed concurrently is bounded, see
+ * {@link ExonumClient.Builder#setMaxRequestsPerHost(int)}; other requests wait in a queue.
+ *
+ * <p><i>Implementations of that interface are required to be thread-safe</i>.
+ *
+ * @see ExonumClient.Builder#buildAsync()
+ */
+public interface AsyncExonumClient {
+
+  /**
+   * Submits the transaction message to an Exonum node.
+   * @return a future of the transaction message hash
+   * @see ExonumClient#submitTransaction(TransactionMessage)
+   */
+  CompletableFuture<HashCode> submitTransaction(TransactionMessage tx);
+
+  /**
+   * Returns a number of unconfirmed transactions which are currently located in
+   * the unconfirmed transactions pool and are waiting for acceptance to a block.
+   * @see ExonumClient#getUnconfirmedTransactionsCount()
+   */
+  CompletableFuture<Integer> getUnconfirmedTransactionsCount();
+
+  /**
+   * Returns the node health check information.
+   * @see ExonumClient#healthCheck()
+   */
+  CompletableFuture<HealthCheckInfo> healthCheck();
+
+  /**
+   * Returns string containing information about Exonum, Rust and OS version.
+   * @see ExonumClient#getUserAgentInfo()
+   */
+  CompletableFuture<String> getUserAgentInfo();
+
+  /**
+   * Returns the information about the transaction; or {@code Optional.empty()}
+   * if the requested transaction is not found.
+   * @param id transaction message hash
+   * @see ExonumClient#getTransaction(HashCode)
+   */
+  CompletableFuture<Optional<TransactionResponse>> getTransaction(HashCode id);
+
+  /**
+   * Returns the <em>blockchain height</em> which is the height of the latest committed block
+   * in the blockchain.
+   * @see ExonumClient#getBlockchainHeight()
+   */
+  CompletableFuture<Long> getBlockchainHeight();
+
+  /**
+   * Returns the information about the block with transaction hashes included at this block.
+   * The future is completed exceptionally if block is not found by the requested height.
+   * @param height blockchain height starting from 0 (genesis block)
+   * @throws IllegalArgumentException if the given height is negative
+   * @see ExonumClient#getBlockByHeight(long)
+   */
+  CompletableFuture<BlockResponse> getBlockByHeight(long height);
+
+  /**
+   * Returns blockchain blocks information for the requested range. The blocks are returned
+   * in reverse order, starting from the {@code heightMax}.
+   * @param count Number of blocks to return.
+   *        It should be in range [1, {@linkplain ExonumApi#MAX_BLOCKS_PER_REQUEST}]
+   * @param blockFilter controls whether to skip blocks with no transactions
+   * @param heightMax maximum height of the returned blocks
+   * @param timeOption controls whether to include the block commit time
+   * @throws IllegalArgumentException if count is out of range
+   *        [1, {@linkplain ExonumApi#MAX_BLOCKS_PER_REQUEST}]
+   * @see ExonumClient#getBlocks(int, BlockFilteringOption, long, BlockTimeOption)
+   */
+  CompletableFuture<BlocksResponse> getBlocks(int count, BlockFilteringOption blockFilter,
+      long heightMax, BlockTimeOption timeOption);
+
+  /**
+   * Returns blockchain blocks information starting from the last block in the blockchain.
+   * @param count Number of blocks to return.
+   *        It should be in range [1, {@linkplain ExonumApi#MAX_BLOCKS_PER_REQUEST}]
+   * @param blockFilter controls whether to skip blocks with no transactions
+   * @param timeOption controls whether to include the block commit time
+   * @throws IllegalArgumentException if count is out of range
+   *        [1, {@linkplain ExonumApi#MAX_BLOCKS_PER_REQUEST}]
+   * @see ExonumClient#getLastBlocks(int, BlockFilteringOption, BlockTimeOption)
+   */
+  CompletableFuture<BlocksResponse> getLastBlocks(int count, BlockFilteringOption blockFilter,
+      BlockTimeOption timeOption);
+
+  /**
+   * Returns the last block in the blockchain.
+   * @see ExonumClient#getLastBlock()
+   */
+  CompletableFuture<Block> getLastBlock();
+
+  /**
+   * Returns the last block in the blockchain which contains transactions;
+   * or {@code Optional.empty()} if there are no blocks with transactions in the blockchain.
+   * @see ExonumClient#getLastNonEmptyBlock()
+   */
+  CompletableFuture<Optional<Block>> getLastNonEmptyBlock();
+
+  /**
+   * Submits the transaction messages to an Exonum node. The messages are submitted
+   * in a pipeline: up to {@linkplain ExonumClient.Builder#setMaxTransactionsInFlight(int)
+   * the configured number} of submissions are in flight at once; the next message is sent
+   * when the node responds to one of the submissions in flight.
+   *
+   * <p>The returned future is completed when all the submissions complete.
+   * A failure to submit a message is reported in the corresponding result.
+   * Cancellation of the future stops the submission of the remaining messages.
+   *
+   * @param transactions the transaction messages to submit
+   * @return a future of the results of the submissions, in the order of the transaction messages
+   * @see ExonumClient#submitTransactions(List)
+   */
+  CompletableFuture<List<TransactionSubmissionResult>> submitTransactions(
+      List<TransactionMessage> transactions);
+}
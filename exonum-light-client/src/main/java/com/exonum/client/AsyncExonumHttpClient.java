@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.request.BlockFilteringOption;
+import com.exonum.client.request.BlockTimeOption;
+import com.exonum.client.response.Block;
+import com.exonum.client.response.BlockResponse;
+import com.exonum.client.response.BlocksResponse;
+import com.exonum.client.response.HealthCheckInfo;
+import com.exonum.client.response.TransactionResponse;
+import com.exonum.client.response.TransactionSubmissionResult;
+import java.net.URL;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+
+/**
+ * Implementation of the {@linkplain AsyncExonumClient} which works over HTTP REST API.
+ * The requests are {@linkplain Call#enqueue(okhttp3.Callback) enqueued}
+ * to the {@linkplain OkHttpClient}, which dispatcher limits the number of the concurrent requests.
+ */
+class AsyncExonumHttpClient implements AsyncExonumClient {
+  private final OkHttpClient httpClient;
+  private final ExonumRequests requests;
+  private final TransactionSubmitter submitter;
+
+  AsyncExonumHttpClient(OkHttpClient httpClient, URL exonumHost, int maxTransactionsInFlight) {
+    this.httpClient = httpClient;
+    this.requests = new ExonumRequests(exonumHost);
+    this.submitter = new TransactionSubmitter(
+        ExonumClient.Builder.withMaxRequestsPerHost(httpClient, maxTransactionsInFlight),
+        requests, maxTransactionsInFlight);
+  }
+
+  @Override
+  public CompletableFuture<HashCode> submitTransaction(TransactionMessage transactionMessage) {
+    return requests.submitTransaction(transactionMessage).enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<Integer> getUnconfirmedTransactionsCount() {
+    return requests.getUnconfirmedTransactionsCount().enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<HealthCheckInfo> healthCheck() {
+    return requests.healthCheck().enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<String> getUserAgentInfo() {
+    return requests.getUserAgentInfo().enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<Optional<TransactionResponse>> getTransaction(HashCode id) {
+    return requests.getTransaction(id).enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<Long> getBlockchainHeight() {
+    return requests.getBlockchainHeight().enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<BlockResponse> getBlockByHeight(long height) {
+    return requests.getBlockByHeight(height).enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<BlocksResponse> getBlocks(int count, BlockFilteringOption blockFilter,
+      long heightMax, BlockTimeOption timeOption) {
+    return requests.getBlocks(count, blockFilter, heightMax, timeOption).enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<BlocksResponse> getLastBlocks(int count,
+      BlockFilteringOption blockFilter, BlockTimeOption timeOption) {
+    return requests.getLastBlocks(count, blockFilter, timeOption).enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<Block> getLastBlock() {
+    return requests.getLastBlock().enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<Optional<Block>> getLastNonEmptyBlock() {
+    return requests.getLastNonEmptyBlock().enqueue(httpClient);
+  }
+
+  @Override
+  public CompletableFuture<List<TransactionSubmissionResult>> submitTransactions(
+      List<TransactionMessage> transactions) {
+    return submitter.submit(transactions);
+  }
+
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.client.ExonumApi.MAX_BLOCKS_PER_REQUEST;
+import static com.exonum.client.request.BlockFilteringOption.INCLUDE_EMPTY;
+import static com.exonum.client.request.BlockTimeOption.INCLUDE_COMMIT_TIME;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.request.BlockFilteringOption;
+import com.exonum.client.request.BlockTimeOption;
+import com.exonum.client.response.Block;
+import com.exonum.client.response.BlockResponse;
+import com.exonum.client.response.BlocksResponse;
+import com.exonum.client.response.HealthCheckInfo;
+import com.exonum.client.response.TransactionResponse;
+import com.exonum.client.response.TransactionSubmissionResult;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * An Exonum client decorator that caches the immutable data: the blocks,
+ * and the transactions committed to the blockchain. Repeated requests of the same blocks
+ * and transactions are served from the cache, without requests to the node.
+ *
+ * <p>The following data is cached:
+ * <ul>
+ *   <li>the {@linkplain #getBlockByHeight(long) block responses} by height;
+ *   <li>the blocks returned by any method, by height. The blocks requested
+ *       {@linkplain #getBlocks(int, BlockFilteringOption, long, BlockTimeOption) by range}
+ *       including the empty blocks are served from the cache if the block at
+ *       the maximum requested height is cached; only the missing blocks are requested
+ *       from the node. Other block requests always go to the node;
+ *   <li>the {@linkplain #getTransaction(HashCode) transactions} which are committed.
+ *       The transactions in the pool are not cached, as their status changes.
+ * </ul>
+ *
+ * <p>Each cache holds up to a given number of entries, evicting the least recently used ones.
+ * See {@link #getStats()} for the number of requests served from the cache.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class CachingExonumClient implements ExonumClient {
+
+  private final ExonumClient client;
+  private final Cache<Long, BlockResponse> blockResponses;
+  private final Cache<Long, Block> blocks;
+  private final Cache<HashCode, TransactionResponse> transactions;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  private CachingExonumClient(ExonumClient client, int maximumSize) {
+    this.client = client;
+    this.blockResponses = newCache(maximumSize);
+    this.blocks = newCache(maximumSize);
+    this.transactions = newCache(maximumSize);
+  }
+
+  /**
+   * Creates a caching decorator of the given client.
+   *
+   * @param client an Exonum client to cache the responses of
+   * @param maximumSize the maximum number of cached entries of each type:
+   *     block responses, blocks and transactions
+   * @throws IllegalArgumentException if the maximum size is not positive
+   */
+  public static CachingExonumClient newInstance(ExonumClient client, int maximumSize) {
+    checkNotNull(client);
+    checkArgument(maximumSize > 0, "maximumSize (%s) must be positive", maximumSize);
+    return new CachingExonumClient(client, maximumSize);
+  }
+
+  private static <K, V> Cache<K, V> newCache(int maximumSize) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public HashCode submitTransaction(TransactionMessage tx) {
+    return client.submitTransaction(tx);
+  }
+
+  @Override
+  public int getUnconfirmedTransactionsCount() {
+    return client.getUnconfirmedTransactionsCount();
+  }
+
+  @Override
+  public HealthCheckInfo healthCheck() {
+    return client.healthCheck();
+  }
+
+  @Override
+  public String getUserAgentInfo() {
+    return client.getUserAgentInfo();
+  }
+
+  @Override
+  public Optional<TransactionResponse> getTransaction(HashCode id) {
+    TransactionResponse cached = lookup(transactions, checkNotNull(id));
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<TransactionResponse> response = client.getTransaction(id);
+    response.filter(TransactionResponse::isCommitted)
+        .ifPresent(tx -> transactions.put(id, tx));
+    return response;
+  }
+
+  @Override
+  public long getBlockchainHeight() {
+    return client.getBlockchainHeight();
+  }
+
+  @Override
+  public BlockResponse getBlockByHeight(long height) {
+    checkArgument(0 <= height, "Height can't be negative, but was %s", height);
+    BlockResponse cached = lookup(blockResponses, height);
+    if (cached != null) {
+      return cached;
+    }
+    BlockResponse response = client.getBlockByHeight(height);
+    blockResponses.put(height, response);
+    cacheBlock(response.getBlock());
+    return response;
+  }
+
+  @Override
+  public BlocksResponse getBlocks(int count, BlockFilteringOption blockFilter, long heightMax,
+      BlockTimeOption timeOption) {
+    checkArgument(0 < count && count <= MAX_BLOCKS_PER_REQUEST,
+        "Requested number of blocks should be in range [1, %s] but was %s",
+        MAX_BLOCKS_PER_REQUEST, count);
+    checkArgument(0 <= heightMax,
+        "Blockhain height can't be negative but was %s", heightMax);
+    if (blockFilter == INCLUDE_EMPTY) {
+      // The block at the maximum height is committed, hence all the requested blocks are
+      // committed and can be requested from the node separately
+      Block lastBlock = lookupBlock(heightMax, timeOption);
+      if (lastBlock != null) {
+        return getBlocksInRange(count, heightMax, lastBlock, timeOption);
+      }
+    }
+    return cacheBlocks(client.getBlocks(count, blockFilter, heightMax, timeOption));
+  }
+
+  /**
+   * Returns the blocks in range [heightMax - count + 1, heightMax], all of which are committed,
+   * requesting the blocks missing in the cache from the node. As in the responses of the node,
+   * the end of the range of the returned response is exclusive.
+   */
+  private BlocksResponse getBlocksInRange(int count, long heightMax, Block lastBlock,
+      BlockTimeOption timeOption) {
+    long heightMin = Math.max(0, heightMax - count + 1);
+    // The blocks in descending order by height
+    Block[] result = new Block[Math.toIntExact(heightMax - heightMin + 1)];
+    result[0] = lastBlock;
+    int i = 1;
+    while (i < result.length) {
+      // Find the next cached block, and request the missing blocks before it at once
+      int missingStart = i;
+      Block block = null;
+      while (i < result.length && (block = lookupBlock(heightMax - i, timeOption)) == null) {
+        i++;
+      }
+      if (missingStart < i) {
+        fetchBlocks(result, heightMax, missingStart, i, timeOption);
+      }
+      if (i < result.length) {
+        result[i] = block;
+        i++;
+      }
+    }
+    return new BlocksResponse(Arrays.asList(result), heightMin, heightMax + 1);
+  }
+
+  /**
+   * Requests the blocks at the given indexes of the result from the node.
+   */
+  private void fetchBlocks(Block[] result, long heightMax, int fromIndex, int toIndex,
+      BlockTimeOption timeOption) {
+    int count = toIndex - fromIndex;
+    long latest = heightMax - fromIndex;
+    BlocksResponse response = client.getBlocks(count, INCLUDE_EMPTY, latest, timeOption);
+    cacheBlocks(response);
+    for (Block block : response.getBlocks()) {
+      int index = Math.toIntExact(heightMax - block.getHeight());
+      if (fromIndex <= index && index < toIndex) {
+        result[index] = block;
+      }
+    }
+    for (int i = fromIndex; i < toIndex; i++) {
+      if (result[i] == null) {
+        throw new IllegalStateException("The node did not return the committed block at height "
+            + (heightMax - i) + ", response: " + response);
+      }
+    }
+  }
+
+  @Override
+  public BlocksResponse getLastBlocks(int count, BlockFilteringOption blockFilter,
+      BlockTimeOption timeOption) {
+    return cacheBlocks(client.getLastBlocks(count, blockFilter, timeOption));
+  }
+
+  @Override
+  public Block getLastBlock() {
+    Block block = client.getLastBlock();
+    cacheBlock(block);
+    return block;
+  }
+
+  @Override
+  public Optional<Block> getLastNonEmptyBlock() {
+    Optional<Block> block = client.getLastNonEmptyBlock();
+    block.ifPresent(this::cacheBlock);
+    return block;
+  }
+
+  @Override
+  public List<TransactionSubmissionResult> submitTransactions(
+      List<TransactionMessage> transactions) {
+    return client.submitTransactions(transactions);
+  }
+
+  /**
+   * Returns the statistics of this cache: the number of the requests of the immutable data
+   * served from the cache (hits) and requested from the node (misses); and the number
+   * of evicted entries. A request of several blocks counts each block separately.
+   */
+  public CacheStats getStats() {
+    long evictionCount = blockResponses.stats().evictionCount()
+        + blocks.stats().evictionCount()
+        + transactions.stats().evictionCount();
+    return new CacheStats(hitCount.sum(), missCount.sum(), 0, 0, 0, evictionCount);
+  }
+
+  /**
+   * Removes all the entries from the cache.
+   */
+  public void invalidateAll() {
+    blockResponses.invalidateAll();
+    blocks.invalidateAll();
+    transactions.invalidateAll();
+  }
+
+  @Nullable
+  private <K, V> V lookup(Cache<K, V> cache, K key) {
+    V value = cache.getIfPresent(key);
+    recordLookup(value != null);
+    return value;
+  }
+
+  /**
+   * Returns the cached block at the given height, with or without the commit time
+   * as requested; or null if the block is not cached, or is cached without the requested
+   * commit time.
+   */
+  @Nullable
+  private Block lookupBlock(long height, BlockTimeOption timeOption) {
+    Block block = blocks.getIfPresent(height);
+    boolean hasCommitTime = block != null && block.getCommitTime().isPresent();
+    if (block == null || (timeOption == INCLUDE_COMMIT_TIME && !hasCommitTime)) {
+      recordLookup(false);
+      return null;
+    }
+    recordLookup(true);
+    return (timeOption == INCLUDE_COMMIT_TIME || !hasCommitTime)
+        ? block
+        : withoutCommitTime(block);
+  }
+
+  private void recordLookup(boolean hit) {
+    if (hit) {
+      hitCount.increment();
+    } else {
+      missCount.increment();
+    }
+  }
+
+  private BlocksResponse cacheBlocks(BlocksResponse response) {
+    response.getBlocks().forEach(this::cacheBlock);
+    return response;
+  }
+
+  private void cacheBlock(Block block) {
+    // Keep the block with the commit time, as it can be used for any request
+    blocks.asMap().merge(block.getHeight(), block,
+        (cached, b) -> cached.getCommitTime().isPresent() ? cached : b);
+  }
+
+  private static Block withoutCommitTime(Block block) {
+    return Block.builder()
+        .proposerId(block.getProposerId())
+        .height(block.getHeight())
+        .numTransactions(block.getNumTransactions())
+        .previousBlockHash(block.getPreviousBlockHash())
+        .txRootHash(block.getTxRootHash())
+        .stateHash(block.getStateHash())
+        .build();
+  }
+}
@@ -17,6 +17,7 @@
 
 package com.exonum.client;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.exonum.binding.common.hash.HashCode;
@@ -28,9 +29,12 @@ import com.exonum.client.response.BlockResponse;
 import com.exonum.client.response.BlocksResponse;
 import com.exonum.client.response.HealthCheckInfo;
 import com.exonum.client.response.TransactionResponse;
+import com.exonum.client.response.TransactionSubmissionResult;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 
 /**
@@ -38,7 +42,7 @@ import okhttp3.OkHttpClient;
  * Provides a convenient way for interaction with Exonum framework APIs.
  * All the methods of the interface work in a blocking way
  * i.e. invoke underlying request immediately, and block until the response can be processed
- * or an error occurs.
+ * or an error occurs. See {@link AsyncExonumClient} for the non-blocking client.
  *
  * <p><i>Implementations of that interface are required to be thread-safe</i>.
  **/
@@ -161,6 +165,21 @@ public interface ExonumClient {
    */
   Optional<Block> getLastNonEmptyBlock();
 
+  /**
+   * Submits the transaction messages to an Exonum node and blocks until all the submissions
+   * complete. The messages are submitted in a pipeline: up to
+   * {@linkplain Builder#setMaxTransactionsInFlight(int) the configured number} of submissions
+   * are in flight at once, reusing the connections to the node; the next message is sent
+   * when the node responds to one of the submissions in flight.
+   *
+   * <p>A failure to submit a message does not stop the submission of the other messages;
+   * it is reported in the corresponding result.
+   *
+   * @param transactions the transaction messages to submit
+   * @return the results of the submissions, in the order of the transaction messages
+   */
+  List<TransactionSubmissionResult> submitTransactions(List<TransactionMessage> transactions);
+
   /**
    * Returns Exonum client builder.
    */
@@ -173,9 +192,12 @@ public interface ExonumClient {
    */
   class Builder {
     private static final OkHttpClient DEFAULT_CLIENT = new OkHttpClient();
+    private static final int DEFAULT_MAX_TRANSACTIONS_IN_FLIGHT = 64;
 
     private URL exonumHost;
     private OkHttpClient httpClient = DEFAULT_CLIENT;
+    private int maxRequestsPerHost;
+    private int maxTransactionsInFlight = DEFAULT_MAX_TRANSACTIONS_IN_FLIGHT;
 
     /**
      * Sets Exonum host url.
@@ -210,13 +232,77 @@ public interface ExonumClient {
       return this;
     }
 
+    /**
+     * Sets the maximum number of the requests of the {@linkplain #buildAsync() asynchronous}
+     * client that are executed concurrently, optional. Other requests wait in a queue
+     * until some of the executed requests complete. If not set, the limit
+     * of the {@linkplain okhttp3.Dispatcher dispatcher} of the http client is used,
+     * which is 5 requests per host by default.
+     *
+     * <p>The blocking client is not affected by this limit.
+     *
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public Builder setMaxRequestsPerHost(int maxRequestsPerHost) {
+      checkArgument(0 < maxRequestsPerHost,
+          "Maximum number of requests should be positive but was %s", maxRequestsPerHost);
+      this.maxRequestsPerHost = maxRequestsPerHost;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of the transaction messages which submissions are in flight
+     * at once when the {@linkplain ExonumClient#submitTransactions(List) transactions
+     * are submitted in bulk}, optional. If not set, up to 64 transactions are in flight.
+     *
+     * <p>For the connections to be reused between the submissions, the connection pool
+     * of the http client shall keep up to that number of idle connections.
+     *
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public Builder setMaxTransactionsInFlight(int maxTransactionsInFlight) {
+      checkArgument(0 < maxTransactionsInFlight,
+          "Maximum number of transactions in flight should be positive but was %s",
+          maxTransactionsInFlight);
+      this.maxTransactionsInFlight = maxTransactionsInFlight;
+      return this;
+    }
+
     /**
      * Creates Exonum client instance.
      * @throws IllegalStateException if required fields weren't set
      */
     public ExonumClient build() {
       checkRequiredFieldsSet();
-      return new ExonumHttpClient(httpClient, exonumHost);
+      return new ExonumHttpClient(httpClient, exonumHost, maxTransactionsInFlight);
+    }
+
+    /**
+     * Creates asynchronous Exonum client instance.
+     * @throws IllegalStateException if required fields weren't set
+     */
+    public AsyncExonumClient buildAsync() {
+      checkRequiredFieldsSet();
+      OkHttpClient asyncHttpClient = (maxRequestsPerHost == 0)
+          ? httpClient
+          : withMaxRequestsPerHost(httpClient, maxRequestsPerHost);
+      return new AsyncExonumHttpClient(asyncHttpClient, exonumHost, maxTransactionsInFlight);
+    }
+
+    /**
+     * Returns a http client which dispatcher executes up to the given number
+     * of requests to the same host concurrently.
+     */
+    static OkHttpClient withMaxRequestsPerHost(OkHttpClient httpClient,
+        int maxRequestsPerHost) {
+      // Use a separate dispatcher, so that the limits of the given client are not modified
+      Dispatcher dispatcher = new Dispatcher();
+      dispatcher.setMaxRequests(
+          Math.max(httpClient.dispatcher().getMaxRequests(), maxRequestsPerHost));
+      dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+      return httpClient.newBuilder()
+          .dispatcher(dispatcher)
+          .build();
     }
 
     private void checkRequiredFieldsSet() {
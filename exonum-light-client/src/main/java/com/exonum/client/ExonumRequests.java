@@ -0,0 +1,308 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.client.ExonumApi.MAX_BLOCKS_PER_REQUEST;
+import static com.exonum.client.ExonumUrls.BLOCK;
+import static com.exonum.client.ExonumUrls.BLOCKS;
+import static com.exonum.client.ExonumUrls.HEALTH_CHECK;
+import static com.exonum.client.ExonumUrls.MEMORY_POOL;
+import static com.exonum.client.ExonumUrls.TRANSACTIONS;
+import static com.exonum.client.ExonumUrls.USER_AGENT;
+import static com.exonum.client.request.BlockFilteringOption.INCLUDE_EMPTY;
+import static com.exonum.client.request.BlockFilteringOption.SKIP_EMPTY;
+import static com.exonum.client.request.BlockTimeOption.INCLUDE_COMMIT_TIME;
+import static com.exonum.client.request.BlockTimeOption.NO_COMMIT_TIME;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.request.BlockFilteringOption;
+import com.exonum.client.request.BlockTimeOption;
+import com.exonum.client.response.Block;
+import com.exonum.client.response.BlockResponse;
+import com.exonum.client.response.BlocksResponse;
+import com.exonum.client.response.HealthCheckInfo;
+import com.exonum.client.response.TransactionResponse;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Creates the HTTP requests to the Exonum REST API along with the handlers of their responses.
+ * The requests are shared by the {@linkplain ExonumHttpClient blocking} and
+ * the {@linkplain AsyncExonumHttpClient asynchronous} clients.
+ */
+final class ExonumRequests {
+  private static final MediaType MEDIA_TYPE_JSON = MediaType.get("application/json; charset=utf-8");
+
+  private final URL exonumHost;
+
+  ExonumRequests(URL exonumHost) {
+    this.exonumHost = exonumHost;
+  }
+
+  ExonumCall<HashCode> submitTransaction(TransactionMessage transactionMessage) {
+    Request request = post(toFullUrl(TRANSACTIONS),
+        ExplorerApiHelper.createSubmitTxBody(transactionMessage));
+
+    return parsing(request, ExplorerApiHelper::parseSubmitTxResponse);
+  }
+
+  ExonumCall<Integer> getUnconfirmedTransactionsCount() {
+    Request request = get(toFullUrl(MEMORY_POOL));
+
+    return parsing(request, SystemApiHelper::parseMemoryPoolJson);
+  }
+
+  ExonumCall<HealthCheckInfo> healthCheck() {
+    Request request = get(toFullUrl(HEALTH_CHECK));
+
+    return parsing(request, SystemApiHelper::parseHealthCheckJson);
+  }
+
+  ExonumCall<String> getUserAgentInfo() {
+    Request request = get(toFullUrl(USER_AGENT));
+
+    return plainText(request);
+  }
+
+  ExonumCall<Optional<TransactionResponse>> getTransaction(HashCode id) {
+    HashCode hash = checkNotNull(id);
+    HttpUrl url = urlBuilder()
+        .encodedPath(TRANSACTIONS)
+        .addQueryParameter("hash", hash.toString())
+        .build();
+    Request request = get(url);
+
+    return new ExonumCall<>(request, response -> {
+      if (response.code() == HTTP_NOT_FOUND) {
+        return Optional.empty();
+      } else if (!response.isSuccessful()) {
+        throw new RuntimeException("Execution wasn't successful: " + response.toString());
+      } else {
+        TransactionResponse txResponse = ExplorerApiHelper
+            .parseGetTxResponse(readBody(response));
+
+        return Optional.of(txResponse);
+      }
+    });
+  }
+
+  ExonumCall<Long> getBlockchainHeight() {
+    return doGetBlocks(0, INCLUDE_EMPTY, null, NO_COMMIT_TIME)
+        .map(BlocksResponse::getBlocksRangeEnd);
+  }
+
+  ExonumCall<BlockResponse> getBlockByHeight(long height) {
+    checkArgument(0 <= height, "Height can't be negative, but was %s", height);
+    HttpUrl url = urlBuilder()
+        .encodedPath(BLOCK)
+        .addQueryParameter("height", String.valueOf(height))
+        .build();
+    Request request = get(url);
+
+    return parsing(request, ExplorerApiHelper::parseGetBlockResponse);
+  }
+
+  ExonumCall<BlocksResponse> getBlocks(int count, BlockFilteringOption blockFilter,
+      long heightMax, BlockTimeOption timeOption) {
+    checkArgument(0 < count,
+        "Requested number of blocks should be positive number but was %s", count);
+    return doGetBlocks(count, blockFilter, heightMax, timeOption);
+  }
+
+  ExonumCall<BlocksResponse> getLastBlocks(int count, BlockFilteringOption blockFilter,
+      BlockTimeOption timeOption) {
+    checkArgument(0 < count,
+        "Requested number of blocks should be positive number but was %s", count);
+    return doGetBlocks(count, blockFilter, null, timeOption);
+  }
+
+  ExonumCall<Block> getLastBlock() {
+    return doGetBlocks(1, INCLUDE_EMPTY, null, INCLUDE_COMMIT_TIME)
+        .map(response -> response.getBlocks()
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Should never happen, response: " + response)));
+  }
+
+  ExonumCall<Optional<Block>> getLastNonEmptyBlock() {
+    return doGetBlocks(1, SKIP_EMPTY, null, INCLUDE_COMMIT_TIME)
+        .map(response -> response.getBlocks()
+            .stream()
+            .findFirst());
+  }
+
+  private ExonumCall<BlocksResponse> doGetBlocks(int count, BlockFilteringOption blockFilter,
+      Long heightMax, BlockTimeOption timeOption) {
+    checkArgument(count <= MAX_BLOCKS_PER_REQUEST,
+        "Requested number of blocks was %s but maximum allowed is %s",
+        count, MAX_BLOCKS_PER_REQUEST);
+    checkArgument(heightMax == null || 0 <= heightMax,
+        "Blockhain height can't be negative but was %s", heightMax);
+
+    boolean skipEmpty = blockFilter == SKIP_EMPTY;
+    boolean withTime = timeOption == INCLUDE_COMMIT_TIME;
+    Map<String, String> query = new HashMap<>();
+    query.put("count", String.valueOf(count));
+    query.put("skip_empty_blocks", String.valueOf(skipEmpty));
+    query.put("add_blocks_time", String.valueOf(withTime));
+    if (heightMax != null) {
+      query.put("latest", String.valueOf(heightMax));
+    }
+
+    HttpUrl.Builder httpRequest = urlBuilder().encodedPath(BLOCKS);
+    query.forEach(httpRequest::addQueryParameter);
+
+    Request request = get(httpRequest.build());
+
+    return parsing(request, ExplorerApiHelper::parseGetBlocksResponse);
+  }
+
+  private static Request get(HttpUrl url) {
+    return new Request.Builder()
+        .url(url)
+        .get()
+        .build();
+  }
+
+  private static Request post(HttpUrl url, String jsonBody) {
+    return new Request.Builder()
+        .url(url)
+        .post(RequestBody.create(MEDIA_TYPE_JSON, jsonBody))
+        .build();
+  }
+
+  private HttpUrl toFullUrl(String relativeUrl) {
+    return urlBuilder()
+        .encodedPath(relativeUrl)
+        .build();
+  }
+
+  private HttpUrl.Builder urlBuilder() {
+
+    return new HttpUrl.Builder()
+        .scheme(exonumHost.getProtocol())
+        .host(exonumHost.getHost())
+        .port(exonumHost.getPort());
+  }
+
+  private static ExonumCall<String> plainText(Request request) {
+    return new ExonumCall<>(request, response -> {
+      if (!response.isSuccessful()) {
+        throw new RuntimeException("Execution wasn't successful: " + response.toString());
+      }
+      return readBody(response);
+    });
+  }
+
+  private static <T> ExonumCall<T> parsing(Request request, Function<String, T> parser) {
+    return plainText(request).map(parser);
+  }
+
+  private static String readBody(Response response) {
+    try {
+      return response.body().string();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * An HTTP request to the Exonum node and the handler of its response.
+   *
+   * @param <T> the type of the result of the request
+   */
+  static final class ExonumCall<T> {
+    private final Request request;
+    private final Function<Response, T> responseHandler;
+
+    ExonumCall(Request request, Function<Response, T> responseHandler) {
+      this.request = request;
+      this.responseHandler = responseHandler;
+    }
+
+    /**
+     * Executes the request, blocking until the response is received and processed.
+     *
+     * @throws RuntimeException if the request was not successful or its response is invalid
+     */
+    T execute(OkHttpClient httpClient) {
+      try (Response response = httpClient.newCall(request).execute()) {
+        return responseHandler.apply(response);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    /**
+     * Enqueues the request. The returned future is completed with the result
+     * when the response is received and processed, or exceptionally if the request
+     * was not successful or its response is invalid. Cancellation of the future
+     * cancels the request.
+     */
+    CompletableFuture<T> enqueue(OkHttpClient httpClient) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+      Call call = httpClient.newCall(request);
+      call.enqueue(new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          result.completeExceptionally(e);
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+          try (Response r = response) {
+            result.complete(responseHandler.apply(r));
+          } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+          }
+        }
+      });
+      // Cancel the request if the future is cancelled
+      result.whenComplete((r, e) -> {
+        if (result.isCancelled()) {
+          call.cancel();
+        }
+      });
+      return result;
+    }
+
+    /**
+     * Returns a call of the same request which result is converted with the given function.
+     */
+    <R> ExonumCall<R> map(Function<? super T, ? extends R> mapper) {
+      return new ExonumCall<>(request, responseHandler.andThen(mapper));
+    }
+  }
+}
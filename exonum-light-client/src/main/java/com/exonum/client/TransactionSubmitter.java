@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.emptyList;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.response.TransactionSubmissionResult;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import okhttp3.OkHttpClient;
+
+/**
+ * Submits the transaction messages to an Exonum node, keeping up to the given number
+ * of submissions in flight. The next submission starts when one of the submissions in flight
+ * completes, so that the node is never sent more than the window of submissions
+ * ahead of its responses. The submissions reuse the connections of the http client.
+ */
+final class TransactionSubmitter {
+  private final Function<TransactionMessage, CompletableFuture<HashCode>> submitFunction;
+  private final int maxInFlight;
+
+  /**
+   * Creates a transaction submitter.
+   *
+   * @param httpClient the http client which dispatcher allows at least {@code maxInFlight}
+   *     concurrent requests to the node
+   * @param requests the requests to the node
+   * @param maxInFlight the maximum number of the submissions in flight
+   */
+  TransactionSubmitter(OkHttpClient httpClient, ExonumRequests requests, int maxInFlight) {
+    this(message -> requests.submitTransaction(message).enqueue(httpClient), maxInFlight);
+  }
+
+  /**
+   * Creates a transaction submitter.
+   *
+   * @param submitFunction a function submitting a single message to the node
+   * @param maxInFlight the maximum number of the submissions in flight
+   */
+  @VisibleForTesting
+  TransactionSubmitter(Function<TransactionMessage, CompletableFuture<HashCode>> submitFunction,
+      int maxInFlight) {
+    checkArgument(0 < maxInFlight,
+        "Maximum number of transactions in flight should be positive but was %s", maxInFlight);
+    this.submitFunction = submitFunction;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Submits the transaction messages. The returned future is completed when all
+   * the submissions complete, with the results in the order of the messages.
+   * Cancellation of the future stops the submission of the remaining messages.
+   */
+  CompletableFuture<List<TransactionSubmissionResult>> submit(
+      List<TransactionMessage> transactions) {
+    List<TransactionMessage> messages = new ArrayList<>(transactions);
+    messages.forEach(tx -> checkNotNull(tx, "Transaction message must not be null"));
+    if (messages.isEmpty()) {
+      return CompletableFuture.completedFuture(emptyList());
+    }
+    Submission submission = new Submission(messages);
+    for (int i = 0; i < Math.min(maxInFlight, messages.size()); i++) {
+      submission.submitNext();
+    }
+    return submission.results;
+  }
+
+  /**
+   * The state of the submission of a list of transaction messages.
+   *
+   * <p>The next message is submitted by a single thread at a time, which drains
+   * the requests to submit the next message, so that the submissions completed
+   * synchronously (e.g., the ones that failed immediately) do not recurse into
+   * {@link #submitNext()}.
+   */
+  private final class Submission {
+    final List<TransactionMessage> messages;
+    final AtomicReferenceArray<TransactionSubmissionResult> completed;
+    final AtomicInteger nextIndex = new AtomicInteger();
+    final AtomicInteger numRemaining;
+    final AtomicInteger numRequested = new AtomicInteger();
+    final CompletableFuture<List<TransactionSubmissionResult>> results =
+        new CompletableFuture<>();
+
+    Submission(List<TransactionMessage> messages) {
+      this.messages = messages;
+      this.completed = new AtomicReferenceArray<>(messages.size());
+      this.numRemaining = new AtomicInteger(messages.size());
+    }
+
+    /**
+     * Requests the submission of the next message, if any. If another thread is submitting
+     * the messages, it performs the requested submission; otherwise, the current thread does.
+     */
+    void submitNext() {
+      if (numRequested.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        submitOne();
+      } while (numRequested.decrementAndGet() != 0);
+    }
+
+    /**
+     * Submits the next message, if any. If the submission of a message fails
+     * before it is sent, continues with the following message.
+     */
+    private void submitOne() {
+      while (!results.isDone()) {
+        int index = nextIndex.getAndIncrement();
+        if (index >= messages.size()) {
+          return;
+        }
+        TransactionMessage message = messages.get(index);
+        CompletableFuture<TransactionSubmissionResult> submitted;
+        try {
+          submitted = submitFunction.apply(message)
+              .handle((hash, e) -> (e == null)
+                  ? TransactionSubmissionResult.successful(message, hash)
+                  : TransactionSubmissionResult.failed(message, unwrap(e)));
+        } catch (RuntimeException e) {
+          complete(index, TransactionSubmissionResult.failed(message, e));
+          continue;
+        }
+        submitted.thenAccept(result -> {
+          complete(index, result);
+          submitNext();
+        });
+        return;
+      }
+    }
+
+    private void complete(int index, TransactionSubmissionResult result) {
+      completed.set(index, result);
+      if (numRemaining.decrementAndGet() == 0) {
+        TransactionSubmissionResult[] allResults =
+            new TransactionSubmissionResult[messages.size()];
+        for (int i = 0; i < allResults.length; i++) {
+          allResults[i] = completed.get(i);
+        }
+        results.complete(Arrays.asList(allResults));
+      }
+    }
+  }
+
+  private static Throwable unwrap(Throwable e) {
+    return (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+  }
+}
@@ -33,7 +33,8 @@ public class BlocksResponse {
   long blocksRangeStart;
 
   /**
-   * The largest height of the returned blocks that match the search criteria.
+   * The height following the largest height of the returned blocks that match
+   * the search criteria, i.e., the end of the range is exclusive.
    * If some blocks in the range do not match the search criteria then:
    * {@code blocksRangeEnd - blocksRangeStart != blocks.size}.
    */
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client.response;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import javax.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * The result of the submission of a transaction message to an Exonum node:
+ * either the transaction hash, or the error that prevented the submission.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransactionSubmissionResult {
+  /**
+   * Submitted transaction message.
+   */
+  TransactionMessage message;
+  /**
+   * Transaction message hash, returned by the node.
+   * Not available unless the submission is {@linkplain #isSuccessful successful}.
+   */
+  @Nullable
+  HashCode transactionHash;
+  /**
+   * The error that prevented the submission.
+   * Not available if the submission is {@linkplain #isSuccessful successful}.
+   */
+  @Nullable
+  Throwable error;
+
+  /**
+   * Creates the result of a successful submission.
+   */
+  public static TransactionSubmissionResult successful(TransactionMessage message,
+      HashCode transactionHash) {
+    return new TransactionSubmissionResult(checkNotNull(message), checkNotNull(transactionHash),
+        null);
+  }
+
+  /**
+   * Creates the result of a failed submission.
+   */
+  public static TransactionSubmissionResult failed(TransactionMessage message, Throwable error) {
+    return new TransactionSubmissionResult(checkNotNull(message), null, checkNotNull(error));
+  }
+
+  /**
+   * Returns the transaction message hash, returned by the node.
+   * @throws IllegalStateException if the submission failed
+   */
+  public HashCode getTransactionHash() {
+    checkState(isSuccessful(), "Transaction hash is available for successful submissions only");
+    return transactionHash;
+  }
+
+  /**
+   * Returns the error that prevented the submission.
+   * @throws IllegalStateException if the submission is successful
+   */
+  public Throwable getError() {
+    checkState(!isSuccessful(), "Error is available for failed submissions only");
+    return error;
+  }
+
+  /**
+   * Returns {@code true} if the transaction is submitted to the node;
+   * or {@code false} — otherwise.
+   */
+  public boolean isSuccessful() {
+    return error == null;
+  }
+}
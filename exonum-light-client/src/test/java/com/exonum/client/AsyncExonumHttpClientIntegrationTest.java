@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.client.ExonumUrls.MEMORY_POOL;
+import static com.exonum.client.ExonumUrls.TRANSACTIONS;
+import static com.exonum.client.TestUtils.createTransactionMessage;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.client.response.TransactionResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncExonumHttpClientIntegrationTest {
+  private MockWebServer server;
+
+  @BeforeEach
+  void start() throws IOException {
+    server = new MockWebServer();
+    server.start();
+  }
+
+  @AfterEach
+  void shutdown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void submitTransaction() throws Exception {
+    // Mock response
+    String hash = "f128c720e04b8243";
+    String mockResponse = "{\"tx_hash\":\"" + hash + "\"}";
+    server.enqueue(new MockResponse().setBody(mockResponse));
+
+    // Call
+    CompletableFuture<HashCode> result = newClient()
+        .submitTransaction(createTransactionMessage());
+
+    // Assert response
+    assertThat(result.get(), is(HashCode.fromString(hash)));
+
+    // Assert request params
+    RecordedRequest recordedRequest = server.takeRequest();
+    assertThat(recordedRequest.getMethod(), is("POST"));
+    assertThat(recordedRequest.getPath(), is(TRANSACTIONS));
+  }
+
+  @Test
+  void getTransactionNotFound() throws Exception {
+    // Mock response
+    server.enqueue(new MockResponse().setResponseCode(HTTP_NOT_FOUND));
+
+    // Call
+    CompletableFuture<Optional<TransactionResponse>> result = newClient()
+        .getTransaction(HashCode.fromInt(0x00));
+
+    // Assert response
+    assertFalse(result.get().isPresent());
+  }
+
+  @Test
+  void unsuccessfulResponseCompletesExceptionally() {
+    // Mock response
+    server.enqueue(new MockResponse().setResponseCode(HTTP_INTERNAL_ERROR));
+
+    // Call
+    CompletableFuture<Integer> result = newClient().getUnconfirmedTransactionsCount();
+
+    // Assert response
+    ExecutionException e = assertThrows(ExecutionException.class, result::get);
+    assertThat(e.getCause(), instanceOf(RuntimeException.class));
+  }
+
+  @Test
+  void cancelFutureCancelsRequest() throws Exception {
+    // Mock response that never comes
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+    // Call
+    CompletableFuture<Integer> result = newClient().getUnconfirmedTransactionsCount();
+    RecordedRequest recordedRequest = server.takeRequest();
+    assertThat(recordedRequest.getPath(), is(MEMORY_POOL));
+
+    assertTrue(result.cancel(true));
+    assertThrows(CancellationException.class, result::join);
+  }
+
+  @Test
+  void concurrentRequestsAreBounded() throws Exception {
+    int maxRequestsPerHost = 2;
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        TimeUnit.MILLISECONDS.sleep(20);
+        inFlight.decrementAndGet();
+        return new MockResponse().setBody("{\"size\": 1}");
+      }
+    });
+    AsyncExonumClient client = ExonumClient.newBuilder()
+        .setExonumHost(server.url("/").url())
+        .setMaxRequestsPerHost(maxRequestsPerHost)
+        .buildAsync();
+
+    // Call
+    List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      results.add(client.getUnconfirmedTransactionsCount());
+    }
+
+    // Assert response
+    for (CompletableFuture<Integer> result : results) {
+      assertThat(result.get(), is(1));
+    }
+    assertThat(maxInFlight.get(), lessThanOrEqualTo(maxRequestsPerHost));
+  }
+
+  private AsyncExonumClient newClient() {
+    return ExonumClient.newBuilder()
+        .setExonumHost(server.url("/").url())
+        .buildAsync();
+  }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.client.TestUtils.createTransactionMessage;
+import static com.exonum.client.request.BlockFilteringOption.INCLUDE_EMPTY;
+import static com.exonum.client.request.BlockFilteringOption.SKIP_EMPTY;
+import static com.exonum.client.request.BlockTimeOption.INCLUDE_COMMIT_TIME;
+import static com.exonum.client.request.BlockTimeOption.NO_COMMIT_TIME;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.exonum.binding.common.blockchain.TransactionLocation;
+import com.exonum.binding.common.blockchain.TransactionResult;
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.client.response.Block;
+import com.exonum.client.response.BlockResponse;
+import com.exonum.client.response.BlocksResponse;
+import com.exonum.client.response.TransactionResponse;
+import com.exonum.client.response.TransactionStatus;
+import com.google.common.cache.CacheStats;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachingExonumClientTest {
+
+  private static final ZonedDateTime COMMIT_TIME = ZonedDateTime.parse("2019-04-01T12:00:00Z");
+
+  private ExonumClient client;
+  private CachingExonumClient cachingClient;
+
+  @BeforeEach
+  void setUp() {
+    client = mock(ExonumClient.class);
+    cachingClient = CachingExonumClient.newInstance(client, 100);
+  }
+
+  @Test
+  void getBlockByHeightIsCached() {
+    BlockResponse expected = new BlockResponse(block(1, null), emptyList());
+    when(client.getBlockByHeight(1)).thenReturn(expected);
+
+    assertThat(cachingClient.getBlockByHeight(1), is(expected));
+    assertThat(cachingClient.getBlockByHeight(1), is(expected));
+
+    verify(client, times(1)).getBlockByHeight(1);
+    CacheStats stats = cachingClient.getStats();
+    assertThat(stats.hitCount(), is(1L));
+    assertThat(stats.missCount(), is(1L));
+  }
+
+  @Test
+  void getTransactionCachesCommittedTransactions() {
+    HashCode id = HashCode.fromInt(1);
+    TransactionResponse committed = new TransactionResponse(TransactionStatus.COMMITTED,
+        createTransactionMessage(), TransactionResult.successful(),
+        TransactionLocation.valueOf(1, 0));
+    when(client.getTransaction(id)).thenReturn(Optional.of(committed));
+
+    assertThat(cachingClient.getTransaction(id), is(Optional.of(committed)));
+    assertThat(cachingClient.getTransaction(id), is(Optional.of(committed)));
+
+    verify(client, times(1)).getTransaction(id);
+  }
+
+  @Test
+  void getTransactionDoesNotCacheTransactionsInPool() {
+    HashCode id = HashCode.fromInt(1);
+    TransactionResponse inPool = new TransactionResponse(TransactionStatus.IN_POOL,
+        createTransactionMessage(), null, null);
+    when(client.getTransaction(id)).thenReturn(Optional.of(inPool));
+
+    cachingClient.getTransaction(id);
+    cachingClient.getTransaction(id);
+
+    verify(client, times(2)).getTransaction(id);
+  }
+
+  @Test
+  void getTransactionDoesNotCacheUnknownTransactions() {
+    HashCode id = HashCode.fromInt(1);
+    when(client.getTransaction(id)).thenReturn(Optional.empty());
+
+    assertFalse(cachingClient.getTransaction(id).isPresent());
+    assertFalse(cachingClient.getTransaction(id).isPresent());
+
+    verify(client, times(2)).getTransaction(id);
+  }
+
+  @Test
+  void getBlocksRequestsOnlyMissingBlocks() {
+    // Cache the blocks at heights 10, 9 and 6
+    when(client.getLastBlocks(3, SKIP_EMPTY, INCLUDE_COMMIT_TIME))
+        .thenReturn(blocksResponse(10, 9, 6));
+    cachingClient.getLastBlocks(3, SKIP_EMPTY, INCLUDE_COMMIT_TIME);
+    when(client.getBlocks(2, INCLUDE_EMPTY, 8, INCLUDE_COMMIT_TIME))
+        .thenReturn(blocksResponse(8, 7));
+    when(client.getBlocks(1, INCLUDE_EMPTY, 5, INCLUDE_COMMIT_TIME))
+        .thenReturn(blocksResponse(5));
+
+    BlocksResponse response = cachingClient.getBlocks(6, INCLUDE_EMPTY, 10, INCLUDE_COMMIT_TIME);
+
+    assertThat(heights(response), contains(10L, 9L, 8L, 7L, 6L, 5L));
+    assertThat(response.getBlocksRangeStart(), is(5L));
+    assertThat(response.getBlocksRangeEnd(), is(11L));
+    verify(client).getBlocks(2, INCLUDE_EMPTY, 8, INCLUDE_COMMIT_TIME);
+    verify(client).getBlocks(1, INCLUDE_EMPTY, 5, INCLUDE_COMMIT_TIME);
+
+    // All the blocks are cached now
+    BlocksResponse cachedResponse =
+        cachingClient.getBlocks(6, INCLUDE_EMPTY, 10, INCLUDE_COMMIT_TIME);
+
+    assertThat(cachedResponse, is(response));
+    verify(client, times(2)).getBlocks(anyInt(), any(), anyLong(), any());
+  }
+
+  @Test
+  void getBlocksFromCacheIsEqualToResponseOfNode() {
+    BlocksResponse nodeResponse = blocksResponse(10, 9, 8);
+    when(client.getBlocks(3, INCLUDE_EMPTY, 10, INCLUDE_COMMIT_TIME)).thenReturn(nodeResponse);
+
+    BlocksResponse coldResponse =
+        cachingClient.getBlocks(3, INCLUDE_EMPTY, 10, INCLUDE_COMMIT_TIME);
+    BlocksResponse warmResponse =
+        cachingClient.getBlocks(3, INCLUDE_EMPTY, 10, INCLUDE_COMMIT_TIME);
+
+    assertThat(coldResponse, is(nodeResponse));
+    assertThat(warmResponse, is(coldResponse));
+    verify(client, times(1)).getBlocks(anyInt(), any(), anyLong(), any());
+  }
+
+  @Test
+  void getBlocksStartingAtGenesisBlock() {
+    when(client.getLastBlocks(3, INCLUDE_EMPTY, NO_COMMIT_TIME))
+        .thenReturn(blocksResponse(2, 1, 0));
+    cachingClient.getLastBlocks(3, INCLUDE_EMPTY, NO_COMMIT_TIME);
+
+    BlocksResponse response = cachingClient.getBlocks(10, INCLUDE_EMPTY, 2, NO_COMMIT_TIME);
+
+    assertThat(heights(response), contains(2L, 1L, 0L));
+    assertThat(response.getBlocksRangeStart(), is(0L));
+    verify(client, never()).getBlocks(anyInt(), any(), anyLong(), any());
+  }
+
+  @Test
+  void getBlocksRequestsAllBlocksIfLastIsNotCached() {
+    BlocksResponse expected = blocksResponse(10, 9, 8);
+    when(client.getBlocks(3, INCLUDE_EMPTY, 10, NO_COMMIT_TIME)).thenReturn(expected);
+
+    BlocksResponse response = cachingClient.getBlocks(3, INCLUDE_EMPTY, 10, NO_COMMIT_TIME);
+
+    assertThat(response, is(expected));
+  }
+
+  @Test
+  void getBlocksSkippingEmptyIsNotServedFromCache() {
+    when(client.getLastBlocks(2, INCLUDE_EMPTY, INCLUDE_COMMIT_TIME))
+        .thenReturn(blocksResponse(10, 9));
+    cachingClient.getLastBlocks(2, INCLUDE_EMPTY, INCLUDE_COMMIT_TIME);
+    BlocksResponse expected = blocksResponse(10);
+    when(client.getBlocks(2, SKIP_EMPTY, 10, INCLUDE_COMMIT_TIME)).thenReturn(expected);
+
+    BlocksResponse response = cachingClient.getBlocks(2, SKIP_EMPTY, 10, INCLUDE_COMMIT_TIME);
+
+    assertThat(response, is(expected));
+  }
+
+  @Test
+  void getBlocksWithoutCommitTimeUsesBlocksWithCommitTime() {
+    when(client.getLastBlocks(2, INCLUDE_EMPTY, INCLUDE_COMMIT_TIME))
+        .thenReturn(blocksResponse(10, 9));
+    cachingClient.getLastBlocks(2, INCLUDE_EMPTY, INCLUDE_COMMIT_TIME);
+
+    BlocksResponse response = cachingClient.getBlocks(2, INCLUDE_EMPTY, 10, NO_COMMIT_TIME);
+
+    assertThat(heights(response), contains(10L, 9L));
+    assertFalse(response.getBlocks().get(0).getCommitTime().isPresent());
+    verify(client, never()).getBlocks(anyInt(), any(), anyLong(), any());
+  }
+
+  @Test
+  void getBlocksWithCommitTimeDoesNotUseBlocksWithoutCommitTime() {
+    when(client.getBlockByHeight(10)).thenReturn(new BlockResponse(block(10, null), emptyList()));
+    cachingClient.getBlockByHeight(10);
+    BlocksResponse expected = blocksResponse(10);
+    when(client.getBlocks(1, INCLUDE_EMPTY, 10, INCLUDE_COMMIT_TIME)).thenReturn(expected);
+
+    BlocksResponse response = cachingClient.getBlocks(1, INCLUDE_EMPTY, 10, INCLUDE_COMMIT_TIME);
+
+    assertThat(response, is(expected));
+
+    // The block with the commit time replaces the cached one
+    cachingClient.getBlocks(1, INCLUDE_EMPTY, 10, INCLUDE_COMMIT_TIME);
+    verify(client, times(1)).getBlocks(anyInt(), any(), anyLong(), any());
+  }
+
+  private static BlocksResponse blocksResponse(long... heights) {
+    List<Block> blocks = Arrays.stream(heights)
+        .mapToObj(h -> block(h, COMMIT_TIME))
+        .collect(toList());
+    // The end of the range is exclusive, as in the responses of the node
+    return new BlocksResponse(blocks, heights[heights.length - 1], heights[0] + 1);
+  }
+
+  private static List<Long> heights(BlocksResponse response) {
+    return response.getBlocks().stream()
+        .map(Block::getHeight)
+        .collect(toList());
+  }
+
+  private static Block block(long height, ZonedDateTime commitTime) {
+    return Block.builder()
+        .proposerId(0)
+        .height(height)
+        .numTransactions(0)
+        .previousBlockHash(HashCode.fromInt(1))
+        .txRootHash(HashCode.fromInt(2))
+        .stateHash(HashCode.fromInt(3))
+        .commitTime(commitTime)
+        .build();
+  }
+}
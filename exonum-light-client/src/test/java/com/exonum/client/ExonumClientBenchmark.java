@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.binding.common.crypto.CryptoFunctions.ed25519;
+import static java.net.HttpURLConnection.HTTP_OK;
+
+import com.exonum.binding.common.crypto.KeyPair;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.response.TransactionSubmissionResult;
+import com.google.common.base.Strings;
+import com.google.common.primitives.Ints;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of the blocking and the asynchronous clients
+ * with the given number of concurrent requests. The requests are sent to a local
+ * stand-in for an Exonum node, which responds after the given delay.
+ *
+ * <p>The blocking client needs a thread per concurrent request; the asynchronous
+ * client sends the requests from a single thread. The bulk submission of transactions
+ * keeps the given number of submissions in flight.
+ *
+ * <p>Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ExonumClientBenchmark.REQUESTS_PER_INVOCATION)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExonumClientBenchmark {
+
+  static final int REQUESTS_PER_INVOCATION = 1024;
+  private static final byte[] RESPONSE = "{\"size\": 1}".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SUBMIT_RESPONSE =
+      ("{\"tx_hash\":\"" + Strings.repeat("ab", 32) + "\"}").getBytes(StandardCharsets.UTF_8);
+
+  @Param({"16", "256"})
+  private int concurrency;
+
+  @Param({"5"})
+  private int responseDelayMillis;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private ExonumClient client;
+  private AsyncExonumClient asyncClient;
+  private ExecutorService executor;
+  private List<TransactionMessage> transactions;
+
+  /**
+   * Starts the stand-in node and creates the clients.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    // Send the responses without waiting for the acknowledgement of the previous segment
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", exchange -> {
+      try {
+        TimeUnit.MILLISECONDS.sleep(responseDelayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      byte[] response = exchange.getRequestMethod().equals("POST") ? SUBMIT_RESPONSE : RESPONSE;
+      exchange.getRequestBody().close();
+      exchange.sendResponseHeaders(HTTP_OK, response.length);
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(response);
+      }
+    });
+    serverExecutor = Executors.newCachedThreadPool();
+    server.setExecutor(serverExecutor);
+    server.start();
+    URL serverUrl = new URL("http", server.getAddress().getHostString(),
+        server.getAddress().getPort(), "/");
+
+    OkHttpClient httpClient = new OkHttpClient.Builder()
+        .connectionPool(new ConnectionPool(concurrency, 1, TimeUnit.MINUTES))
+        .build();
+    ExonumClient.Builder builder = ExonumClient.newBuilder()
+        .setExonumHost(serverUrl)
+        .setHttpClient(httpClient)
+        .setMaxRequestsPerHost(concurrency)
+        .setMaxTransactionsInFlight(concurrency);
+    client = builder.build();
+    asyncClient = builder.buildAsync();
+    executor = Executors.newFixedThreadPool(concurrency);
+
+    transactions = new ArrayList<>(REQUESTS_PER_INVOCATION);
+    KeyPair keyPair = ed25519().generateKeyPair();
+    for (int i = 0; i < REQUESTS_PER_INVOCATION; i++) {
+      transactions.add(TransactionMessage.builder()
+          .serviceId((short) 1)
+          .transactionId((short) 1)
+          .payload(Ints.toByteArray(i))
+          .sign(keyPair, ed25519()));
+    }
+  }
+
+  /**
+   * Sends the requests with the blocking client from a pool of {@code concurrency} threads.
+   */
+  @Benchmark
+  public int blocking() throws InterruptedException, ExecutionException {
+    List<Future<Integer>> results = new ArrayList<>(REQUESTS_PER_INVOCATION);
+    for (int i = 0; i < REQUESTS_PER_INVOCATION; i++) {
+      results.add(executor.submit(client::getUnconfirmedTransactionsCount));
+    }
+    int sum = 0;
+    for (Future<Integer> result : results) {
+      sum += result.get();
+    }
+    return sum;
+  }
+
+  /**
+   * Sends the requests with the asynchronous client, which executes up to
+   * {@code concurrency} of them at once.
+   */
+  @Benchmark
+  public int async() {
+    List<CompletableFuture<Integer>> results = new ArrayList<>(REQUESTS_PER_INVOCATION);
+    for (int i = 0; i < REQUESTS_PER_INVOCATION; i++) {
+      results.add(asyncClient.getUnconfirmedTransactionsCount());
+    }
+    int sum = 0;
+    for (CompletableFuture<Integer> result : results) {
+      sum += result.join();
+    }
+    return sum;
+  }
+
+  /**
+   * Submits the transactions in bulk, keeping {@code concurrency} submissions in flight.
+   */
+  @Benchmark
+  public List<TransactionSubmissionResult> submitTransactions() {
+    return client.submitTransactions(transactions);
+  }
+
+  /**
+   * Stops the stand-in node and the threads of the blocking client.
+   */
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  /**
+   * Runs the benchmark with the default options.
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ExonumClientBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
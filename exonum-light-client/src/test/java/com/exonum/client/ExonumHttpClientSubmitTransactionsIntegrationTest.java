@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.binding.common.crypto.CryptoFunctions.ed25519;
+import static com.exonum.binding.common.serialization.json.JsonSerializer.json;
+import static com.exonum.client.TestUtils.createTransactionMessage;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.ExplorerApiHelper.SubmitTxRequest;
+import com.exonum.client.response.TransactionSubmissionResult;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExonumHttpClientSubmitTransactionsIntegrationTest {
+  private static final short REJECTED_SERVICE_ID = 2;
+
+  private MockWebServer server;
+  private AtomicInteger inFlight;
+  private AtomicInteger maxInFlight;
+
+  @BeforeEach
+  void start() throws IOException {
+    inFlight = new AtomicInteger();
+    maxInFlight = new AtomicInteger();
+    server = new MockWebServer();
+    // Respond with the hash of the submitted message, unless it is rejected
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        TimeUnit.MILLISECONDS.sleep(5);
+        inFlight.decrementAndGet();
+
+        String json = request.getBody().readUtf8();
+        TransactionMessage message = json().fromJson(json, SubmitTxRequest.class).getBody();
+        if (message.getServiceId() == REJECTED_SERVICE_ID) {
+          return new MockResponse().setResponseCode(HTTP_INTERNAL_ERROR);
+        }
+        return new MockResponse().setBody("{\"tx_hash\":\"" + message.hash() + "\"}");
+      }
+    });
+    server.start();
+  }
+
+  @AfterEach
+  void shutdown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void submitTransactions() {
+    List<TransactionMessage> messages = createMessages(10);
+    TransactionMessage rejected = createMessage(REJECTED_SERVICE_ID);
+    messages.add(3, rejected);
+    ExonumClient client = ExonumClient.newBuilder()
+        .setExonumHost(server.url("/").url())
+        .build();
+
+    List<TransactionSubmissionResult> results = client.submitTransactions(messages);
+
+    assertThat(results, hasSize(messages.size()));
+    for (int i = 0; i < messages.size(); i++) {
+      TransactionSubmissionResult result = results.get(i);
+      TransactionMessage message = messages.get(i);
+      assertThat(result.getMessage(), is(message));
+      if (message == rejected) {
+        assertFalse(result.isSuccessful());
+      } else {
+        assertTrue(result.isSuccessful());
+        assertThat(result.getTransactionHash(), is(message.hash()));
+      }
+    }
+  }
+
+  @Test
+  void submitNoTransactions() {
+    ExonumClient client = ExonumClient.newBuilder()
+        .setExonumHost(server.url("/").url())
+        .build();
+
+    List<TransactionSubmissionResult> results = client.submitTransactions(emptyList());
+
+    assertThat(results, empty());
+  }
+
+  @Test
+  void submitTransactionsAsyncKeepsBoundedWindow() {
+    int maxTransactionsInFlight = 3;
+    List<TransactionMessage> messages = createMessages(20);
+    AsyncExonumClient client = ExonumClient.newBuilder()
+        .setExonumHost(server.url("/").url())
+        .setMaxTransactionsInFlight(maxTransactionsInFlight)
+        .buildAsync();
+
+    List<TransactionSubmissionResult> results = client.submitTransactions(messages).join();
+
+    assertThat(results, hasSize(messages.size()));
+    assertTrue(results.stream().allMatch(TransactionSubmissionResult::isSuccessful));
+    assertThat(maxInFlight.get(), lessThanOrEqualTo(maxTransactionsInFlight));
+  }
+
+  private static List<TransactionMessage> createMessages(int numMessages) {
+    List<TransactionMessage> messages = new ArrayList<>(numMessages);
+    for (int i = 0; i < numMessages; i++) {
+      messages.add(createTransactionMessage());
+    }
+    return messages;
+  }
+
+  private static TransactionMessage createMessage(short serviceId) {
+    return TransactionMessage.builder()
+        .serviceId(serviceId)
+        .transactionId((short) 1)
+        .payload(new byte[]{0x01})
+        .sign(ed25519().generateKeyPair(), ed25519());
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 The Exonum Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.exonum.client;
+
+import static com.exonum.client.TestUtils.createTransactionMessage;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.exonum.binding.common.hash.HashCode;
+import com.exonum.binding.common.message.TransactionMessage;
+import com.exonum.client.response.TransactionSubmissionResult;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TransactionSubmitterTest {
+
+  private static final int NUM_MESSAGES = 5000;
+  private static final long TIMEOUT_SECONDS = 10;
+
+  @Test
+  void submitCompletesIfSubmissionsFailImmediately() throws Exception {
+    RuntimeException failure = new RuntimeException("Node is unavailable");
+    TransactionSubmitter submitter = new TransactionSubmitter(message -> {
+      CompletableFuture<HashCode> submitted = new CompletableFuture<>();
+      submitted.completeExceptionally(failure);
+      return submitted;
+    }, 1);
+    List<TransactionMessage> messages =
+        Collections.nCopies(NUM_MESSAGES, createTransactionMessage());
+
+    List<TransactionSubmissionResult> results = submitter.submit(messages)
+        .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertThat(results, hasSize(NUM_MESSAGES));
+    for (TransactionSubmissionResult result : results) {
+      assertFalse(result.isSuccessful());
+      assertThat(result.getError(), sameInstance(failure));
+    }
+  }
+
+  @Test
+  void submitCompletesIfSubmissionsSucceedImmediately() throws Exception {
+    TransactionMessage message = createTransactionMessage();
+    TransactionSubmitter submitter = new TransactionSubmitter(
+        m -> CompletableFuture.completedFuture(m.hash()), 4);
+    List<TransactionMessage> messages = Collections.nCopies(NUM_MESSAGES, message);
+
+    List<TransactionSubmissionResult> results = submitter.submit(messages)
+        .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertThat(results, hasSize(NUM_MESSAGES));
+    for (TransactionSubmissionResult result : results) {
+      assertTrue(result.isSuccessful());
+      assertThat(result.getTransactionHash(), is(message.hash()));
+    }
+  }
+}